@@ -27,7 +27,9 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.JsonRpcMethod;
 import org.hyperledger.besu.ethereum.api.jsonrpc.ipc.JsonRpcIpcService;
 import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.WebSocketService;
 import org.hyperledger.besu.ethereum.api.query.cache.AutoTransactionLogBloomCachingService;
+import org.hyperledger.besu.ethereum.api.query.cache.AutoTransactionLogIndexingService;
 import org.hyperledger.besu.ethereum.api.query.cache.TransactionLogBloomCacher;
+import org.hyperledger.besu.ethereum.api.query.cache.TransactionLogIndexer;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
 import org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolEvictionService;
 import org.hyperledger.besu.ethereum.p2p.network.NetworkRunner;
@@ -88,6 +90,7 @@ public class Runner implements AutoCloseable {
   private final Path dataDir;
   private final Optional<AutoTransactionLogBloomCachingService>
       autoTransactionLogBloomCachingService;
+  private final Optional<AutoTransactionLogIndexingService> autoTransactionLogIndexingService;
   private ScheduledExecutorService ephemeryService;
   private final long ephemeryCycle = TimeUnit.DAYS.toSeconds(28);
 
@@ -109,6 +112,7 @@ public class Runner implements AutoCloseable {
    * @param dataDir the data dir
    * @param pidPath the pid path
    * @param transactionLogBloomCacher the transaction log bloom cacher
+   * @param transactionLogIndexer the transaction log indexer
    * @param blockchain the blockchain
    */
   Runner(
@@ -127,6 +131,7 @@ public class Runner implements AutoCloseable {
       final Path dataDir,
       final Optional<Path> pidPath,
       final Optional<TransactionLogBloomCacher> transactionLogBloomCacher,
+      final Optional<TransactionLogIndexer> transactionLogIndexer,
       final Blockchain blockchain) {
     this.vertx = vertx;
     this.networkRunner = networkRunner;
@@ -145,6 +150,9 @@ public class Runner implements AutoCloseable {
     this.autoTransactionLogBloomCachingService =
         transactionLogBloomCacher.map(
             cacher -> new AutoTransactionLogBloomCachingService(blockchain, cacher));
+    this.autoTransactionLogIndexingService =
+        transactionLogIndexer.map(
+            indexer -> new AutoTransactionLogIndexingService(blockchain, indexer));
     this.transactionPoolEvictionService =
         new TransactionPoolEvictionService(vertx, besuController.getTransactionPool());
   }
@@ -163,6 +171,7 @@ public class Runner implements AutoCloseable {
             waitForServiceToStart(
                 "ipcJsonRpc", service.start().toCompletionStage().toCompletableFuture()));
     autoTransactionLogBloomCachingService.ifPresent(AutoTransactionLogBloomCachingService::start);
+    autoTransactionLogIndexingService.ifPresent(AutoTransactionLogIndexingService::start);
   }
 
   private void startExternalServicePostMainLoop() {
@@ -318,6 +327,7 @@ public class Runner implements AutoCloseable {
     networkRunner.stop();
     waitForServiceToStop("Network", networkRunner::awaitStop);
     autoTransactionLogBloomCachingService.ifPresent(AutoTransactionLogBloomCachingService::stop);
+    autoTransactionLogIndexingService.ifPresent(AutoTransactionLogIndexingService::stop);
     natService.stop();
     besuController.close();
   }
@@ -31,6 +31,7 @@ import org.hyperledger.besu.ethereum.api.graphql.GraphQLContextType;
 import org.hyperledger.besu.ethereum.api.graphql.GraphQLDataFetchers;
 import org.hyperledger.besu.ethereum.api.graphql.GraphQLHttpService;
 import org.hyperledger.besu.ethereum.api.graphql.GraphQLProvider;
+import org.hyperledger.besu.ethereum.api.handlers.RpcRequestScheduler;
 import org.hyperledger.besu.ethereum.api.jsonrpc.EngineJsonRpcService;
 import org.hyperledger.besu.ethereum.api.jsonrpc.InProcessRpcConfiguration;
 import org.hyperledger.besu.ethereum.api.jsonrpc.JsonRpcConfiguration;
@@ -42,6 +43,7 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.execution.AuthenticatedJsonRpcP
 import org.hyperledger.besu.ethereum.api.jsonrpc.execution.BaseJsonRpcProcessor;
 import org.hyperledger.besu.ethereum.api.jsonrpc.execution.JsonRpcExecutor;
 import org.hyperledger.besu.ethereum.api.jsonrpc.execution.JsonRpcProcessor;
+import org.hyperledger.besu.ethereum.api.jsonrpc.execution.JsonRpcResponseCache;
 import org.hyperledger.besu.ethereum.api.jsonrpc.health.HealthService;
 import org.hyperledger.besu.ethereum.api.jsonrpc.health.LivenessCheck;
 import org.hyperledger.besu.ethereum.api.jsonrpc.health.ReadinessCheck;
@@ -190,6 +192,7 @@ public class RunnerBuilder {
   private Optional<String> identityString = Optional.empty();
   private BesuPluginContextImpl besuPluginContext;
   private boolean autoLogBloomCaching = true;
+  private boolean autoLogIndexing = false;
   private StorageProvider storageProvider;
   private RpcEndpointServiceImpl rpcEndpointServiceImpl;
   private JsonRpcIpcConfiguration jsonRpcIpcConfiguration;
@@ -558,6 +561,17 @@ public class RunnerBuilder {
     return this;
   }
 
+  /**
+   * Enable Auto logs indexing.
+   *
+   * @param autoLogIndexing the auto logs indexing
+   * @return the runner builder
+   */
+  public RunnerBuilder autoLogIndexing(final boolean autoLogIndexing) {
+    this.autoLogIndexing = autoLogIndexing;
+    return this;
+  }
+
   /**
    * Add Storage provider.
    *
@@ -844,6 +858,14 @@ public class RunnerBuilder {
             apiConfiguration,
             miningConfiguration);
 
+    final RpcRequestScheduler rpcRequestScheduler =
+        apiConfiguration.isVirtualThreadRequestsEnabled()
+            ? RpcRequestScheduler.virtualThreads(
+                apiConfiguration.getMethodConcurrencyLimit(),
+                apiConfiguration.getHeavyMethodConcurrencyLimit(),
+                metricsSystem)
+            : RpcRequestScheduler.workerPool();
+
     final FilterManager filterManager =
         new FilterManagerBuilder()
             .blockchainQueries(blockchainQueries)
@@ -913,8 +935,10 @@ public class RunnerBuilder {
                   metricsSystem,
                   natService,
                   nonEngineMethods,
+                  DefaultAuthenticationService.create(vertx, jsonRpcConfiguration),
                   new HealthService(new LivenessCheck()),
-                  new HealthService(new ReadinessCheck(peerNetwork, synchronizer))));
+                  new HealthService(new ReadinessCheck(peerNetwork, synchronizer)),
+                  createJsonRpcResponseCache(context.getBlockchain())));
     }
 
     final SubscriptionManager subscriptionManager =
@@ -1021,7 +1045,8 @@ public class RunnerBuilder {
                   graphQLConfiguration,
                   graphQL,
                   graphQlContextMap,
-                  besuController.getProtocolManager().ethContext().getScheduler()));
+                  besuController.getProtocolManager().ethContext().getScheduler(),
+                  rpcRequestScheduler));
     }
 
     Optional<WebSocketService> webSocketService = Optional.empty();
@@ -1064,6 +1089,7 @@ public class RunnerBuilder {
                   subscriptionManager,
                   nonEngineMethods,
                   DefaultAuthenticationService.create(vertx, webSocketConfiguration),
+                  rpcRequestScheduler,
                   metricsSystem));
     }
 
@@ -1133,7 +1159,8 @@ public class RunnerBuilder {
                   vertx,
                   jsonRpcIpcConfiguration.getPath(),
                   new JsonRpcExecutor(new BaseJsonRpcProcessor(), ipcMethodsFactory.methods()),
-                  Optional.of(subscriptionManager)));
+                  Optional.of(subscriptionManager),
+                  rpcRequestScheduler));
     } else {
       jsonRpcIpcService = Optional.empty();
     }
@@ -1187,6 +1214,7 @@ public class RunnerBuilder {
         dataDir,
         pidPath,
         autoLogBloomCaching ? blockchainQueries.getTransactionLogBloomCacher() : Optional.empty(),
+        autoLogIndexing ? blockchainQueries.getTransactionLogIndexer() : Optional.empty(),
         context.getBlockchain());
   }
 
@@ -1387,6 +1415,18 @@ public class RunnerBuilder {
     return methods;
   }
 
+  private Optional<JsonRpcResponseCache> createJsonRpcResponseCache(final Blockchain blockchain) {
+    if (jsonRpcConfiguration.getResponseCacheMethods().isEmpty()) {
+      return Optional.empty();
+    }
+    return Optional.of(
+        new JsonRpcResponseCache(
+            blockchain,
+            Set.copyOf(jsonRpcConfiguration.getResponseCacheMethods()),
+            jsonRpcConfiguration.getResponseCacheMaxSizeBytes(),
+            metricsSystem));
+  }
+
   private SubscriptionManager createSubscriptionManager(
       final Vertx vertx,
       final TransactionPool transactionPool,
@@ -1435,6 +1475,7 @@ public class RunnerBuilder {
       final SubscriptionManager subscriptionManager,
       final Map<String, JsonRpcMethod> jsonRpcMethods,
       final Optional<AuthenticationService> authenticationService,
+      final RpcRequestScheduler rpcRequestScheduler,
       final ObservableMetricsSystem metricsSystem) {
 
     final WebSocketMethodsFactory websocketMethodsFactory =
@@ -1462,7 +1503,8 @@ public class RunnerBuilder {
             vertx,
             jsonRpcExecutor,
             besuController.getProtocolManager().ethContext().getScheduler(),
-            webSocketConfiguration.getTimeoutSec());
+            webSocketConfiguration.getTimeoutSec(),
+            rpcRequestScheduler);
 
     return new WebSocketService(
         vertx, configuration, websocketMessageHandler, authenticationService, metricsSystem);
@@ -627,6 +627,14 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
       arity = "1")
   private final Boolean autoLogBloomCachingEnabled = true;
 
+  @Option(
+      names = {"--Xauto-logs-index-enabled"},
+      description =
+          "Enable building an index of log addresses and topics to speed up logs queries (default: ${DEFAULT-VALUE})",
+      hidden = true,
+      arity = "1")
+  private final Boolean autoLogIndexingEnabled = false;
+
   @Option(
       names = {"--override-genesis-config"},
       paramLabel = "NAME=VALUE",
@@ -1654,6 +1662,7 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
                     .anyMatch(builtInApi -> apiName.equals(builtInApi.name()))
                 || rpcEndpointServiceImpl.hasNamespace(apiName);
     jsonRpcHttpOptions.validate(logger, commandLine, configuredApis);
+    unstableRPCOptions.validate(commandLine);
   }
 
   private void validateRpcWsOptions() {
@@ -1995,6 +2004,10 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
     jsonRpcConfiguration =
         jsonRpcHttpOptions.jsonRpcConfiguration(
             hostsAllowlist, p2PDiscoveryConfig.p2pHost(), unstableRPCOptions.getHttpTimeoutSec());
+    jsonRpcConfiguration.setBatchParallelism(unstableRPCOptions.getHttpBatchParallelism());
+    jsonRpcConfiguration.setResponseCacheMethods(unstableRPCOptions.getHttpResponseCacheMethods());
+    jsonRpcConfiguration.setResponseCacheMaxSizeBytes(
+        unstableRPCOptions.getHttpResponseCacheMaxSizeBytes());
     logger.info("RPC HTTP JSON-RPC config: {}", jsonRpcConfiguration);
     if (isEngineApiEnabled()) {
       engineJsonRpcConfiguration = createEngineJsonRpcConfiguration();
@@ -2441,6 +2454,7 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
             .identityString(identityString)
             .besuPluginContext(besuPluginContext)
             .autoLogBloomCaching(autoLogBloomCachingEnabled)
+            .autoLogIndexing(autoLogIndexingEnabled)
             .ethstatsOptions(ethstatsOptions)
             .storageProvider(keyValueStorageProvider(keyValueStorageName))
             .rpcEndpointService(rpcEndpointServiceImpl)
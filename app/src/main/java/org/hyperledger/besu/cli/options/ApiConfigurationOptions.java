@@ -20,6 +20,7 @@ import org.hyperledger.besu.cli.util.CommandLineUtils;
 import org.hyperledger.besu.datatypes.Wei;
 import org.hyperledger.besu.ethereum.api.ApiConfiguration;
 import org.hyperledger.besu.ethereum.api.ImmutableApiConfiguration;
+import org.hyperledger.besu.ethereum.api.handlers.RpcRequestScheduler;
 
 import org.slf4j.Logger;
 import picocli.CommandLine;
@@ -94,6 +95,29 @@ public class ApiConfigurationOptions {
           "Specifies the maximum number of blocks for the trace_filter method. Must be >=0. 0 specifies no limit  (default: ${DEFAULT-VALUE})")
   private final Long maxTraceFilterRange = 1000L;
 
+  @CommandLine.Option(
+      names = {"--Xrpc-virtual-threads-enabled"},
+      hidden = true,
+      description =
+          "Execute the WebSocket, IPC and GraphQL requests on virtual threads, with a concurrency limit per method (default: ${DEFAULT-VALUE})")
+  private final Boolean virtualThreadRequestsEnabled = false;
+
+  @CommandLine.Option(
+      names = {"--Xrpc-method-concurrency-limit"},
+      hidden = true,
+      description =
+          "Maximum number of concurrent executions of a method, when requests are executed on virtual threads (default: ${DEFAULT-VALUE})")
+  private final Integer methodConcurrencyLimit =
+      RpcRequestScheduler.DEFAULT_METHOD_CONCURRENCY_LIMIT;
+
+  @CommandLine.Option(
+      names = {"--Xrpc-heavy-method-concurrency-limit"},
+      hidden = true,
+      description =
+          "Maximum number of concurrent executions of a debug or trace method, when requests are executed on virtual threads (default: ${DEFAULT-VALUE})")
+  private final Integer heavyMethodConcurrencyLimit =
+      RpcRequestScheduler.DEFAULT_HEAVY_METHOD_CONCURRENCY_LIMIT;
+
   /**
    * Validates the API options.
    *
@@ -137,7 +161,10 @@ public class ApiConfigurationOptions {
             .maxLogsRange(rpcMaxLogsRange)
             .gasCap(rpcGasCap)
             .isGasAndPriorityFeeLimitingEnabled(apiGasAndPriorityFeeLimitingEnabled)
-            .maxTraceFilterRange(maxTraceFilterRange);
+            .maxTraceFilterRange(maxTraceFilterRange)
+            .isVirtualThreadRequestsEnabled(virtualThreadRequestsEnabled)
+            .methodConcurrencyLimit(methodConcurrencyLimit)
+            .heavyMethodConcurrencyLimit(heavyMethodConcurrencyLimit);
     if (apiGasAndPriorityFeeLimitingEnabled) {
       builder
           .lowerBoundGasAndPriorityFeeCoefficient(apiGasAndPriorityFeeLowerBoundCoefficient)
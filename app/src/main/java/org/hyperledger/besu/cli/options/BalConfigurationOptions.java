@@ -39,6 +39,13 @@ public class BalConfigurationOptions {
           "Allows disabling BAL-based perfect parallelization even when BALs are present.")
   boolean balPerfectParallelizationEnabled = true;
 
+  @CommandLine.Option(
+      names = {"--Xparallel-tx-block-stm-enabled"},
+      hidden = true,
+      description =
+          "Execute transactions of blocks without a usable BAL in parallel with Block-STM instead of the speculative executor.")
+  boolean blockStmEnabled = false;
+
   @CommandLine.Option(
       names = {"--Xbal-lenient-on-state-root-mismatch"},
       hidden = true,
@@ -81,6 +88,7 @@ public class BalConfigurationOptions {
     return ImmutableBalConfiguration.builder()
         .isBalOptimisationEnabled(balOptimizationEnabled)
         .isPerfectParallelizationEnabled(balPerfectParallelizationEnabled)
+        .isBlockStmEnabled(blockStmEnabled)
         .shouldLogBalsOnMismatch(balLogBalsOnMismatch)
         .isBalLenientOnStateRootMismatch(balLenientOnStateRootMismatch)
         .isBalStateRootTrusted(balTrustStateRoot)
@@ -32,6 +32,18 @@ public class EvmOptions implements CLIOptions<EvmConfiguration> {
   /** The constant OPTIMIZED_OP_CODES. */
   public static final String OPTIMIZED_OP_CODES = "--Xevm-optimized-opcodes";
 
+  /** The constant OPERAND_STACK_MODE. */
+  public static final String OPERAND_STACK_MODE = "--Xevm-operand-stack-mode";
+
+  /** The constant POOLED_FRAME_MEMORY. */
+  public static final String POOLED_FRAME_MEMORY = "--Xevm-pooled-frame-memory";
+
+  /** The constant BASIC_BLOCK_EXECUTION. */
+  public static final String BASIC_BLOCK_EXECUTION = "--Xevm-basic-block-execution";
+
+  /** The constant SUPERINSTRUCTIONS. */
+  public static final String SUPERINSTRUCTIONS = "--Xevm-superinstructions";
+
   /** Default constructor. */
   EvmOptions() {}
 
@@ -72,14 +84,58 @@ public class EvmOptions implements CLIOptions<EvmConfiguration> {
       arity = "1")
   private boolean enableOptimizedOpcodes = true;
 
+  @CommandLine.Option(
+      names = {OPERAND_STACK_MODE},
+      description = "How operand stack items are represented while executing EVM code",
+      fallbackValue = "BYTES",
+      hidden = true)
+  private EvmConfiguration.OperandStackMode operandStackMode =
+      EvmConfiguration.OperandStackMode.BYTES;
+
+  @CommandLine.Option(
+      names = {POOLED_FRAME_MEMORY},
+      description = "Reuse the memory of completed message frames within a thread",
+      fallbackValue = "true",
+      hidden = true,
+      arity = "1")
+  private boolean pooledFrameMemory = false;
+
+  @CommandLine.Option(
+      names = {BASIC_BLOCK_EXECUTION},
+      description = "Charge gas and check stack bounds once per basic block of straight line code",
+      fallbackValue = "true",
+      hidden = true,
+      arity = "1")
+  private boolean basicBlockExecution = false;
+
+  @CommandLine.Option(
+      names = {SUPERINSTRUCTIONS},
+      description = "Execute frequent opcode sequences, such as PUSH and JUMP, as one operation",
+      fallbackValue = "true",
+      hidden = true,
+      arity = "1")
+  private boolean superinstructions = false;
+
   @Override
   public EvmConfiguration toDomainObject() {
     return new EvmConfiguration(
-        jumpDestCacheWeightKilobytes, worldstateUpdateMode, enableOptimizedOpcodes);
+        jumpDestCacheWeightKilobytes,
+        worldstateUpdateMode,
+        enableOptimizedOpcodes,
+        operandStackMode,
+        pooledFrameMemory,
+        basicBlockExecution,
+        superinstructions);
   }
 
   @Override
   public List<String> getCLIOptions() {
-    return List.of(JUMPDEST_CACHE_WEIGHT, WORLDSTATE_UPDATE_MODE);
+    return List.of(
+        JUMPDEST_CACHE_WEIGHT,
+        WORLDSTATE_UPDATE_MODE,
+        OPERAND_STACK_MODE,
+        POOLED_FRAME_MEMORY,
+        BASIC_BLOCK_EXECUTION,
+        SUPERINSTRUCTIONS);
   }
 }
@@ -23,6 +23,7 @@ import static org.hyperledger.besu.ethereum.core.MiningConfiguration.MutableInit
 import static org.hyperledger.besu.ethereum.core.MiningConfiguration.MutableInitValues.DEFAULT_MIN_BLOCK_OCCUPANCY_RATIO;
 import static org.hyperledger.besu.ethereum.core.MiningConfiguration.MutableInitValues.DEFAULT_MIN_PRIORITY_FEE_PER_GAS;
 import static org.hyperledger.besu.ethereum.core.MiningConfiguration.MutableInitValues.DEFAULT_MIN_TRANSACTION_GAS_PRICE;
+import static org.hyperledger.besu.ethereum.core.MiningConfiguration.Unstable.DEFAULT_BLOCK_TXS_SELECTION_SPECULATIVE_WINDOW;
 import static org.hyperledger.besu.ethereum.core.MiningConfiguration.Unstable.DEFAULT_POS_BLOCK_CREATION_MAX_TIME;
 import static org.hyperledger.besu.ethereum.core.MiningConfiguration.Unstable.DEFAULT_POS_BLOCK_CREATION_REPETITION_MIN_DURATION;
 import static org.hyperledger.besu.ethereum.core.MiningConfiguration.Unstable.DEFAULT_POS_BLOCK_FINALIZATION_TIMEOUT_MS;
@@ -165,6 +166,15 @@ public class MiningOptions implements CLIOptions<MiningConfiguration> {
         description =
             "Specifies the maximum time, in milliseconds, to wait for block building to complete when only an empty block is available (default: ${DEFAULT-VALUE} milliseconds)")
     private Long posBlockFinalizationTimeoutMs = DEFAULT_POS_BLOCK_FINALIZATION_TIMEOUT_MS;
+
+    @CommandLine.Option(
+        hidden = true,
+        names = {"--Xblock-txs-selection-speculative-window"},
+        description =
+            "Number of candidate transactions, after the one being evaluated, executed speculatively in parallel"
+                + " during block transaction selection. Requires Bonsai, 0 disables it (default: ${DEFAULT-VALUE})")
+    private Integer blockTxsSelectionSpeculativeWindow =
+        DEFAULT_BLOCK_TXS_SELECTION_SPECULATIVE_WINDOW;
   }
 
   private TransactionSelectionService transactionSelectionService;
@@ -225,6 +235,11 @@ public class MiningOptions implements CLIOptions<MiningConfiguration> {
           commandLine, "--Xpos-block-finalization-timeout-ms must be positive and ≤ 12000");
     }
 
+    if (unstableOptions.blockTxsSelectionSpeculativeWindow < 0) {
+      throw new ParameterException(
+          commandLine, "--Xblock-txs-selection-speculative-window must be a non-negative value");
+    }
+
     CommandLineUtils.failIfOptionDoesntMeetRequirement(
         commandLine,
         "--block-txs-selection-max-time can only be used on networks with PoS support in the genesis file,"
@@ -287,6 +302,8 @@ public class MiningOptions implements CLIOptions<MiningConfiguration> {
         miningConfiguration.getUnstable().getPosSlotDuration();
     miningOptions.unstableOptions.posBlockFinalizationTimeoutMs =
         miningConfiguration.getUnstable().getPosBlockFinalizationTimeoutMs();
+    miningOptions.unstableOptions.blockTxsSelectionSpeculativeWindow =
+        miningConfiguration.getUnstable().getBlockTxsSelectionSpeculativeWindow();
 
     miningConfiguration.getTargetGasLimit().ifPresent(tgl -> miningOptions.targetGasLimit = tgl);
     return miningOptions;
@@ -328,6 +345,8 @@ public class MiningOptions implements CLIOptions<MiningConfiguration> {
                     unstableOptions.posBlockCreationRepetitionMinDuration)
                 .posSlotDuration(unstableOptions.posSlotDuration)
                 .posBlockFinalizationTimeoutMs(unstableOptions.posBlockFinalizationTimeoutMs)
+                .blockTxsSelectionSpeculativeWindow(
+                    unstableOptions.blockTxsSelectionSpeculativeWindow)
                 .build())
         .build();
   }
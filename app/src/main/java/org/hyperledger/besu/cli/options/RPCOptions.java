@@ -15,6 +15,11 @@
 package org.hyperledger.besu.cli.options;
 
 import org.hyperledger.besu.ethereum.api.handlers.TimeoutOptions;
+import org.hyperledger.besu.ethereum.api.jsonrpc.JsonRpcConfiguration;
+import org.hyperledger.besu.ethereum.api.jsonrpc.execution.JsonRpcResponseCache;
+
+import java.util.ArrayList;
+import java.util.List;
 
 import picocli.CommandLine;
 
@@ -33,9 +38,55 @@ public class RPCOptions {
       description = "Web socket timeout in seconds (default: ${DEFAULT-VALUE})")
   private final Long wsTimeoutSec = TimeoutOptions.defaultOptions().getTimeoutSeconds();
 
+  @CommandLine.Option(
+      hidden = true,
+      names = {"--Xrpc-http-batch-parallelism"},
+      paramLabel = "<INTEGER>",
+      description =
+          "Maximum number of requests of an HTTP JSON-RPC batch executed concurrently, 1 executes them sequentially (default: ${DEFAULT-VALUE})")
+  private final Integer httpBatchParallelism = JsonRpcConfiguration.DEFAULT_BATCH_PARALLELISM;
+
+  @CommandLine.Option(
+      hidden = true,
+      names = {"--Xrpc-http-response-cache-methods"},
+      paramLabel = "<method name>",
+      split = " {0,1}, {0,1}",
+      arity = "1..*",
+      description =
+          "Comma separated list of HTTP JSON-RPC methods whose responses are cached when the request is pinned to a block by hash or to a finalized block (default: none)")
+  private final List<String> httpResponseCacheMethods = new ArrayList<>();
+
+  @CommandLine.Option(
+      hidden = true,
+      names = {"--Xrpc-http-response-cache-max-size-bytes"},
+      paramLabel = "<LONG>",
+      description =
+          "Maximum size in bytes of the cached HTTP JSON-RPC responses (default: ${DEFAULT-VALUE})")
+  private final Long httpResponseCacheMaxSizeBytes =
+      JsonRpcConfiguration.DEFAULT_RESPONSE_CACHE_MAX_SIZE_BYTES;
+
   /** Default Constructor. */
   RPCOptions() {}
 
+  /**
+   * Validates the Rpc options.
+   *
+   * @param commandLine the command line
+   */
+  public void validate(final CommandLine commandLine) {
+    final List<String> unsupportedMethods =
+        httpResponseCacheMethods.stream()
+            .filter(method -> !JsonRpcResponseCache.supportedMethods().contains(method))
+            .toList();
+    if (!unsupportedMethods.isEmpty()) {
+      throw new CommandLine.ParameterException(
+          commandLine,
+          "Invalid value for option '--Xrpc-http-response-cache-methods': responses of "
+              + unsupportedMethods
+              + " can not be cached");
+    }
+  }
+
   /**
    * Create rpc options.
    *
@@ -62,4 +113,31 @@ public class RPCOptions {
   public Long getWsTimeoutSec() {
     return wsTimeoutSec;
   }
+
+  /**
+   * Gets the maximum number of requests of an HTTP JSON-RPC batch executed concurrently.
+   *
+   * @return the batch parallelism
+   */
+  public Integer getHttpBatchParallelism() {
+    return httpBatchParallelism;
+  }
+
+  /**
+   * Gets the HTTP JSON-RPC methods whose responses are cached.
+   *
+   * @return the cached methods
+   */
+  public List<String> getHttpResponseCacheMethods() {
+    return httpResponseCacheMethods;
+  }
+
+  /**
+   * Gets the maximum size in bytes of the HTTP JSON-RPC response cache.
+   *
+   * @return the maximum size in bytes
+   */
+  public Long getHttpResponseCacheMaxSizeBytes() {
+    return httpResponseCacheMaxSizeBytes;
+  }
 }
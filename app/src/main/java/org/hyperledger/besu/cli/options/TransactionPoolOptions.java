@@ -252,6 +252,8 @@ public class TransactionPoolOptions implements CLIOptions<TransactionPoolConfigu
         "--Xpeer-tracker-forget-evicted-txs";
     private static final String TX_POOL_SAVE_RESTORE_TIMEOUT_FLAG =
         "--Xtx-pool-save-restore-timeout";
+    private static final String REMOTE_TXS_BATCH_WINDOW_FLAG =
+        "--Xremote-txs-batch-window-milliseconds";
 
     @CommandLine.Option(
         names = {TX_MESSAGE_KEEP_ALIVE_SEC_FLAG},
@@ -300,6 +302,16 @@ public class TransactionPoolOptions implements CLIOptions<TransactionPoolConfigu
             "Timeout in milliseconds for acquiring the disk access lock during txpool save/restore operations (default: ${DEFAULT-VALUE})")
     private Duration saveRestoreTimeout =
         TransactionPoolConfiguration.Unstable.DEFAULT_SAVE_RESTORE_TIMEOUT;
+
+    @CommandLine.Option(
+        names = {REMOTE_TXS_BATCH_WINDOW_FLAG},
+        paramLabel = "<LONG>",
+        converter = DurationMillisConverter.class,
+        hidden = true,
+        description =
+            "The period in milliseconds for which transactions received from peers are collected, before recovering their senders in parallel and adding them to the pool as a batch, 0 to disable batching (default: ${DEFAULT-VALUE})")
+    private Duration remoteTxsBatchWindow =
+        TransactionPoolConfiguration.Unstable.DEFAULT_REMOTE_TXS_BATCH_WINDOW;
   }
 
   private TransactionPoolOptions() {}
@@ -366,6 +378,7 @@ public class TransactionPoolOptions implements CLIOptions<TransactionPoolConfigu
     options.unstableOptions.peerTrackerForgetEvictedTxs =
         config.getUnstable().getPeerTrackerForgetEvictedTxs();
     options.unstableOptions.saveRestoreTimeout = config.getUnstable().getSaveRestoreTimeout();
+    options.unstableOptions.remoteTxsBatchWindow = config.getUnstable().getRemoteTxsBatchWindow();
     return options;
   }
 
@@ -429,6 +442,7 @@ public class TransactionPoolOptions implements CLIOptions<TransactionPoolConfigu
                     Optional.ofNullable(unstableOptions.peerTrackerForgetEvictedTxs)
                         .orElse(deriveDefaultPeersTrackerForgetEvictedTxs(txPoolImplementation)))
                 .saveRestoreTimeout(unstableOptions.saveRestoreTimeout)
+                .remoteTxsBatchWindow(unstableOptions.remoteTxsBatchWindow)
                 .build())
         .build();
   }
@@ -22,6 +22,8 @@ import static org.hyperledger.besu.ethereum.worldstate.PathBasedExtraStorageConf
 import static org.hyperledger.besu.ethereum.worldstate.PathBasedExtraStorageConfiguration.MINIMUM_TRIE_LOG_RETENTION_LIMIT;
 import static org.hyperledger.besu.ethereum.worldstate.PathBasedExtraStorageConfiguration.PathBasedUnstable.DEFAULT_CODE_USING_CODE_HASH_ENABLED;
 import static org.hyperledger.besu.ethereum.worldstate.PathBasedExtraStorageConfiguration.PathBasedUnstable.DEFAULT_FULL_FLAT_DB_ENABLED;
+import static org.hyperledger.besu.ethereum.worldstate.PathBasedExtraStorageConfiguration.PathBasedUnstable.DEFAULT_TRIE_LOG_CHECKPOINTS_ENABLED;
+import static org.hyperledger.besu.ethereum.worldstate.PathBasedExtraStorageConfiguration.PathBasedUnstable.DEFAULT_TRIE_NODE_CACHE_SIZE_MB;
 
 import org.hyperledger.besu.cli.options.CLIOptions;
 import org.hyperledger.besu.cli.util.CommandLineUtils;
@@ -117,6 +119,22 @@ public class PathBasedExtraStorageOptions
             "Enables code storage using code hash instead of by account hash. (default: ${DEFAULT-VALUE})")
     private boolean codeUsingCodeHashEnabled = DEFAULT_CODE_USING_CODE_HASH_ENABLED;
 
+    @Option(
+        hidden = true,
+        names = {"--Xbonsai-trie-node-cache-size"},
+        paramLabel = "<MB>",
+        description =
+            "Size in megabytes of the off-heap cache of preloaded trie nodes, 0 disables it. (default: ${DEFAULT-VALUE})")
+    private long trieNodeCacheSizeMb = DEFAULT_TRIE_NODE_CACHE_SIZE_MB;
+
+    @Option(
+        hidden = true,
+        names = {"--Xbonsai-trie-log-checkpoints-enabled"},
+        arity = "1",
+        description =
+            "Enables merging the trie logs of every 256 blocks into checkpoints to roll the world state faster over many blocks. (default: ${DEFAULT-VALUE})")
+    private boolean trieLogCheckpointsEnabled = DEFAULT_TRIE_LOG_CHECKPOINTS_ENABLED;
+
     /** Default Constructor. */
     Unstable() {}
   }
@@ -139,6 +157,10 @@ public class PathBasedExtraStorageOptions
    */
   public void validate(final CommandLine commandLine, final DataStorageFormat dataStorageFormat) {
     if (DataStorageFormat.BONSAI == dataStorageFormat) {
+      if (unstableOptions.trieNodeCacheSizeMb < 0) {
+        throw new CommandLine.ParameterException(
+            commandLine, "--Xbonsai-trie-node-cache-size must not be negative");
+      }
       if (limitTrieLogsEnabled) {
         if (maxLayersToLoad < MINIMUM_TRIE_LOG_RETENTION_LIMIT) {
           throw new CommandLine.ParameterException(
@@ -184,6 +206,10 @@ public class PathBasedExtraStorageOptions
         domainObject.getUnstable().getFullFlatDbEnabled();
     dataStorageOptions.unstableOptions.codeUsingCodeHashEnabled =
         domainObject.getUnstable().getCodeStoredByCodeHashEnabled();
+    dataStorageOptions.unstableOptions.trieNodeCacheSizeMb =
+        domainObject.getUnstable().getTrieNodeCacheSizeMb();
+    dataStorageOptions.unstableOptions.trieLogCheckpointsEnabled =
+        domainObject.getUnstable().getTrieLogCheckpointsEnabled();
     dataStorageOptions.isParallelTxProcessingEnabled =
         domainObject.getParallelTxProcessingEnabled();
     dataStorageOptions.isParallelStateRootComputationEnabled =
@@ -204,6 +230,8 @@ public class PathBasedExtraStorageOptions
             ImmutablePathBasedExtraStorageConfiguration.PathBasedUnstable.builder()
                 .fullFlatDbEnabled(unstableOptions.fullFlatDbEnabled)
                 .codeStoredByCodeHashEnabled(unstableOptions.codeUsingCodeHashEnabled)
+                .trieNodeCacheSizeMb(unstableOptions.trieNodeCacheSizeMb)
+                .trieLogCheckpointsEnabled(unstableOptions.trieLogCheckpointsEnabled)
                 .build())
         .build();
   }
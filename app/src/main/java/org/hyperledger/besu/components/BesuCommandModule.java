@@ -32,6 +32,7 @@ import org.hyperledger.besu.ethereum.core.encoding.BlockBodyEncoder;
 import org.hyperledger.besu.ethereum.core.encoding.BlockHeaderEncoder;
 import org.hyperledger.besu.ethereum.core.encoding.receipt.TransactionReceiptEncoder;
 import org.hyperledger.besu.ethereum.p2p.discovery.P2PDiscoveryConfiguration;
+import org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration;
 import org.hyperledger.besu.metrics.prometheus.MetricsConfiguration;
 import org.hyperledger.besu.services.BesuPluginContextImpl;
 import org.hyperledger.besu.util.io.OutputStreamFactory;
@@ -86,6 +87,11 @@ public class BesuCommandModule {
     return provideFrom.metricsConfiguration();
   }
 
+  @Provides
+  DataStorageConfiguration provideDataStorageConfiguration(final BesuCommand provideFrom) {
+    return provideFrom.getDataStorageConfiguration();
+  }
+
   @Provides
   @Singleton
   RPCOptions provideRPCOptions() {
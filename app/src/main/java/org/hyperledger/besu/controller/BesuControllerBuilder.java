@@ -94,6 +94,7 @@ import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.cache.CodeCache;
 import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.storage.BonsaiWorldStateKeyValueStorage;
 import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.worldview.BonsaiArchiver;
 import org.hyperledger.besu.ethereum.trie.pathbased.common.storage.PathBasedWorldStateKeyValueStorage;
+import org.hyperledger.besu.ethereum.trie.pathbased.common.trielog.TrieLogCheckpointer;
 import org.hyperledger.besu.ethereum.trie.pathbased.common.trielog.TrieLogManager;
 import org.hyperledger.besu.ethereum.trie.pathbased.common.trielog.TrieLogPruner;
 import org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration;
@@ -103,7 +104,9 @@ import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive.WorldStateHeal
 import org.hyperledger.besu.ethereum.worldstate.WorldStateKeyValueStorage;
 import org.hyperledger.besu.ethereum.worldstate.WorldStatePreimageStorage;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateStorageCoordinator;
+import org.hyperledger.besu.evm.frame.MemoryArena;
 import org.hyperledger.besu.evm.internal.EvmConfiguration;
+import org.hyperledger.besu.metrics.BesuMetricCategory;
 import org.hyperledger.besu.metrics.ObservableMetricsSystem;
 import org.hyperledger.besu.plugin.ServiceManager;
 import org.hyperledger.besu.plugin.services.permissioning.NodeMessagePermissioningProvider;
@@ -614,6 +617,7 @@ public abstract class BesuControllerBuilder implements MiningConfigurationOverri
 
     this.codeCache = besuComponent.map(BesuComponent::getCodeCache).orElse(new CodeCache());
     this.codeCache.setupMetricsSystem(metricsSystem);
+    setupMemoryArenaMetrics();
 
     prepForBuild();
 
@@ -662,7 +666,14 @@ public abstract class BesuControllerBuilder implements MiningConfigurationOverri
     final BonsaiCachedMerkleTrieLoader bonsaiCachedMerkleTrieLoader =
         besuComponent
             .map(BesuComponent::getCachedMerkleTrieLoader)
-            .orElseGet(() -> new BonsaiCachedMerkleTrieLoader(metricsSystem));
+            .orElseGet(
+                () ->
+                    new BonsaiCachedMerkleTrieLoader(
+                        metricsSystem,
+                        dataStorageConfiguration
+                            .getPathBasedExtraStorageConfiguration()
+                            .getUnstable()
+                            .getTrieNodeCacheSizeMb()));
 
     final var worldStateHealerSupplier = new AtomicReference<WorldStateHealer>();
 
@@ -880,6 +891,13 @@ public abstract class BesuControllerBuilder implements MiningConfigurationOverri
             createTrieLogPruner(worldStateKeyValueStorage, blockchain, scheduler);
         trieLogManager.subscribe(trieLogPruner);
       }
+      if (subStorageConfiguration.getUnstable().getTrieLogCheckpointsEnabled()) {
+        blockchain.observeBlockAdded(
+            new TrieLogCheckpointer(
+                blockchain,
+                ((BonsaiWorldStateProvider) worldStateArchive).getTrieLogManager(),
+                scheduler::executeServiceTask));
+      }
     }
 
     if (DataStorageFormat.X_BONSAI_ARCHIVE.equals(
@@ -920,6 +938,27 @@ public abstract class BesuControllerBuilder implements MiningConfigurationOverri
         transactionSimulator);
   }
 
+  private void setupMemoryArenaMetrics() {
+    if (!evmConfiguration.pooledFrameMemory()) {
+      return;
+    }
+    metricsSystem.createLongGauge(
+        BesuMetricCategory.BLOCK_PROCESSING,
+        "evm_memory_arena_hits",
+        "Number of EVM memory expansions served from a pooled buffer",
+        MemoryArena::hitCount);
+    metricsSystem.createLongGauge(
+        BesuMetricCategory.BLOCK_PROCESSING,
+        "evm_memory_arena_misses",
+        "Number of EVM memory expansions that allocated a new buffer",
+        MemoryArena::missCount);
+    metricsSystem.createLongGauge(
+        BesuMetricCategory.BLOCK_PROCESSING,
+        "evm_memory_arena_bytes_reused",
+        "Total size of pooled EVM memory buffers handed out again",
+        MemoryArena::bytesReused);
+  }
+
   private void preloadBlockHeaderCache(
       final MutableBlockchain blockchain, final EthScheduler scheduler) {
     final BlockHeadersCachePreload blockHeaderCachePreload =
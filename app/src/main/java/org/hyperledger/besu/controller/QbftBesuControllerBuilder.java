@@ -204,7 +204,7 @@ public class QbftBesuControllerBuilder extends BesuControllerBuilder {
     final Address localAddress = Util.publicKeyToAddress(nodeKey.getPublicKey());
     final BftProtocolSchedule bftProtocolSchedule = (BftProtocolSchedule) protocolSchedule;
     QbftProtocolSchedule qbftProtocolSchedule =
-        new QbftProtocolScheduleAdaptor(bftProtocolSchedule, protocolContext);
+        new QbftProtocolScheduleAdaptor(bftProtocolSchedule, protocolContext, qbftExtraDataCodec);
     final QbftBlockCreatorFactory blockCreatorFactory =
         new QbftBlockCreatorFactory(
             transactionPool,
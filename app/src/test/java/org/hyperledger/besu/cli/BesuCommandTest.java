@@ -318,6 +318,7 @@ public class BesuCommandTest extends CommandTestAbstract {
     verify(mockRunnerBuilder).metricsConfiguration(eq(DEFAULT_METRICS_CONFIGURATION));
     verify(mockRunnerBuilder).ethNetworkConfig(ethNetworkArg.capture());
     verify(mockRunnerBuilder).autoLogBloomCaching(eq(true));
+    verify(mockRunnerBuilder).autoLogIndexing(eq(false));
     verify(mockRunnerBuilder).apiConfiguration(DEFAULT_API_CONFIGURATION);
     verify(mockRunnerBuilder).build();
 
@@ -2240,6 +2241,24 @@ public class BesuCommandTest extends CommandTestAbstract {
         .contains("Invalid value for option", "--Xhttp-timeout-seconds", "abc", "is not a long");
   }
 
+  @Test
+  public void assertThatHttpResponseCacheMethodsWork() {
+    parseCommand("--Xrpc-http-response-cache-methods=eth_getBlockByHash,eth_getBalance");
+    assertThat(commandErrorOutput.toString(UTF_8)).isEmpty();
+    verify(mockRunnerBuilder).jsonRpcConfiguration(jsonRpcConfigArgumentCaptor.capture());
+    verify(mockRunnerBuilder).build();
+    assertThat(jsonRpcConfigArgumentCaptor.getValue().getResponseCacheMethods())
+        .containsExactly("eth_getBlockByHash", "eth_getBalance");
+  }
+
+  @Test
+  public void assertThatUnsupportedHttpResponseCacheMethodsFail() {
+    parseCommand("--Xrpc-http-response-cache-methods=eth_getBlockByHash,eth_blockNumber");
+    assertThat(commandErrorOutput.toString(UTF_8))
+        .contains("--Xrpc-http-response-cache-methods", "eth_blockNumber", "can not be cached");
+    verifyNoInteractions(mockRunnerBuilder);
+  }
+
   @Test
   public void assertThatDefaultWsTimeoutSecondsWorks() {
     parseCommand();
@@ -196,4 +196,28 @@ public class ApiConfigurationOptionsTest extends CommandTestAbstract {
     assertThat(commandOutput.toString(UTF_8)).isEmpty();
     assertThat(commandErrorOutput.toString(UTF_8)).isEmpty();
   }
+
+  @Test
+  public void virtualThreadRequestOptionsMustBeUsed() {
+    parseCommand(
+        "--Xrpc-virtual-threads-enabled",
+        "--Xrpc-method-concurrency-limit",
+        "32",
+        "--Xrpc-heavy-method-concurrency-limit",
+        "2");
+
+    verify(mockRunnerBuilder).apiConfiguration(apiConfigurationCaptor.capture());
+    verify(mockRunnerBuilder).build();
+
+    assertThat(apiConfigurationCaptor.getValue())
+        .isEqualTo(
+            ImmutableApiConfiguration.builder()
+                .isVirtualThreadRequestsEnabled(true)
+                .methodConcurrencyLimit(32)
+                .heavyMethodConcurrencyLimit(2)
+                .build());
+
+    assertThat(commandOutput.toString(UTF_8)).isEmpty();
+    assertThat(commandErrorOutput.toString(UTF_8)).isEmpty();
+  }
 }
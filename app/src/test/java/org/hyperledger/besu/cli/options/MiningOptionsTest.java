@@ -18,6 +18,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.hyperledger.besu.ethereum.core.MiningConfiguration.DEFAULT_NON_POA_BLOCK_TXS_SELECTION_MAX_TIME;
 import static org.hyperledger.besu.ethereum.core.MiningConfiguration.DEFAULT_PLUGIN_BLOCK_TXS_SELECTION_MAX_TIME;
 import static org.hyperledger.besu.ethereum.core.MiningConfiguration.DEFAULT_POA_BLOCK_TXS_SELECTION_MAX_TIME;
+import static org.hyperledger.besu.ethereum.core.MiningConfiguration.Unstable.DEFAULT_BLOCK_TXS_SELECTION_SPECULATIVE_WINDOW;
 import static org.hyperledger.besu.ethereum.core.MiningConfiguration.Unstable.DEFAULT_POS_BLOCK_CREATION_MAX_TIME;
 import static org.mockito.Mockito.atMost;
 import static org.mockito.Mockito.verify;
@@ -175,6 +176,32 @@ public class MiningOptionsTest extends AbstractCLIOptionsTest<MiningConfiguratio
         "17000");
   }
 
+  @Test
+  public void blockTxsSelectionSpeculativeWindowDefaultValue() {
+    internalTestSuccess(
+        miningParams ->
+            assertThat(miningParams.getUnstable().getBlockTxsSelectionSpeculativeWindow())
+                .isEqualTo(DEFAULT_BLOCK_TXS_SELECTION_SPECULATIVE_WINDOW));
+  }
+
+  @Test
+  public void blockTxsSelectionSpeculativeWindowOption() {
+    internalTestSuccess(
+        miningParams ->
+            assertThat(miningParams.getUnstable().getBlockTxsSelectionSpeculativeWindow())
+                .isEqualTo(8),
+        "--Xblock-txs-selection-speculative-window",
+        "8");
+  }
+
+  @Test
+  public void blockTxsSelectionSpeculativeWindowNegative() {
+    internalTestFailure(
+        "--Xblock-txs-selection-speculative-window must be a non-negative value",
+        "--Xblock-txs-selection-speculative-window",
+        "-1");
+  }
+
   @Test
   public void blockTxsSelectionMaxTimeDefaultValue() {
     internalTestSuccess(
@@ -373,6 +373,17 @@ public class TransactionPoolOptionsTest
         "-1");
   }
 
+  @Test
+  public void remoteTxsBatchWindow() {
+    final Duration remoteTxsBatchWindow = Duration.ofMillis(50);
+    internalTestSuccess(
+        config ->
+            assertThat(config.getUnstable().getRemoteTxsBatchWindow())
+                .isEqualTo(remoteTxsBatchWindow),
+        "--Xremote-txs-batch-window-milliseconds",
+        new DurationMillisConverter().format(remoteTxsBatchWindow));
+  }
+
   @Test
   public void maxPrioritizedTxsPerType() {
     final int maxBlobs = 2;
@@ -138,6 +138,42 @@ public class DataStorageOptionsTest
         "false");
   }
 
+  @Test
+  public void trieNodeCacheSizeCanBeSet() {
+    internalTestSuccess(
+        dataStorageConfiguration ->
+            assertThat(
+                    dataStorageConfiguration
+                        .getPathBasedExtraStorageConfiguration()
+                        .getUnstable()
+                        .getTrieNodeCacheSizeMb())
+                .isEqualTo(1024),
+        "--Xbonsai-trie-node-cache-size",
+        "1024");
+  }
+
+  @Test
+  public void trieNodeCacheSizeMustNotBeNegative() {
+    internalTestFailure(
+        "--Xbonsai-trie-node-cache-size must not be negative",
+        "--Xbonsai-trie-node-cache-size",
+        "-1");
+  }
+
+  @Test
+  public void trieLogCheckpointsCanBeEnabled() {
+    internalTestSuccess(
+        dataStorageConfiguration ->
+            assertThat(
+                    dataStorageConfiguration
+                        .getPathBasedExtraStorageConfiguration()
+                        .getUnstable()
+                        .getTrieLogCheckpointsEnabled())
+                .isTrue(),
+        "--Xbonsai-trie-log-checkpoints-enabled",
+        "true");
+  }
+
   @Test
   public void parallelTxProcessingEnabledByDefault() {
     internalTestSuccess(
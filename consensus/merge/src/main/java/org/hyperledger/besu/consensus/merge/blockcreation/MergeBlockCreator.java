@@ -105,6 +105,11 @@ class MergeBlockCreator extends AbstractBlockCreator {
     throw new UnsupportedOperationException("random is required");
   }
 
+  @Override
+  protected boolean isIncrementalSelectionEnabled() {
+    return true;
+  }
+
   @Override
   protected BlockHeader createFinalBlockHeader(final SealableBlockHeader sealableBlockHeader) {
     return BlockHeaderBuilder.create()
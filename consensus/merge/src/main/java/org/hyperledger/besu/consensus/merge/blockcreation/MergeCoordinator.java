@@ -59,6 +59,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalLong;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
@@ -458,7 +459,14 @@ public class MergeCoordinator implements MergeMiningCoordinator, BadChainListene
     ethScheduler
         .scheduleBlockCreationTask(
             parentHeader.getNumber() + 1,
-            () -> retryBlockCreationUntilUseful(payloadIdentifier, blockCreator))
+            () -> {
+              try {
+                retryBlockCreationUntilUseful(payloadIdentifier, mergeBlockCreator, blockCreator);
+              } finally {
+                // release the world state kept to resume the selection
+                mergeBlockCreator.discardIncrementalSelection();
+              }
+            })
         .orTimeout(
             miningConfiguration.getUnstable().getPosBlockCreationMaxTime(), TimeUnit.MILLISECONDS)
         .whenComplete(
@@ -485,15 +493,35 @@ public class MergeCoordinator implements MergeMiningCoordinator, BadChainListene
             });
   }
 
+  /**
+   * Repeatedly builds a block for the payload, until block creation is cancelled. Each build
+   * resumes the transaction selection of the previous one, so only the transactions added to the
+   * pool since are executed, unless one of the selected transactions was invalidated, in which case
+   * the selection starts again from scratch. A new block is only built when the candidate
+   * transactions in the pool changed since the last complete build, so the pool is polled more
+   * often while nothing changes.
+   */
   private Void retryBlockCreationUntilUseful(
-      final PayloadIdentifier payloadIdentifier, final Supplier<BlockCreationResult> blockCreator) {
+      final PayloadIdentifier payloadIdentifier,
+      final MergeBlockCreator mergeBlockCreator,
+      final Supplier<BlockCreationResult> blockCreator) {
 
-    long lastStartAt;
+    long lastStartAt = 0;
+    OptionalLong lastBuiltCandidatesVersion = OptionalLong.empty();
 
     while (!isBlockCreationCancelled(payloadIdentifier)) {
       try {
-        lastStartAt = System.currentTimeMillis();
-        recoverableBlockCreation(payloadIdentifier, blockCreator, lastStartAt);
+        final OptionalLong candidatesVersion = mergeBlockCreator.getCandidatesVersion();
+        if (candidatesVersion.isPresent() && candidatesVersion.equals(lastBuiltCandidatesVersion)) {
+          LOG.trace(
+              "Candidate transactions unchanged, skipping block creation for payload id {}",
+              payloadIdentifier);
+        } else {
+          lastStartAt = System.currentTimeMillis();
+          final boolean reusable =
+              recoverableBlockCreation(payloadIdentifier, blockCreator, lastStartAt);
+          lastBuiltCandidatesVersion = reusable ? candidatesVersion : OptionalLong.empty();
+        }
         final long lastDuration = System.currentTimeMillis() - lastStartAt;
         final long waitBeforeRepetition =
             Math.max(
@@ -520,13 +548,13 @@ public class MergeCoordinator implements MergeMiningCoordinator, BadChainListene
     return null;
   }
 
-  private void recoverableBlockCreation(
+  private boolean recoverableBlockCreation(
       final PayloadIdentifier payloadIdentifier,
       final Supplier<BlockCreationResult> blockCreator,
       final long startedAt) {
 
     try {
-      evaluateNewBlock(blockCreator.get(), payloadIdentifier, startedAt);
+      return evaluateNewBlock(blockCreator.get(), payloadIdentifier, startedAt);
     } catch (final Throwable throwable) {
       if (canRetryBlockCreation(throwable) && !isBlockCreationCancelled(payloadIdentifier)) {
         LOG.atDebug()
@@ -534,14 +562,20 @@ public class MergeCoordinator implements MergeMiningCoordinator, BadChainListene
             .addArgument(payloadIdentifier)
             .addArgument(() -> logException(throwable))
             .log();
-        recoverableBlockCreation(payloadIdentifier, blockCreator, startedAt);
+        return recoverableBlockCreation(payloadIdentifier, blockCreator, startedAt);
       } else {
         throw throwable;
       }
     }
   }
 
-  private void evaluateNewBlock(
+  /**
+   * Validates the new block and makes it the payload if valid.
+   *
+   * @return true if the block is valid and its transaction selection completed, so that building
+   *     again with the same candidate transactions would not give a better block
+   */
+  private boolean evaluateNewBlock(
       final BlockCreationResult blockCreationResult,
       final PayloadIdentifier payloadIdentifier,
       final long startedAt) {
@@ -565,6 +599,7 @@ public class MergeCoordinator implements MergeMiningCoordinator, BadChainListene
           .addArgument(bestBlock.getBody().getTransactions()::size)
           .addArgument(() -> System.currentTimeMillis() - startedAt)
           .log();
+      return !blockCreationResult.getTransactionSelectionResults().isTimedOut();
     } else {
       LOG.warn(
           "Block {} built for proposal identified by {}, is not valid reason {}",
@@ -574,6 +609,7 @@ public class MergeCoordinator implements MergeMiningCoordinator, BadChainListene
       if (resultBest.causedBy().isPresent()) {
         LOG.warn("caused by", resultBest.cause.get());
       }
+      return false;
     }
   }
 
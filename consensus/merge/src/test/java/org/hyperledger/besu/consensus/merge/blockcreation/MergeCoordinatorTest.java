@@ -494,6 +494,63 @@ public class MergeCoordinatorTest implements MergeGenesisConfigHelper {
         .allSatisfy(d -> assertThat(d).isGreaterThanOrEqualTo(REPETITION_MIN_DURATION - 10));
   }
 
+  @Test
+  public void shouldOnlyRebuildBlockWhenCandidateTransactionsChange() throws Exception {
+    final AtomicLong candidatesVersion = new AtomicLong();
+    final TransactionPool versionedTransactionPool = spy(transactionPool);
+    doAnswer(invocation -> OptionalLong.of(candidatesVersion.get()))
+        .when(versionedTransactionPool)
+        .getCandidatesVersion();
+    coordinator =
+        new MergeCoordinator(
+            protocolContext,
+            protocolSchedule,
+            ethScheduler,
+            versionedTransactionPool,
+            miningConfiguration,
+            backwardSyncContext);
+
+    final CountDownLatch firstBlockBuilt = new CountDownLatch(2);
+    doAnswer(
+            invocation -> {
+              final PayloadWrapper payload = invocation.getArgument(0, PayloadWrapper.class);
+              firstBlockBuilt.countDown();
+              if (!payload.blockWithReceipts().getBlock().getBody().getTransactions().isEmpty()) {
+                coordinator.finalizeProposalById(payload.payloadIdentifier());
+              }
+              return null;
+            })
+        .when(mergeContext)
+        .putPayloadById(any());
+
+    var payloadId =
+        coordinator.preparePayload(
+            genesisState.getBlock().getHeader(),
+            System.currentTimeMillis() / 1000,
+            Bytes32.ZERO,
+            suggestedFeeRecipient,
+            Optional.empty(),
+            Optional.empty(),
+            Optional.empty());
+
+    // the empty block and the first built block
+    firstBlockBuilt.await();
+    Thread.sleep(REPETITION_MIN_DURATION * 5);
+    verify(mergeContext, times(2)).putPayloadById(any());
+
+    transactions.addTransaction(createLocalTransaction(0), Optional.empty());
+    candidatesVersion.incrementAndGet();
+
+    blockCreationTask.get();
+
+    ArgumentCaptor<PayloadWrapper> payloadWrapper = ArgumentCaptor.forClass(PayloadWrapper.class);
+    verify(mergeContext, times(3)).putPayloadById(payloadWrapper.capture());
+    assertThat(payloadWrapper.getValue().payloadIdentifier()).isEqualTo(payloadId);
+    assertThat(
+            payloadWrapper.getValue().blockWithReceipts().getBlock().getBody().getTransactions())
+        .hasSize(1);
+  }
+
   @Test
   public void shouldRetryBlockCreationOnRecoverableError()
       throws InterruptedException, ExecutionException {
@@ -14,13 +14,18 @@
  */
 package org.hyperledger.besu.consensus.qbft.adaptor;
 
+import org.hyperledger.besu.consensus.qbft.adaptor.QbftValidatedBlocks.ValidatedBlock;
 import org.hyperledger.besu.consensus.qbft.core.types.QbftBlock;
 import org.hyperledger.besu.consensus.qbft.core.types.QbftBlockImporter;
 import org.hyperledger.besu.ethereum.ProtocolContext;
+import org.hyperledger.besu.ethereum.chain.MutableBlockchain;
+import org.hyperledger.besu.ethereum.core.Block;
 import org.hyperledger.besu.ethereum.core.BlockImporter;
+import org.hyperledger.besu.ethereum.mainnet.BlockHeaderValidator;
 import org.hyperledger.besu.ethereum.mainnet.BlockImportResult;
 import org.hyperledger.besu.ethereum.mainnet.HeaderValidationMode;
 import org.hyperledger.besu.ethereum.mainnet.block.access.list.BlockAccessList;
+import org.hyperledger.besu.ethereum.trie.pathbased.common.provider.WorldStateQueryParams;
 
 import java.util.Optional;
 
@@ -28,7 +33,9 @@ import java.util.Optional;
 public class QbftBlockImporterAdaptor implements QbftBlockImporter {
 
   private final BlockImporter blockImporter;
+  private final Optional<BlockHeaderValidator> blockHeaderValidator;
   private final ProtocolContext context;
+  private final Optional<QbftValidatedBlocks> validatedBlocks;
 
   /**
    * Constructs a new Qbft block importer.
@@ -39,19 +46,81 @@ public class QbftBlockImporterAdaptor implements QbftBlockImporter {
   public QbftBlockImporterAdaptor(
       final BlockImporter blockImporter, final ProtocolContext context) {
     this.blockImporter = blockImporter;
+    this.blockHeaderValidator = Optional.empty();
     this.context = context;
+    this.validatedBlocks = Optional.empty();
+  }
+
+  /**
+   * Constructs a new Qbft block importer that commits the blocks already validated as proposals
+   * without executing them again.
+   *
+   * @param blockImporter The Besu block importer, used for the blocks that were not validated
+   * @param blockHeaderValidator The Besu block header validator
+   * @param context The protocol context
+   * @param validatedBlocks The store of the outputs of the validated blocks
+   */
+  public QbftBlockImporterAdaptor(
+      final BlockImporter blockImporter,
+      final BlockHeaderValidator blockHeaderValidator,
+      final ProtocolContext context,
+      final Optional<QbftValidatedBlocks> validatedBlocks) {
+    this.blockImporter = blockImporter;
+    this.blockHeaderValidator = Optional.of(blockHeaderValidator);
+    this.context = context;
+    this.validatedBlocks = validatedBlocks;
   }
 
   @Override
   public boolean importBlock(
       final QbftBlock block, final Optional<BlockAccessList> blockAccessList) {
+    final Block besuBlock = AdaptorUtil.toBesuBlock(block);
+    if (validatedBlocks.isPresent()) {
+      final Block onchainBlock = validatedBlocks.get().toOnchainBlock(besuBlock);
+      final Optional<ValidatedBlock> validatedBlock =
+          validatedBlocks.get().remove(onchainBlock.getHash());
+      if (validatedBlock.isPresent()) {
+        return commitValidatedBlock(onchainBlock, validatedBlock.get());
+      }
+    }
+
     final BlockImportResult blockImportResult =
         blockImporter.importBlock(
             context,
-            AdaptorUtil.toBesuBlock(block),
+            besuBlock,
             HeaderValidationMode.FULL,
             HeaderValidationMode.FULL,
             blockAccessList);
     return blockImportResult.isImported();
   }
+
+  private boolean commitValidatedBlock(final Block block, final ValidatedBlock validatedBlock) {
+    // serialized with the imports of the Besu block importer, that are synchronized on it
+    synchronized (blockImporter) {
+      final MutableBlockchain blockchain = context.getBlockchain();
+      if (blockchain.contains(block.getHash())) {
+        return true;
+      }
+
+      // the proposal was validated without its commit seals, they are checked by the full
+      // validation of the sealed header
+      if (!blockHeaderValidator
+          .get()
+          .validateHeader(block.getHeader(), context, HeaderValidationMode.FULL)) {
+        return false;
+      }
+
+      blockchain.appendBlock(block, validatedBlock.receipts(), validatedBlock.blockAccessList());
+
+      // move the head worldstate to the transition persisted when the proposal was validated:
+      context
+          .getWorldStateArchive()
+          .getWorldState(
+              WorldStateQueryParams.newBuilder()
+                  .withBlockHeader(block.getHeader())
+                  .withShouldWorldStateUpdateHead(true)
+                  .build());
+      return true;
+    }
+  }
 }
@@ -19,6 +19,7 @@ import org.hyperledger.besu.consensus.qbft.core.types.QbftBlockValidator;
 import org.hyperledger.besu.ethereum.BlockProcessingResult;
 import org.hyperledger.besu.ethereum.BlockValidator;
 import org.hyperledger.besu.ethereum.ProtocolContext;
+import org.hyperledger.besu.ethereum.core.Block;
 import org.hyperledger.besu.ethereum.mainnet.HeaderValidationMode;
 import org.hyperledger.besu.ethereum.mainnet.block.access.list.BlockAccessList;
 
@@ -29,6 +30,7 @@ public class QbftBlockValidatorAdaptor implements QbftBlockValidator {
 
   private final BlockValidator blockValidator;
   private final ProtocolContext protocolContext;
+  private final Optional<QbftValidatedBlocks> validatedBlocks;
 
   /**
    * Constructs a new Qbft block validator
@@ -38,21 +40,50 @@ public class QbftBlockValidatorAdaptor implements QbftBlockValidator {
    */
   public QbftBlockValidatorAdaptor(
       final BlockValidator blockValidator, final ProtocolContext protocolContext) {
+    this(blockValidator, protocolContext, Optional.empty());
+  }
+
+  /**
+   * Constructs a new Qbft block validator that keeps the outputs of the successfully validated
+   * blocks, so that they can be imported without being executed again
+   *
+   * @param blockValidator The Besu block validator
+   * @param protocolContext The protocol context
+   * @param validatedBlocks The store of the outputs of the validated blocks
+   */
+  public QbftBlockValidatorAdaptor(
+      final BlockValidator blockValidator,
+      final ProtocolContext protocolContext,
+      final Optional<QbftValidatedBlocks> validatedBlocks) {
     this.blockValidator = blockValidator;
     this.protocolContext = protocolContext;
+    this.validatedBlocks = validatedBlocks;
   }
 
   @Override
   public ValidationResult validateBlock(
       final QbftBlock block, final Optional<BlockAccessList> blockAccessList) {
+    // the block is processed with its on-chain hash, so that the world state transition persisted
+    // by the validation is found when the sealed block is imported
+    final Block besuBlock =
+        validatedBlocks
+            .map(blocks -> blocks.toOnchainBlock(AdaptorUtil.toBesuBlock(block)))
+            .orElseGet(() -> AdaptorUtil.toBesuBlock(block));
     final BlockProcessingResult blockProcessingResult =
         blockValidator.validateAndProcessBlock(
             protocolContext,
-            AdaptorUtil.toBesuBlock(block),
+            besuBlock,
             HeaderValidationMode.LIGHT,
             HeaderValidationMode.FULL,
             blockAccessList,
             false);
+    if (blockProcessingResult.isSuccessful()) {
+      validatedBlocks.ifPresent(
+          blocks ->
+              blockProcessingResult
+                  .getYield()
+                  .ifPresent(outputs -> blocks.put(besuBlock.getHash(), outputs)));
+    }
     return new ValidationResult(
         blockProcessingResult.isSuccessful(), blockProcessingResult.errorMessage);
   }
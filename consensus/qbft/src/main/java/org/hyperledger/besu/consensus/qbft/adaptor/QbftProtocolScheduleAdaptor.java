@@ -14,6 +14,7 @@
  */
 package org.hyperledger.besu.consensus.qbft.adaptor;
 
+import org.hyperledger.besu.consensus.common.bft.BftExtraDataCodec;
 import org.hyperledger.besu.consensus.qbft.core.types.QbftBlockHeader;
 import org.hyperledger.besu.consensus.qbft.core.types.QbftBlockImporter;
 import org.hyperledger.besu.consensus.qbft.core.types.QbftBlockValidator;
@@ -22,6 +23,8 @@ import org.hyperledger.besu.ethereum.ProtocolContext;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSpec;
 
+import java.util.Optional;
+
 /**
  * Adaptor class to allow a {@link ProtocolSchedule} to be used as a {@link QbftProtocolSchedule}.
  */
@@ -29,6 +32,7 @@ public class QbftProtocolScheduleAdaptor implements QbftProtocolSchedule {
 
   private final ProtocolSchedule besuProtocolSchedule;
   private final ProtocolContext context;
+  private final Optional<QbftValidatedBlocks> validatedBlocks;
 
   /**
    * Constructs a new Qbft protocol schedule.
@@ -38,20 +42,47 @@ public class QbftProtocolScheduleAdaptor implements QbftProtocolSchedule {
    */
   public QbftProtocolScheduleAdaptor(
       final ProtocolSchedule besuProtocolSchedule, final ProtocolContext context) {
+    this(besuProtocolSchedule, context, Optional.empty());
+  }
+
+  /**
+   * Constructs a new Qbft protocol schedule, whose block importers commit the proposed blocks
+   * already validated by its block validators without executing them again.
+   *
+   * @param besuProtocolSchedule The Besu protocol schedule.
+   * @param context The protocol context.
+   * @param bftExtraDataCodec The codec of the extra data of the blocks.
+   */
+  public QbftProtocolScheduleAdaptor(
+      final ProtocolSchedule besuProtocolSchedule,
+      final ProtocolContext context,
+      final BftExtraDataCodec bftExtraDataCodec) {
+    this(besuProtocolSchedule, context, Optional.of(new QbftValidatedBlocks(bftExtraDataCodec)));
+  }
+
+  private QbftProtocolScheduleAdaptor(
+      final ProtocolSchedule besuProtocolSchedule,
+      final ProtocolContext context,
+      final Optional<QbftValidatedBlocks> validatedBlocks) {
     this.besuProtocolSchedule = besuProtocolSchedule;
     this.context = context;
+    this.validatedBlocks = validatedBlocks;
   }
 
   @Override
   public QbftBlockImporter getBlockImporter(final QbftBlockHeader header) {
+    final ProtocolSpec protocolSpec = getProtocolSpecByBlockHeader(header);
     return new QbftBlockImporterAdaptor(
-        getProtocolSpecByBlockHeader(header).getBlockImporter(), context);
+        protocolSpec.getBlockImporter(),
+        protocolSpec.getBlockHeaderValidator(),
+        context,
+        validatedBlocks);
   }
 
   @Override
   public QbftBlockValidator getBlockValidator(final QbftBlockHeader header) {
     return new QbftBlockValidatorAdaptor(
-        getProtocolSpecByBlockHeader(header).getBlockValidator(), context);
+        getProtocolSpecByBlockHeader(header).getBlockValidator(), context, validatedBlocks);
   }
 
   private ProtocolSpec getProtocolSpecByBlockHeader(final QbftBlockHeader header) {
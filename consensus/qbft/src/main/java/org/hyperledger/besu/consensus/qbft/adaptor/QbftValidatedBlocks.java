@@ -0,0 +1,107 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.consensus.qbft.adaptor;
+
+import org.hyperledger.besu.consensus.common.bft.BftBlockHeaderFunctions;
+import org.hyperledger.besu.consensus.common.bft.BftExtraDataCodec;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.BlockProcessingOutputs;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.BlockHeaderBuilder;
+import org.hyperledger.besu.ethereum.core.BlockHeaderFunctions;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+import org.hyperledger.besu.ethereum.mainnet.block.access.list.BlockAccessList;
+
+import java.util.List;
+import java.util.Optional;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * The outputs of the proposed blocks successfully validated by a {@link QbftBlockValidatorAdaptor},
+ * keyed by block hash, so that a {@link QbftBlockImporterAdaptor} can commit a block without
+ * executing it again.
+ *
+ * <p>Blocks are identified by their on-chain hash, that excludes the commit seals and the round
+ * number, so that a proposal matches the sealed block imported once the commit quorum is reached.
+ * Only the receipts and the block access list are kept: the world state changes of the block are
+ * already persisted by the validation as the transition to the block, and they are applied when the
+ * head world state is moved to the imported block.
+ */
+public class QbftValidatedBlocks {
+  // enough for the proposals of the rounds of a few heights, older entries are never imported
+  private static final int MAX_VALIDATED_BLOCKS = 16;
+
+  private final BlockHeaderFunctions onchainHeaderFunctions;
+  private final Cache<Hash, ValidatedBlock> validatedBlocks =
+      CacheBuilder.newBuilder().maximumSize(MAX_VALIDATED_BLOCKS).build();
+
+  /**
+   * Constructs a new empty store of validated blocks.
+   *
+   * @param bftExtraDataCodec the codec of the extra data of the blocks
+   */
+  public QbftValidatedBlocks(final BftExtraDataCodec bftExtraDataCodec) {
+    this.onchainHeaderFunctions = BftBlockHeaderFunctions.forOnchainBlock(bftExtraDataCodec);
+  }
+
+  /**
+   * Get the block with its header hashed as it is on chain
+   *
+   * @param block the block, that can be hashed for its committed seals
+   * @return the block hashed as it is on chain
+   */
+  public Block toOnchainBlock(final Block block) {
+    final BlockHeader onchainHeader =
+        BlockHeaderBuilder.fromHeader(block.getHeader())
+            .blockHeaderFunctions(onchainHeaderFunctions)
+            .buildBlockHeader();
+    return new Block(onchainHeader, block.getBody());
+  }
+
+  /**
+   * Keep the outputs of the successful validation of a block
+   *
+   * @param blockHash the on-chain hash of the validated block
+   * @param processingOutputs the outputs of the processing of the block
+   */
+  public void put(final Hash blockHash, final BlockProcessingOutputs processingOutputs) {
+    validatedBlocks.put(
+        blockHash,
+        new ValidatedBlock(
+            processingOutputs.getReceipts(), processingOutputs.getBlockAccessList()));
+  }
+
+  /**
+   * Remove the outputs of the validation of a block
+   *
+   * @param blockHash the on-chain hash of the block
+   * @return the outputs of the validation of the block, or empty if it was not validated
+   */
+  public Optional<ValidatedBlock> remove(final Hash blockHash) {
+    return Optional.ofNullable(validatedBlocks.asMap().remove(blockHash));
+  }
+
+  /**
+   * The outputs of the validation of a block.
+   *
+   * @param receipts the receipts of the transactions of the block
+   * @param blockAccessList the block access list produced by the processing of the block
+   */
+  public record ValidatedBlock(
+      List<TransactionReceipt> receipts, Optional<BlockAccessList> blockAccessList) {}
+}
@@ -18,18 +18,38 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.hyperledger.besu.ethereum.mainnet.BlockImportResult.BlockImportStatus.ALREADY_IMPORTED;
 import static org.hyperledger.besu.ethereum.mainnet.BlockImportResult.BlockImportStatus.IMPORTED;
 import static org.hyperledger.besu.ethereum.mainnet.BlockImportResult.BlockImportStatus.NOT_IMPORTED;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import org.hyperledger.besu.consensus.common.bft.BftBlockHeaderFunctions;
+import org.hyperledger.besu.consensus.common.bft.BftExtraData;
+import org.hyperledger.besu.consensus.qbft.QbftExtraDataCodec;
 import org.hyperledger.besu.consensus.qbft.core.types.QbftBlock;
+import org.hyperledger.besu.crypto.SECPSignature;
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.ethereum.BlockProcessingOutputs;
 import org.hyperledger.besu.ethereum.ProtocolContext;
+import org.hyperledger.besu.ethereum.blockcreation.BlockCreator;
+import org.hyperledger.besu.ethereum.chain.MutableBlockchain;
 import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockBody;
 import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.BlockHeaderTestFixture;
 import org.hyperledger.besu.ethereum.core.BlockImporter;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+import org.hyperledger.besu.ethereum.mainnet.BlockHeaderValidator;
 import org.hyperledger.besu.ethereum.mainnet.BlockImportResult;
 import org.hyperledger.besu.ethereum.mainnet.HeaderValidationMode;
+import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
 
+import java.math.BigInteger;
+import java.util.List;
 import java.util.Optional;
 
+import org.apache.tuweni.bytes.Bytes;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
@@ -39,6 +59,11 @@ import org.mockito.junit.jupiter.MockitoExtension;
 class QbftBlockImporterAdaptorTest {
   @Mock private BlockImporter blockImporter;
   @Mock private ProtocolContext protocolContext;
+  @Mock private BlockHeaderValidator blockHeaderValidator;
+  @Mock private MutableBlockchain blockchain;
+  @Mock private WorldStateArchive worldStateArchive;
+  @Mock private BlockCreator blockCreator;
+  private final QbftExtraDataCodec qbftExtraDataCodec = new QbftExtraDataCodec();
   private final Block besuBlock = new BlockDataGenerator().block();
   private final QbftBlock block = new QbftBlockAdaptor(besuBlock);
 
@@ -86,4 +111,72 @@ class QbftBlockImporterAdaptorTest {
         new QbftBlockImporterAdaptor(blockImporter, protocolContext);
     assertThat(qbftBlockImporter.importBlock(block, Optional.empty())).isEqualTo(false);
   }
+
+  @Test
+  void commitsValidatedBlockWithoutExecutingItAgain() {
+    final QbftValidatedBlocks validatedBlocks = new QbftValidatedBlocks(qbftExtraDataCodec);
+    final QbftBlock proposedBlock = new QbftBlockAdaptor(proposedBesuBlock());
+    final Block validatedBlock =
+        validatedBlocks.toOnchainBlock(AdaptorUtil.toBesuBlock(proposedBlock));
+    final List<TransactionReceipt> receipts = List.of();
+    validatedBlocks.put(validatedBlock.getHash(), new BlockProcessingOutputs(null, receipts));
+
+    // the commit round and seals are not part of the on-chain hash of the block
+    final QbftBlock sealedBlock =
+        new QbftBlockCreatorAdaptor(blockCreator, qbftExtraDataCodec)
+            .createSealedBlock(
+                proposedBlock,
+                1,
+                List.of(new SECPSignature(BigInteger.ONE, BigInteger.ONE, (byte) 1)));
+    final Block besuSealedBlock = AdaptorUtil.toBesuBlock(sealedBlock);
+    when(protocolContext.getBlockchain()).thenReturn(blockchain);
+    when(protocolContext.getWorldStateArchive()).thenReturn(worldStateArchive);
+    when(blockHeaderValidator.validateHeader(
+            besuSealedBlock.getHeader(), protocolContext, HeaderValidationMode.FULL))
+        .thenReturn(true);
+
+    QbftBlockImporterAdaptor qbftBlockImporter =
+        new QbftBlockImporterAdaptor(
+            blockImporter, blockHeaderValidator, protocolContext, Optional.of(validatedBlocks));
+    assertThat(qbftBlockImporter.importBlock(sealedBlock, Optional.empty())).isTrue();
+
+    verify(blockchain).appendBlock(besuSealedBlock, receipts, Optional.empty());
+    verify(worldStateArchive).getWorldState(any());
+    verifyNoInteractions(blockImporter);
+    assertThat(validatedBlocks.remove(validatedBlock.getHash())).isEmpty();
+  }
+
+  @Test
+  void importsBlockNotValidatedUsingBesuBlockImporter() {
+    final Block proposedBesuBlock = proposedBesuBlock();
+    final QbftBlock proposedBlock = new QbftBlockAdaptor(proposedBesuBlock);
+    when(blockImporter.importBlock(
+            protocolContext,
+            proposedBesuBlock,
+            HeaderValidationMode.FULL,
+            HeaderValidationMode.FULL,
+            Optional.empty()))
+        .thenReturn(new BlockImportResult(IMPORTED));
+
+    QbftBlockImporterAdaptor qbftBlockImporter =
+        new QbftBlockImporterAdaptor(
+            blockImporter,
+            blockHeaderValidator,
+            protocolContext,
+            Optional.of(new QbftValidatedBlocks(qbftExtraDataCodec)));
+    assertThat(qbftBlockImporter.importBlock(proposedBlock, Optional.empty())).isTrue();
+    verifyNoInteractions(blockchain);
+  }
+
+  private Block proposedBesuBlock() {
+    final BftExtraData bftExtraData =
+        new BftExtraData(
+            Bytes.wrap(new byte[32]), List.of(), Optional.empty(), 0, List.of(Address.ZERO));
+    final BlockHeader header =
+        new BlockHeaderTestFixture()
+            .extraData(qbftExtraDataCodec.encode(bftExtraData))
+            .blockHeaderFunctions(BftBlockHeaderFunctions.forCommittedSeal(qbftExtraDataCodec))
+            .buildHeader();
+    return new Block(header, BlockBody.empty());
+  }
 }
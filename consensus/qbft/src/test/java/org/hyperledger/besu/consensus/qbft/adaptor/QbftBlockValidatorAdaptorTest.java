@@ -17,15 +17,26 @@ package org.hyperledger.besu.consensus.qbft.adaptor;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.when;
 
+import org.hyperledger.besu.consensus.common.bft.BftBlockHeaderFunctions;
+import org.hyperledger.besu.consensus.common.bft.BftExtraData;
+import org.hyperledger.besu.consensus.qbft.QbftExtraDataCodec;
 import org.hyperledger.besu.consensus.qbft.core.types.QbftBlockValidator;
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.ethereum.BlockProcessingOutputs;
 import org.hyperledger.besu.ethereum.BlockProcessingResult;
 import org.hyperledger.besu.ethereum.BlockValidator;
 import org.hyperledger.besu.ethereum.ProtocolContext;
 import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockBody;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.BlockHeaderTestFixture;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
 import org.hyperledger.besu.ethereum.mainnet.HeaderValidationMode;
 
+import java.util.List;
 import java.util.Optional;
 
+import org.apache.tuweni.bytes.Bytes;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
@@ -77,4 +88,39 @@ class QbftBlockValidatorAdaptorTest {
     assertThat(validationResult.success()).isFalse();
     assertThat(validationResult.errorMessage()).contains("failed");
   }
+
+  @Test
+  void keepsOutputsOfValidatedBlockByOnchainHash() {
+    final QbftExtraDataCodec qbftExtraDataCodec = new QbftExtraDataCodec();
+    final QbftValidatedBlocks validatedBlocks = new QbftValidatedBlocks(qbftExtraDataCodec);
+    final BftExtraData bftExtraData =
+        new BftExtraData(
+            Bytes.wrap(new byte[32]), List.of(), Optional.empty(), 0, List.of(Address.ZERO));
+    final BlockHeader header =
+        new BlockHeaderTestFixture()
+            .extraData(qbftExtraDataCodec.encode(bftExtraData))
+            .blockHeaderFunctions(BftBlockHeaderFunctions.forCommittedSeal(qbftExtraDataCodec))
+            .buildHeader();
+    final Block proposedBlock = new Block(header, BlockBody.empty());
+    final Block onchainBlock = validatedBlocks.toOnchainBlock(proposedBlock);
+    final List<TransactionReceipt> receipts = List.of();
+    final BlockProcessingOutputs outputs = new BlockProcessingOutputs(null, receipts);
+    when(qbftBlock.getBesuBlock()).thenReturn(proposedBlock);
+    when(blockValidator.validateAndProcessBlock(
+            protocolContext,
+            onchainBlock,
+            HeaderValidationMode.LIGHT,
+            HeaderValidationMode.FULL,
+            Optional.empty(),
+            false))
+        .thenReturn(new BlockProcessingResult(Optional.of(outputs)));
+
+    QbftBlockValidatorAdaptor qbftBlockValidator =
+        new QbftBlockValidatorAdaptor(
+            blockValidator, protocolContext, Optional.of(validatedBlocks));
+    assertThat(qbftBlockValidator.validateBlock(qbftBlock, Optional.empty()).success()).isTrue();
+    assertThat(validatedBlocks.remove(onchainBlock.getHash()))
+        .hasValueSatisfying(
+            validatedBlock -> assertThat(validatedBlock.receipts()).isSameAs(receipts));
+  }
 }
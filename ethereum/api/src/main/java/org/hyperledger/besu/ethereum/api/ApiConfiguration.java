@@ -15,6 +15,7 @@
 package org.hyperledger.besu.ethereum.api;
 
 import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.api.handlers.RpcRequestScheduler;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.EthEstimateGas;
 
 import org.immutables.value.Value;
@@ -157,4 +158,37 @@ public abstract class ApiConfiguration {
   public Long getMaxTraceFilterRange() {
     return 1000L;
   }
+
+  /**
+   * Returns whether the WebSocket, IPC and GraphQL requests are executed on virtual threads instead
+   * of the Vert.x worker pool. Default value is false.
+   *
+   * @return true if the requests are executed on virtual threads, false otherwise
+   */
+  @Value.Default
+  public boolean isVirtualThreadRequestsEnabled() {
+    return false;
+  }
+
+  /**
+   * Returns the maximum number of concurrent executions of a method, when requests are executed on
+   * virtual threads. Default value is 64.
+   *
+   * @return the maximum number of concurrent executions of a method
+   */
+  @Value.Default
+  public int getMethodConcurrencyLimit() {
+    return RpcRequestScheduler.DEFAULT_METHOD_CONCURRENCY_LIMIT;
+  }
+
+  /**
+   * Returns the maximum number of concurrent executions of a debug or trace method, when requests
+   * are executed on virtual threads. Default value is 4.
+   *
+   * @return the maximum number of concurrent executions of a debug or trace method
+   */
+  @Value.Default
+  public int getHeavyMethodConcurrencyLimit() {
+    return RpcRequestScheduler.DEFAULT_HEAVY_METHOD_CONCURRENCY_LIMIT;
+  }
 }
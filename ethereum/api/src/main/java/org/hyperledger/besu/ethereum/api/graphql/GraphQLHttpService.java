@@ -24,6 +24,7 @@ import org.hyperledger.besu.ethereum.api.graphql.internal.response.GraphQLRespon
 import org.hyperledger.besu.ethereum.api.graphql.internal.response.GraphQLResponseType;
 import org.hyperledger.besu.ethereum.api.graphql.internal.response.GraphQLSuccessResponse;
 import org.hyperledger.besu.ethereum.api.handlers.IsAliveHandler;
+import org.hyperledger.besu.ethereum.api.handlers.RpcRequestScheduler;
 import org.hyperledger.besu.ethereum.api.handlers.TimeoutOptions;
 import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
 import org.hyperledger.besu.util.NetworkUtility;
@@ -103,6 +104,8 @@ public class GraphQLHttpService {
 
   private final EthScheduler scheduler;
 
+  private final RpcRequestScheduler requestScheduler;
+
   /**
    * Construct a GraphQLHttpService handler
    *
@@ -120,6 +123,35 @@ public class GraphQLHttpService {
       final GraphQL graphQL,
       final Map<GraphQLContextType, Object> graphQlContextMap,
       final EthScheduler scheduler) {
+    this(
+        vertx,
+        dataDir,
+        config,
+        graphQL,
+        graphQlContextMap,
+        scheduler,
+        RpcRequestScheduler.workerPool());
+  }
+
+  /**
+   * Construct a GraphQLHttpService handler
+   *
+   * @param vertx The vertx process that will be running this service
+   * @param dataDir The data directory where requests can be buffered
+   * @param config Configuration for the rpc methods being loaded
+   * @param graphQL GraphQL engine
+   * @param graphQlContextMap GraphQlContext Map
+   * @param scheduler {@link EthScheduler} used to trigger timeout on backend queries
+   * @param requestScheduler {@link RpcRequestScheduler} used to execute the queries
+   */
+  public GraphQLHttpService(
+      final Vertx vertx,
+      final Path dataDir,
+      final GraphQLConfiguration config,
+      final GraphQL graphQL,
+      final Map<GraphQLContextType, Object> graphQlContextMap,
+      final EthScheduler scheduler,
+      final RpcRequestScheduler requestScheduler) {
     this.dataDir = dataDir;
 
     validateConfig(config);
@@ -128,6 +160,7 @@ public class GraphQLHttpService {
     this.graphQL = graphQL;
     this.graphQlContextMap = graphQlContextMap;
     this.scheduler = scheduler;
+    this.requestScheduler = requestScheduler;
   }
 
   private void validateConfig(final GraphQLConfiguration config) {
@@ -398,37 +431,34 @@ public class GraphQLHttpService {
       }
 
       final HttpServerResponse response = routingContext.response();
-      vertx.executeBlocking(
-          future -> {
-            try {
-              final GraphQLResponse graphQLResponse = process(query, operationName, variables);
-              future.complete(graphQLResponse);
-            } catch (final Exception e) {
-              future.fail(e);
-            }
-          },
-          false,
-          (res) -> {
-            if (response.closed()) {
-              return;
-            }
-            response.putHeader("Content-Type", MediaType.JSON_UTF_8.toString());
-            if (res.failed()) {
-              response.setStatusCode(HttpResponseStatus.INTERNAL_SERVER_ERROR.code());
-              response.end(
-                  serialise(
-                      new GraphQLErrorResponse(
-                          Collections.singletonMap(
-                              "errors",
-                              Collections.singletonList(
-                                  Collections.singletonMap(
-                                      "message", res.cause().getMessage()))))));
-            } else {
-              final GraphQLResponse graphQLResponse = (GraphQLResponse) res.result();
-              response.setStatusCode(status(graphQLResponse).code());
-              response.end(serialise(graphQLResponse));
-            }
-          });
+      requestScheduler
+          .<GraphQLResponse>schedule(
+              vertx,
+              RpcRequestScheduler.GRAPHQL_METHOD_NAME,
+              Optional.empty(),
+              () -> process(query, operationName, variables))
+          .onComplete(
+              (res) -> {
+                if (response.closed()) {
+                  return;
+                }
+                response.putHeader("Content-Type", MediaType.JSON_UTF_8.toString());
+                if (res.failed()) {
+                  response.setStatusCode(HttpResponseStatus.INTERNAL_SERVER_ERROR.code());
+                  response.end(
+                      serialise(
+                          new GraphQLErrorResponse(
+                              Collections.singletonMap(
+                                  "errors",
+                                  Collections.singletonList(
+                                      Collections.singletonMap(
+                                          "message", res.cause().getMessage()))))));
+                } else {
+                  final GraphQLResponse graphQLResponse = res.result();
+                  response.setStatusCode(status(graphQLResponse).code());
+                  response.end(serialise(graphQLResponse));
+                }
+              });
 
     } catch (final DecodeException ex) {
       handleGraphQLError(routingContext, ex);
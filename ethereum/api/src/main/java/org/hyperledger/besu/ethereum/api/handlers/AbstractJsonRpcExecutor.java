@@ -20,8 +20,10 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.JsonRpcConfiguration;
 import org.hyperledger.besu.ethereum.api.jsonrpc.context.ContextKey;
 import org.hyperledger.besu.ethereum.api.jsonrpc.execution.JsonRpcExecutor;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequest;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.StreamingDebugTraceBlockResult;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcErrorResponse;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcResponse;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcSuccessResponse;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.RpcErrorType;
 
 import java.io.IOException;
@@ -93,6 +95,18 @@ public abstract class AbstractJsonRpcExecutor {
         req -> req.mapTo(JsonRpcRequest.class));
   }
 
+  /**
+   * Whether the result of the response is produced while it is written, so that the writes must
+   * wait for the remote end to read the response.
+   *
+   * @param response the response
+   * @return true if the result is streamed
+   */
+  protected static boolean isStreamed(final JsonRpcResponse response) {
+    return response instanceof JsonRpcSuccessResponse successResponse
+        && successResponse.getResult() instanceof StreamingDebugTraceBlockResult;
+  }
+
   protected static void handleJsonRpcError(
       final RoutingContext routingContext, final Object id, final RpcErrorType error) {
     final HttpServerResponse response = routingContext.response();
@@ -26,6 +26,12 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.RpcErrorType;
 import org.hyperledger.besu.plugin.services.rpc.RpcResponseType;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import com.fasterxml.jackson.core.JsonGenerator;
 import io.opentelemetry.api.trace.Tracer;
@@ -33,8 +39,14 @@ import io.vertx.core.http.HttpServerResponse;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.RoutingContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public class JsonRpcArrayExecutor extends AbstractJsonRpcExecutor {
+  private static final Logger LOG = LoggerFactory.getLogger(JsonRpcArrayExecutor.class);
+  private static final ExecutorService BATCH_EXECUTOR =
+      Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("JsonRpcBatch-", 0).factory());
+
   public JsonRpcArrayExecutor(
       final JsonRpcExecutor jsonRpcExecutor,
       final Tracer tracer,
@@ -72,17 +84,80 @@ public class JsonRpcArrayExecutor extends AbstractJsonRpcExecutor {
       final JsonArray rpcRequestBatch, final JsonResponseStreamer streamer) throws IOException {
     try (JsonGenerator generator = getJsonObjectMapper().getFactory().createGenerator(streamer)) {
       generator.writeStartArray();
-      for (int i = 0; i < rpcRequestBatch.size(); i++) {
-        JsonRpcResponse response = processMaybeRequest(rpcRequestBatch.getValue(i));
-        if (response.getType() != RpcResponseType.NONE) {
-          generator.writeObject(response);
+      if (jsonRpcConfiguration.getBatchParallelism() > 1 && rpcRequestBatch.size() > 1) {
+        executeInParallel(rpcRequestBatch, generator, streamer);
+      } else {
+        for (int i = 0; i < rpcRequestBatch.size(); i++) {
+          writeResponse(processMaybeRequest(rpcRequestBatch.getValue(i)), generator, streamer);
         }
-        lazyTraceLogger(() -> getJsonObjectMapper().writeValueAsString(response));
       }
       generator.writeEndArray();
     }
   }
 
+  /**
+   * Executes the requests of the batch concurrently, with at most the configured batch parallelism
+   * in flight, and writes the responses in request order as soon as each prefix of the batch is
+   * complete.
+   *
+   * @param rpcRequestBatch the batch of RPC requests.
+   * @param generator the generator the responses are written to.
+   * @param streamer the streamer the generator writes to.
+   */
+  private void executeInParallel(
+      final JsonArray rpcRequestBatch,
+      final JsonGenerator generator,
+      final JsonResponseStreamer streamer)
+      throws IOException {
+    final int batchSize = rpcRequestBatch.size();
+    final List<Future<JsonRpcResponse>> responses = new ArrayList<>(batchSize);
+    try {
+      for (int i = 0; i < batchSize; i++) {
+        while (responses.size() < batchSize
+            && responses.size() - i < jsonRpcConfiguration.getBatchParallelism()) {
+          final Object maybeRequest = rpcRequestBatch.getValue(responses.size());
+          responses.add(BATCH_EXECUTOR.submit(() -> processMaybeRequest(maybeRequest)));
+        }
+        if (!responses.get(i).isDone()) {
+          // send the completed prefix while waiting for the next response
+          generator.flush();
+        }
+        writeResponse(awaitResponse(responses.get(i)), generator, streamer);
+      }
+    } finally {
+      responses.forEach(response -> response.cancel(true));
+    }
+  }
+
+  private JsonRpcResponse awaitResponse(final Future<JsonRpcResponse> response) {
+    try {
+      return response.get();
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return new JsonRpcErrorResponse(null, RpcErrorType.INTERNAL_ERROR);
+    } catch (final ExecutionException e) {
+      LOG.error("Error executing JSON-RPC batch element", e.getCause());
+      return new JsonRpcErrorResponse(null, RpcErrorType.INTERNAL_ERROR);
+    }
+  }
+
+  private void writeResponse(
+      final JsonRpcResponse response,
+      final JsonGenerator generator,
+      final JsonResponseStreamer streamer)
+      throws IOException {
+    if (isStreamed(response)) {
+      // writing the result produces it, so it can not be logged afterward
+      streamer.enableBackpressure();
+      generator.writeObject(response);
+      return;
+    }
+    if (response.getType() != RpcResponseType.NONE) {
+      generator.writeObject(response);
+    }
+    lazyTraceLogger(() -> getJsonObjectMapper().writeValueAsString(response));
+  }
+
   /**
    * Processes a single RPC request.
    *
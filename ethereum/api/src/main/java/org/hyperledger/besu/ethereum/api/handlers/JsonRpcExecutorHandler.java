@@ -119,7 +119,13 @@ public class JsonRpcExecutorHandler {
 
   private static void handleErrorAndEndResponse(
       final RoutingContext ctx, final Object id, final RpcErrorType errorType) {
-    if (!ctx.response().ended()) {
+    if (ctx.response().ended()) {
+      return;
+    }
+    if (ctx.response().headWritten()) {
+      // part of a streamed result was already sent, closing the connection stops producing it
+      ctx.request().connection().close();
+    } else {
       handleJsonRpcError(ctx, id, errorType);
     }
   }
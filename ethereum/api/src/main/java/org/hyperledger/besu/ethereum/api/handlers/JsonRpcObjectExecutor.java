@@ -76,7 +76,12 @@ public class JsonRpcObjectExecutor extends AbstractJsonRpcExecutor {
       try (final JsonResponseStreamer streamer =
           new JsonResponseStreamer(response, ctx.request().remoteAddress())) {
         // underlying output stream lifecycle is managed by the json object writer
-        lazyTraceLogger(() -> getJsonObjectMapper().writeValueAsString(jsonRpcResponse));
+        if (isStreamed(jsonRpcResponse)) {
+          // writing the result produces it, so it can not be logged beforehand
+          streamer.enableBackpressure();
+        } else {
+          lazyTraceLogger(() -> getJsonObjectMapper().writeValueAsString(jsonRpcResponse));
+        }
         jsonObjectWriter.writeValue(streamer, jsonRpcResponse);
       }
     }
@@ -0,0 +1,277 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.handlers;
+
+import org.hyperledger.besu.ethereum.api.jsonrpc.RpcMethod;
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+
+/**
+ * Executes the blocking part of RPC requests received by the WebSocket, IPC and GraphQL services.
+ *
+ * <p>By default the requests are executed on the Vert.x worker pool. When virtual threads are
+ * enabled, every request runs on its own virtual thread, behind a bulkhead that limits the number
+ * of concurrent executions of the same method, so that slow methods can not take all the capacity
+ * from the fast ones. The limit of a method depends on its {@link PriorityClass}, and the time a
+ * request waits for its bulkhead is reported per method. Only the known RPC methods have their own
+ * bulkhead, all the other names share the {@link #UNKNOWN_METHOD_NAME} one, so that the number of
+ * bulkheads and metric labels can not be grown by the clients.
+ *
+ * <p>The requests scheduled with the same ordering key, that identifies a connection, are executed
+ * one after the other in the order they were scheduled, as the ordered tasks of the worker pool.
+ */
+public class RpcRequestScheduler {
+  /** The method name used for GraphQL queries. */
+  public static final String GRAPHQL_METHOD_NAME = "graphql";
+
+  /** The method name of the bulkhead shared by the requests for unknown methods. */
+  public static final String UNKNOWN_METHOD_NAME = "unknown";
+
+  public static final int DEFAULT_METHOD_CONCURRENCY_LIMIT = 64;
+  public static final int DEFAULT_HEAVY_METHOD_CONCURRENCY_LIMIT = 4;
+
+  /** The priority class of a method, that defines the size of its bulkhead. */
+  public enum PriorityClass {
+    /** Consensus client calls, that are never limited. */
+    CONSENSUS,
+    /** Regular methods. */
+    STANDARD,
+    /** Debug and trace methods, that can run for a long time. */
+    HEAVY;
+
+    static PriorityClass of(final String methodName) {
+      if (methodName.startsWith("engine_")) {
+        return CONSENSUS;
+      }
+      if (methodName.startsWith("debug_") || methodName.startsWith("trace_")) {
+        return HEAVY;
+      }
+      return STANDARD;
+    }
+  }
+
+  private final Optional<ExecutorService> virtualThreadExecutor;
+  private final int methodConcurrencyLimit;
+  private final int heavyMethodConcurrencyLimit;
+  private final Map<String, Optional<Semaphore>> bulkheads = new ConcurrentHashMap<>();
+  private final Map<String, CompletableFuture<?>> orderedTails = new ConcurrentHashMap<>();
+  private final LabelledMetric<OperationTimer> queueTimer;
+
+  private RpcRequestScheduler(
+      final Optional<ExecutorService> virtualThreadExecutor,
+      final int methodConcurrencyLimit,
+      final int heavyMethodConcurrencyLimit,
+      final MetricsSystem metricsSystem) {
+    this.virtualThreadExecutor = virtualThreadExecutor;
+    this.methodConcurrencyLimit = methodConcurrencyLimit;
+    this.heavyMethodConcurrencyLimit = heavyMethodConcurrencyLimit;
+    this.queueTimer =
+        metricsSystem.createLabelledTimer(
+            BesuMetricCategory.RPC,
+            "request_queue_time",
+            "Time a RPC request waits before being executed",
+            "methodName");
+  }
+
+  /**
+   * Create a scheduler that executes the requests on the Vert.x worker pool
+   *
+   * @return the scheduler
+   */
+  public static RpcRequestScheduler workerPool() {
+    return new RpcRequestScheduler(Optional.empty(), 0, 0, new NoOpMetricsSystem());
+  }
+
+  /**
+   * Create a scheduler that executes every request on a virtual thread, behind a per method
+   * bulkhead
+   *
+   * @param methodConcurrencyLimit the maximum concurrent executions of a standard method
+   * @param heavyMethodConcurrencyLimit the maximum concurrent executions of a debug or trace method
+   * @param metricsSystem the metrics system
+   * @return the scheduler
+   */
+  public static RpcRequestScheduler virtualThreads(
+      final int methodConcurrencyLimit,
+      final int heavyMethodConcurrencyLimit,
+      final MetricsSystem metricsSystem) {
+    return new RpcRequestScheduler(
+        Optional.of(
+            Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("RpcRequest-", 0).factory())),
+        methodConcurrencyLimit,
+        heavyMethodConcurrencyLimit,
+        metricsSystem);
+  }
+
+  /**
+   * Execute the blocking part of a request
+   *
+   * @param vertx the Vert.x instance of the service, the result is delivered on its current context
+   * @param methodName the name of the requested method
+   * @param orderingKey the key of the connection whose requests are executed in order, or empty if
+   *     the request can be executed concurrently with the others
+   * @param task the task to execute
+   * @param <T> the type of the result
+   * @return the future result of the task
+   */
+  public <T> Future<T> schedule(
+      final Vertx vertx,
+      final String methodName,
+      final Optional<String> orderingKey,
+      final Callable<T> task) {
+    return schedule(vertx, Optional.of(methodName), orderingKey, task);
+  }
+
+  /**
+   * Execute the blocking part of a batch request. The batch itself is not limited, every element
+   * must be executed through {@link #executeInBulkhead(String, Callable)} instead.
+   *
+   * @param vertx the Vert.x instance of the service, the result is delivered on its current context
+   * @param orderingKey the key of the connection whose requests are executed in order, or empty if
+   *     the request can be executed concurrently with the others
+   * @param task the task executing the elements of the batch
+   * @param <T> the type of the result
+   * @return the future result of the task
+   */
+  public <T> Future<T> scheduleBatch(
+      final Vertx vertx, final Optional<String> orderingKey, final Callable<T> task) {
+    return schedule(vertx, Optional.empty(), orderingKey, task);
+  }
+
+  /**
+   * Execute an element of a batch request within the bulkhead of its method, from the task given
+   * to {@link #scheduleBatch(Vertx, Optional, Callable)}. On the worker pool the element is
+   * executed directly.
+   *
+   * @param methodName the name of the requested method
+   * @param task the task to execute
+   * @param <T> the type of the result
+   * @return the result of the task
+   * @throws Exception if the task failed, or the thread was interrupted waiting for the bulkhead
+   */
+  public <T> T executeInBulkhead(final String methodName, final Callable<T> task)
+      throws Exception {
+    if (virtualThreadExecutor.isEmpty()) {
+      return task.call();
+    }
+    final String bulkheadName = bulkheadName(methodName);
+    return callInBulkhead(bulkheadName, queueTimer.labels(bulkheadName).startTimer(), task);
+  }
+
+  private <T> Future<T> schedule(
+      final Vertx vertx,
+      final Optional<String> methodName,
+      final Optional<String> orderingKey,
+      final Callable<T> task) {
+    if (virtualThreadExecutor.isEmpty()) {
+      return vertx.executeBlocking(
+          promise -> {
+            try {
+              promise.complete(task.call());
+            } catch (final Exception e) {
+              promise.fail(e);
+            }
+          },
+          orderingKey.isPresent());
+    }
+
+    final Context context = vertx.getOrCreateContext();
+    final Optional<String> bulkheadName = methodName.map(this::bulkheadName);
+    final Optional<OperationTimer.TimingContext> queueTiming =
+        bulkheadName.map(name -> queueTimer.labels(name).startTimer());
+    final CompletableFuture<T> result = new CompletableFuture<>();
+    final Runnable execution =
+        () -> {
+          try {
+            result.complete(
+                bulkheadName.isPresent()
+                    ? callInBulkhead(bulkheadName.get(), queueTiming.get(), task)
+                    : task.call());
+          } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.completeExceptionally(e);
+          } catch (final Exception e) {
+            result.completeExceptionally(e);
+          }
+        };
+
+    if (orderingKey.isEmpty()) {
+      virtualThreadExecutor.get().execute(execution);
+    } else {
+      // the request starts once the previous request of the connection has completed
+      final String key = orderingKey.get();
+      final CompletableFuture<?> previous = orderedTails.put(key, result);
+      if (previous == null) {
+        virtualThreadExecutor.get().execute(execution);
+      } else {
+        previous.whenComplete((r, t) -> virtualThreadExecutor.get().execute(execution));
+      }
+      result.whenComplete((r, t) -> orderedTails.remove(key, result));
+    }
+    return Future.fromCompletionStage(result, context);
+  }
+
+  private <T> T callInBulkhead(
+      final String bulkheadName,
+      final OperationTimer.TimingContext queueTiming,
+      final Callable<T> task)
+      throws Exception {
+    final Optional<Semaphore> bulkhead = bulkheads.get(bulkheadName);
+    if (bulkhead.isPresent()) {
+      bulkhead.get().acquire();
+    }
+    try {
+      queueTiming.stopTimer();
+      return task.call();
+    } finally {
+      bulkhead.ifPresent(Semaphore::release);
+    }
+  }
+
+  private String bulkheadName(final String methodName) {
+    final String bulkheadName =
+        RpcMethod.rpcMethodExists(methodName) || GRAPHQL_METHOD_NAME.equals(methodName)
+            ? methodName
+            : UNKNOWN_METHOD_NAME;
+    bulkheads.computeIfAbsent(
+        bulkheadName, unused -> createBulkhead(PriorityClass.of(bulkheadName)));
+    return bulkheadName;
+  }
+
+  private Optional<Semaphore> createBulkhead(final PriorityClass priorityClass) {
+    return switch (priorityClass) {
+      case CONSENSUS -> Optional.empty();
+      case STANDARD -> Optional.of(new Semaphore(methodConcurrencyLimit, true));
+      case HEAVY -> Optional.of(new Semaphore(heavyMethodConcurrencyLimit, true));
+    };
+  }
+}
@@ -15,7 +15,10 @@
 package org.hyperledger.besu.ethereum.api.jsonrpc;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.atomic.AtomicReference;
 
 import io.vertx.core.buffer.Buffer;
@@ -30,20 +33,26 @@ public class JsonResponseStreamer extends OutputStream {
 
   private final HttpServerResponse response;
   private final SocketAddress remoteAddress;
+  private volatile boolean backpressure = false;
   private final byte[] singleByteBuf = new byte[1];
   private boolean chunked = false;
   private boolean closed = false;
   private final AtomicReference<Throwable> failure = new AtomicReference<>();
+  private volatile CompletableFuture<Void> pendingDrain;
 
   public JsonResponseStreamer(
       final HttpServerResponse response, final SocketAddress socketAddress) {
     this.response = response;
     this.remoteAddress = socketAddress;
-    this.response.exceptionHandler(
-        event -> {
-          LOG.debug("Write to remote address {} failed", remoteAddress, event);
-          failure.set(event);
-        });
+    this.response.exceptionHandler(this::handleFailure);
+  }
+
+  /**
+   * Makes the following writes block while the write queue of the response is full. Only needed
+   * for the results that are produced while they are written, the others are already in memory.
+   */
+  public void enableBackpressure() {
+    backpressure = true;
   }
 
   @Override
@@ -64,6 +73,9 @@ public class JsonResponseStreamer extends OutputStream {
     Buffer buf = Buffer.buffer(len);
     buf.appendBytes(bbuf, off, len);
     response.write(buf).onFailure(this::handleFailure);
+    if (backpressure) {
+      awaitDrain();
+    }
   }
 
   @Override
@@ -86,8 +98,45 @@ public class JsonResponseStreamer extends OutputStream {
     }
   }
 
+  /**
+   * Blocks while the write queue of the response is full, so that a response written faster than
+   * the remote end reads it is not buffered in memory. The wait ends when the queue drains, or when
+   * the write fails or the connection closes, which Vert.x reports to the exception handler.
+   */
+  private void awaitDrain() throws IOException {
+    if (!response.writeQueueFull()) {
+      return;
+    }
+    final CompletableFuture<Void> drained = new CompletableFuture<>();
+    pendingDrain = drained;
+    response.drainHandler(event -> drained.complete(null));
+    try {
+      // the queue may have drained, or the response failed, before the handlers were set
+      stopOnFailureOrClosed();
+      if (response.closed()) {
+        throw new IOException("Connection to remote address " + remoteAddress + " closed");
+      }
+      if (response.writeQueueFull()) {
+        drained.get();
+      }
+      stopOnFailureOrClosed();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while waiting for the response to drain");
+    } catch (ExecutionException e) {
+      throw new IOException(e.getCause());
+    } finally {
+      pendingDrain = null;
+      response.drainHandler(null);
+    }
+  }
+
   private void handleFailure(final Throwable t) {
     LOG.debug("Write to remote address {} failed", remoteAddress, t);
     failure.set(t);
+    final CompletableFuture<Void> drain = pendingDrain;
+    if (drain != null) {
+      drain.completeExceptionally(t);
+    }
   }
 }
@@ -41,6 +41,8 @@ public class JsonRpcConfiguration {
       TimeoutOptions.defaultOptions().getTimeoutSeconds();
   public static final long DEFAULT_MAX_REQUEST_CONTENT_LENGTH = 128 * 1024 * 1024; // 128MB
   public static final boolean DEFAULT_PRETTY_JSON_ENABLED = false;
+  public static final int DEFAULT_BATCH_PARALLELISM = 1;
+  public static final long DEFAULT_RESPONSE_CACHE_MAX_SIZE_BYTES = 64 * 1024 * 1024; // 64MB
 
   private boolean enabled;
   private int port;
@@ -59,6 +61,9 @@ public class JsonRpcConfiguration {
   private int maxBatchSize;
   private long maxRequestContentLength;
   private boolean prettyJsonEnabled;
+  private int batchParallelism = DEFAULT_BATCH_PARALLELISM;
+  private List<String> responseCacheMethods = Collections.emptyList();
+  private long responseCacheMaxSizeBytes = DEFAULT_RESPONSE_CACHE_MAX_SIZE_BYTES;
 
   public static JsonRpcConfiguration createDefault() {
     final JsonRpcConfiguration config = new JsonRpcConfiguration();
@@ -225,6 +230,9 @@ public class JsonRpcConfiguration {
         .add("httpTimeoutSec", httpTimeoutSec)
         .add("maxActiveConnections", maxActiveConnections)
         .add("maxBatchSize", maxBatchSize)
+        .add("batchParallelism", batchParallelism)
+        .add("responseCacheMethods", responseCacheMethods)
+        .add("responseCacheMaxSizeBytes", responseCacheMaxSizeBytes)
         .toString();
   }
 
@@ -280,6 +288,14 @@ public class JsonRpcConfiguration {
     this.maxBatchSize = maxBatchSize;
   }
 
+  public int getBatchParallelism() {
+    return batchParallelism;
+  }
+
+  public void setBatchParallelism(final int batchParallelism) {
+    this.batchParallelism = batchParallelism;
+  }
+
   public long getMaxRequestContentLength() {
     return maxRequestContentLength;
   }
@@ -287,4 +303,20 @@ public class JsonRpcConfiguration {
   public void setMaxRequestContentLength(final long maxRequestContentLength) {
     this.maxRequestContentLength = maxRequestContentLength;
   }
+
+  public List<String> getResponseCacheMethods() {
+    return responseCacheMethods;
+  }
+
+  public void setResponseCacheMethods(final List<String> responseCacheMethods) {
+    this.responseCacheMethods = responseCacheMethods;
+  }
+
+  public long getResponseCacheMaxSizeBytes() {
+    return responseCacheMaxSizeBytes;
+  }
+
+  public void setResponseCacheMaxSizeBytes(final long responseCacheMaxSizeBytes) {
+    this.responseCacheMaxSizeBytes = responseCacheMaxSizeBytes;
+  }
 }
@@ -23,7 +23,10 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.authentication.AuthenticationSe
 import org.hyperledger.besu.ethereum.api.jsonrpc.authentication.DefaultAuthenticationService;
 import org.hyperledger.besu.ethereum.api.jsonrpc.execution.AuthenticatedJsonRpcProcessor;
 import org.hyperledger.besu.ethereum.api.jsonrpc.execution.BaseJsonRpcProcessor;
+import org.hyperledger.besu.ethereum.api.jsonrpc.execution.CachingJsonRpcProcessor;
 import org.hyperledger.besu.ethereum.api.jsonrpc.execution.JsonRpcExecutor;
+import org.hyperledger.besu.ethereum.api.jsonrpc.execution.JsonRpcProcessor;
+import org.hyperledger.besu.ethereum.api.jsonrpc.execution.JsonRpcResponseCache;
 import org.hyperledger.besu.ethereum.api.jsonrpc.execution.TimedJsonRpcProcessor;
 import org.hyperledger.besu.ethereum.api.jsonrpc.execution.TracedJsonRpcProcessor;
 import org.hyperledger.besu.ethereum.api.jsonrpc.health.HealthService;
@@ -135,6 +138,7 @@ public class JsonRpcHttpService {
   private final HealthService livenessService;
   private final HealthService readinessService;
   private final MetricsSystem metricsSystem;
+  private final Optional<JsonRpcResponseCache> responseCache;
 
   /**
    * Construct a JsonRpcHttpService handler
@@ -179,6 +183,44 @@ public class JsonRpcHttpService {
       final Optional<AuthenticationService> authenticationService,
       final HealthService livenessService,
       final HealthService readinessService) {
+    this(
+        vertx,
+        dataDir,
+        config,
+        metricsSystem,
+        natService,
+        methods,
+        authenticationService,
+        livenessService,
+        readinessService,
+        Optional.empty());
+  }
+
+  /**
+   * Construct a JsonRpcHttpService handler
+   *
+   * @param vertx The vertx process that will be running this service
+   * @param dataDir The data directory where requests can be buffered
+   * @param config Configuration for the rpc methods being loaded
+   * @param metricsSystem The metrics service that activities should be reported to
+   * @param natService The NAT environment manager.
+   * @param methods The json rpc methods that should be enabled
+   * @param authenticationService The authentication service, if authentication is enabled
+   * @param livenessService A service responsible for reporting whether this node is live
+   * @param readinessService A service responsible for reporting whether this node has fully started
+   * @param responseCache The cache of the responses of the block pinned requests, if enabled
+   */
+  public JsonRpcHttpService(
+      final Vertx vertx,
+      final Path dataDir,
+      final JsonRpcConfiguration config,
+      final MetricsSystem metricsSystem,
+      final NatService natService,
+      final Map<String, JsonRpcMethod> methods,
+      final Optional<AuthenticationService> authenticationService,
+      final HealthService livenessService,
+      final HealthService readinessService,
+      final Optional<JsonRpcResponseCache> responseCache) {
     this.dataDir = dataDir;
     requestTimer =
         metricsSystem.createLabelledTimer(
@@ -206,6 +248,7 @@ public class JsonRpcHttpService {
       this.tracerProvider = ((OpenTelemetrySystem) metricsSystem).getTracerProvider();
     }
     this.metricsSystem = metricsSystem;
+    this.responseCache = responseCache;
   }
 
   private void validateConfig(final JsonRpcConfiguration config) {
@@ -346,7 +389,7 @@ public class JsonRpcHttpService {
               new JsonRpcExecutor(
                   new AuthenticatedJsonRpcProcessor(
                       new TimedJsonRpcProcessor(
-                          new TracedJsonRpcProcessor(new BaseJsonRpcProcessor(), metricsSystem),
+                          new TracedJsonRpcProcessor(baseJsonRpcProcessor(), metricsSystem),
                           requestTimer),
                       authenticationService.get(),
                       config.getNoAuthRpcApis()),
@@ -359,7 +402,7 @@ public class JsonRpcHttpService {
           HandlerFactory.jsonRpcExecutor(
               new JsonRpcExecutor(
                   new TimedJsonRpcProcessor(
-                      new TracedJsonRpcProcessor(new BaseJsonRpcProcessor(), metricsSystem),
+                      new TracedJsonRpcProcessor(baseJsonRpcProcessor(), metricsSystem),
                       requestTimer),
                   rpcMethods),
               tracer,
@@ -383,6 +426,13 @@ public class JsonRpcHttpService {
     return router;
   }
 
+  private JsonRpcProcessor baseJsonRpcProcessor() {
+    final JsonRpcProcessor baseProcessor = new BaseJsonRpcProcessor();
+    return responseCache
+        .<JsonRpcProcessor>map(cache -> new CachingJsonRpcProcessor(baseProcessor, cache))
+        .orElse(baseProcessor);
+  }
+
   private void createSpan(final RoutingContext routingContext) {
     final SocketAddress address = routingContext.request().connection().remoteAddress();
 
@@ -0,0 +1,62 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.execution;
+
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequestContext;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequestId;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.JsonRpcMethod;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcResponse;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcSuccessResponse;
+import org.hyperledger.besu.plugin.services.rpc.RpcResponseType;
+
+import java.util.Optional;
+
+import io.opentelemetry.api.trace.Span;
+
+/** Serves the cacheable requests from a {@link JsonRpcResponseCache} before executing them. */
+public class CachingJsonRpcProcessor implements JsonRpcProcessor {
+
+  private final JsonRpcProcessor rpcProcessor;
+  private final JsonRpcResponseCache responseCache;
+
+  public CachingJsonRpcProcessor(
+      final JsonRpcProcessor rpcProcessor, final JsonRpcResponseCache responseCache) {
+    this.rpcProcessor = rpcProcessor;
+    this.responseCache = responseCache;
+  }
+
+  @Override
+  public JsonRpcResponse process(
+      final JsonRpcRequestId id,
+      final JsonRpcMethod method,
+      final Span metricSpan,
+      final JsonRpcRequestContext request) {
+    final Optional<JsonRpcResponseCache.Key> key = responseCache.keyFor(request.getRequest());
+    if (key.isEmpty()) {
+      return rpcProcessor.process(id, method, metricSpan, request);
+    }
+
+    final Optional<Object> cachedResult = responseCache.get(key.get());
+    if (cachedResult.isPresent()) {
+      return new JsonRpcSuccessResponse(request.getRequest().getId(), cachedResult.get());
+    }
+
+    final JsonRpcResponse response = rpcProcessor.process(id, method, metricSpan, request);
+    if (response.getType() == RpcResponseType.SUCCESS) {
+      responseCache.put(key.get(), ((JsonRpcSuccessResponse) response).getResult());
+    }
+    return response;
+  }
+}
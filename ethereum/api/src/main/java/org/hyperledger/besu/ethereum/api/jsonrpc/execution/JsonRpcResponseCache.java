@@ -0,0 +1,345 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.execution;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.toUnmodifiableMap;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.api.jsonrpc.RpcMethod;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequest;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.StreamingDebugTraceBlockResult;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.chain.ChainReorgObserver;
+import org.hyperledger.besu.ethereum.chain.TransactionLocation;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.BlockWithReceipts;
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Sets;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Cache of the serialized results of the JSON-RPC methods that are deterministic once the block
+ * they are executed against is fixed.
+ *
+ * <p>Only the methods of an allow-list can be cached, each with the position of the param that
+ * pins the request to a block. A request is cacheable only if its method is enabled and this param
+ * is a block hash, an object with a {@code blockHash} field, a finalized block number, or for the
+ * methods taking a transaction hash, the hash of a transaction already included in a block. Results
+ * are stored as bytes under a global byte budget, keyed by method, canonical params and block hash,
+ * and the entries at or above the height of the blocks added during a reorg are evicted. Streamed
+ * results are never cached.
+ */
+public class JsonRpcResponseCache implements ChainReorgObserver {
+  private static final Logger LOG = LoggerFactory.getLogger(JsonRpcResponseCache.class);
+  private static final ObjectMapper RESULT_MAPPER =
+      new ObjectMapper().registerModule(new Jdk8Module());
+  private static final ObjectMapper PARAMS_MAPPER =
+      new ObjectMapper().configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+  private static final int ENTRY_OVERHEAD_BYTES = 128;
+  private static final int HASH_HEX_LENGTH = 66;
+  private static final int MAX_QUANTITY_HEX_LENGTH = 18;
+
+  private static final Map<String, PinningParam> PINNING_PARAMS =
+      Map.ofEntries(
+          block(RpcMethod.ETH_GET_BLOCK_BY_HASH, 0),
+          block(RpcMethod.ETH_GET_BLOCK_BY_NUMBER, 0),
+          block(RpcMethod.ETH_GET_BLOCK_RECEIPTS, 0),
+          block(RpcMethod.ETH_GET_BLOCK_TRANSACTION_COUNT_BY_HASH, 0),
+          block(RpcMethod.ETH_GET_BLOCK_TRANSACTION_COUNT_BY_NUMBER, 0),
+          block(RpcMethod.ETH_GET_TRANSACTION_BY_BLOCK_HASH_AND_INDEX, 0),
+          block(RpcMethod.ETH_GET_TRANSACTION_BY_BLOCK_NUMBER_AND_INDEX, 0),
+          block(RpcMethod.ETH_GET_UNCLE_BY_BLOCK_HASH_AND_INDEX, 0),
+          block(RpcMethod.ETH_GET_UNCLE_BY_BLOCK_NUMBER_AND_INDEX, 0),
+          block(RpcMethod.ETH_GET_UNCLE_COUNT_BY_BLOCK_HASH, 0),
+          block(RpcMethod.ETH_GET_UNCLE_COUNT_BY_BLOCK_NUMBER, 0),
+          block(RpcMethod.ETH_GET_LOGS, 0),
+          block(RpcMethod.ETH_GET_BALANCE, 1),
+          block(RpcMethod.ETH_GET_CODE, 1),
+          block(RpcMethod.ETH_GET_TRANSACTION_COUNT, 1),
+          block(RpcMethod.ETH_CALL, 1),
+          block(RpcMethod.ETH_GET_STORAGE_AT, 2),
+          block(RpcMethod.ETH_GET_PROOF, 2),
+          block(RpcMethod.DEBUG_GET_RAW_HEADER, 0),
+          block(RpcMethod.DEBUG_GET_RAW_BLOCK, 0),
+          block(RpcMethod.DEBUG_GET_RAW_RECEIPTS, 0),
+          block(RpcMethod.DEBUG_TRACE_BLOCK_BY_HASH, 0),
+          block(RpcMethod.DEBUG_TRACE_BLOCK_BY_NUMBER, 0),
+          block(RpcMethod.DEBUG_TRACE_CALL, 1),
+          block(RpcMethod.TRACE_BLOCK, 0),
+          block(RpcMethod.TRACE_REPLAY_BLOCK_TRANSACTIONS, 0),
+          transaction(RpcMethod.ETH_GET_TRANSACTION_BY_HASH, 0),
+          transaction(RpcMethod.ETH_GET_TRANSACTION_RECEIPT, 0),
+          transaction(RpcMethod.DEBUG_TRACE_TRANSACTION, 0),
+          transaction(RpcMethod.TRACE_TRANSACTION, 0));
+
+  private final Blockchain blockchain;
+  private final Map<String, PinningParam> cacheableMethods;
+  private final Cache<Key, Entry> cache;
+  private final AtomicLong reorgGeneration = new AtomicLong();
+  private final LabelledMetric<Counter> hitCounter;
+  private final LabelledMetric<Counter> missCounter;
+
+  public JsonRpcResponseCache(
+      final Blockchain blockchain,
+      final Set<String> cacheableMethods,
+      final long maxSizeBytes,
+      final MetricsSystem metricsSystem) {
+    checkArgument(
+        supportedMethods().containsAll(cacheableMethods),
+        "Responses of methods %s can not be cached",
+        Sets.difference(cacheableMethods, supportedMethods()));
+    this.blockchain = blockchain;
+    this.cacheableMethods =
+        cacheableMethods.stream().collect(toUnmodifiableMap(m -> m, PINNING_PARAMS::get));
+    this.cache =
+        CacheBuilder.newBuilder()
+            .maximumWeight(maxSizeBytes)
+            .weigher((Key key, Entry entry) -> key.weight() + entry.result().length)
+            .build();
+    this.hitCounter =
+        metricsSystem.createLabelledCounter(
+            BesuMetricCategory.RPC,
+            "response_cache_hits_total",
+            "Number of JSON-RPC requests served from the response cache",
+            "methodName");
+    this.missCounter =
+        metricsSystem.createLabelledCounter(
+            BesuMetricCategory.RPC,
+            "response_cache_misses_total",
+            "Number of cacheable JSON-RPC requests not found in the response cache",
+            "methodName");
+    metricsSystem.createLongGauge(
+        BesuMetricCategory.RPC,
+        "response_cache_entries",
+        "Number of JSON-RPC responses in the response cache",
+        cache::size);
+    blockchain.observeChainReorg(this);
+  }
+
+  /**
+   * Get the methods whose responses can be cached
+   *
+   * @return the names of the methods
+   */
+  public static Set<String> supportedMethods() {
+    return PINNING_PARAMS.keySet();
+  }
+
+  /**
+   * Resolve the key under which the result of the request can be cached
+   *
+   * @param request the request
+   * @return the cache key, or empty if the request is not cacheable
+   */
+  Optional<Key> keyFor(final JsonRpcRequest request) {
+    final PinningParam pinningParam = cacheableMethods.get(request.getMethod());
+    final Object[] params = request.getParams();
+    if (pinningParam == null || params == null || params.length <= pinningParam.position()) {
+      return Optional.empty();
+    }
+    final long generation = reorgGeneration.get();
+    final Object param = params[pinningParam.position()];
+    final Optional<BlockHeader> pinnedBlock =
+        pinningParam.transactionHash() ? transactionBlock(param) : pinnedBlock(param);
+    if (pinnedBlock.isEmpty()) {
+      return Optional.empty();
+    }
+    try {
+      return Optional.of(
+          new Key(
+              request.getMethod(),
+              PARAMS_MAPPER.writeValueAsString(params),
+              pinnedBlock.get().getBlockHash(),
+              pinnedBlock.get().getNumber(),
+              generation));
+    } catch (final JsonProcessingException e) {
+      LOG.debug("Unable to canonicalize params of {}", request.getMethod(), e);
+      return Optional.empty();
+    }
+  }
+
+  Optional<Object> get(final Key key) {
+    final Entry entry = cache.getIfPresent(key);
+    if (entry == null) {
+      missCounter.labels(key.method()).inc();
+      return Optional.empty();
+    }
+    hitCounter.labels(key.method()).inc();
+    return Optional.of(new SerializedResult(new String(entry.result(), UTF_8)));
+  }
+
+  void put(final Key key, final Object result) {
+    // streamed results are produced while being written, they can not be stored
+    if (result instanceof StreamingDebugTraceBlockResult) {
+      return;
+    }
+    final byte[] serialized;
+    try {
+      serialized = RESULT_MAPPER.writeValueAsBytes(result);
+    } catch (final JsonProcessingException e) {
+      LOG.debug("Unable to serialize result of {} for caching", key.method(), e);
+      return;
+    }
+    // a reorg happened while the result was computed, so the pinned block could be stale
+    if (key.generation() == reorgGeneration.get()) {
+      cache.put(key, new Entry(serialized));
+    }
+  }
+
+  @Override
+  public void onBlockAdded(final BlockWithReceipts blockWithReceipts, final Blockchain blockchain) {
+    final long reorgHeight = blockWithReceipts.getHeader().getNumber();
+    reorgGeneration.incrementAndGet();
+    cache.asMap().keySet().removeIf(key -> key.blockNumber() >= reorgHeight);
+  }
+
+  private Optional<BlockHeader> pinnedBlock(final Object param) {
+    if (param instanceof Map<?, ?> object) {
+      if (object.get("blockHash") instanceof String blockHash) {
+        return parseHash(blockHash).flatMap(blockchain::getBlockHeader);
+      }
+      return object.get("blockNumber") instanceof String blockNumber
+          ? pinnedBlock(blockNumber)
+          : Optional.empty();
+    }
+    if (param instanceof String value && value.startsWith("0x")) {
+      if (value.length() == HASH_HEX_LENGTH) {
+        return parseHash(value).flatMap(blockchain::getBlockHeader);
+      }
+      if (value.length() <= MAX_QUANTITY_HEX_LENGTH) {
+        return parseQuantity(value).flatMap(this::finalizedBlock);
+      }
+    }
+    return Optional.empty();
+  }
+
+  private Optional<BlockHeader> transactionBlock(final Object param) {
+    if (param instanceof String value && value.length() == HASH_HEX_LENGTH) {
+      return parseHash(value)
+          .flatMap(blockchain::getTransactionLocation)
+          .map(TransactionLocation::getBlockHash)
+          .flatMap(blockchain::getBlockHeader);
+    }
+    return Optional.empty();
+  }
+
+  private Optional<BlockHeader> finalizedBlock(final long number) {
+    return blockchain
+        .getFinalized()
+        .flatMap(blockchain::getBlockHeader)
+        .filter(finalized -> number <= finalized.getNumber())
+        .flatMap(unused -> blockchain.getBlockHeader(number));
+  }
+
+  private static Optional<Hash> parseHash(final String value) {
+    try {
+      return Optional.of(Hash.fromHexString(value));
+    } catch (final IllegalArgumentException e) {
+      return Optional.empty();
+    }
+  }
+
+  private static Optional<Long> parseQuantity(final String value) {
+    try {
+      return Optional.of(Long.parseUnsignedLong(value.substring(2), 16));
+    } catch (final NumberFormatException e) {
+      return Optional.empty();
+    }
+  }
+
+  private static Map.Entry<String, PinningParam> block(final RpcMethod method, final int position) {
+    return Map.entry(method.getMethodName(), new PinningParam(position, false));
+  }
+
+  private static Map.Entry<String, PinningParam> transaction(
+      final RpcMethod method, final int position) {
+    return Map.entry(method.getMethodName(), new PinningParam(position, true));
+  }
+
+  /**
+   * The param that pins a request to a block.
+   *
+   * @param position the position of the param
+   * @param transactionHash whether the param is the hash of a transaction included in the block,
+   *     rather than a block parameter
+   */
+  private record PinningParam(int position, boolean transactionHash) {}
+
+  record Key(String method, String params, Hash blockHash, long blockNumber, long generation) {
+
+    // the generation is only used to detect reorgs during the execution, it is not part of the
+    // identity of the request
+    @Override
+    public boolean equals(final Object o) {
+      return o instanceof Key other
+          && method.equals(other.method)
+          && params.equals(other.params)
+          && blockHash.equals(other.blockHash);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * (31 * method.hashCode() + params.hashCode()) + blockHash.hashCode();
+    }
+
+    private int weight() {
+      return ENTRY_OVERHEAD_BYTES + method.length() + params.length();
+    }
+  }
+
+  private record Entry(byte[] result) {}
+
+  /** A result that was already serialized, and that is written as is in the response. */
+  private record SerializedResult(String json) implements JsonSerializable {
+
+    @Override
+    public void serialize(final JsonGenerator gen, final SerializerProvider serializers)
+        throws IOException {
+      gen.writeRawValue(json);
+    }
+
+    @Override
+    public void serializeWithType(
+        final JsonGenerator gen,
+        final SerializerProvider serializers,
+        final TypeSerializer typeSerializer)
+        throws IOException {
+      serialize(gen, serializers);
+    }
+  }
+}
@@ -15,7 +15,6 @@
 package org.hyperledger.besu.ethereum.api.jsonrpc.internal.filter;
 
 import static com.google.common.base.Preconditions.checkNotNull;
-import static java.util.stream.Collectors.toUnmodifiableList;
 
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.parameters.BlockParameter;
@@ -28,7 +27,9 @@ import org.hyperledger.besu.ethereum.eth.transactions.TransactionPool;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import com.google.common.annotations.VisibleForTesting;
@@ -137,25 +138,28 @@ public class FilterManager extends AbstractVerticle {
           }
         });
 
-    final List<LogWithMetadata> logsWithMetadata = event.getLogsWithMetadata();
-    filterRepository.getFiltersOfType(LogFilter.class).stream()
-        .filter(
-            // Only keep filters where the "to" block could include the block in the event
-            filter -> {
-              final Optional<Long> maybeToBlockNumber = filter.getToBlock().getNumber();
-              return maybeToBlockNumber.isEmpty()
-                  || maybeToBlockNumber.get() >= event.getHeader().getNumber();
-            })
-        .forEach(
-            filter -> {
-              final LogsQuery logsQuery = filter.getLogsQuery();
-              filter.addLogs(
-                  // We need to use privacy queries for private log filters but for regular
-                  // log filters we already have all the info in the event
-                  logsWithMetadata.stream()
-                      .filter(logsQuery::matches)
-                      .collect(toUnmodifiableList()));
-            });
+    final Map<LogFilter, List<LogWithMetadata>> logsByFilter = new LinkedHashMap<>();
+    for (final LogWithMetadata logWithMetadata : event.getLogsWithMetadata()) {
+      filterRepository
+          .logFiltersMatching(logWithMetadata)
+          .forEach(
+              filter ->
+                  logsByFilter
+                      .computeIfAbsent(filter, f -> new ArrayList<>())
+                      .add(logWithMetadata));
+    }
+
+    logsByFilter.forEach(
+        (filter, logs) -> {
+          // Only keep filters where the "to" block could include the block in the event
+          final Optional<Long> maybeToBlockNumber = filter.getToBlock().getNumber();
+          if (maybeToBlockNumber.isEmpty()
+              || maybeToBlockNumber.get() >= event.getHeader().getNumber()) {
+            synchronized (filter) {
+              filter.addLogs(logs);
+            }
+          }
+        });
   }
 
   @VisibleForTesting
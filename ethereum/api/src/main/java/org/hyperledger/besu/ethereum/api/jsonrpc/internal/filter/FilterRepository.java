@@ -14,8 +14,12 @@
  */
 package org.hyperledger.besu.ethereum.api.jsonrpc.internal.filter;
 
+import org.hyperledger.besu.datatypes.Log;
+import org.hyperledger.besu.ethereum.api.query.LogsQueryIndex;
+
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
@@ -25,6 +29,7 @@ import java.util.stream.Stream;
 public class FilterRepository {
 
   private final Map<String, Filter> filters = new ConcurrentHashMap<>();
+  private final LogsQueryIndex<LogFilter> logFilterIndex = new LogsQueryIndex<>();
 
   public FilterRepository() {}
 
@@ -57,6 +62,10 @@ public class FilterRepository {
     return Optional.of((T) filter);
   }
 
+  List<LogFilter> logFiltersMatching(final Log log) {
+    return logFilterIndex.matching(log);
+  }
+
   boolean exists(final String id) {
     return filters.containsKey(id);
   }
@@ -72,13 +81,20 @@ public class FilterRepository {
     }
 
     filters.put(filter.getId(), filter);
+    if (filter instanceof LogFilter logFilter) {
+      logFilterIndex.add(logFilter, logFilter.getLogsQuery());
+    }
   }
 
   void delete(final String id) {
-    filters.remove(id);
+    final Filter removed = filters.remove(id);
+    if (removed instanceof LogFilter logFilter) {
+      logFilterIndex.remove(logFilter);
+    }
   }
 
   void deleteAll() {
     filters.clear();
+    logFilterIndex.clear();
   }
 }
@@ -27,6 +27,7 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.DebugTraceTran
 import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
 import org.hyperledger.besu.ethereum.core.Block;
 import org.hyperledger.besu.ethereum.debug.TraceOptions;
+import org.hyperledger.besu.ethereum.debug.TracerType;
 import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
 import org.hyperledger.besu.ethereum.mainnet.MainnetTransactionProcessor;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
@@ -97,6 +98,79 @@ public abstract class AbstractDebugTraceBlock implements JsonRpcMethod {
     return traceOptions;
   }
 
+  /**
+   * Whether the traces of the block are streamed to the response, which is requested with the
+   * {@code streaming} trace option and only supported by the opcode tracer.
+   *
+   * @param requestContext the request context, with the trace params at index 1
+   * @param traceOptions the trace options
+   * @return true if the traces are streamed
+   */
+  static boolean isStreaming(
+      final JsonRpcRequestContext requestContext, final TraceOptions traceOptions) {
+    try {
+      return traceOptions.tracerType() == TracerType.OPCODE_TRACER
+          && requestContext
+              .getOptionalParameter(1, TransactionTraceParams.class)
+              .map(TransactionTraceParams::streaming)
+              .orElse(false);
+    } catch (JsonRpcParameter.JsonRpcParameterException e) {
+      throw new InvalidJsonRpcParameters(
+          "Invalid transaction trace parameter (index 1)",
+          RpcErrorType.INVALID_TRANSACTION_TRACE_PARAMS,
+          e);
+    }
+  }
+
+  /**
+   * Gets the traces of the transactions of the block to be streamed to the response, that stop
+   * once the request is no longer alive.
+   *
+   * @param requestContext the request context
+   * @param blockchainQueries the blockchain queries
+   * @param protocolSchedule the protocol schedule
+   * @param traceOptions the trace options
+   * @param maybeBlock the block to trace
+   * @return the streamed traces of the block, or null if the block is not found
+   */
+  static StreamingDebugTraceBlockResult getStreamingTraceResult(
+      final JsonRpcRequestContext requestContext,
+      final BlockchainQueries blockchainQueries,
+      final ProtocolSchedule protocolSchedule,
+      final TraceOptions traceOptions,
+      final Optional<Block> maybeBlock) {
+    return maybeBlock
+        .map(
+            block ->
+                new StreamingDebugTraceBlockResult(
+                    blockchainQueries,
+                    protocolSchedule,
+                    block,
+                    traceOptions.opCodeTracerConfig(),
+                    requestContext::isAlive))
+        .orElse(null);
+  }
+
+  /**
+   * Gets the traces of the transactions of the block, either collected or to be streamed to the
+   * response when requested.
+   *
+   * @param requestContext the request context
+   * @param traceOptions the trace options
+   * @param maybeBlock the block to trace
+   * @return the traces of the block, or null if the block is not found
+   */
+  protected Object getTraceResult(
+      final JsonRpcRequestContext requestContext,
+      final TraceOptions traceOptions,
+      final Optional<Block> maybeBlock) {
+    if (isStreaming(requestContext, traceOptions)) {
+      return getStreamingTraceResult(
+          requestContext, getBlockchainQueries(), protocolSchedule, traceOptions, maybeBlock);
+    }
+    return getTraces(requestContext, traceOptions, maybeBlock);
+  }
+
   protected Collection<DebugTraceTransactionResult> getTraces(
       final JsonRpcRequestContext requestContext,
       final TraceOptions traceOptions,
@@ -108,6 +108,11 @@ public class DebugTraceBlockByNumber extends AbstractBlockParameterMethod {
     Optional<Block> maybeBlock =
         getBlockchainQueries().getBlockchain().getBlockByNumber(blockNumber);
 
+    if (AbstractDebugTraceBlock.isStreaming(request, traceOptions)) {
+      return AbstractDebugTraceBlock.getStreamingTraceResult(
+          request, getBlockchainQueries(), protocolSchedule, traceOptions, maybeBlock);
+    }
+
     return maybeBlock
         .flatMap(
             block ->
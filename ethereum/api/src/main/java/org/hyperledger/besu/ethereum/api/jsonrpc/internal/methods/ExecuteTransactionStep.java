@@ -22,6 +22,7 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.TransactionT
 import org.hyperledger.besu.ethereum.chain.Blockchain;
 import org.hyperledger.besu.ethereum.core.Block;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.Transaction;
 import org.hyperledger.besu.ethereum.mainnet.ImmutableTransactionValidationParams;
 import org.hyperledger.besu.ethereum.mainnet.MainnetTransactionProcessor;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSpec;
@@ -30,6 +31,7 @@ import org.hyperledger.besu.ethereum.mainnet.block.access.list.BlockAccessList;
 import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
 import org.hyperledger.besu.ethereum.vm.DebugOperationTracer;
 import org.hyperledger.besu.evm.blockhash.BlockHashLookup;
+import org.hyperledger.besu.evm.tracing.OperationTracer;
 import org.hyperledger.besu.evm.tracing.TraceFrame;
 
 import java.util.Collection;
@@ -93,30 +95,16 @@ public class ExecuteTransactionStep implements Function<TransactionTrace, Transa
 
     // If it is not a reward Block trace
     if (transactionTrace.getTransaction() != null) {
-      BlockHeader header = block.getHeader();
-      final Optional<BlockHeader> maybeParentHeader =
-          blockchain.getBlockHeader(header.getParentHash());
-      final Wei blobGasPrice =
-          protocolSpec
-              .getFeeMarket()
-              .blobGasPricePerGas(
-                  maybeParentHeader
-                      .map(parent -> calculateExcessBlobGasForParent(protocolSpec, parent))
-                      .orElse(BlobGas.ZERO));
-      final BlockHashLookup blockHashLookup =
-          protocolSpec.getPreExecutionProcessor().createBlockHashLookup(blockchain, header);
-
       result =
-          transactionProcessor.processTransaction(
-              chainUpdater.getNextUpdater(),
-              header,
+          processTransaction(
+              chainUpdater,
+              transactionProcessor,
+              blockchain,
+              protocolSpec,
+              block.getHeader(),
               transactionTrace.getTransaction(),
-              header.getCoinbase(),
               tracer,
-              blockHashLookup,
-              ImmutableTransactionValidationParams.builder().build(),
-              blobGasPrice,
-              Optional.of(accessListTracker));
+              accessListTracker);
 
       traceFrames = tracer.copyTraceFrames();
       tracer.reset();
@@ -129,4 +117,50 @@ public class ExecuteTransactionStep implements Function<TransactionTrace, Transa
         transactionTrace.getBlock(),
         touchedAccounts);
   }
+
+  /**
+   * Executes a transaction of a block on top of the transactions before it.
+   *
+   * @param chainUpdater the updater chaining the transactions of the block
+   * @param transactionProcessor the transaction processor of the block
+   * @param blockchain the blockchain
+   * @param protocolSpec the protocol spec of the block
+   * @param header the header of the block
+   * @param transaction the transaction to execute
+   * @param tracer the tracer to report the execution to
+   * @param accessListTracker the tracker of the accounts and slots touched by the transaction
+   * @return the result of the transaction
+   */
+  static TransactionProcessingResult processTransaction(
+      final TraceBlock.ChainUpdater chainUpdater,
+      final MainnetTransactionProcessor transactionProcessor,
+      final Blockchain blockchain,
+      final ProtocolSpec protocolSpec,
+      final BlockHeader header,
+      final Transaction transaction,
+      final OperationTracer tracer,
+      final AccessLocationTracker accessListTracker) {
+    final Optional<BlockHeader> maybeParentHeader =
+        blockchain.getBlockHeader(header.getParentHash());
+    final Wei blobGasPrice =
+        protocolSpec
+            .getFeeMarket()
+            .blobGasPricePerGas(
+                maybeParentHeader
+                    .map(parent -> calculateExcessBlobGasForParent(protocolSpec, parent))
+                    .orElse(BlobGas.ZERO));
+    final BlockHashLookup blockHashLookup =
+        protocolSpec.getPreExecutionProcessor().createBlockHashLookup(blockchain, header);
+
+    return transactionProcessor.processTransaction(
+        chainUpdater.getNextUpdater(),
+        header,
+        transaction,
+        header.getCoinbase(),
+        tracer,
+        blockHashLookup,
+        ImmutableTransactionValidationParams.builder().build(),
+        blobGasPrice,
+        Optional.of(accessListTracker));
+  }
 }
@@ -0,0 +1,233 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods;
+
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.Tracer;
+import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
+import org.hyperledger.besu.ethereum.mainnet.ProtocolSpec;
+import org.hyperledger.besu.ethereum.mainnet.block.access.list.BlockAccessList;
+import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
+import org.hyperledger.besu.evm.tracing.OpCodeTracerConfigBuilder.OpCodeTracerConfig;
+import org.hyperledger.besu.evm.tracing.StreamingOperationTracer;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Optional;
+import java.util.function.BooleanSupplier;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+/**
+ * The opcode trace of a block, traced while it is serialized rather than before.
+ *
+ * <p>The transactions are executed one at a time as the result is written, and each operation is
+ * written to the JSON generator as soon as it executes, formatted by the {@link
+ * StreamingOperationTracer}. Only the operation being formatted is held in memory, the rest of the
+ * trace goes to the output of the generator, which is the HTTP response for the JSON-RPC service.
+ * As the gas used by a transaction is only known once it ran, the {@code structLogs} of each
+ * transaction come before its {@code gas}, {@code failed} and {@code returnValue}.
+ *
+ * <p>As the trace runs after the method returned, it checks by itself that the request is still
+ * alive before each operation is written, and stops once the request timed out or the connection
+ * closed.
+ *
+ * <p>Serialization is handled by the {@link Serializer} inner class.
+ */
+@JsonSerialize(using = StreamingDebugTraceBlockResult.Serializer.class)
+public class StreamingDebugTraceBlockResult {
+
+  private final BlockchainQueries blockchainQueries;
+  private final ProtocolSchedule protocolSchedule;
+  private final Block block;
+  private final OpCodeTracerConfig opCodeTracerConfig;
+  private final BooleanSupplier isAlive;
+
+  /**
+   * Creates a new {@link StreamingDebugTraceBlockResult}.
+   *
+   * @param blockchainQueries the blockchain queries to get the world state of the parent block
+   * @param protocolSchedule the protocol schedule
+   * @param block the block to trace
+   * @param opCodeTracerConfig the configuration of the opcode tracer
+   * @param isAlive whether the request is still alive, the trace stops once it returns false
+   */
+  public StreamingDebugTraceBlockResult(
+      final BlockchainQueries blockchainQueries,
+      final ProtocolSchedule protocolSchedule,
+      final Block block,
+      final OpCodeTracerConfig opCodeTracerConfig,
+      final BooleanSupplier isAlive) {
+    this.blockchainQueries = blockchainQueries;
+    this.protocolSchedule = protocolSchedule;
+    this.block = block;
+    this.opCodeTracerConfig = opCodeTracerConfig;
+    this.isAlive = isAlive;
+  }
+
+  private void writeTo(final JsonGenerator generator) throws IOException {
+    final Optional<Boolean> traced;
+    try {
+      traced =
+          Tracer.processTracing(
+              blockchainQueries,
+              Optional.of(block.getHeader()),
+              traceableState -> {
+                try {
+                  writeTransactionTraces(traceableState, generator);
+                } catch (IOException e) {
+                  throw new UncheckedIOException(e);
+                }
+                return Optional.of(Boolean.TRUE);
+              });
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+    if (traced.isEmpty()) {
+      // the world state of the parent block is not available
+      generator.writeNull();
+    }
+  }
+
+  private void writeTransactionTraces(
+      final Tracer.TraceableState traceableState, final JsonGenerator generator)
+      throws IOException {
+    final ProtocolSpec protocolSpec = protocolSchedule.getByBlockHeader(block.getHeader());
+    final TraceBlock.ChainUpdater chainUpdater = new TraceBlock.ChainUpdater(traceableState);
+    final StructLogWriter structLogWriter = new StructLogWriter(generator, isAlive);
+    final StreamingOperationTracer tracer =
+        new StreamingOperationTracer(new PrintWriter(structLogWriter), opCodeTracerConfig);
+
+    generator.writeStartArray();
+    for (final Transaction transaction : block.getBody().getTransactions()) {
+      structLogWriter.checkAlive();
+      generator.writeStartObject();
+      generator.writeStringField("txHash", transaction.getHash().getBytes().toHexString());
+      generator.writeObjectFieldStart("result");
+      generator.writeArrayFieldStart("structLogs");
+      final TransactionProcessingResult result =
+          ExecuteTransactionStep.processTransaction(
+              chainUpdater,
+              protocolSpec.getTransactionProcessor(),
+              blockchainQueries.getBlockchain(),
+              protocolSpec,
+              block.getHeader(),
+              transaction,
+              tracer,
+              BlockAccessList.BlockAccessListBuilder.createTransactionAccessLocationTracker(0));
+      structLogWriter.checkFailure();
+      generator.writeEndArray();
+      generator.writeNumberField("gas", transaction.getGasLimit() - result.getGasRemaining());
+      generator.writeBooleanField("failed", !result.isSuccessful());
+      generator.writeStringField("returnValue", result.getOutput().toString().substring(2));
+      generator.writeEndObject();
+      generator.writeEndObject();
+    }
+    generator.writeEndArray();
+  }
+
+  /**
+   * Writes each line printed by the {@link StreamingOperationTracer}, which is the JSON of one
+   * operation, as a value of the current array of the generator.
+   *
+   * <p>A failure to write, or a request that is no longer alive, stops the execution of the
+   * transaction, as the {@link PrintWriter} of the tracer would otherwise swallow it, and is
+   * rethrown once the transaction processor returns.
+   */
+  private static class StructLogWriter extends Writer {
+    private final JsonGenerator generator;
+    private final BooleanSupplier isAlive;
+    private final StringBuilder structLog = new StringBuilder(1024);
+    private IOException failure;
+
+    StructLogWriter(final JsonGenerator generator, final BooleanSupplier isAlive) {
+      this.generator = generator;
+      this.isAlive = isAlive;
+    }
+
+    @Override
+    public void write(final char[] chars, final int offset, final int length) {
+      for (int i = offset; i < offset + length; i++) {
+        final char c = chars[i];
+        if (c == '\n') {
+          writeStructLog();
+        } else if (c != '\r') {
+          structLog.append(c);
+        }
+      }
+    }
+
+    private void writeStructLog() {
+      if (failure != null) {
+        throw new UncheckedIOException(failure);
+      }
+      try {
+        checkAlive();
+        generator.writeRawValue(structLog.toString());
+      } catch (IOException e) {
+        failure = e;
+        throw new UncheckedIOException(e);
+      } finally {
+        structLog.setLength(0);
+      }
+    }
+
+    void checkAlive() throws IOException {
+      if (!isAlive.getAsBoolean()) {
+        throw new IOException("Request timed out or connection closed, trace stopped");
+      }
+    }
+
+    void checkFailure() throws IOException {
+      if (failure != null) {
+        throw failure;
+      }
+    }
+
+    @Override
+    public void flush() {
+      // struct logs are written to the generator as soon as they are complete
+    }
+
+    @Override
+    public void close() {
+      // the generator is closed by the serialization of the response
+    }
+  }
+
+  /** Custom serializer for {@link StreamingDebugTraceBlockResult}. */
+  public static class Serializer extends StdSerializer<StreamingDebugTraceBlockResult> {
+
+    public Serializer() {
+      super(StreamingDebugTraceBlockResult.class);
+    }
+
+    @Override
+    public void serialize(
+        final StreamingDebugTraceBlockResult result,
+        final JsonGenerator generator,
+        final SerializerProvider provider)
+        throws IOException {
+      result.writeTo(generator);
+    }
+  }
+}
@@ -62,6 +62,19 @@ public interface TransactionTraceParams {
     return Boolean.TRUE.equals(disableStackNullable());
   }
 
+  /**
+   * Whether the struct logs of a block trace are written to the response while the block is
+   * traced, rather than collected first. Only honoured by the debug_traceBlock methods with the
+   * default opcode tracer.
+   */
+  @JsonProperty(value = "streaming")
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  @Nullable Boolean streamingNullable();
+
+  default boolean streaming() {
+    return Boolean.TRUE.equals(streamingNullable());
+  }
+
   @JsonProperty("tracer")
   @JsonInclude(JsonInclude.Include.NON_NULL)
   @Nullable String tracer();
@@ -17,6 +17,7 @@ package org.hyperledger.besu.ethereum.api.jsonrpc.ipc;
 import static org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.RpcErrorType.INVALID_REQUEST;
 
 import org.hyperledger.besu.ethereum.api.handlers.JsonRpcParserHandler;
+import org.hyperledger.besu.ethereum.api.handlers.RpcRequestScheduler;
 import org.hyperledger.besu.ethereum.api.jsonrpc.execution.JsonRpcExecutor;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequest;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcErrorResponse;
@@ -67,6 +68,7 @@ public class JsonRpcIpcService {
   private final Path path;
   private final JsonRpcExecutor jsonRpcExecutor;
   private final Optional<SubscriptionManager> subscriptionManager;
+  private final RpcRequestScheduler requestScheduler;
   private NetServer netServer;
 
   public JsonRpcIpcService(final Vertx vertx, final Path path, final JsonRpcExecutor rpcExecutor) {
@@ -78,10 +80,20 @@ public class JsonRpcIpcService {
       final Path path,
       final JsonRpcExecutor rpcExecutor,
       final Optional<SubscriptionManager> subscriptionManager) {
+    this(vertx, path, rpcExecutor, subscriptionManager, RpcRequestScheduler.workerPool());
+  }
+
+  public JsonRpcIpcService(
+      final Vertx vertx,
+      final Path path,
+      final JsonRpcExecutor rpcExecutor,
+      final Optional<SubscriptionManager> subscriptionManager,
+      final RpcRequestScheduler requestScheduler) {
     this.vertx = vertx;
     this.path = path;
     this.jsonRpcExecutor = rpcExecutor;
     this.subscriptionManager = subscriptionManager;
+    this.requestScheduler = requestScheduler;
   }
 
   public Future<NetServer> start() {
@@ -127,7 +139,7 @@ public class JsonRpcIpcService {
                   if (jsonObj != null) {
                     handleSingleRequest(socket, jsonObj, closedSocket, connectionId);
                   } else if (jsonArr != null) {
-                    handleBatchRequest(socket, jsonArr, closedSocket);
+                    handleBatchRequest(socket, jsonArr, closedSocket, connectionId);
                   }
                 },
                 () -> errorReturn(socket, null, RpcErrorType.PARSE_ERROR)));
@@ -138,28 +150,28 @@ public class JsonRpcIpcService {
       final JsonObject jsonRpcRequest,
       final AtomicBoolean closedSocket,
       final String connectionId) {
-    vertx
-        .<JsonRpcResponse>executeBlocking(
-            promise -> {
-              final JsonRpcResponse jsonRpcResponse =
-                  jsonRpcExecutor.execute(
-                      Optional.empty(),
-                      null,
-                      null,
-                      closedSocket::get,
-                      jsonRpcRequest,
-                      req -> {
-                        if (subscriptionManager.isPresent()) {
-                          final WebSocketRpcRequest websocketRequest =
-                              req.mapTo(WebSocketRpcRequest.class);
-                          websocketRequest.setConnectionId(connectionId);
-                          return websocketRequest;
-                        } else {
-                          return req.mapTo(JsonRpcRequest.class);
-                        }
-                      });
-              promise.complete(jsonRpcResponse);
-            })
+    requestScheduler
+        .<JsonRpcResponse>schedule(
+            vertx,
+            String.valueOf(jsonRpcRequest.getValue("method")),
+            Optional.of(connectionId),
+            () ->
+                jsonRpcExecutor.execute(
+                    Optional.empty(),
+                    null,
+                    null,
+                    closedSocket::get,
+                    jsonRpcRequest,
+                    req -> {
+                      if (subscriptionManager.isPresent()) {
+                        final WebSocketRpcRequest websocketRequest =
+                            req.mapTo(WebSocketRpcRequest.class);
+                        websocketRequest.setConnectionId(connectionId);
+                        return websocketRequest;
+                      } else {
+                        return req.mapTo(JsonRpcRequest.class);
+                      }
+                    }))
         .onSuccess(
             jsonRpcResponse -> {
               if (!closedSocket.get()) {
@@ -182,13 +194,16 @@ public class JsonRpcIpcService {
   private void handleBatchRequest(
       final NetSocket socket,
       final JsonArray batchJsonRpcRequest,
-      final AtomicBoolean closedSocket) {
+      final AtomicBoolean closedSocket,
+      final String connectionId) {
     if (batchJsonRpcRequest.isEmpty()) {
       errorReturn(socket, null, RpcErrorType.INVALID_REQUEST);
     } else {
-      vertx
-          .<List<JsonRpcResponse>>executeBlocking(
-              promise -> {
+      requestScheduler
+          .<List<JsonRpcResponse>>scheduleBatch(
+              vertx,
+              Optional.of(connectionId),
+              () -> {
                 List<JsonRpcResponse> responses = new ArrayList<>();
                 for (int i = 0; i < batchJsonRpcRequest.size(); i++) {
                   final JsonObject jsonRequest;
@@ -199,15 +214,18 @@ public class JsonRpcIpcService {
                     continue;
                   }
                   responses.add(
-                      jsonRpcExecutor.execute(
-                          Optional.empty(),
-                          null,
-                          null,
-                          closedSocket::get,
-                          jsonRequest,
-                          req -> req.mapTo(JsonRpcRequest.class)));
+                      requestScheduler.executeInBulkhead(
+                          String.valueOf(jsonRequest.getValue("method")),
+                          () ->
+                              jsonRpcExecutor.execute(
+                                  Optional.empty(),
+                                  null,
+                                  null,
+                                  closedSocket::get,
+                                  jsonRequest,
+                                  req -> req.mapTo(JsonRpcRequest.class))));
                 }
-                promise.complete(responses);
+                return responses;
               })
           .onSuccess(
               jsonRpcBatchResponse -> {
@@ -17,6 +17,7 @@ package org.hyperledger.besu.ethereum.api.jsonrpc.websocket;
 import static org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.RpcErrorType.INVALID_REQUEST;
 
 import org.hyperledger.besu.ethereum.api.handlers.IsAliveHandler;
+import org.hyperledger.besu.ethereum.api.handlers.RpcRequestScheduler;
 import org.hyperledger.besu.ethereum.api.jsonrpc.execution.JsonRpcExecutor;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcErrorResponse;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcResponse;
@@ -63,16 +64,27 @@ public class WebSocketMessageHandler {
   private final JsonRpcExecutor jsonRpcExecutor;
   final EthScheduler ethScheduler;
   private final long timeoutSec;
+  private final RpcRequestScheduler requestScheduler;
 
   public WebSocketMessageHandler(
       final Vertx vertx,
       final JsonRpcExecutor jsonRpcExecutor,
       final EthScheduler ethScheduler,
       final long timeoutSec) {
+    this(vertx, jsonRpcExecutor, ethScheduler, timeoutSec, RpcRequestScheduler.workerPool());
+  }
+
+  public WebSocketMessageHandler(
+      final Vertx vertx,
+      final JsonRpcExecutor jsonRpcExecutor,
+      final EthScheduler ethScheduler,
+      final long timeoutSec,
+      final RpcRequestScheduler requestScheduler) {
     this.vertx = vertx;
     this.jsonRpcExecutor = jsonRpcExecutor;
     this.ethScheduler = ethScheduler;
     this.timeoutSec = timeoutSec;
+    this.requestScheduler = requestScheduler;
   }
 
   public void handle(
@@ -82,28 +94,24 @@ public class WebSocketMessageHandler {
     } else {
       try {
         final JsonObject jsonRpcRequest = buffer.toJsonObject();
-        vertx
-            .<JsonRpcResponse>executeBlocking(
-                promise -> {
-                  try {
-                    final JsonRpcResponse jsonRpcResponse =
-                        jsonRpcExecutor.execute(
-                            user,
-                            null,
-                            null,
-                            new IsAliveHandler(ethScheduler, timeoutSec),
-                            jsonRpcRequest,
-                            req -> {
-                              final WebSocketRpcRequest websocketRequest =
-                                  req.mapTo(WebSocketRpcRequest.class);
-                              websocketRequest.setConnectionId(websocket.textHandlerID());
-                              return websocketRequest;
-                            });
-                    promise.complete(jsonRpcResponse);
-                  } catch (RuntimeException e) {
-                    promise.fail(e);
-                  }
-                })
+        requestScheduler
+            .<JsonRpcResponse>schedule(
+                vertx,
+                String.valueOf(jsonRpcRequest.getValue("method")),
+                Optional.of(websocket.textHandlerID()),
+                () ->
+                    jsonRpcExecutor.execute(
+                        user,
+                        null,
+                        null,
+                        new IsAliveHandler(ethScheduler, timeoutSec),
+                        jsonRpcRequest,
+                        req -> {
+                          final WebSocketRpcRequest websocketRequest =
+                              req.mapTo(WebSocketRpcRequest.class);
+                          websocketRequest.setConnectionId(websocket.textHandlerID());
+                          return websocketRequest;
+                        }))
             .onSuccess(jsonRpcResponse -> replyToClient(websocket, jsonRpcResponse))
             .onFailure(
                 throwable -> {
@@ -117,9 +125,11 @@ public class WebSocketMessageHandler {
       } catch (DecodeException jsonObjectDecodeException) {
         try {
           final JsonArray batchJsonRpcRequest = buffer.toJsonArray();
-          vertx
-              .<List<JsonRpcResponse>>executeBlocking(
-                  promise -> {
+          requestScheduler
+              .<List<JsonRpcResponse>>scheduleBatch(
+                  vertx,
+                  Optional.of(websocket.textHandlerID()),
+                  () -> {
                     List<JsonRpcResponse> responses = new ArrayList<>();
                     for (int i = 0; i < batchJsonRpcRequest.size(); i++) {
                       final JsonObject jsonRequest;
@@ -130,20 +140,23 @@ public class WebSocketMessageHandler {
                         continue;
                       }
                       responses.add(
-                          jsonRpcExecutor.execute(
-                              user,
-                              null,
-                              null,
-                              new IsAliveHandler(ethScheduler, timeoutSec),
-                              jsonRequest,
-                              req -> {
-                                final WebSocketRpcRequest websocketRequest =
-                                    req.mapTo(WebSocketRpcRequest.class);
-                                websocketRequest.setConnectionId(websocket.textHandlerID());
-                                return websocketRequest;
-                              }));
+                          requestScheduler.executeInBulkhead(
+                              String.valueOf(jsonRequest.getValue("method")),
+                              () ->
+                                  jsonRpcExecutor.execute(
+                                      user,
+                                      null,
+                                      null,
+                                      new IsAliveHandler(ethScheduler, timeoutSec),
+                                      jsonRequest,
+                                      req -> {
+                                        final WebSocketRpcRequest websocketRequest =
+                                            req.mapTo(WebSocketRpcRequest.class);
+                                        websocketRequest.setConnectionId(websocket.textHandlerID());
+                                        return websocketRequest;
+                                      })));
                     }
-                    promise.complete(responses);
+                    return responses;
                   })
               .onSuccess(
                   jsonRpcBatchResponse -> {
@@ -14,17 +14,22 @@
  */
 package org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription;
 
+import org.hyperledger.besu.datatypes.Log;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.JsonRpcResult;
+import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.logs.LogsSubscription;
 import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.request.SubscribeRequest;
 import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.request.SubscriptionType;
 import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.request.UnsubscribeRequest;
 import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.response.SubscriptionResponse;
+import org.hyperledger.besu.ethereum.api.query.LogsQueryIndex;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
 import org.hyperledger.besu.metrics.BesuMetricCategory;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
 import org.hyperledger.besu.plugin.services.metrics.Counter;
 import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
 
+import java.io.IOException;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -32,8 +37,12 @@ import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonSerializable;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
 import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
 import io.vertx.core.AbstractVerticle;
 import io.vertx.core.eventbus.Message;
@@ -56,6 +65,7 @@ public class SubscriptionManager extends AbstractVerticle {
 
   private final AtomicLong subscriptionCounter = new AtomicLong(0);
   private final Map<Long, Subscription> subscriptions = new ConcurrentHashMap<>();
+  private final LogsQueryIndex<LogsSubscription> logsSubscriptionIndex = new LogsQueryIndex<>();
   private final SubscriptionBuilder subscriptionBuilder = new SubscriptionBuilder();
   private final LabelledMetric<Counter> subscribeCounter;
   private final LabelledMetric<Counter> unsubscribeCounter;
@@ -93,6 +103,10 @@ public class SubscriptionManager extends AbstractVerticle {
     final Subscription subscription =
         subscriptionBuilder.build(subscriptionId, request.getConnectionId(), request);
     subscriptions.put(subscription.getSubscriptionId(), subscription);
+    if (subscription instanceof LogsSubscription logsSubscription) {
+      logsSubscriptionIndex.add(
+          logsSubscription, logsSubscription.getFilterParameter().getLogsQuery());
+    }
 
     return subscription.getSubscriptionId();
   }
@@ -115,6 +129,9 @@ public class SubscriptionManager extends AbstractVerticle {
 
   private void destroySubscription(final long subscriptionId) {
     final Subscription removed = subscriptions.remove(subscriptionId);
+    if (removed instanceof LogsSubscription logsSubscription) {
+      logsSubscriptionIndex.remove(logsSubscription);
+    }
     if (removed != null) {
       unsubscribeCounter.labels(removed.getSubscriptionType().getCode()).inc();
     }
@@ -144,6 +161,35 @@ public class SubscriptionManager extends AbstractVerticle {
         .collect(Collectors.toList());
   }
 
+  /**
+   * Get the logs subscriptions whose filter matches the addresses and topics of the log, without
+   * checking the block range of the filter.
+   *
+   * @param log the log
+   * @return the list of matching logs subscriptions
+   */
+  public List<LogsSubscription> logsSubscriptionsMatching(final Log log) {
+    return logsSubscriptionIndex.matching(log);
+  }
+
+  /**
+   * Send the same message to many subscriptions, serializing the result only once.
+   *
+   * @param subscriptionIds the ids of the subscriptions
+   * @param msg the message
+   */
+  public void sendMessageToSubscriptions(
+      final Collection<Long> subscriptionIds, final JsonRpcResult msg) {
+    final SerializedResult serializedResult;
+    try {
+      serializedResult = new SerializedResult(jsonObjectMapper.writeValueAsString(msg));
+    } catch (JsonProcessingException e) {
+      LOG.error("Error streaming websocket JSON-RPC response", e);
+      return;
+    }
+    subscriptionIds.forEach(subscriptionId -> sendMessage(subscriptionId, serializedResult));
+  }
+
   public void sendMessage(final Long subscriptionId, final JsonRpcResult msg) {
     final Subscription subscription = subscriptions.get(subscriptionId);
 
@@ -175,4 +221,23 @@ public class SubscriptionManager extends AbstractVerticle {
           }
         });
   }
+
+  /** A result already serialized to JSON, that is written as is in every subscription response. */
+  private record SerializedResult(String json) implements JsonRpcResult, JsonSerializable {
+
+    @Override
+    public void serialize(final JsonGenerator gen, final SerializerProvider serializers)
+        throws IOException {
+      gen.writeRawValue(json);
+    }
+
+    @Override
+    public void serializeWithType(
+        final JsonGenerator gen,
+        final SerializerProvider serializers,
+        final TypeSerializer typeSerializer)
+        throws IOException {
+      serialize(gen, serializers);
+    }
+  }
 }
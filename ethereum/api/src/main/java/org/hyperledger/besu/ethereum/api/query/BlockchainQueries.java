@@ -16,16 +16,18 @@ package org.hyperledger.besu.ethereum.api.query;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static org.hyperledger.besu.ethereum.api.query.cache.TransactionLogBloomCacher.BLOCKS_PER_BLOOM_CACHE;
+import static org.hyperledger.besu.ethereum.api.query.cache.TransactionLogIndexer.BLOCKS_PER_LOG_INDEX;
 import static org.hyperledger.besu.ethereum.mainnet.feemarket.ExcessBlobGasCalculator.calculateExcessBlobGasForParent;
 import static org.hyperledger.besu.ethereum.trie.pathbased.common.provider.WorldStateQueryParams.withBlockHeaderAndNoUpdateNodeHead;
 
 import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.Hash;
-import org.hyperledger.besu.datatypes.LogsBloomFilter;
 import org.hyperledger.besu.datatypes.Wei;
 import org.hyperledger.besu.ethereum.api.ApiConfiguration;
 import org.hyperledger.besu.ethereum.api.ImmutableApiConfiguration;
+import org.hyperledger.besu.ethereum.api.query.cache.LogBloomScanner;
 import org.hyperledger.besu.ethereum.api.query.cache.TransactionLogBloomCacher;
+import org.hyperledger.besu.ethereum.api.query.cache.TransactionLogIndexer;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
 import org.hyperledger.besu.ethereum.chain.TransactionLocation;
 import org.hyperledger.besu.ethereum.core.Block;
@@ -46,9 +48,7 @@ import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
 import org.hyperledger.besu.evm.account.Account;
 import org.hyperledger.besu.util.OrderStatistics;
 
-import java.io.EOFException;
 import java.io.IOException;
-import java.io.RandomAccessFile;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
@@ -56,6 +56,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -72,12 +73,15 @@ import org.slf4j.LoggerFactory;
 
 public class BlockchainQueries {
   private static final Logger LOG = LoggerFactory.getLogger(BlockchainQueries.class);
+  // the segments whose blooms are scanned ahead of the one whose logs are retrieved
+  private static final int PARALLEL_BLOOM_SCANS = Runtime.getRuntime().availableProcessors();
 
   private final ProtocolSchedule protocolSchedule;
   private final WorldStateArchive worldStateArchive;
   private final Blockchain blockchain;
   private final Optional<Path> cachePath;
   private final Optional<TransactionLogBloomCacher> transactionLogBloomCacher;
+  private final Optional<TransactionLogIndexer> transactionLogIndexer;
   private final Optional<EthScheduler> ethScheduler;
   private final ApiConfiguration apiConfig;
   private final MiningConfiguration miningConfiguration;
@@ -146,6 +150,10 @@ public class BlockchainQueries {
             ? Optional.of(
                 new TransactionLogBloomCacher(blockchain, cachePath.get(), scheduler.get()))
             : Optional.empty();
+    this.transactionLogIndexer =
+        (cachePath.isPresent() && scheduler.isPresent())
+            ? Optional.of(new TransactionLogIndexer(blockchain, cachePath.get(), scheduler.get()))
+            : Optional.empty();
     this.apiConfig = apiConfig;
     this.miningConfiguration = miningConfiguration;
   }
@@ -162,6 +170,10 @@ public class BlockchainQueries {
     return transactionLogBloomCacher;
   }
 
+  public Optional<TransactionLogIndexer> getTransactionLogIndexer() {
+    return transactionLogIndexer;
+  }
+
   /**
    * Retrieves the header hash of the block at the given height in the canonical chain.
    *
@@ -828,42 +840,41 @@ public class BlockchainQueries {
       final long toBlockNumber,
       final LogsQuery query,
       final Supplier<Boolean> isQueryAlive) {
+    if (transactionLogIndexer.isEmpty()) {
+      return matchingLogsBloomed(fromBlockNumber, toBlockNumber, query, isQueryAlive);
+    }
     try {
       final List<LogWithMetadata> result = new ArrayList<>();
-      final long startSegment = fromBlockNumber / BLOCKS_PER_BLOOM_CACHE;
-      final long endSegment = toBlockNumber / BLOCKS_PER_BLOOM_CACHE;
-      long currentStep = fromBlockNumber;
-      for (long segment = startSegment; segment <= endSegment; segment++) {
-        final long thisSegment = segment;
-        final long thisStep = currentStep;
-        final long nextStep = (segment + 1) * BLOCKS_PER_BLOOM_CACHE;
+      // the blocks of an indexed chunk are looked up in the logs index, the others are scanned
+      // through their blooms
+      long unindexedFrom = fromBlockNumber;
+      for (long chunk = fromBlockNumber / BLOCKS_PER_LOG_INDEX;
+          chunk <= toBlockNumber / BLOCKS_PER_LOG_INDEX;
+          chunk++) {
         BackendQuery.stopIfExpired(isQueryAlive);
-        result.addAll(
-            cachePath
-                .map(path -> path.resolve("logBloom-" + thisSegment + ".cache"))
-                .filter(Files::isRegularFile)
-                .map(
-                    cacheFile -> {
-                      try {
-                        return matchingLogsCached(
-                            thisSegment * BLOCKS_PER_BLOOM_CACHE,
-                            thisStep % BLOCKS_PER_BLOOM_CACHE,
-                            Math.min(toBlockNumber, nextStep - 1) % BLOCKS_PER_BLOOM_CACHE,
-                            query,
-                            cacheFile,
-                            isQueryAlive);
-                      } catch (final Exception e) {
-                        throw new RuntimeException(e);
-                      }
-                    })
-                .orElseGet(
-                    () ->
-                        matchingLogsUncached(
-                            thisStep,
-                            Math.min(toBlockNumber, Math.min(toBlockNumber, nextStep - 1)),
-                            query,
-                            isQueryAlive)));
-        currentStep = nextStep;
+        final Optional<long[]> matchingBlocks =
+            transactionLogIndexer.get().matchingBlocks(chunk, query);
+        if (matchingBlocks.isPresent()) {
+          final long chunkStart = Math.max(fromBlockNumber, chunk * BLOCKS_PER_LOG_INDEX);
+          final long chunkEnd = Math.min(toBlockNumber, (chunk + 1) * BLOCKS_PER_LOG_INDEX - 1);
+          if (unindexedFrom < chunkStart) {
+            result.addAll(
+                matchingLogsBloomed(unindexedFrom, chunkStart - 1, query, isQueryAlive));
+          }
+          for (final long blockNumber : matchingBlocks.get()) {
+            if (blockNumber >= chunkStart && blockNumber <= chunkEnd) {
+              result.addAll(
+                  matchingLogs(
+                      blockchain.getBlockHashByNumber(blockNumber).orElseThrow(),
+                      query,
+                      isQueryAlive));
+            }
+          }
+          unindexedFrom = chunkEnd + 1;
+        }
+      }
+      if (unindexedFrom <= toBlockNumber) {
+        result.addAll(matchingLogsBloomed(unindexedFrom, toBlockNumber, query, isQueryAlive));
       }
       return result;
     } catch (final Exception e) {
@@ -871,6 +882,87 @@ public class BlockchainQueries {
     }
   }
 
+  private List<LogWithMetadata> matchingLogsBloomed(
+      final long fromBlockNumber,
+      final long toBlockNumber,
+      final LogsQuery query,
+      final Supplier<Boolean> isQueryAlive) {
+    try {
+      final LogBloomScanner scanner = new LogBloomScanner(query);
+      final long startSegment = fromBlockNumber / BLOCKS_PER_BLOOM_CACHE;
+      final long endSegment = toBlockNumber / BLOCKS_PER_BLOOM_CACHE;
+      // the blooms of the cached segments are scanned ahead of the retrieval of the logs of their
+      // candidate blocks, in parallel when the range spans several of them
+      final int scanAhead =
+          ethScheduler.isPresent() && endSegment > startSegment ? PARALLEL_BLOOM_SCANS : 0;
+      final List<CompletableFuture<Optional<LogBloomScanner.Scan>>> scans = new ArrayList<>();
+      try {
+        final List<LogWithMetadata> result = new ArrayList<>();
+        for (long segment = startSegment; segment <= endSegment; segment++) {
+          BackendQuery.stopIfExpired(isQueryAlive);
+          while (scans.size() <= segment - startSegment + scanAhead
+              && startSegment + scans.size() <= endSegment) {
+            scans.add(
+                scanSegment(
+                    scanner,
+                    startSegment + scans.size(),
+                    fromBlockNumber,
+                    toBlockNumber,
+                    scanAhead > 0));
+          }
+          final long segmentStart = segment * BLOCKS_PER_BLOOM_CACHE;
+          final long segmentFrom = Math.max(fromBlockNumber, segmentStart);
+          final long segmentTo = Math.min(toBlockNumber, segmentStart + BLOCKS_PER_BLOOM_CACHE - 1);
+          final Optional<LogBloomScanner.Scan> scan =
+              scans.get((int) (segment - startSegment)).join();
+          if (scan.isEmpty()) {
+            result.addAll(matchingLogsUncached(segmentFrom, segmentTo, query, isQueryAlive));
+            continue;
+          }
+          for (final long offset : scan.get().candidates()) {
+            BackendQuery.stopIfExpired(isQueryAlive);
+            result.addAll(
+                matchingLogs(
+                    blockchain.getBlockHashByNumber(segmentStart + offset).orElseThrow(),
+                    query,
+                    isQueryAlive));
+          }
+          // the cache file may not cover the most recent blocks of the segment yet
+          result.addAll(
+              matchingLogsUncached(
+                  segmentStart + scan.get().scannedUntil(), segmentTo, query, isQueryAlive));
+        }
+        return result;
+      } finally {
+        // the scans still pending when the query expires or fails are not run
+        scans.forEach(scan -> scan.cancel(false));
+      }
+    } catch (final Exception e) {
+      throw new IllegalStateException("Error retrieving matching logs", e);
+    }
+  }
+
+  private CompletableFuture<Optional<LogBloomScanner.Scan>> scanSegment(
+      final LogBloomScanner scanner,
+      final long segment,
+      final long fromBlockNumber,
+      final long toBlockNumber,
+      final boolean parallel) {
+    final long segmentStart = segment * BLOCKS_PER_BLOOM_CACHE;
+    final long fromOffset = Math.max(fromBlockNumber, segmentStart) - segmentStart;
+    final long toOffset =
+        Math.min(toBlockNumber, segmentStart + BLOCKS_PER_BLOOM_CACHE - 1) - segmentStart;
+    final Optional<Path> cacheFile =
+        cachePath
+            .map(path -> path.resolve("logBloom-" + segment + ".cache"))
+            .filter(Files::isRegularFile);
+    final Supplier<Optional<LogBloomScanner.Scan>> scan =
+        () -> cacheFile.flatMap(file -> scanCachedSegment(scanner, file, fromOffset, toOffset));
+    return parallel
+        ? ethScheduler.get().scheduleComputationTask(scan)
+        : CompletableFuture.completedFuture(scan.get());
+  }
+
   private List<LogWithMetadata> matchingLogsUncached(
       final long fromBlockNumber,
       final long toBlockNumber,
@@ -889,43 +981,17 @@ public class BlockchainQueries {
         .collect(Collectors.toList());
   }
 
-  private List<LogWithMetadata> matchingLogsCached(
-      final long segmentStart,
-      final long offset,
-      final long endOffset,
-      final LogsQuery query,
+  private Optional<LogBloomScanner.Scan> scanCachedSegment(
+      final LogBloomScanner scanner,
       final Path cacheFile,
-      final Supplier<Boolean> isQueryAlive)
-      throws Exception {
-    final List<LogWithMetadata> results = new ArrayList<>();
-    try (final RandomAccessFile raf = new RandomAccessFile(cacheFile.toFile(), "r")) {
-      raf.seek(offset * 256);
-      final byte[] bloomBuff = new byte[256];
-      final Bytes bytesValue = Bytes.wrap(bloomBuff);
-      for (long pos = offset; pos <= endOffset; pos++) {
-        BackendQuery.stopIfExpired(isQueryAlive);
-        try {
-          raf.readFully(bloomBuff);
-        } catch (final EOFException e) {
-          results.addAll(
-              matchingLogsUncached(
-                  segmentStart + pos, segmentStart + endOffset, query, isQueryAlive));
-          break;
-        }
-        final LogsBloomFilter logsBloom = new LogsBloomFilter(bytesValue);
-        if (query.couldMatch(logsBloom)) {
-          results.addAll(
-              matchingLogs(
-                  blockchain.getBlockHashByNumber(segmentStart + pos).orElseThrow(),
-                  query,
-                  isQueryAlive));
-        }
-      }
+      final long fromOffset,
+      final long toOffset) {
+    try {
+      return Optional.of(scanner.scan(cacheFile, fromOffset, toOffset));
     } catch (final IOException e) {
-      e.printStackTrace(System.out);
       LOG.error("Error reading cached log blooms", e);
+      return Optional.empty();
     }
-    return results;
   }
 
   public List<LogWithMetadata> matchingLogs(
@@ -25,6 +25,7 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.internal.parameters.TopicsDeser
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
@@ -77,6 +78,14 @@ public class LogsQuery {
             .collect(toUnmodifiableList());
   }
 
+  public List<Address> getAddresses() {
+    return Collections.unmodifiableList(addresses);
+  }
+
+  public List<List<LogTopic>> getTopics() {
+    return Collections.unmodifiableList(topics);
+  }
+
   public boolean couldMatch(final LogsBloomFilter bloom) {
     return (addressBlooms.isEmpty() || addressBlooms.stream().anyMatch(bloom::couldContain))
         && (topicsBlooms.isEmpty()
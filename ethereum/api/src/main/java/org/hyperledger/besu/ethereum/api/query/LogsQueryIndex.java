@@ -0,0 +1,148 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.query;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Log;
+import org.hyperledger.besu.datatypes.LogTopic;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Index of the {@link LogsQuery} of a set of subscribers, used to find the subscribers interested
+ * in a log without evaluating every query against it.
+ *
+ * <p>A subscriber is indexed by the addresses of its query when it has any, otherwise by the values
+ * allowed for the first topic when that position is restricted, otherwise it is kept in a wildcard
+ * list that is checked for every log. Since a log has a single address and a single first topic,
+ * every subscriber is a candidate at most once per log, and the candidates are then checked against
+ * their full query.
+ *
+ * <p>Lookups are lock free, while adding and removing subscribers is serialized.
+ *
+ * @param <T> the type of the subscriber
+ */
+public class LogsQueryIndex<T> {
+  private final Map<T, LogsQuery> queries = new ConcurrentHashMap<>();
+  private final Map<Address, Set<T>> byAddress = new ConcurrentHashMap<>();
+  private final Map<LogTopic, Set<T>> byFirstTopic = new ConcurrentHashMap<>();
+  private final Set<T> wildcards = ConcurrentHashMap.newKeySet();
+
+  /**
+   * Add a subscriber with its query to the index
+   *
+   * @param subscriber the subscriber
+   * @param logsQuery the query of the subscriber
+   */
+  public synchronized void add(final T subscriber, final LogsQuery logsQuery) {
+    if (queries.putIfAbsent(subscriber, logsQuery) != null) {
+      return;
+    }
+    if (!logsQuery.getAddresses().isEmpty()) {
+      logsQuery
+          .getAddresses()
+          .forEach(address -> byAddress.computeIfAbsent(address, newSet()).add(subscriber));
+    } else if (isFirstTopicRestricted(logsQuery)) {
+      logsQuery
+          .getTopics()
+          .getFirst()
+          .forEach(topic -> byFirstTopic.computeIfAbsent(topic, newSet()).add(subscriber));
+    } else {
+      wildcards.add(subscriber);
+    }
+  }
+
+  /**
+   * Remove a subscriber from the index, if present
+   *
+   * @param subscriber the subscriber to remove
+   */
+  public synchronized void remove(final T subscriber) {
+    final LogsQuery logsQuery = queries.remove(subscriber);
+    if (logsQuery == null) {
+      return;
+    }
+    if (!logsQuery.getAddresses().isEmpty()) {
+      logsQuery.getAddresses().forEach(address -> removeFrom(byAddress, address, subscriber));
+    } else if (isFirstTopicRestricted(logsQuery)) {
+      logsQuery
+          .getTopics()
+          .getFirst()
+          .forEach(topic -> removeFrom(byFirstTopic, topic, subscriber));
+    } else {
+      wildcards.remove(subscriber);
+    }
+  }
+
+  /** Remove all the subscribers from the index */
+  public synchronized void clear() {
+    queries.clear();
+    byAddress.clear();
+    byFirstTopic.clear();
+    wildcards.clear();
+  }
+
+  /**
+   * Get the subscribers whose query matches the log
+   *
+   * @param log the log
+   * @return the list of matching subscribers
+   */
+  public List<T> matching(final Log log) {
+    final List<T> matching = new ArrayList<>();
+    addMatching(byAddress.get(log.getLogger()), log, matching);
+    if (!log.getTopics().isEmpty()) {
+      addMatching(byFirstTopic.get(log.getTopics().getFirst()), log, matching);
+    }
+    addMatching(wildcards, log, matching);
+    return matching;
+  }
+
+  private void addMatching(final Collection<T> candidates, final Log log, final List<T> matching) {
+    if (candidates != null) {
+      for (final T candidate : candidates) {
+        final LogsQuery logsQuery = queries.get(candidate);
+        if (logsQuery != null && logsQuery.matches(log)) {
+          matching.add(candidate);
+        }
+      }
+    }
+  }
+
+  private static boolean isFirstTopicRestricted(final LogsQuery logsQuery) {
+    final List<List<LogTopic>> topics = logsQuery.getTopics();
+    return !topics.isEmpty() && !topics.getFirst().isEmpty() && !topics.getFirst().contains(null);
+  }
+
+  private static <K, T> void removeFrom(
+      final Map<K, Set<T>> index, final K key, final T subscriber) {
+    index.computeIfPresent(
+        key,
+        (unused, subscribers) -> {
+          subscribers.remove(subscriber);
+          return subscribers.isEmpty() ? null : subscribers;
+        });
+  }
+
+  private static <K, T> Function<K, Set<T>> newSet() {
+    return unused -> ConcurrentHashMap.newKeySet();
+  }
+}
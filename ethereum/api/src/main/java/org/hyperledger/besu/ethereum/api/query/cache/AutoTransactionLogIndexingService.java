@@ -0,0 +1,61 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.query.cache;
+
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+
+import java.time.Duration;
+import java.util.OptionalLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class AutoTransactionLogIndexingService {
+  private static final Logger LOG =
+      LoggerFactory.getLogger(AutoTransactionLogIndexingService.class);
+  private final Blockchain blockchain;
+  private final TransactionLogIndexer transactionLogIndexer;
+  private OptionalLong blockAddedSubscriptionId = OptionalLong.empty();
+
+  public AutoTransactionLogIndexingService(
+      final Blockchain blockchain, final TransactionLogIndexer transactionLogIndexer) {
+    this.blockchain = blockchain;
+    this.transactionLogIndexer = transactionLogIndexer;
+  }
+
+  public void start() {
+    LOG.info("Starting auto transaction log indexing service.");
+    blockAddedSubscriptionId =
+        OptionalLong.of(
+            blockchain.observeBlockAdded(
+                event -> {
+                  if (event.isNewCanonicalHead()) {
+                    transactionLogIndexer.chainHeadChanged(
+                        event.getHeader(),
+                        blockchain.getBlockHeader(event.getCommonAncestorHash()));
+                  }
+                }));
+
+    // backfill the chunks that are not indexed yet, once startup is over
+    transactionLogIndexer
+        .getScheduler()
+        .scheduleFutureTask(transactionLogIndexer::indexAll, Duration.ofMinutes(1));
+  }
+
+  public void stop() {
+    LOG.info("Shutting down auto transaction log indexing service.");
+    blockAddedSubscriptionId.ifPresent(blockchain::removeObserver);
+  }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.query.cache;
+
+import static org.hyperledger.besu.ethereum.api.query.cache.TransactionLogBloomCacher.BLOOM_BITS_LENGTH;
+
+import org.hyperledger.besu.datatypes.LogTopic;
+import org.hyperledger.besu.datatypes.LogsBloomFilter;
+import org.hyperledger.besu.ethereum.api.query.LogsQuery;
+
+import java.io.IOException;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * Scans the files of the log bloom cache for the blocks whose bloom could match a logs query.
+ *
+ * <p>The query is compiled once into the few words of the bloom each of its addresses and topics
+ * sets, and the memory-mapped file is then tested a long word at a time, without copying the
+ * blooms nor allocating per block.
+ */
+public class LogBloomScanner {
+
+  private static final int WORDS_PER_BLOOM = BLOOM_BITS_LENGTH / Long.BYTES;
+
+  // a block could match when, for every group, it has all the bits of one of the group's elements
+  private final List<ElementMask[]> groups = new ArrayList<>();
+
+  public LogBloomScanner(final LogsQuery query) {
+    if (!query.getAddresses().isEmpty()) {
+      groups.add(
+          query.getAddresses().stream()
+              .map(address -> ElementMask.of(address.getBytes()))
+              .toArray(ElementMask[]::new));
+    }
+    for (final List<LogTopic> anyOf : query.getTopics()) {
+      // an empty list or a null topic is a wildcard
+      if (!anyOf.isEmpty() && !anyOf.contains(null)) {
+        groups.add(
+            anyOf.stream()
+                .map(topic -> ElementMask.of(topic.getBytes()))
+                .toArray(ElementMask[]::new));
+      }
+    }
+  }
+
+  /**
+   * The result of the scan of a cache file.
+   *
+   * @param candidates the offsets in the file of the blocks that could match, in ascending order
+   * @param scannedUntil the offset following the last scanned block, lower than the requested end
+   *     when the file does not cover it yet
+   */
+  public record Scan(long[] candidates, long scannedUntil) {}
+
+  /**
+   * Scans the blooms of a range of blocks of a cache file.
+   *
+   * @param cacheFile the log bloom cache file
+   * @param fromOffset the offset of the first block to scan in the file
+   * @param toOffset the offset of the last block to scan in the file, inclusive
+   * @return the candidate blocks of the range
+   * @throws IOException if the file cannot be read
+   */
+  public Scan scan(final Path cacheFile, final long fromOffset, final long toOffset)
+      throws IOException {
+    try (final FileChannel channel = FileChannel.open(cacheFile, StandardOpenOption.READ)) {
+      final long lastOffset = Math.min(toOffset, channel.size() / BLOOM_BITS_LENGTH - 1);
+      if (lastOffset < fromOffset) {
+        return new Scan(new long[0], fromOffset);
+      }
+      final LongBuffer blooms =
+          channel
+              .map(
+                  FileChannel.MapMode.READ_ONLY,
+                  fromOffset * BLOOM_BITS_LENGTH,
+                  (lastOffset - fromOffset + 1) * BLOOM_BITS_LENGTH)
+              .asLongBuffer();
+      return new Scan(scan(blooms, fromOffset), lastOffset + 1);
+    }
+  }
+
+  long[] scan(final LongBuffer blooms, final long firstOffset) {
+    final int blockCount = blooms.capacity() / WORDS_PER_BLOOM;
+    long[] candidates = new long[Math.min(blockCount, 64)];
+    int candidateCount = 0;
+    for (int block = 0; block < blockCount; block++) {
+      if (couldMatch(blooms, block * WORDS_PER_BLOOM)) {
+        if (candidateCount == candidates.length) {
+          candidates = Arrays.copyOf(candidates, candidateCount * 2);
+        }
+        candidates[candidateCount++] = firstOffset + block;
+      }
+    }
+    return Arrays.copyOf(candidates, candidateCount);
+  }
+
+  private boolean couldMatch(final LongBuffer blooms, final int bloomStart) {
+    for (final ElementMask[] anyOf : groups) {
+      boolean groupMatches = false;
+      for (final ElementMask element : anyOf) {
+        if (element.isContainedIn(blooms, bloomStart)) {
+          groupMatches = true;
+          break;
+        }
+      }
+      if (!groupMatches) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** The non zero words of the bloom of a single address or topic, usually three of them. */
+  private record ElementMask(int[] wordIndexes, long[] words) {
+
+    static ElementMask of(final Bytes element) {
+      final Bytes bloom = LogsBloomFilter.builder().insertBytes(element).build().getBytes();
+      final int[] wordIndexes = new int[WORDS_PER_BLOOM];
+      final long[] words = new long[WORDS_PER_BLOOM];
+      int count = 0;
+      for (int i = 0; i < WORDS_PER_BLOOM; i++) {
+        final long word = bloom.getLong(i * Long.BYTES);
+        if (word != 0) {
+          wordIndexes[count] = i;
+          words[count++] = word;
+        }
+      }
+      return new ElementMask(Arrays.copyOf(wordIndexes, count), Arrays.copyOf(words, count));
+    }
+
+    boolean isContainedIn(final LongBuffer blooms, final int bloomStart) {
+      for (int i = 0; i < words.length; i++) {
+        if ((blooms.get(bloomStart + wordIndexes[i]) & words[i]) != words[i]) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+}
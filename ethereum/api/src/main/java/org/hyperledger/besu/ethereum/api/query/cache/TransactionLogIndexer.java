@@ -0,0 +1,402 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.query.cache;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.LogTopic;
+import org.hyperledger.besu.ethereum.api.query.LogsQuery;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
+import org.hyperledger.besu.plugin.data.Log;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Maintains an inverted index of the logs of the canonical chain, from each log address and topic
+ * to the blocks containing it, so that logs queries only fetch the receipts of the blocks that
+ * actually match instead of every block whose bloom filter could match.
+ *
+ * <p>The index is written in files of {@link #BLOCKS_PER_LOG_INDEX} blocks next to the log bloom
+ * cache. A file is only written once its last block is {@link #FINALITY_DEPTH} blocks behind the
+ * chain head, and records the hash of that block so that a file invalidated by a deeper reorg is
+ * ignored and rebuilt. Each file holds a table of fixed size keys sorted for binary search,
+ * followed by the posting lists of the keys as varint encoded deltas of block offsets.
+ */
+public class TransactionLogIndexer {
+
+  private static final Logger LOG = LoggerFactory.getLogger(TransactionLogIndexer.class);
+
+  public static final int BLOCKS_PER_LOG_INDEX = 10_000;
+  public static final int FINALITY_DEPTH = 128;
+
+  private static final int VERSION = 1;
+  // a key is the position of a topic, or ADDRESS_KEY, followed by the topic or padded address
+  private static final int KEY_SIZE = 1 + Bytes32.SIZE;
+  private static final byte ADDRESS_KEY = (byte) 0xff;
+  // [version][key count][hash of the last block]
+  private static final int HEADER_SIZE = Integer.BYTES * 2 + Bytes32.SIZE;
+  // [key][offset of the postings][length of the postings]
+  private static final int ENTRY_SIZE = KEY_SIZE + Integer.BYTES * 2;
+  private static final Comparator<byte[]> KEY_ORDER = Arrays::compareUnsigned;
+
+  private final Blockchain blockchain;
+  private final Path cacheDir;
+  private final EthScheduler scheduler;
+  private final AtomicBoolean indexing = new AtomicBoolean();
+
+  public TransactionLogIndexer(
+      final Blockchain blockchain, final Path cacheDir, final EthScheduler scheduler) {
+    this.blockchain = blockchain;
+    this.cacheDir = cacheDir;
+    this.scheduler = scheduler;
+  }
+
+  EthScheduler getScheduler() {
+    return scheduler;
+  }
+
+  private Path indexFile(final long chunk) {
+    return cacheDir.resolve("logIndex-" + chunk + ".cache");
+  }
+
+  /**
+   * Returns the blocks of a chunk that contain logs matching the address and topic criteria of the
+   * query. Blocks are indexed as a whole, so the logs of a returned block still have to be matched
+   * against the query.
+   *
+   * @param chunk the chunk number, the block number divided by {@link #BLOCKS_PER_LOG_INDEX}
+   * @param query the logs query
+   * @return the numbers of the matching blocks in ascending order, or empty if the chunk is not
+   *     indexed or the query has no address nor topic criteria
+   */
+  public Optional<long[]> matchingBlocks(final long chunk, final LogsQuery query) {
+    final List<List<byte[]>> criteria = indexKeys(query);
+    if (criteria.isEmpty()) {
+      return Optional.empty();
+    }
+    final Path file = indexFile(chunk);
+    if (!Files.isRegularFile(file)) {
+      return Optional.empty();
+    }
+    try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      final ByteBuffer index = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      if (!isValid(chunk, index)) {
+        return Optional.empty();
+      }
+      BitSet matching = null;
+      for (final List<byte[]> anyOf : criteria) {
+        final BitSet blocks = new BitSet(BLOCKS_PER_LOG_INDEX);
+        for (final byte[] key : anyOf) {
+          readPostings(index, key, blocks);
+        }
+        if (matching == null) {
+          matching = blocks;
+        } else {
+          matching.and(blocks);
+        }
+      }
+      final long chunkStart = chunk * BLOCKS_PER_LOG_INDEX;
+      return Optional.of(matching.stream().mapToLong(offset -> chunkStart + offset).toArray());
+    } catch (final IOException e) {
+      LOG.error("Error reading log index {}", file, e);
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Reacts to a new canonical head, dropping the chunks a reorg invalidated and indexing the chunk
+   * that the head made final.
+   *
+   * @param head the new chain head
+   * @param commonAncestor the common ancestor with the previous head
+   */
+  public void chainHeadChanged(final BlockHeader head, final Optional<BlockHeader> commonAncestor) {
+    commonAncestor
+        .filter(ancestor -> ancestor.getNumber() < head.getNumber() - 1)
+        .ifPresent(ancestor -> removeChunksAfter(ancestor.getNumber()));
+    if ((head.getNumber() - FINALITY_DEPTH + 1) % BLOCKS_PER_LOG_INDEX == 0) {
+      indexAll();
+    }
+  }
+
+  /**
+   * Schedules the indexing of every final chunk that is not indexed yet, newest first. Each chunk
+   * is indexed by its own computation task, so that the backfill of a long chain yields the
+   * computation threads to the other tasks between chunks.
+   */
+  public void indexAll() {
+    if (!indexing.compareAndSet(false, true)) {
+      return;
+    }
+    indexFrom(lastFinalChunk());
+  }
+
+  private void indexFrom(final long chunk) {
+    scheduler.scheduleComputationTask(
+        () -> {
+          boolean scheduledNext = false;
+          try {
+            long next = chunk;
+            while (next >= 0 && isIndexed(next)) {
+              next--;
+            }
+            // stop when older blocks are missing, for instance their receipts were pruned
+            if (next >= 0 && indexChunk(next) && next > 0) {
+              indexFrom(next - 1);
+              scheduledNext = true;
+            }
+          } catch (final IOException e) {
+            LOG.error("Unhandled log indexing exception", e);
+          } finally {
+            if (!scheduledNext) {
+              indexing.set(false);
+            }
+          }
+          return null;
+        });
+  }
+
+  private long lastFinalChunk() {
+    final long lastFinalBlock = blockchain.getChainHeadBlockNumber() - FINALITY_DEPTH;
+    return (lastFinalBlock + 1) / BLOCKS_PER_LOG_INDEX - 1;
+  }
+
+  private boolean isIndexed(final long chunk) throws IOException {
+    final Path file = indexFile(chunk);
+    if (!Files.isRegularFile(file)) {
+      return false;
+    }
+    try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      return channel.size() >= HEADER_SIZE
+          && isValid(chunk, channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE));
+    }
+  }
+
+  private boolean isValid(final long chunk, final ByteBuffer index) {
+    if (index.capacity() < HEADER_SIZE || index.getInt(0) != VERSION) {
+      return false;
+    }
+    final byte[] lastBlockHash = new byte[Bytes32.SIZE];
+    index.get(Integer.BYTES * 2, lastBlockHash);
+    return blockchain
+        .getBlockHashByNumber((chunk + 1) * BLOCKS_PER_LOG_INDEX - 1)
+        .map(hash -> hash.getBytes().equals(Bytes.wrap(lastBlockHash)))
+        .orElse(false);
+  }
+
+  private void removeChunksAfter(final long blockNumber) {
+    final long lastChunk = blockchain.getChainHeadBlockNumber() / BLOCKS_PER_LOG_INDEX;
+    for (long chunk = (blockNumber + 1) / BLOCKS_PER_LOG_INDEX; chunk <= lastChunk; chunk++) {
+      try {
+        Files.deleteIfExists(indexFile(chunk));
+      } catch (final IOException e) {
+        LOG.error("Unable to delete log index {}", indexFile(chunk), e);
+      }
+    }
+  }
+
+  boolean indexChunk(final long chunk) throws IOException {
+    final long chunkStart = chunk * BLOCKS_PER_LOG_INDEX;
+    final Map<Bytes, Postings> postingsByKey = new HashMap<>();
+    Hash blockHash = null;
+    for (int offset = 0; offset < BLOCKS_PER_LOG_INDEX; offset++) {
+      blockHash = blockchain.getBlockHashByNumber(chunkStart + offset).orElse(null);
+      final Optional<List<TransactionReceipt>> receipts =
+          Optional.ofNullable(blockHash).flatMap(blockchain::getTxReceipts);
+      if (receipts.isEmpty()) {
+        LOG.debug("Unable to index logs of chunk {}, block {} is missing", chunk, offset);
+        return false;
+      }
+      for (final TransactionReceipt receipt : receipts.get()) {
+        for (final Log log : receipt.getLogs()) {
+          addPosting(postingsByKey, addressKey(log.getLogger()), offset);
+          final List<LogTopic> topics = log.getTopics();
+          for (int position = 0; position < topics.size(); position++) {
+            addPosting(postingsByKey, topicKey(position, topics.get(position)), offset);
+          }
+        }
+      }
+    }
+    writeIndexFile(chunk, Objects.requireNonNull(blockHash), postingsByKey);
+    LOG.debug("Indexed logs of blocks {} to {}", chunkStart, chunkStart + BLOCKS_PER_LOG_INDEX - 1);
+    return true;
+  }
+
+  private void writeIndexFile(
+      final long chunk, final Hash lastBlockHash, final Map<Bytes, Postings> postingsByKey)
+      throws IOException {
+    final List<byte[]> keys = new ArrayList<>(postingsByKey.size());
+    postingsByKey.keySet().forEach(key -> keys.add(key.toArrayUnsafe()));
+    keys.sort(KEY_ORDER);
+
+    final ByteArrayOutputStream postings = new ByteArrayOutputStream();
+    final int[] offsets = new int[keys.size() + 1];
+    for (int i = 0; i < keys.size(); i++) {
+      offsets[i] = postings.size();
+      postingsByKey.get(Bytes.wrap(keys.get(i))).writeTo(postings);
+    }
+    offsets[keys.size()] = postings.size();
+
+    Files.createDirectories(cacheDir);
+    final Path tmpFile = cacheDir.resolve("logIndex-" + chunk + ".tmp");
+    try (final DataOutputStream out =
+        new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmpFile)))) {
+      out.writeInt(VERSION);
+      out.writeInt(keys.size());
+      out.write(lastBlockHash.getBytes().toArrayUnsafe());
+      for (int i = 0; i < keys.size(); i++) {
+        out.write(keys.get(i));
+        out.writeInt(offsets[i]);
+        out.writeInt(offsets[i + 1] - offsets[i]);
+      }
+      postings.writeTo(out);
+    }
+    Files.move(
+        tmpFile,
+        indexFile(chunk),
+        StandardCopyOption.REPLACE_EXISTING,
+        StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  private static void readPostings(final ByteBuffer index, final byte[] key, final BitSet blocks) {
+    final int keyCount = index.getInt(Integer.BYTES);
+    final int postingsStart = HEADER_SIZE + keyCount * ENTRY_SIZE;
+    final byte[] candidate = new byte[KEY_SIZE];
+    int low = 0;
+    int high = keyCount - 1;
+    while (low <= high) {
+      final int middle = (low + high) >>> 1;
+      final int entry = HEADER_SIZE + middle * ENTRY_SIZE;
+      index.get(entry, candidate);
+      final int comparison = KEY_ORDER.compare(candidate, key);
+      if (comparison < 0) {
+        low = middle + 1;
+      } else if (comparison > 0) {
+        high = middle - 1;
+      } else {
+        int position = postingsStart + index.getInt(entry + KEY_SIZE);
+        final int end = position + index.getInt(entry + KEY_SIZE + Integer.BYTES);
+        int block = 0;
+        while (position < end) {
+          int delta = 0;
+          int shift = 0;
+          byte b;
+          do {
+            b = index.get(position++);
+            delta |= (b & 0x7f) << shift;
+            shift += 7;
+          } while (b < 0);
+          block += delta;
+          blocks.set(block);
+        }
+        return;
+      }
+    }
+  }
+
+  /**
+   * Turns the criteria of a query into groups of index keys: a block matches when it contains a
+   * key of every group.
+   */
+  private static List<List<byte[]>> indexKeys(final LogsQuery query) {
+    final List<List<byte[]>> criteria = new ArrayList<>();
+    if (!query.getAddresses().isEmpty()) {
+      criteria.add(
+          query.getAddresses().stream()
+              .map(address -> addressKey(address).toArrayUnsafe())
+              .toList());
+    }
+    final List<List<LogTopic>> topics = query.getTopics();
+    for (int position = 0; position < topics.size(); position++) {
+      final List<LogTopic> anyOf = topics.get(position);
+      // an empty list or a null topic is a wildcard
+      if (!anyOf.isEmpty() && !anyOf.contains(null)) {
+        final int topicPosition = position;
+        criteria.add(
+            anyOf.stream().map(topic -> topicKey(topicPosition, topic).toArrayUnsafe()).toList());
+      }
+    }
+    return criteria;
+  }
+
+  private static Bytes addressKey(final Address address) {
+    return Bytes.concatenate(Bytes.of(ADDRESS_KEY), Bytes32.leftPad(address.getBytes()));
+  }
+
+  private static Bytes topicKey(final int position, final LogTopic topic) {
+    return Bytes.concatenate(Bytes.of(position), topic.getBytes());
+  }
+
+  private static void addPosting(
+      final Map<Bytes, Postings> postingsByKey, final Bytes key, final int blockOffset) {
+    postingsByKey.computeIfAbsent(key, k -> new Postings()).add(blockOffset);
+  }
+
+  /** The ascending offsets of the blocks containing a key, without duplicates. */
+  private static final class Postings {
+    private int[] blockOffsets = new int[4];
+    private int size;
+
+    void add(final int blockOffset) {
+      if (size > 0 && blockOffsets[size - 1] == blockOffset) {
+        return;
+      }
+      if (size == blockOffsets.length) {
+        blockOffsets = Arrays.copyOf(blockOffsets, size * 2);
+      }
+      blockOffsets[size++] = blockOffset;
+    }
+
+    void writeTo(final ByteArrayOutputStream out) {
+      int previous = 0;
+      for (int i = 0; i < size; i++) {
+        int delta = blockOffsets[i] - previous;
+        previous = blockOffsets[i];
+        while ((delta & ~0x7f) != 0) {
+          out.write((delta & 0x7f) | 0x80);
+          delta >>>= 7;
+        }
+        out.write(delta);
+      }
+    }
+  }
+}
@@ -20,6 +20,7 @@ import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.contains;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -32,6 +33,8 @@ import io.netty.handler.codec.http.HttpResponseStatus;
 import io.opentelemetry.api.trace.Tracer;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpConnection;
+import io.vertx.core.http.HttpServerRequest;
 import io.vertx.core.http.HttpServerResponse;
 import io.vertx.ext.web.RoutingContext;
 import org.junit.jupiter.api.BeforeEach;
@@ -94,6 +97,29 @@ class JsonRpcExecutorHandlerTest {
     verify(mockVertx, times(1)).cancelTimer(1L);
   }
 
+  @Test
+  void testTimeoutClosesConnectionOfStreamedResponse() {
+    Handler<RoutingContext> handler =
+        JsonRpcExecutorHandler.handler(mockExecutor, mockTracer, mockConfig);
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<Handler<Long>> timerHandlerCaptor = ArgumentCaptor.forClass(Handler.class);
+    final HttpServerRequest mockRequest = mock(HttpServerRequest.class);
+    final HttpConnection mockConnection = mock(HttpConnection.class);
+
+    when(mockContext.get(eq(ContextKey.REQUEST_BODY_AS_JSON_OBJECT.name()))).thenReturn("{}");
+    when(mockVertx.setTimer(anyLong(), timerHandlerCaptor.capture())).thenReturn(1L);
+    when(mockContext.request()).thenReturn(mockRequest);
+    when(mockRequest.connection()).thenReturn(mockConnection);
+    // the head is only written once the response started streaming
+    when(mockResponse.headWritten()).thenReturn(false, true);
+
+    handler.handle(mockContext);
+    timerHandlerCaptor.getValue().handle(1L);
+
+    verify(mockConnection).close();
+    verify(mockResponse, never()).setStatusCode(eq(HttpResponseStatus.REQUEST_TIMEOUT.code()));
+  }
+
   @Test
   void testCancelTimerOnSuccessfulExecution() {
     // Arrange
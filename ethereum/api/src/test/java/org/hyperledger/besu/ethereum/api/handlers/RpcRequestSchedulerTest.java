@@ -0,0 +1,221 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.handlers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class RpcRequestSchedulerTest {
+
+  private final Vertx vertx = Vertx.vertx();
+  private final RpcRequestScheduler scheduler =
+      RpcRequestScheduler.virtualThreads(8, 1, new NoOpMetricsSystem());
+
+  @AfterEach
+  public void tearDown() {
+    vertx.close();
+  }
+
+  @Test
+  public void heavyMethodsAreLimitedWithoutBlockingOtherMethods() throws Exception {
+    final CountDownLatch release = new CountDownLatch(1);
+    final AtomicInteger running = new AtomicInteger();
+    final AtomicInteger maxRunning = new AtomicInteger();
+
+    final List<Future<Integer>> heavyRequests =
+        IntStream.range(0, 3)
+            .mapToObj(
+                i ->
+                    scheduler.schedule(
+                        vertx,
+                        "debug_traceTransaction",
+                        Optional.empty(),
+                        () -> {
+                          maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                          release.await();
+                          running.decrementAndGet();
+                          return i;
+                        }))
+            .toList();
+
+    final Future<String> standardRequest =
+        scheduler.schedule(vertx, "eth_blockNumber", Optional.empty(), () -> "0x1");
+    assertThat(standardRequest.toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS))
+        .isEqualTo("0x1");
+    assertThat(heavyRequests).noneMatch(Future::isComplete);
+
+    release.countDown();
+    for (int i = 0; i < heavyRequests.size(); i++) {
+      assertThat(
+              heavyRequests
+                  .get(i)
+                  .toCompletionStage()
+                  .toCompletableFuture()
+                  .get(5, TimeUnit.SECONDS))
+          .isEqualTo(i);
+    }
+    assertThat(maxRunning.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void failuresAreReturnedAsFailedFutures() throws Exception {
+    final CountDownLatch failed = new CountDownLatch(1);
+
+    scheduler
+        .schedule(
+            vertx,
+            "eth_call",
+            Optional.empty(),
+            () -> {
+              throw new IllegalStateException("boom");
+            })
+        .onFailure(throwable -> failed.countDown());
+
+    assertThat(failed.await(5, TimeUnit.SECONDS)).isTrue();
+  }
+
+  @Test
+  public void requestsOfTheSameConnectionAreExecutedInOrder() throws Exception {
+    final CountDownLatch release = new CountDownLatch(1);
+    final List<String> executed = new CopyOnWriteArrayList<>();
+
+    final Future<String> slowRequest =
+        scheduler.schedule(
+            vertx,
+            "debug_traceTransaction",
+            Optional.of("connection"),
+            () -> {
+              release.await();
+              executed.add("debug_traceTransaction");
+              return "trace";
+            });
+    final Future<String> fastRequest =
+        scheduler.schedule(
+            vertx,
+            "eth_blockNumber",
+            Optional.of("connection"),
+            () -> {
+              executed.add("eth_blockNumber");
+              return "0x1";
+            });
+    final Future<String> otherConnectionRequest =
+        scheduler.schedule(vertx, "eth_blockNumber", Optional.of("other"), () -> "0x2");
+
+    assertThat(
+            otherConnectionRequest
+                .toCompletionStage()
+                .toCompletableFuture()
+                .get(5, TimeUnit.SECONDS))
+        .isEqualTo("0x2");
+    assertThat(fastRequest.isComplete()).isFalse();
+
+    release.countDown();
+    assertThat(fastRequest.toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS))
+        .isEqualTo("0x1");
+    assertThat(slowRequest.isComplete()).isTrue();
+    assertThat(executed).containsExactly("debug_traceTransaction", "eth_blockNumber");
+  }
+
+  @Test
+  public void batchElementsAreLimitedByTheBulkheadOfTheirMethod() throws Exception {
+    final CountDownLatch release = new CountDownLatch(1);
+    final CountDownLatch heavyStarted = new CountDownLatch(1);
+    final Future<String> heavyRequest =
+        scheduler.schedule(
+            vertx,
+            "debug_traceTransaction",
+            Optional.empty(),
+            () -> {
+              heavyStarted.countDown();
+              release.await();
+              return "trace";
+            });
+    assertThat(heavyStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+    final AtomicInteger executedElements = new AtomicInteger();
+    final Future<Integer> batch =
+        scheduler.scheduleBatch(
+            vertx,
+            Optional.empty(),
+            () -> {
+              scheduler.executeInBulkhead("eth_blockNumber", executedElements::incrementAndGet);
+              return scheduler.executeInBulkhead(
+                  "debug_traceTransaction", executedElements::incrementAndGet);
+            });
+
+    assertThat(batch.isComplete()).isFalse();
+    release.countDown();
+    assertThat(batch.toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS))
+        .isEqualTo(2);
+    assertThat(heavyRequest.toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS))
+        .isEqualTo("trace");
+  }
+
+  @Test
+  public void unknownMethodsShareASingleBulkhead() throws Exception {
+    final CountDownLatch release = new CountDownLatch(1);
+    final CountDownLatch started = new CountDownLatch(8);
+    final List<Future<String>> unknownRequests =
+        IntStream.range(0, 8)
+            .mapToObj(
+                i ->
+                    scheduler.schedule(
+                        vertx,
+                        "unknown_method" + i,
+                        Optional.empty(),
+                        () -> {
+                          started.countDown();
+                          release.await();
+                          return "done";
+                        }))
+            .toList();
+    assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+    final Future<String> anotherUnknownRequest =
+        scheduler.schedule(vertx, "another_unknown_method", Optional.empty(), () -> "done");
+    final Future<String> knownRequest =
+        scheduler.schedule(vertx, "eth_chainId", Optional.empty(), () -> "0x1");
+    assertThat(knownRequest.toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS))
+        .isEqualTo("0x1");
+    assertThat(anotherUnknownRequest.isComplete()).isFalse();
+
+    release.countDown();
+    assertThat(
+            anotherUnknownRequest
+                .toCompletionStage()
+                .toCompletableFuture()
+                .get(5, TimeUnit.SECONDS))
+        .isEqualTo("done");
+    for (final Future<String> unknownRequest : unknownRequests) {
+      assertThat(
+              unknownRequest.toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS))
+          .isEqualTo("done");
+    }
+  }
+}
@@ -14,16 +14,23 @@
  */
 package org.hyperledger.besu.ethereum.api.jsonrpc;
 
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
+import io.vertx.core.Handler;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpServerResponse;
 import io.vertx.core.impl.future.FailedFuture;
@@ -32,7 +39,9 @@ import io.vertx.core.net.SocketAddress;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatcher;
+import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
@@ -47,6 +56,8 @@ public class JsonResponseStreamerTest {
 
   @Mock private HttpServerResponse failedResponse;
 
+  @Captor private ArgumentCaptor<Handler<Throwable>> exceptionHandler;
+
   @BeforeEach
   public void before() {
     when(httpResponse.write(any(Buffer.class))).thenReturn(new SucceededFuture<>(null, null));
@@ -111,6 +122,77 @@ public class JsonResponseStreamerTest {
     verify(failedResponse).end();
   }
 
+  @Test
+  public void doNotWaitForWriteQueueWithoutBackpressure() throws IOException {
+    when(httpResponse.writeQueueFull()).thenReturn(true);
+    JsonResponseStreamer streamer = new JsonResponseStreamer(httpResponse, testAddress);
+    streamer.write("xyz".getBytes(StandardCharsets.UTF_8));
+
+    verify(httpResponse).write(argThat(bufferContains("xyz")));
+    verify(httpResponse, never()).writeQueueFull();
+  }
+
+  @Test
+  public void waitForFullWriteQueueToDrain() throws IOException {
+    when(httpResponse.writeQueueFull()).thenReturn(true, true, false);
+    when(httpResponse.drainHandler(any()))
+        .thenAnswer(
+            invocation -> {
+              final Handler<Void> drainHandler = invocation.getArgument(0);
+              if (drainHandler != null) {
+                drainHandler.handle(null);
+              }
+              return httpResponse;
+            });
+    JsonResponseStreamer streamer = new JsonResponseStreamer(httpResponse, testAddress);
+    streamer.enableBackpressure();
+    streamer.write("xyz".getBytes(StandardCharsets.UTF_8));
+
+    verify(httpResponse).write(argThat(bufferContains("xyz")));
+    verify(httpResponse, times(2)).writeQueueFull();
+  }
+
+  @Test
+  public void stopWaitingForWriteQueueWhenClosed() {
+    when(httpResponse.writeQueueFull()).thenReturn(true);
+    when(httpResponse.closed()).thenReturn(true);
+    JsonResponseStreamer streamer = new JsonResponseStreamer(httpResponse, testAddress);
+    streamer.enableBackpressure();
+
+    assertThatThrownBy(() -> streamer.write("xyz".getBytes(StandardCharsets.UTF_8)))
+        .isInstanceOf(IOException.class);
+  }
+
+  @Test
+  public void stopWaitingForWriteQueueOnFailure() throws Exception {
+    when(httpResponse.writeQueueFull()).thenReturn(true);
+    final CountDownLatch waiting = new CountDownLatch(1);
+    when(httpResponse.drainHandler(any()))
+        .thenAnswer(
+            invocation -> {
+              waiting.countDown();
+              return httpResponse;
+            });
+    JsonResponseStreamer streamer = new JsonResponseStreamer(httpResponse, testAddress);
+    streamer.enableBackpressure();
+    verify(httpResponse).exceptionHandler(exceptionHandler.capture());
+
+    final CompletableFuture<Void> write =
+        CompletableFuture.runAsync(
+            () -> {
+              try {
+                streamer.write("xyz".getBytes(StandardCharsets.UTF_8));
+              } catch (IOException e) {
+                throw new UncheckedIOException(e);
+              }
+            });
+    assertThat(waiting.await(5, TimeUnit.SECONDS)).isTrue();
+    exceptionHandler.getValue().handle(new IOException("Connection was closed"));
+
+    assertThatThrownBy(() -> write.get(5, TimeUnit.SECONDS))
+        .hasCauseInstanceOf(UncheckedIOException.class);
+  }
+
   private ArgumentMatcher<Buffer> bufferContains(final String text) {
     return buf -> buf.toString().equals(text);
   }
@@ -101,6 +101,7 @@ public class JsonRpcHttpServiceTestBase {
   protected static final NatService natService = new NatService(Optional.empty());
   protected static int maxConnections = 80;
   protected static int maxBatchSize = 10;
+  protected static int batchParallelism = JsonRpcConfiguration.DEFAULT_BATCH_PARALLELISM;
 
   public static void initServerAndClient() throws Exception {
     peerDiscoveryMock = mock(P2PNetwork.class);
@@ -200,6 +201,7 @@ public class JsonRpcHttpServiceTestBase {
     config.setHostsAllowlist(Collections.singletonList("*"));
     config.setMaxActiveConnections(maxConnections);
     config.setMaxBatchSize(maxBatchSize);
+    config.setBatchParallelism(batchParallelism);
     return config;
   }
 
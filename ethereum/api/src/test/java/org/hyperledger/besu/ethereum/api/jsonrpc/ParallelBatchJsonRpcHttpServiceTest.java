@@ -0,0 +1,73 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.RpcErrorType;
+
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class ParallelBatchJsonRpcHttpServiceTest extends JsonRpcHttpServiceTestBase {
+
+  @AfterEach
+  public void resetBatchParallelism() {
+    batchParallelism = JsonRpcConfiguration.DEFAULT_BATCH_PARALLELISM;
+  }
+
+  @Test
+  public void responsesAreReturnedInRequestOrder() throws Exception {
+    batchParallelism = 3;
+    initServerAndClient();
+
+    final String batch =
+        IntStream.range(0, maxBatchSize)
+            .mapToObj(
+                id ->
+                    id == 4
+                        ? "1"
+                        : "{\"jsonrpc\":\"2.0\",\"id\":"
+                            + id
+                            + ",\"method\":\""
+                            + (id % 2 == 0 ? "web3_clientVersion" : "net_version")
+                            + "\"}")
+            .collect(Collectors.joining(",", "[", "]"));
+
+    try (final Response resp =
+        client.newCall(buildPostRequest(RequestBody.create(batch, JSON))).execute()) {
+      assertThat(resp.code()).isEqualTo(200);
+      final JsonArray json = new JsonArray(resp.body().string());
+      assertThat(json.size()).isEqualTo(maxBatchSize);
+      for (int i = 0; i < maxBatchSize; i++) {
+        final JsonObject response = json.getJsonObject(i);
+        if (i == 4) {
+          final RpcErrorType expectedError = RpcErrorType.INVALID_REQUEST;
+          testHelper.assertValidJsonRpcError(
+              response, null, expectedError.getCode(), expectedError.getMessage());
+        } else {
+          testHelper.assertValidJsonRpcResult(response, i);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.execution;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequest;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequestContext;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequestId;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.JsonRpcMethod;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.StreamingDebugTraceBlockResult;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcResponse;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcSuccessResponse;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.chain.TransactionLocation;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockBody;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.BlockHeaderTestFixture;
+import org.hyperledger.besu.ethereum.core.BlockWithReceipts;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.opentelemetry.api.trace.Span;
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class CachingJsonRpcProcessorTest {
+  private static final String CACHED_METHOD = "eth_getBlockByHash";
+  private static final String CACHED_BY_NUMBER_METHOD = "eth_getBlockByNumber";
+  private static final String CACHED_STORAGE_METHOD = "eth_getStorageAt";
+  private static final String CACHED_BY_TRANSACTION_METHOD = "eth_getTransactionReceipt";
+  private static final String ADDRESS = "0x" + "12".repeat(20);
+
+  @Mock private Blockchain blockchain;
+  @Mock private JsonRpcProcessor delegate;
+  @Mock private JsonRpcMethod method;
+
+  private final BlockHeader header = new BlockHeaderTestFixture().number(10).buildHeader();
+  private JsonRpcResponseCache responseCache;
+  private CachingJsonRpcProcessor processor;
+
+  @BeforeEach
+  public void setUp() {
+    responseCache =
+        new JsonRpcResponseCache(
+            blockchain,
+            Set.of(
+                CACHED_METHOD,
+                CACHED_BY_NUMBER_METHOD,
+                CACHED_STORAGE_METHOD,
+                CACHED_BY_TRANSACTION_METHOD),
+            1024 * 1024,
+            new NoOpMetricsSystem());
+    processor = new CachingJsonRpcProcessor(delegate, responseCache);
+    lenient()
+        .when(delegate.process(any(), any(), any(), any()))
+        .thenAnswer(
+            invocation ->
+                new JsonRpcSuccessResponse(
+                    invocation.<JsonRpcRequestContext>getArgument(3).getRequest().getId(), "0x1"));
+  }
+
+  @Test
+  public void requestPinnedByBlockHashIsServedFromCache() throws Exception {
+    when(blockchain.getBlockHeader(header.getHash())).thenReturn(Optional.of(header));
+
+    process(CACHED_METHOD, header.getHash().toHexString(), false);
+    final JsonRpcResponse response = process(CACHED_METHOD, header.getHash().toHexString(), false);
+
+    verify(delegate, times(1)).process(any(), any(), any(), any());
+    assertThat(response).isInstanceOf(JsonRpcSuccessResponse.class);
+    assertThat(
+            new ObjectMapper()
+                .writeValueAsString(((JsonRpcSuccessResponse) response).getResult()))
+        .isEqualTo("\"0x1\"");
+  }
+
+  @Test
+  public void requestNotPinnedToAFinalizedBlockIsNotCached() {
+    when(blockchain.getFinalized()).thenReturn(Optional.empty());
+
+    process(CACHED_BY_NUMBER_METHOD, "0xa", false);
+    process(CACHED_BY_NUMBER_METHOD, "0xa", false);
+    process(CACHED_BY_NUMBER_METHOD, "latest", false);
+    process("eth_getBalance", header.getHash().toHexString());
+
+    verify(delegate, times(4)).process(any(), any(), any(), any());
+  }
+
+  @Test
+  public void requestPinnedByFinalizedBlockNumberIsServedFromCache() {
+    when(blockchain.getFinalized()).thenReturn(Optional.of(header.getHash()));
+    when(blockchain.getBlockHeader(header.getHash())).thenReturn(Optional.of(header));
+    when(blockchain.getBlockHeader(10L)).thenReturn(Optional.of(header));
+
+    process(CACHED_BY_NUMBER_METHOD, "0xa", false);
+    process(CACHED_BY_NUMBER_METHOD, "0xa", false);
+
+    verify(delegate, times(1)).process(any(), any(), any(), any());
+  }
+
+  @Test
+  public void reorgEvictsEntriesAtOrAboveTheReorgHeight() {
+    when(blockchain.getBlockHeader(header.getHash())).thenReturn(Optional.of(header));
+
+    process(CACHED_METHOD, header.getHash().toHexString(), false);
+    responseCache.onBlockAdded(
+        new BlockWithReceipts(new Block(header, BlockBody.empty()), List.of()), blockchain);
+    process(CACHED_METHOD, header.getHash().toHexString(), false);
+
+    verify(delegate, times(2)).process(any(), any(), any(), any());
+  }
+
+  @Test
+  public void onlyTheBlockParamPinsTheRequest() {
+    when(blockchain.getFinalized()).thenReturn(Optional.of(header.getHash()));
+    when(blockchain.getBlockHeader(header.getHash())).thenReturn(Optional.of(header));
+    when(blockchain.getBlockHeader(10L)).thenReturn(Optional.of(header));
+
+    // the storage slot looks like a finalized block number, but it is not the block param
+    process(CACHED_STORAGE_METHOD, ADDRESS, "0x0", "latest");
+    process(CACHED_STORAGE_METHOD, ADDRESS, "0x0", "latest");
+    process(CACHED_STORAGE_METHOD, ADDRESS, "0x0", "0xa");
+    process(CACHED_STORAGE_METHOD, ADDRESS, "0x0", "0xa");
+
+    verify(delegate, times(3)).process(any(), any(), any(), any());
+  }
+
+  @Test
+  public void transactionHashOnlyPinsTheMethodsTakingATransaction() {
+    final Hash transactionHash = Hash.hash(Bytes.of(1));
+    when(blockchain.getTransactionLocation(transactionHash))
+        .thenReturn(Optional.of(new TransactionLocation(header.getHash(), 0)));
+    when(blockchain.getBlockHeader(header.getHash())).thenReturn(Optional.of(header));
+
+    process(CACHED_BY_TRANSACTION_METHOD, transactionHash.toHexString());
+    process(CACHED_BY_TRANSACTION_METHOD, transactionHash.toHexString());
+    process(CACHED_METHOD, transactionHash.toHexString(), false);
+    process(CACHED_METHOD, transactionHash.toHexString(), false);
+
+    verify(delegate, times(3)).process(any(), any(), any(), any());
+  }
+
+  @Test
+  public void streamedResultsAreNotCached() {
+    when(blockchain.getBlockHeader(header.getHash())).thenReturn(Optional.of(header));
+    final JsonRpcResponseCache.Key key =
+        responseCache
+            .keyFor(
+                new JsonRpcRequest(
+                    "2.0", CACHED_METHOD, new Object[] {header.getHash().toHexString(), false}))
+            .orElseThrow();
+
+    responseCache.put(key, mock(StreamingDebugTraceBlockResult.class));
+
+    assertThat(responseCache.get(key)).isEmpty();
+  }
+
+  @Test
+  public void unsupportedMethodsAreRejected() {
+    assertThatThrownBy(
+            () ->
+                new JsonRpcResponseCache(
+                    blockchain, Set.of("eth_blockNumber"), 1024, new NoOpMetricsSystem()))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("eth_blockNumber");
+  }
+
+  private JsonRpcResponse process(final String methodName, final Object... params) {
+    return processor.process(
+        new JsonRpcRequestId(1),
+        method,
+        Span.getInvalid(),
+        new JsonRpcRequestContext(new JsonRpcRequest("2.0", methodName, params)));
+  }
+}
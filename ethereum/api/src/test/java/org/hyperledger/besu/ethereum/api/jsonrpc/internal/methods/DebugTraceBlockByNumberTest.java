@@ -40,6 +40,7 @@ import org.hyperledger.besu.testutil.DeterministicEthScheduler;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.Function;
 
@@ -112,6 +113,23 @@ public class DebugTraceBlockByNumberTest {
     }
   }
 
+  @Test
+  public void shouldReturnStreamingResultWhenRequested() {
+    final long blockNumber = 1L;
+    final Object[] params =
+        new Object[] {Long.toHexString(blockNumber), Map.of("streaming", true)};
+    final JsonRpcRequestContext request =
+        new JsonRpcRequestContext(new JsonRpcRequest("2.0", "debug_traceBlockByNumber", params));
+    when(blockchainQueries.getBlockchain()).thenReturn(blockchain);
+    when(blockchain.getBlockByNumber(blockNumber)).thenReturn(Optional.of(block));
+
+    final JsonRpcResponse jsonRpcResponse = debugTraceBlockByNumber.response(request);
+
+    assertThat(jsonRpcResponse).isInstanceOf(JsonRpcSuccessResponse.class);
+    assertThat(((JsonRpcSuccessResponse) jsonRpcResponse).getResult())
+        .isInstanceOf(StreamingDebugTraceBlockResult.class);
+  }
+
   @SuppressWarnings("unchecked")
   private Collection<OpCodeLoggerTracerResult> getResult(final JsonRpcSuccessResponse response) {
     return (Collection<OpCodeLoggerTracerResult>) response.getResult();
@@ -0,0 +1,143 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockchainSetupUtil;
+import org.hyperledger.besu.ethereum.core.MiningConfiguration;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+import org.hyperledger.besu.evm.tracing.OpCodeTracerConfigBuilder.OpCodeTracerConfig;
+import org.hyperledger.besu.plugin.services.storage.DataStorageFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.stream.LongStream;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class StreamingDebugTraceBlockResultTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private BlockchainSetupUtil blockchainSetupUtil;
+  private BlockchainQueries blockchainQueries;
+
+  @BeforeEach
+  public void setUp() {
+    blockchainSetupUtil = BlockchainSetupUtil.forTesting(DataStorageFormat.BONSAI);
+    blockchainSetupUtil.importAllBlocks();
+    blockchainQueries =
+        new BlockchainQueries(
+            blockchainSetupUtil.getProtocolSchedule(),
+            blockchainSetupUtil.getBlockchain(),
+            blockchainSetupUtil.getWorldArchive(),
+            MiningConfiguration.MINING_DISABLED);
+  }
+
+  @Test
+  public void shouldStreamTheStructLogsOfEachTransaction() throws IOException {
+    final Blockchain blockchain = blockchainSetupUtil.getBlockchain();
+    final Block block = firstBlockWithTransactions(blockchain);
+    final List<TransactionReceipt> receipts =
+        blockchain.getTxReceipts(block.getHash()).orElseThrow();
+
+    final JsonNode traces =
+        objectMapper.readTree(objectMapper.writeValueAsString(streamingResult(block)));
+
+    assertThat(traces.isArray()).isTrue();
+    assertThat(traces).hasSize(block.getBody().getTransactions().size());
+    assertThat(traces.findValues("structLogs")).anyMatch(structLogs -> !structLogs.isEmpty());
+    long cumulativeGasUsed = 0;
+    for (int i = 0; i < traces.size(); i++) {
+      final JsonNode trace = traces.get(i);
+      assertThat(trace.get("txHash").asText())
+          .isEqualTo(block.getBody().getTransactions().get(i).getHash().toHexString());
+      final JsonNode result = trace.get("result");
+      assertThat(result.get("gas").asLong())
+          .isEqualTo(receipts.get(i).getCumulativeGasUsed() - cumulativeGasUsed);
+      assertThat(result.get("failed").asBoolean()).isEqualTo(receipts.get(i).getStatus() == 0);
+      assertThat(result.get("returnValue").isTextual()).isTrue();
+      result
+          .get("structLogs")
+          .forEach(
+              structLog -> {
+                assertThat(structLog.has("pc")).isTrue();
+                assertThat(structLog.has("opName")).isTrue();
+                assertThat(structLog.get("depth").asInt()).isPositive();
+              });
+      cumulativeGasUsed = receipts.get(i).getCumulativeGasUsed();
+    }
+  }
+
+  @Test
+  public void shouldStopTracingWhenTheOutputFails() {
+    final Block block = firstBlockWithTransactions(blockchainSetupUtil.getBlockchain());
+    final OutputStream failingOutput =
+        new OutputStream() {
+          @Override
+          public void write(final int b) throws IOException {
+            throw new IOException("Connection reset");
+          }
+        };
+
+    assertThatThrownBy(() -> objectMapper.writeValue(failingOutput, streamingResult(block)))
+        .isInstanceOf(IOException.class);
+  }
+
+  @Test
+  public void shouldStopTracingWhenTheRequestIsNoLongerAlive() {
+    final Block block = firstBlockWithTransactions(blockchainSetupUtil.getBlockchain());
+    final AtomicInteger aliveChecks = new AtomicInteger();
+    final StreamingDebugTraceBlockResult result =
+        streamingResult(block, () -> aliveChecks.incrementAndGet() < 2);
+
+    assertThatThrownBy(() -> objectMapper.writeValueAsString(result))
+        .isInstanceOf(IOException.class)
+        .hasMessageContaining("trace stopped");
+    assertThat(aliveChecks.get()).isEqualTo(2);
+  }
+
+  private StreamingDebugTraceBlockResult streamingResult(final Block block) {
+    return streamingResult(block, () -> true);
+  }
+
+  private StreamingDebugTraceBlockResult streamingResult(
+      final Block block, final BooleanSupplier isAlive) {
+    return new StreamingDebugTraceBlockResult(
+        blockchainQueries,
+        blockchainSetupUtil.getProtocolSchedule(),
+        block,
+        OpCodeTracerConfig.DEFAULT,
+        isAlive);
+  }
+
+  private static Block firstBlockWithTransactions(final Blockchain blockchain) {
+    return LongStream.rangeClosed(1, blockchain.getChainHeadBlockNumber())
+        .mapToObj(number -> blockchain.getBlockByNumber(number).orElseThrow())
+        .filter(block -> !block.getBody().getTransactions().isEmpty())
+        .findFirst()
+        .orElseThrow();
+  }
+}
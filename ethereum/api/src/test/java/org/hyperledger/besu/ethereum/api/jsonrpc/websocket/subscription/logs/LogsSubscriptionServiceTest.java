@@ -30,6 +30,7 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.internal.parameters.FilterParam
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.LogResult;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.Quantity;
 import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.SubscriptionManager;
+import org.hyperledger.besu.ethereum.api.query.LogsQueryIndex;
 import org.hyperledger.besu.ethereum.chain.MutableBlockchain;
 import org.hyperledger.besu.ethereum.core.Block;
 import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
@@ -49,11 +50,11 @@ import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-import com.google.common.collect.Lists;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -68,6 +69,7 @@ public class LogsSubscriptionServiceTest {
   private final AtomicLong nextSubscriptionId = new AtomicLong();
 
   @Mock private SubscriptionManager subscriptionManager;
+  @Captor private ArgumentCaptor<List<Long>> subscriptionIdsCaptor;
 
   @BeforeEach
   public void before() {
@@ -91,7 +93,9 @@ public class LogsSubscriptionServiceTest {
     blockchain.appendBlock(blockWithReceipts.getBlock(), blockWithReceipts.getReceipts());
 
     final ArgumentCaptor<LogResult> captor = ArgumentCaptor.forClass(LogResult.class);
-    verify(subscriptionManager).sendMessage(eq(subscription.getSubscriptionId()), captor.capture());
+    verify(subscriptionManager)
+        .sendMessageToSubscriptions(
+            eq(List.of(subscription.getSubscriptionId())), captor.capture());
 
     final List<LogResult> logResults = captor.getAllValues();
 
@@ -126,7 +130,8 @@ public class LogsSubscriptionServiceTest {
 
     final ArgumentCaptor<LogResult> captor = ArgumentCaptor.forClass(LogResult.class);
     verify(subscriptionManager, times(2))
-        .sendMessage(eq(subscription.getSubscriptionId()), captor.capture());
+        .sendMessageToSubscriptions(
+            eq(List.of(subscription.getSubscriptionId())), captor.capture());
 
     final List<LogResult> logResults = captor.getAllValues();
 
@@ -171,7 +176,8 @@ public class LogsSubscriptionServiceTest {
 
     final ArgumentCaptor<LogResult> captor = ArgumentCaptor.forClass(LogResult.class);
     verify(subscriptionManager, times(3))
-        .sendMessage(eq(subscription.getSubscriptionId()), captor.capture());
+        .sendMessageToSubscriptions(
+            eq(List.of(subscription.getSubscriptionId())), captor.capture());
 
     final List<LogResult> logResults = captor.getAllValues();
 
@@ -209,7 +215,8 @@ public class LogsSubscriptionServiceTest {
 
     final ArgumentCaptor<LogResult> captor = ArgumentCaptor.forClass(LogResult.class);
     verify(subscriptionManager, times(targetBlocks.size() * txCount))
-        .sendMessage(eq(subscription.getSubscriptionId()), captor.capture());
+        .sendMessageToSubscriptions(
+            eq(List.of(subscription.getSubscriptionId())), captor.capture());
     final List<LogResult> logResults = captor.getAllValues();
 
     // Verify all logs are emitted
@@ -250,17 +257,19 @@ public class LogsSubscriptionServiceTest {
     registerSubscriptions(subscriptions);
     blockchain.appendBlock(blockWithReceipts.getBlock(), blockWithReceipts.getReceipts());
 
-    for (LogsSubscription subscription : subscriptions) {
-      final ArgumentCaptor<LogResult> captor = ArgumentCaptor.forClass(LogResult.class);
-      verify(subscriptionManager)
-          .sendMessage(eq(subscription.getSubscriptionId()), captor.capture());
+    // the log is sent once to all the matching subscriptions
+    final ArgumentCaptor<LogResult> captor = ArgumentCaptor.forClass(LogResult.class);
+    verify(subscriptionManager)
+        .sendMessageToSubscriptions(subscriptionIdsCaptor.capture(), captor.capture());
 
-      final List<LogResult> logResults = captor.getAllValues();
+    assertThat(subscriptionIdsCaptor.getValue())
+        .containsExactlyInAnyOrderElementsOf(
+            subscriptions.stream().map(LogsSubscription::getSubscriptionId).toList());
+    final List<LogResult> logResults = captor.getAllValues();
 
-      assertThat(logResults).hasSize(1);
-      final LogResult result = logResults.get(0);
-      assertLogResultMatches(result, block, receipts, txIndex, logIndex, 3, false);
-    }
+    assertThat(logResults).hasSize(1);
+    final LogResult result = logResults.get(0);
+    assertLogResultMatches(result, block, receipts, txIndex, logIndex, 3, false);
   }
 
   @Test
@@ -274,7 +283,8 @@ public class LogsSubscriptionServiceTest {
 
     final ArgumentCaptor<LogResult> captor = ArgumentCaptor.forClass(LogResult.class);
     verify(subscriptionManager, times(0))
-        .sendMessage(eq(subscription.getSubscriptionId()), captor.capture());
+        .sendMessageToSubscriptions(
+            eq(List.of(subscription.getSubscriptionId())), captor.capture());
   }
 
   @Test
@@ -288,7 +298,8 @@ public class LogsSubscriptionServiceTest {
 
     final ArgumentCaptor<LogResult> captor = ArgumentCaptor.forClass(LogResult.class);
     verify(subscriptionManager, times(0))
-        .sendMessage(eq(subscription.getSubscriptionId()), captor.capture());
+        .sendMessageToSubscriptions(
+            eq(List.of(subscription.getSubscriptionId())), captor.capture());
   }
 
   private void assertLogResultMatches(
@@ -385,8 +396,11 @@ public class LogsSubscriptionServiceTest {
   }
 
   private void registerSubscriptions(final List<LogsSubscription> subscriptions) {
+    final LogsQueryIndex<LogsSubscription> index = new LogsQueryIndex<>();
+    subscriptions.forEach(
+        subscription -> index.add(subscription, subscription.getFilterParameter().getLogsQuery()));
     lenient()
-        .when(subscriptionManager.subscriptionsOfType(any(), any()))
-        .thenReturn(Lists.newArrayList(subscriptions));
+        .when(subscriptionManager.logsSubscriptionsMatching(any()))
+        .thenAnswer(invocation -> index.matching(invocation.getArgument(0)));
   }
 }
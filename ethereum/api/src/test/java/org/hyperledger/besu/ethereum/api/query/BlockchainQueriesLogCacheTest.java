@@ -14,6 +14,8 @@
  */
 package org.hyperledger.besu.ethereum.api.query;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.hyperledger.besu.ethereum.api.query.cache.TransactionLogBloomCacher.BLOCKS_PER_BLOOM_CACHE;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
@@ -42,6 +44,9 @@ import java.nio.file.Path;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
@@ -131,6 +136,10 @@ public class BlockchainQueriesLogCacheTest {
     when(blockchain.getBlockHeader(anyLong())).thenReturn(Optional.of(fakeHeader));
     when(blockchain.getTxReceipts(any())).thenReturn(Optional.of(Collections.emptyList()));
     when(blockchain.getBlockBody(any())).thenReturn(Optional.of(fakeBody));
+    when(scheduler.scheduleComputationTask(any()))
+        .thenAnswer(
+            invocation ->
+                CompletableFuture.completedFuture(invocation.<Supplier<?>>getArgument(0).get()));
     blockchainQueries =
         new BlockchainQueries(
             protocolSchedule,
@@ -211,4 +220,31 @@ public class BlockchainQueriesLogCacheTest {
 
     verifyNoMoreInteractions(blockchain);
   }
+
+  @Test
+  public void cancelsThePendingScansWhenTheQueryExpires() {
+    final CompletableFuture<Object> pendingScan = new CompletableFuture<>();
+    when(scheduler.scheduleComputationTask(any()))
+        .thenAnswer(
+            invocation ->
+                CompletableFuture.completedFuture(invocation.<Supplier<?>>getArgument(0).get()))
+        .thenReturn(pendingScan);
+    final AtomicBoolean alive = new AtomicBoolean(true);
+    when(blockchain.getBlockHashByNumber(anyLong()))
+        .thenAnswer(
+            invocation -> {
+              alive.set(false);
+              return Optional.of(testHash);
+            });
+
+    assertThatThrownBy(
+            () ->
+                blockchainQueries.matchingLogs(
+                    BLOCKS_PER_BLOOM_CACHE - 3, BLOCKS_PER_BLOOM_CACHE + 2, logsQuery, alive::get))
+        .isInstanceOf(IllegalStateException.class);
+
+    // the scan of the second segment was scheduled ahead, but its logs were never retrieved
+    verify(scheduler, times(2)).scheduleComputationTask(any());
+    assertThat(pendingScan).isCancelled();
+  }
 }
@@ -0,0 +1,180 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.query;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.Log;
+import org.hyperledger.besu.datatypes.LogsBloomFilter;
+import org.hyperledger.besu.ethereum.chain.MutableBlockchain;
+import org.hyperledger.besu.ethereum.core.BlockBody;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.BlockHeaderTestFixture;
+import org.hyperledger.besu.ethereum.core.LogWithMetadata;
+import org.hyperledger.besu.ethereum.core.MiningConfiguration;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
+import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
+import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+/**
+ * Tests the retrieval of logs over a range mixing chunks indexed by the transaction log indexer
+ * with chunks that are not indexed, and the recent blocks that are not final yet.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class BlockchainQueriesLogIndexTest {
+
+  private static final long HEAD = 30_200;
+  private static final Address TOKEN = Address.fromHexString("0x1234");
+  private static final Address OTHER = Address.fromHexString("0x5678");
+  private static final Map<Long, Log> LOGS =
+      Map.of(
+          5L, new Log(TOKEN, Bytes.EMPTY, List.of()),
+          10_003L, new Log(TOKEN, Bytes.EMPTY, List.of()),
+          15_000L, new Log(OTHER, Bytes.EMPTY, List.of()),
+          25_000L, new Log(TOKEN, Bytes.EMPTY, List.of()),
+          30_100L, new Log(TOKEN, Bytes.EMPTY, List.of()));
+
+  @TempDir private Path cacheDir;
+  @Mock ProtocolSchedule protocolSchedule;
+  @Mock MutableBlockchain blockchain;
+  @Mock WorldStateArchive worldStateArchive;
+  @Mock EthScheduler scheduler;
+  @Mock Transaction transaction;
+  private BlockchainQueries blockchainQueries;
+
+  @BeforeEach
+  public void setup() throws IOException {
+    final BlockHeader[] headers = new BlockHeader[(int) HEAD + 1];
+    final Map<Hash, BlockHeader> headersByHash = new HashMap<>();
+    for (int number = 0; number <= HEAD; number++) {
+      final BlockHeaderTestFixture header = new BlockHeaderTestFixture().number(number);
+      Optional.ofNullable(LOGS.get((long) number))
+          .ifPresent(log -> header.logsBloom(LogsBloomFilter.builder().insertLog(log).build()));
+      headers[number] = header.buildHeader();
+      headersByHash.put(headers[number].getHash(), headers[number]);
+    }
+    when(blockchain.getChainHeadBlockNumber()).thenReturn(HEAD);
+    when(blockchain.getBlockHashByNumber(anyLong()))
+        .thenAnswer(
+            invocation ->
+                blockHeader(headers, invocation.getArgument(0)).map(BlockHeader::getHash));
+    when(blockchain.getBlockHeader(anyLong()))
+        .thenAnswer(invocation -> blockHeader(headers, invocation.getArgument(0)));
+    when(blockchain.getBlockHeader(any()))
+        .thenAnswer(
+            invocation -> Optional.ofNullable(headersByHash.get(invocation.<Hash>getArgument(0))));
+    when(blockchain.getTxReceipts(any()))
+        .thenAnswer(
+            invocation -> {
+              final long number = headersByHash.get(invocation.<Hash>getArgument(0)).getNumber();
+              final List<Log> logs = Optional.ofNullable(LOGS.get(number)).stream().toList();
+              return Optional.of(
+                  List.of(new TransactionReceipt(1, 21_000, logs, Optional.empty())));
+            });
+    when(blockchain.getBlockBody(any()))
+        .thenReturn(Optional.of(new BlockBody(List.of(transaction), List.of())));
+    when(blockchain.blockIsOnCanonicalChain(any())).thenReturn(true);
+    when(transaction.getHash()).thenReturn(Hash.ZERO);
+    when(scheduler.scheduleComputationTask(any()))
+        .thenAnswer(
+            invocation ->
+                CompletableFuture.completedFuture(invocation.<Supplier<?>>getArgument(0).get()));
+
+    blockchainQueries =
+        new BlockchainQueries(
+            protocolSchedule,
+            blockchain,
+            worldStateArchive,
+            Optional.of(cacheDir),
+            Optional.of(scheduler),
+            MiningConfiguration.newDefault());
+    // chunks 0 and 2 are indexed, chunk 1 is not and chunk 3 is not final yet
+    blockchainQueries.getTransactionLogIndexer().orElseThrow().indexAll();
+    Files.delete(cacheDir.resolve("logIndex-1.cache"));
+  }
+
+  @Test
+  public void retrievesTheSameLogsAsTheBloomFilters() {
+    final LogsQuery query = new LogsQuery(List.of(TOKEN), List.of());
+    final BlockchainQueries bloomQueries =
+        new BlockchainQueries(
+            protocolSchedule,
+            blockchain,
+            worldStateArchive,
+            Optional.empty(),
+            Optional.empty(),
+            MiningConfiguration.newDefault());
+
+    final List<LogWithMetadata> bloomedLogs = bloomQueries.matchingLogs(3, HEAD, query, () -> true);
+    final List<LogWithMetadata> logs = blockchainQueries.matchingLogs(3, HEAD, query, () -> true);
+
+    assertThat(logs)
+        .extracting(LogWithMetadata::getBlockNumber)
+        .containsExactly(5L, 10_003L, 25_000L, 30_100L);
+    assertThat(logs)
+        .usingRecursiveFieldByFieldElementComparator()
+        .containsExactlyElementsOf(bloomedLogs);
+  }
+
+  @Test
+  public void looksUpTheBlocksOfIndexedChunksInTheIndex() {
+    final LogsQuery query = new LogsQuery(List.of(TOKEN), List.of());
+
+    blockchainQueries.matchingLogs(3, HEAD, query, () -> true);
+
+    // blocks of the indexed chunks are never read through their headers
+    verify(blockchain, never()).getBlockHeader(15L);
+    verify(blockchain, never()).getBlockHeader(25_000L);
+    // unlike the blocks of the chunk that is not indexed and of the recent blocks
+    verify(blockchain).getBlockHeader(10_003L);
+    verify(blockchain).getBlockHeader(30_100L);
+  }
+
+  private static Optional<BlockHeader> blockHeader(final BlockHeader[] headers, final long number) {
+    return number >= 0 && number < headers.length
+        ? Optional.of(headers[(int) number])
+        : Optional.empty();
+  }
+}
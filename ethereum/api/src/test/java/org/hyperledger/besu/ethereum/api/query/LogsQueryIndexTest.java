@@ -0,0 +1,86 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.query;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Log;
+import org.hyperledger.besu.datatypes.LogTopic;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class LogsQueryIndexTest {
+
+  private static final Address FIRST_ADDRESS =
+      Address.fromHexString("8320fe7702b96808f7bbc0d4a888ed1468216cfd");
+  private static final Address SECOND_ADDRESS =
+      Address.fromHexString("9320fe7702b96808f7bbc0d4a888ed1468216cfd");
+  private static final LogTopic ERC20_TRANSFER_EVENT =
+      LogTopic.fromHexString("ddf252ad1be2c89b69c2b068fc378daa952ba7f163c4a11628f55a4df523b3ef");
+  private static final LogTopic ERC20_APPROVAL_EVENT =
+      LogTopic.fromHexString("8c5be1e5ebec7d5bd14f71427d1e84f3dd0314c0f7b2291e5b200ac8c7c3b925");
+
+  private LogsQueryIndex<String> index;
+
+  @BeforeEach
+  public void setUp() {
+    index = new LogsQueryIndex<>();
+    index.add("byAddress", new LogsQuery(List.of(FIRST_ADDRESS), List.of()));
+    index.add(
+        "byAddressAndTopic",
+        new LogsQuery(List.of(FIRST_ADDRESS), List.of(List.of(ERC20_APPROVAL_EVENT))));
+    index.add("byTopic", new LogsQuery(List.of(), List.of(List.of(ERC20_TRANSFER_EVENT))));
+    index.add(
+        "bySecondTopic",
+        new LogsQuery(
+            List.of(), List.of(Arrays.asList((LogTopic) null), List.of(ERC20_TRANSFER_EVENT))));
+    index.add("all", new LogsQuery(List.of(), List.of()));
+  }
+
+  @Test
+  public void matchingReturnsOnlySubscribersWhoseQueryMatches() {
+    assertThat(index.matching(log(FIRST_ADDRESS, ERC20_TRANSFER_EVENT)))
+        .containsExactlyInAnyOrder("byAddress", "byTopic", "all");
+    assertThat(index.matching(log(FIRST_ADDRESS, ERC20_APPROVAL_EVENT, ERC20_TRANSFER_EVENT)))
+        .containsExactlyInAnyOrder("byAddress", "byAddressAndTopic", "bySecondTopic", "all");
+    assertThat(index.matching(log(SECOND_ADDRESS, ERC20_TRANSFER_EVENT)))
+        .containsExactlyInAnyOrder("byTopic", "all");
+    assertThat(index.matching(log(SECOND_ADDRESS))).containsExactly("all");
+  }
+
+  @Test
+  public void removedSubscribersAreNotMatched() {
+    index.remove("byAddress");
+    index.remove("byTopic");
+    index.remove("unknown");
+
+    assertThat(index.matching(log(FIRST_ADDRESS, ERC20_TRANSFER_EVENT)))
+        .containsExactlyInAnyOrder("all");
+
+    index.clear();
+
+    assertThat(index.matching(log(FIRST_ADDRESS, ERC20_TRANSFER_EVENT))).isEmpty();
+  }
+
+  private static Log log(final Address address, final LogTopic... topics) {
+    return new Log(address, Bytes.EMPTY, List.of(topics));
+  }
+}
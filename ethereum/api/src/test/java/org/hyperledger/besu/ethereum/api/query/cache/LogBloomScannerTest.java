@@ -0,0 +1,129 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.query.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Log;
+import org.hyperledger.besu.datatypes.LogTopic;
+import org.hyperledger.besu.datatypes.LogsBloomFilter;
+import org.hyperledger.besu.ethereum.api.query.LogsQuery;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class LogBloomScannerTest {
+
+  private static final Address TOKEN = Address.fromHexString("0x1234");
+  private static final Address OTHER = Address.fromHexString("0x5678");
+  private static final LogTopic TRANSFER = LogTopic.fromHexString("0x" + "ab".repeat(32));
+  private static final LogTopic APPROVAL = LogTopic.fromHexString("0x" + "cd".repeat(32));
+
+  @TempDir private Path cacheDir;
+  private Path cacheFile;
+  private final List<LogsBloomFilter> blooms = new ArrayList<>();
+
+  @BeforeEach
+  public void setup() throws IOException {
+    for (int block = 0; block < 10; block++) {
+      blooms.add(LogsBloomFilter.empty());
+    }
+    blooms.set(2, bloom(log(TOKEN, TRANSFER)));
+    blooms.set(5, bloom(log(OTHER, TRANSFER), log(TOKEN, APPROVAL)));
+    blooms.set(9, bloom(log(TOKEN, APPROVAL, TRANSFER)));
+    cacheFile = cacheDir.resolve("logBloom-0.cache");
+    Files.write(
+        cacheFile,
+        Bytes.concatenate(blooms.stream().map(LogsBloomFilter::getBytes).toArray(Bytes[]::new))
+            .toArray());
+  }
+
+  @Test
+  public void findsTheBlocksWhoseBloomCouldMatch() throws IOException {
+    assertThat(scan(query(List.of(TOKEN), List.of()), 0, 9).candidates())
+        .containsExactly(2, 5, 9);
+    assertThat(scan(query(List.of(OTHER), List.of()), 0, 9).candidates()).containsExactly(5);
+    assertThat(scan(query(List.of(), List.of(List.of(APPROVAL))), 0, 9).candidates())
+        .containsExactly(5, 9);
+    assertThat(scan(query(List.of(OTHER, TOKEN), List.of(List.of(APPROVAL))), 3, 9).candidates())
+        .containsExactly(5, 9);
+    assertThat(scan(query(List.of(), List.of()), 4, 6).candidates()).containsExactly(4, 5, 6);
+  }
+
+  @Test
+  public void nullTopicIsAWildcard() throws IOException {
+    final LogsQuery query = query(List.of(), List.of(Arrays.asList(APPROVAL, null)));
+
+    assertThat(scan(query, 0, 9).candidates()).containsExactly(LongStream.range(0, 10).toArray());
+  }
+
+  @Test
+  public void agreesWithTheQueryBloomCheck() throws IOException {
+    final List<LogsQuery> queries =
+        List.of(
+            query(List.of(TOKEN), List.of(List.of(TRANSFER))),
+            query(List.of(OTHER), List.of(List.of(), List.of(APPROVAL))),
+            query(List.of(), List.of(List.of(APPROVAL, TRANSFER), List.of(TRANSFER))));
+    for (final LogsQuery query : queries) {
+      assertThat(scan(query, 0, 9).candidates())
+          .containsExactly(
+              LongStream.range(0, 10)
+                  .filter(block -> query.couldMatch(blooms.get((int) block)))
+                  .toArray());
+    }
+  }
+
+  @Test
+  public void stopsAtTheEndOfTheFile() throws IOException {
+    final LogBloomScanner.Scan scan = scan(query(List.of(TOKEN), List.of()), 4, 1_000);
+
+    assertThat(scan.candidates()).containsExactly(5, 9);
+    assertThat(scan.scannedUntil()).isEqualTo(10);
+
+    final LogBloomScanner.Scan pastTheEnd = scan(query(List.of(TOKEN), List.of()), 20, 30);
+    assertThat(pastTheEnd.candidates()).isEmpty();
+    assertThat(pastTheEnd.scannedUntil()).isEqualTo(20);
+  }
+
+  private LogBloomScanner.Scan scan(final LogsQuery query, final long from, final long to)
+      throws IOException {
+    return new LogBloomScanner(query).scan(cacheFile, from, to);
+  }
+
+  private static LogsBloomFilter bloom(final Log... logs) {
+    final LogsBloomFilter.Builder builder = LogsBloomFilter.builder();
+    Arrays.stream(logs).forEach(builder::insertLog);
+    return builder.build();
+  }
+
+  private static Log log(final Address address, final LogTopic... topics) {
+    return new Log(address, Bytes.EMPTY, List.of(topics));
+  }
+
+  private static LogsQuery query(final List<Address> addresses, final List<List<LogTopic>> topics) {
+    return new LogsQuery(addresses, topics);
+  }
+}
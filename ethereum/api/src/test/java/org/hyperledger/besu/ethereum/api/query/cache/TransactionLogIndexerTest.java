@@ -0,0 +1,194 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.query.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hyperledger.besu.ethereum.api.query.cache.TransactionLogIndexer.BLOCKS_PER_LOG_INDEX;
+import static org.hyperledger.besu.ethereum.api.query.cache.TransactionLogIndexer.FINALITY_DEPTH;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.Log;
+import org.hyperledger.besu.datatypes.LogTopic;
+import org.hyperledger.besu.ethereum.api.query.LogsQuery;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
+
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class TransactionLogIndexerTest {
+
+  private static final Address TOKEN = Address.fromHexString("0x1234");
+  private static final Address OTHER = Address.fromHexString("0x5678");
+  private static final LogTopic TRANSFER = LogTopic.fromHexString("0x" + "ab".repeat(32));
+  private static final LogTopic APPROVAL = LogTopic.fromHexString("0x" + "cd".repeat(32));
+
+  @TempDir private Path cacheDir;
+  @Mock Blockchain blockchain;
+  @Mock EthScheduler scheduler;
+  private TransactionLogIndexer indexer;
+
+  @BeforeEach
+  public void setup() {
+    final Map<Long, List<Log>> logsByBlock =
+        Map.of(
+            5L, List.of(log(TOKEN, TRANSFER)),
+            700L, List.of(log(OTHER, TRANSFER), log(TOKEN, APPROVAL)),
+            9_999L, List.of(log(TOKEN, APPROVAL, TRANSFER)));
+    when(blockchain.getBlockHashByNumber(anyLong()))
+        .thenAnswer(invocation -> Optional.of(blockHash(invocation.getArgument(0))));
+    when(blockchain.getTxReceipts(any()))
+        .thenAnswer(
+            invocation -> {
+              final Hash hash = invocation.getArgument(0);
+              final long number = hash.getBytes().trimLeadingZeros().toLong();
+              final List<Log> logs = logsByBlock.getOrDefault(number, List.of());
+              return Optional.of(
+                  List.of(new TransactionReceipt(1, 21_000, logs, Optional.empty())));
+            });
+    indexer = new TransactionLogIndexer(blockchain, cacheDir, scheduler);
+  }
+
+  @Test
+  public void findsTheBlocksContainingAnAddress() throws Exception {
+    assertThat(indexer.indexChunk(0)).isTrue();
+
+    assertThat(indexer.matchingBlocks(0, query(List.of(TOKEN), List.of())))
+        .hasValueSatisfying(blocks -> assertThat(blocks).containsExactly(5, 700, 9_999));
+    assertThat(indexer.matchingBlocks(0, query(List.of(OTHER), List.of())))
+        .hasValueSatisfying(blocks -> assertThat(blocks).containsExactly(700));
+  }
+
+  @Test
+  public void matchesTopicsAtTheirPosition() throws Exception {
+    assertThat(indexer.indexChunk(0)).isTrue();
+
+    assertThat(indexer.matchingBlocks(0, query(List.of(), List.of(List.of(TRANSFER)))))
+        .hasValueSatisfying(blocks -> assertThat(blocks).containsExactly(5, 700));
+    final List<List<LogTopic>> anyFirstTopic =
+        Arrays.asList(Arrays.asList((LogTopic) null), List.of(TRANSFER));
+    assertThat(indexer.matchingBlocks(0, query(List.of(), anyFirstTopic)))
+        .hasValueSatisfying(blocks -> assertThat(blocks).containsExactly(9_999));
+  }
+
+  @Test
+  public void intersectsAddressAndTopicCriteriaPerBlock() throws Exception {
+    assertThat(indexer.indexChunk(0)).isTrue();
+
+    assertThat(indexer.matchingBlocks(0, query(List.of(OTHER), List.of(List.of(APPROVAL)))))
+        .hasValueSatisfying(blocks -> assertThat(blocks).containsExactly(700));
+    final List<List<LogTopic>> anyFirstTopic =
+        Arrays.asList(Arrays.asList((LogTopic) null), List.of(TRANSFER));
+    assertThat(indexer.matchingBlocks(0, query(List.of(OTHER), anyFirstTopic)))
+        .hasValueSatisfying(blocks -> assertThat(blocks).isEmpty());
+    assertThat(
+            indexer.matchingBlocks(0, query(List.of(TOKEN), List.of(List.of(TRANSFER, APPROVAL)))))
+        .hasValueSatisfying(blocks -> assertThat(blocks).containsExactly(5, 700, 9_999));
+  }
+
+  @Test
+  public void doesNotAnswerQueriesWithoutCriteria() throws Exception {
+    assertThat(indexer.indexChunk(0)).isTrue();
+
+    assertThat(indexer.matchingBlocks(0, query(List.of(), List.of()))).isEmpty();
+  }
+
+  @Test
+  public void ignoresAChunkWhoseLastBlockChanged() throws Exception {
+    assertThat(indexer.indexChunk(0)).isTrue();
+    when(blockchain.getBlockHashByNumber(BLOCKS_PER_LOG_INDEX - 1))
+        .thenReturn(Optional.of(Hash.ZERO));
+
+    assertThat(indexer.matchingBlocks(0, query(List.of(TOKEN), List.of()))).isEmpty();
+  }
+
+  @Test
+  public void doesNotIndexAChunkWithMissingReceipts() throws Exception {
+    when(blockchain.getTxReceipts(blockHash(42))).thenReturn(Optional.empty());
+
+    assertThat(indexer.indexChunk(0)).isFalse();
+    assertThat(indexer.matchingBlocks(0, query(List.of(TOKEN), List.of()))).isEmpty();
+  }
+
+  @Test
+  public void indexesEachChunkInItsOwnTask() {
+    final Queue<Supplier<?>> tasks = new ArrayDeque<>();
+    when(scheduler.scheduleComputationTask(any()))
+        .thenAnswer(
+            invocation -> {
+              tasks.add(invocation.getArgument(0));
+              return new CompletableFuture<>();
+            });
+    when(blockchain.getChainHeadBlockNumber())
+        .thenReturn(2L * BLOCKS_PER_LOG_INDEX - 1 + FINALITY_DEPTH);
+
+    indexer.indexAll();
+    assertThat(tasks).hasSize(1);
+    // a backfill is already running
+    indexer.indexAll();
+    assertThat(tasks).hasSize(1);
+
+    tasks.remove().get();
+    assertThat(indexer.matchingBlocks(1, query(List.of(TOKEN), List.of()))).isPresent();
+    assertThat(indexer.matchingBlocks(0, query(List.of(TOKEN), List.of()))).isEmpty();
+    assertThat(tasks).hasSize(1);
+
+    tasks.remove().get();
+    assertThat(indexer.matchingBlocks(0, query(List.of(TOKEN), List.of()))).isPresent();
+    assertThat(tasks).isEmpty();
+
+    // the backfill is over, every chunk is already indexed
+    indexer.indexAll();
+    tasks.remove().get();
+    assertThat(tasks).isEmpty();
+  }
+
+  private static Hash blockHash(final long number) {
+    return Hash.wrap(Bytes32.leftPad(Bytes.ofUnsignedLong(number)));
+  }
+
+  private static Log log(final Address address, final LogTopic... topics) {
+    return new Log(address, Bytes.EMPTY, List.of(topics));
+  }
+
+  private static LogsQuery query(final List<Address> addresses, final List<List<LogTopic>> topics) {
+    return new LogsQuery(addresses, topics);
+  }
+}
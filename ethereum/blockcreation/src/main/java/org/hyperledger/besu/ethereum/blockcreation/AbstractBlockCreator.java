@@ -25,6 +25,7 @@ import org.hyperledger.besu.datatypes.TransactionType;
 import org.hyperledger.besu.datatypes.Wei;
 import org.hyperledger.besu.ethereum.ProtocolContext;
 import org.hyperledger.besu.ethereum.blockcreation.txselection.BlockTransactionSelector;
+import org.hyperledger.besu.ethereum.blockcreation.txselection.SpeculativeTransactionExecutor;
 import org.hyperledger.besu.ethereum.blockcreation.txselection.TransactionSelectionResults;
 import org.hyperledger.besu.ethereum.core.Block;
 import org.hyperledger.besu.ethereum.core.BlockBody;
@@ -55,15 +56,20 @@ import org.hyperledger.besu.ethereum.mainnet.feemarket.ExcessBlobGasCalculator;
 import org.hyperledger.besu.ethereum.mainnet.requests.RequestProcessingContext;
 import org.hyperledger.besu.ethereum.mainnet.requests.RequestProcessorCoordinator;
 import org.hyperledger.besu.ethereum.mainnet.systemcall.BlockProcessingContext;
+import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.worldview.BonsaiWorldState;
+import org.hyperledger.besu.ethereum.trie.pathbased.common.worldview.PathBasedWorldState;
+import org.hyperledger.besu.ethereum.trie.pathbased.common.worldview.accumulator.PathBasedWorldStateUpdateAccumulator;
 import org.hyperledger.besu.evm.account.MutableAccount;
 import org.hyperledger.besu.evm.worldstate.WorldUpdater;
 import org.hyperledger.besu.plugin.services.exception.StorageException;
 import org.hyperledger.besu.plugin.services.securitymodule.SecurityModuleException;
+import org.hyperledger.besu.plugin.services.tracer.BlockAwareOperationTracer;
 import org.hyperledger.besu.plugin.services.txselection.PluginTransactionSelector;
 import org.hyperledger.besu.plugin.services.txselection.SelectorsStateManager;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -92,6 +98,7 @@ public abstract class AbstractBlockCreator implements AsyncBlockCreator {
   private final EthScheduler ethScheduler;
   private final AtomicBoolean isCancelled = new AtomicBoolean(false);
   private volatile BlockTransactionSelector selector;
+  private IncrementalSelection incrementalSelection;
 
   protected AbstractBlockCreator(
       final MiningConfiguration miningConfiguration,
@@ -197,7 +204,22 @@ public abstract class AbstractBlockCreator implements AsyncBlockCreator {
 
     final var timings = new BlockCreationTiming();
 
-    try (final MutableWorldState disposableWorldState = duplicateWorldStateAtParent(parentHeader)) {
+    if (maybeTransactions.isEmpty() && incrementalSelection != null) {
+      if (incrementalSelection.canBeResumed(
+          parentHeader,
+          timestamp,
+          maybePrevRandao,
+          maybeParentBeaconBlockRoot,
+          maybeSlotNumber,
+          transactionPool)) {
+        return resumeIncrementalSelection(maybeWithdrawals, rewardCoinbase, parentHeader, timings);
+      }
+      discardIncrementalSelection();
+    }
+
+    final MutableWorldState disposableWorldState = duplicateWorldStateAtParent(parentHeader);
+    boolean keepWorldState = false;
+    try {
       timings.register("duplicateWorldState");
       final ProtocolSpec newProtocolSpec =
           protocolSchedule.getForNextBlockHeader(parentHeader, timestamp);
@@ -249,6 +271,11 @@ public abstract class AbstractBlockCreator implements AsyncBlockCreator {
           .getPreExecutionProcessor()
           .process(blockProcessingContext, preExecutionAccessLocationTracker);
 
+      final boolean incremental =
+          maybeTransactions.isEmpty()
+              && canSelectIncrementally(
+                  disposableWorldState, pluginTransactionSelector, blockAccessListBuilder);
+
       timings.register("preTxsSelection");
       final TransactionSelectionResults transactionResults =
           selectTransactions(
@@ -264,105 +291,247 @@ public abstract class AbstractBlockCreator implements AsyncBlockCreator {
       transactionResults.logSelectionStats();
       timings.register("txsSelection");
 
-      final Optional<AccessLocationTracker> postExecutionAccessLocationTracker =
-          blockAccessListBuilder.map(
-              b ->
-                  BlockAccessListBuilder.createPostExecutionAccessLocationTracker(
-                      transactionResults.getSelectedTransactions().size()));
-
-      final Optional<WithdrawalsProcessor> maybeWithdrawalsProcessor =
-          newProtocolSpec.getWithdrawalsProcessor();
-
-      final boolean withdrawalsCanBeProcessed =
-          maybeWithdrawalsProcessor.isPresent() && maybeWithdrawals.isPresent();
-      if (withdrawalsCanBeProcessed) {
-        maybeWithdrawalsProcessor
-            .get()
-            .processWithdrawals(
-                maybeWithdrawals.get(),
-                disposableWorldState.updater(),
-                postExecutionAccessLocationTracker,
-                blockAccessListBuilder);
+      if (incremental) {
+        incrementalSelection =
+            new IncrementalSelection(
+                parentHeader.getHash(),
+                timestamp,
+                maybePrevRandao,
+                maybeParentBeaconBlockRoot,
+                maybeSlotNumber,
+                disposableWorldState,
+                selector,
+                transactionResults,
+                blockProcessingContext,
+                ommers,
+                miningBeneficiary);
+        keepWorldState = true;
+        return assembleIncrementalBlock(
+            incrementalSelection, maybeWithdrawals, rewardCoinbase, parentHeader, timings);
       }
 
-      // EIP-7685: process EL requests
-      final Optional<RequestProcessorCoordinator> requestProcessor =
-          newProtocolSpec.getRequestProcessorCoordinator();
-      RequestProcessingContext requestProcessingContext =
-          new RequestProcessingContext(blockProcessingContext, transactionResults.getReceipts());
-
-      Optional<List<Request>> maybeRequests =
-          requestProcessor.map(
-              processor ->
-                  processor.process(requestProcessingContext, postExecutionAccessLocationTracker));
+      return assembleBlock(
+          blockProcessingContext,
+          operationTracer,
+          transactionResults,
+          ommers,
+          miningBeneficiary,
+          maybeWithdrawals,
+          rewardCoinbase,
+          parentHeader,
+          timings);
+    } catch (final SecurityModuleException ex) {
+      throw new IllegalStateException("Failed to create block signature", ex);
+    } catch (final CancellationException | StorageException ex) {
+      throw ex;
+    } catch (final Exception ex) {
+      throw new IllegalStateException(
+          "Block creation failed unexpectedly. Will restart on next block added to chain.", ex);
+    } finally {
+      if (!keepWorldState) {
+        closeWorldState(disposableWorldState);
+      }
+    }
+  }
 
-      postExecutionAccessLocationTracker.ifPresent(
-          tracker ->
-              blockAccessListBuilder.ifPresent(
-                  builder -> builder.apply(tracker, disposableWorldState.updater().updater())));
+  /**
+   * Selecting incrementally requires to keep the world state of the selection between the
+   * successive blocks, and to copy it to another world state to assemble each block, which is only
+   * possible with Bonsai. It is not used when the block records an access list, which is built
+   * along the execution of each block, when a plugin selects or traces transactions, since it
+   * does not expect the selection to be resumed, or with the speculative execution, which is
+   * stopped at the end of the first selection.
+   */
+  private boolean canSelectIncrementally(
+      final MutableWorldState disposableWorldState,
+      final PluginTransactionSelector pluginTransactionSelector,
+      final Optional<BlockAccessListBuilder> blockAccessListBuilder) {
+    return isIncrementalSelectionEnabled()
+        && disposableWorldState instanceof BonsaiWorldState
+        && blockAccessListBuilder.isEmpty()
+        && pluginTransactionSelector == PluginTransactionSelector.ACCEPT_ALL
+        && miningConfiguration.getUnstable().getBlockTxsSelectionSpeculativeWindow() <= 0;
+  }
 
-      if (rewardCoinbase
-          && !rewardBeneficiary(
-              disposableWorldState,
-              processableBlockHeader,
-              ommers,
-              miningBeneficiary,
-              newProtocolSpec.getBlockReward(),
-              newProtocolSpec.isSkipZeroBlockRewards(),
-              newProtocolSpec)) {
-        LOG.trace("Failed to apply mining reward, exiting.");
-        throw new RuntimeException("Failed to apply mining reward.");
+  /**
+   * Resumes the selection of the previous block created from the transaction pool, so only the
+   * transactions added to the pool since are evaluated, on top of the ones already selected, and
+   * assembles a new block from all the selected transactions.
+   */
+  private BlockCreationResult resumeIncrementalSelection(
+      final Optional<List<Withdrawal>> maybeWithdrawals,
+      final boolean rewardCoinbase,
+      final BlockHeader parentHeader,
+      final BlockCreationTiming timings) {
+    final IncrementalSelection resumedSelection = incrementalSelection;
+    try {
+      selector = resumedSelection.selector();
+      if (isCancelled.get()) {
+        selector.cancel();
       }
+      timings.register("preTxsSelection");
+      resumedSelection.selector().buildTransactionListForBlock().logSelectionStats();
+      timings.register("txsSelection");
+      return assembleIncrementalBlock(
+          resumedSelection, maybeWithdrawals, rewardCoinbase, parentHeader, timings);
+    } catch (final CancellationException | StorageException ex) {
+      discardIncrementalSelection();
+      throw ex;
+    } catch (final Exception ex) {
+      discardIncrementalSelection();
+      throw new IllegalStateException("Resuming the block creation failed unexpectedly", ex);
+    }
+  }
 
-      final GasUsage usage =
-          computeExcessBlobGas(transactionResults, newProtocolSpec, parentHeader);
-
-      BlockHeaderBuilder builder =
-          BlockHeaderBuilder.create()
-              .populateFrom(processableBlockHeader)
-              .ommersHash(BodyValidation.ommersHash(ommers))
-              .stateRoot(disposableWorldState.rootHash())
-              .transactionsRoot(
-                  BodyValidation.transactionsRoot(transactionResults.getSelectedTransactions()))
-              .receiptsRoot(BodyValidation.receiptsRoot(transactionResults.getReceipts()))
-              .logsBloom(BodyValidation.logsBloom(transactionResults.getReceipts()))
-              .gasUsed(transactionResults.getCumulativeGasUsed())
-              .extraData(extraDataCalculator.get(parentHeader))
-              .withdrawalsRoot(
-                  withdrawalsCanBeProcessed
-                      ? BodyValidation.withdrawalsRoot(maybeWithdrawals.get())
-                      : null)
-              .requestsHash(maybeRequests.map(BodyValidation::requestsHash).orElse(null));
-
-      final Optional<BlockAccessList> blockAccessList =
-          blockAccessListBuilder.map(BlockAccessListBuilder::build);
-      blockAccessList.ifPresent(b -> builder.balHash(BodyValidation.balHash(b)));
-      if (usage != null) {
-        builder.blobGasUsed(usage.used.toLong()).excessBlobGas(usage.excessBlobGas);
-      }
+  /**
+   * Assembles a block from the transactions selected so far, on a copy of the world state of the
+   * selection, since the withdrawals, requests and rewards must not be applied to the world state
+   * the selection is resumed on.
+   */
+  private BlockCreationResult assembleIncrementalBlock(
+      final IncrementalSelection selection,
+      final Optional<List<Withdrawal>> maybeWithdrawals,
+      final boolean rewardCoinbase,
+      final BlockHeader parentHeader,
+      final BlockCreationTiming timings)
+      throws Exception {
+    try (final MutableWorldState blockWorldState = duplicateWorldStateAtParent(parentHeader)) {
+      importStateChanges(selection.worldState(), blockWorldState);
+      timings.register("duplicateSelectionWorldState");
+      final BlockProcessingContext selectionContext = selection.blockProcessingContext();
+      return assembleBlock(
+          new BlockProcessingContext(
+              selectionContext.getBlockHeader(),
+              blockWorldState,
+              selectionContext.getProtocolSpec(),
+              selectionContext.getBlockHashLookup(),
+              selectionContext.getOperationTracer(),
+              selectionContext.getBlockAccessListBuilder()),
+          BlockAwareOperationTracer.NO_TRACING,
+          selection.transactionResults().copy(),
+          selection.ommers(),
+          selection.miningBeneficiary(),
+          maybeWithdrawals,
+          rewardCoinbase,
+          parentHeader,
+          timings);
+    }
+  }
 
-      final SealableBlockHeader sealableBlockHeader = builder.buildSealableBlockHeader();
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private static void importStateChanges(
+      final MutableWorldState source, final MutableWorldState target) {
+    final PathBasedWorldStateUpdateAccumulator targetAccumulator =
+        ((PathBasedWorldState) target).getAccumulator();
+    targetAccumulator.importStateChangesFromSource(((PathBasedWorldState) source).getAccumulator());
+  }
 
-      final BlockHeader blockHeader = createFinalBlockHeader(sealableBlockHeader);
+  private BlockCreationResult assembleBlock(
+      final BlockProcessingContext blockProcessingContext,
+      final BlockAwareOperationTracer operationTracer,
+      final TransactionSelectionResults transactionResults,
+      final List<BlockHeader> ommers,
+      final Address miningBeneficiary,
+      final Optional<List<Withdrawal>> maybeWithdrawals,
+      final boolean rewardCoinbase,
+      final BlockHeader parentHeader,
+      final BlockCreationTiming timings) {
+    final MutableWorldState disposableWorldState = blockProcessingContext.getWorldState();
+    final ProtocolSpec newProtocolSpec = blockProcessingContext.getProtocolSpec();
+    final ProcessableBlockHeader processableBlockHeader = blockProcessingContext.getBlockHeader();
+    final Optional<BlockAccessListBuilder> blockAccessListBuilder =
+        blockProcessingContext.getBlockAccessListBuilder();
+
+    final Optional<AccessLocationTracker> postExecutionAccessLocationTracker =
+        blockAccessListBuilder.map(
+            b ->
+                BlockAccessListBuilder.createPostExecutionAccessLocationTracker(
+                    transactionResults.getSelectedTransactions().size()));
+
+    final Optional<WithdrawalsProcessor> maybeWithdrawalsProcessor =
+        newProtocolSpec.getWithdrawalsProcessor();
+
+    final boolean withdrawalsCanBeProcessed =
+        maybeWithdrawalsProcessor.isPresent() && maybeWithdrawals.isPresent();
+    if (withdrawalsCanBeProcessed) {
+      maybeWithdrawalsProcessor
+          .get()
+          .processWithdrawals(
+              maybeWithdrawals.get(),
+              disposableWorldState.updater(),
+              postExecutionAccessLocationTracker,
+              blockAccessListBuilder);
+    }
 
-      final Optional<List<Withdrawal>> withdrawals =
-          withdrawalsCanBeProcessed ? maybeWithdrawals : Optional.empty();
-      final BlockBody blockBody =
-          new BlockBody(transactionResults.getSelectedTransactions(), ommers, withdrawals);
-      final Block block = new Block(blockHeader, blockBody);
+    // EIP-7685: process EL requests
+    final Optional<RequestProcessorCoordinator> requestProcessor =
+        newProtocolSpec.getRequestProcessorCoordinator();
+    RequestProcessingContext requestProcessingContext =
+        new RequestProcessingContext(blockProcessingContext, transactionResults.getReceipts());
 
-      operationTracer.traceEndBlock(blockHeader, blockBody);
-      timings.register("blockAssembled");
-      return new BlockCreationResult(
-          block, transactionResults, timings, blockAccessList, maybeRequests);
-    } catch (final SecurityModuleException ex) {
-      throw new IllegalStateException("Failed to create block signature", ex);
-    } catch (final CancellationException | StorageException ex) {
-      throw ex;
-    } catch (final Exception ex) {
-      throw new IllegalStateException(
-          "Block creation failed unexpectedly. Will restart on next block added to chain.", ex);
+    Optional<List<Request>> maybeRequests =
+        requestProcessor.map(
+            processor ->
+                processor.process(requestProcessingContext, postExecutionAccessLocationTracker));
+
+    postExecutionAccessLocationTracker.ifPresent(
+        tracker ->
+            blockAccessListBuilder.ifPresent(
+                builder -> builder.apply(tracker, disposableWorldState.updater().updater())));
+
+    if (rewardCoinbase
+        && !rewardBeneficiary(
+            disposableWorldState,
+            processableBlockHeader,
+            ommers,
+            miningBeneficiary,
+            newProtocolSpec.getBlockReward(),
+            newProtocolSpec.isSkipZeroBlockRewards(),
+            newProtocolSpec)) {
+      LOG.trace("Failed to apply mining reward, exiting.");
+      throw new RuntimeException("Failed to apply mining reward.");
     }
+
+    final GasUsage usage = computeExcessBlobGas(transactionResults, newProtocolSpec, parentHeader);
+
+    BlockHeaderBuilder builder =
+        BlockHeaderBuilder.create()
+            .populateFrom(processableBlockHeader)
+            .ommersHash(BodyValidation.ommersHash(ommers))
+            .stateRoot(disposableWorldState.rootHash())
+            .transactionsRoot(
+                BodyValidation.transactionsRoot(transactionResults.getSelectedTransactions()))
+            .receiptsRoot(BodyValidation.receiptsRoot(transactionResults.getReceipts()))
+            .logsBloom(BodyValidation.logsBloom(transactionResults.getReceipts()))
+            .gasUsed(transactionResults.getCumulativeGasUsed())
+            .extraData(extraDataCalculator.get(parentHeader))
+            .withdrawalsRoot(
+                withdrawalsCanBeProcessed
+                    ? BodyValidation.withdrawalsRoot(maybeWithdrawals.get())
+                    : null)
+            .requestsHash(maybeRequests.map(BodyValidation::requestsHash).orElse(null));
+
+    final Optional<BlockAccessList> blockAccessList =
+        blockAccessListBuilder.map(BlockAccessListBuilder::build);
+    blockAccessList.ifPresent(b -> builder.balHash(BodyValidation.balHash(b)));
+    if (usage != null) {
+      builder.blobGasUsed(usage.used.toLong()).excessBlobGas(usage.excessBlobGas);
+    }
+
+    final SealableBlockHeader sealableBlockHeader = builder.buildSealableBlockHeader();
+
+    final BlockHeader blockHeader = createFinalBlockHeader(sealableBlockHeader);
+
+    final Optional<List<Withdrawal>> withdrawals =
+        withdrawalsCanBeProcessed ? maybeWithdrawals : Optional.empty();
+    final BlockBody blockBody =
+        new BlockBody(transactionResults.getSelectedTransactions(), ommers, withdrawals);
+    final Block block = new Block(blockHeader, blockBody);
+
+    operationTracer.traceEndBlock(blockHeader, blockBody);
+    timings.register("blockAssembled");
+    return new BlockCreationResult(
+        block, transactionResults, timings, blockAccessList, maybeRequests);
   }
 
   record GasUsage(BlobGas excessBlobGas, BlobGas used) {}
@@ -425,7 +594,16 @@ public abstract class AbstractBlockCreator implements AsyncBlockCreator {
             pluginTransactionSelector,
             ethScheduler,
             selectorsStateManager,
-            blockAccessListBuilder);
+            blockAccessListBuilder,
+            createSpeculativeExecutor(
+                processableBlockHeader,
+                disposableWorldState,
+                miningBeneficiary,
+                protocolSpec,
+                pluginTransactionSelector,
+                parentHeader,
+                blobGasPrice,
+                blockAccessListBuilder));
 
     if (transactions.isPresent()) {
       return selector.evaluateTransactions(transactions.get());
@@ -434,6 +612,40 @@ public abstract class AbstractBlockCreator implements AsyncBlockCreator {
     }
   }
 
+  /**
+   * Speculative execution of the next candidate transactions is only possible with Bonsai, that
+   * can open independent views of the parent world state, and it is not used when the block
+   * records an access list, which depends on the final position of each transaction, or when a
+   * plugin traces the execution of the selected transactions.
+   */
+  private Optional<SpeculativeTransactionExecutor> createSpeculativeExecutor(
+      final ProcessableBlockHeader processableBlockHeader,
+      final MutableWorldState disposableWorldState,
+      final Address miningBeneficiary,
+      final ProtocolSpec protocolSpec,
+      final PluginTransactionSelector pluginTransactionSelector,
+      final BlockHeader parentHeader,
+      final Wei blobGasPrice,
+      final Optional<BlockAccessListBuilder> blockAccessListBuilder) {
+    final int window = miningConfiguration.getUnstable().getBlockTxsSelectionSpeculativeWindow();
+    if (window <= 0
+        || !(disposableWorldState instanceof BonsaiWorldState)
+        || blockAccessListBuilder.isPresent()
+        || pluginTransactionSelector.getOperationTracer() != BlockAwareOperationTracer.NO_TRACING) {
+      return Optional.empty();
+    }
+    return Optional.of(
+        new SpeculativeTransactionExecutor(
+            protocolContext,
+            protocolSpec,
+            parentHeader,
+            processableBlockHeader,
+            miningBeneficiary,
+            blobGasPrice,
+            ethScheduler,
+            window));
+  }
+
   private MutableWorldState duplicateWorldStateAtParent(final BlockHeader parentHeader) {
     final Hash parentStateRoot = parentHeader.getStateRoot();
     return protocolContext
@@ -454,6 +666,37 @@ public abstract class AbstractBlockCreator implements AsyncBlockCreator {
     return Lists.newArrayList();
   }
 
+  private static void closeWorldState(final MutableWorldState worldState) {
+    try {
+      worldState.close();
+    } catch (final Exception e) {
+      LOG.debug("Failed to close the world state of the block creation", e);
+    }
+  }
+
+  /**
+   * Whether the successive blocks created from the transaction pool resume the transaction
+   * selection of the previous one, instead of selecting again all the transactions, as long as the
+   * transactions it selected are still pending. The transactions added to the pool since are then
+   * evaluated after the ones already selected, whatever their priority.
+   *
+   * @return true if the transaction selection is resumed between blocks
+   */
+  protected boolean isIncrementalSelectionEnabled() {
+    return false;
+  }
+
+  /**
+   * Releases the state kept to resume the transaction selection, the next block created from the
+   * transaction pool selects its transactions from scratch.
+   */
+  public void discardIncrementalSelection() {
+    if (incrementalSelection != null) {
+      closeWorldState(incrementalSelection.worldState());
+      incrementalSelection = null;
+    }
+  }
+
   @Override
   public void cancel() {
     LOG.debug("Block creation cancellation requested");
@@ -469,6 +712,16 @@ public abstract class AbstractBlockCreator implements AsyncBlockCreator {
     return isCancelled.get();
   }
 
+  /**
+   * The version of the transactions that are candidates for inclusion, as long as it does not
+   * change, selecting the transactions again gives the same block.
+   *
+   * @return the version of the candidate transactions, or empty if it is not tracked
+   */
+  public OptionalLong getCandidatesVersion() {
+    return transactionPool.getCandidatesVersion();
+  }
+
   /* Copied from BlockProcessor (with modifications). */
   boolean rewardBeneficiary(
       final MutableWorldState worldState,
@@ -519,6 +772,46 @@ public abstract class AbstractBlockCreator implements AsyncBlockCreator {
   protected abstract BlockHeader createFinalBlockHeader(
       final SealableBlockHeader sealableBlockHeader);
 
+  /**
+   * The transaction selection of the last block created from the transaction pool, with the world
+   * state it was applied to, and what is needed to assemble a block from it again.
+   */
+  private record IncrementalSelection(
+      Hash parentHash,
+      long timestamp,
+      Optional<Bytes32> prevRandao,
+      Optional<Bytes32> parentBeaconBlockRoot,
+      Optional<Long> slotNumber,
+      MutableWorldState worldState,
+      BlockTransactionSelector selector,
+      TransactionSelectionResults transactionResults,
+      BlockProcessingContext blockProcessingContext,
+      List<BlockHeader> ommers,
+      Address miningBeneficiary) {
+
+    /**
+     * The selection can be resumed for the same block, as long as it was not interrupted, and
+     * none of the selected transactions was replaced, dropped or invalidated in the meantime,
+     * otherwise selecting again from scratch could give a different block.
+     */
+    boolean canBeResumed(
+        final BlockHeader parentHeader,
+        final long timestamp,
+        final Optional<Bytes32> prevRandao,
+        final Optional<Bytes32> parentBeaconBlockRoot,
+        final Optional<Long> slotNumber,
+        final TransactionPool transactionPool) {
+      return parentHash.equals(parentHeader.getHash())
+          && this.timestamp == timestamp
+          && this.prevRandao.equals(prevRandao)
+          && this.parentBeaconBlockRoot.equals(parentBeaconBlockRoot)
+          && this.slotNumber.equals(slotNumber)
+          && !transactionResults.isTimedOut()
+          && transactionResults.getSelectedTransactions().stream()
+              .allMatch(tx -> transactionPool.getTransactionByHash(tx.getHash()).isPresent());
+    }
+  }
+
   @FunctionalInterface
   public interface MiningBeneficiaryCalculator {
     Address getMiningBeneficiary(long blockTimestamp, ProcessableBlockHeader parentHeader);
@@ -26,6 +26,7 @@ import static org.hyperledger.besu.plugin.data.TransactionSelectionResult.SELECT
 import static org.hyperledger.besu.plugin.data.TransactionSelectionResult.TX_EVALUATION_TOO_LONG;
 
 import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.datatypes.Wei;
 import org.hyperledger.besu.ethereum.blockcreation.txselection.selectors.AbstractTransactionSelector;
 import org.hyperledger.besu.ethereum.blockcreation.txselection.selectors.BlobPriceTransactionSelector;
@@ -53,6 +54,7 @@ import org.hyperledger.besu.ethereum.mainnet.TransactionValidationParams;
 import org.hyperledger.besu.ethereum.mainnet.block.access.list.AccessLocationTracker;
 import org.hyperledger.besu.ethereum.mainnet.block.access.list.BlockAccessList;
 import org.hyperledger.besu.ethereum.mainnet.block.access.list.BlockAccessList.BlockAccessListBuilder;
+import org.hyperledger.besu.ethereum.mainnet.parallelization.ParallelizedTransactionContext;
 import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
 import org.hyperledger.besu.evm.blockhash.BlockHashLookup;
 import org.hyperledger.besu.evm.worldstate.WorldUpdater;
@@ -68,6 +70,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
@@ -100,8 +103,10 @@ import org.slf4j.LoggerFactory;
  *   <li>A list of transactions evaluated but not included in the block being constructed.
  * </ul>
  *
- * Once "used" this class must be discarded and another created. This class contains state which is
- * not cleared between executions of buildTransactionListForBlock().
+ * This class contains state which is not cleared between executions of
+ * buildTransactionListForBlock(), so executing it again resumes the selection on top of the
+ * transactions already selected, and only evaluates the candidate transactions that were not
+ * evaluated yet. Once done with, this class must be discarded and another created.
  */
 @SuppressWarnings("unchecked")
 public class BlockTransactionSelector implements BlockTransactionSelectionService {
@@ -125,11 +130,14 @@ public class BlockTransactionSelector implements BlockTransactionSelectionServic
   private final long blockTxsSelectionMaxTimeNanos;
   private final long pluginTxsSelectionMaxTimeNanos;
   private final Optional<BlockAccessList.BlockAccessListBuilder> maybeBlockAccessListBuilder;
+  private final Optional<SpeculativeTransactionExecutor> maybeSpeculativeExecutor;
+  private ParallelizedTransactionContext speculativeResultToApply;
   private WorldUpdater blockWorldStateUpdater;
   private WorldUpdater txWorldStateUpdater;
   private volatile TransactionEvaluationContext currTxEvaluationContext;
   private final List<PendingAction> selectionPendingActions = new ArrayList<>(1);
   private final AtomicInteger currentTxnLocation = new AtomicInteger(0);
+  private final Set<Hash> evaluatedTransactions = ConcurrentHashMap.newKeySet();
   private volatile TransactionSelectionResult validTxSelectionTimeoutResult;
   private volatile TransactionSelectionResult invalidTxSelectionTimeoutResult;
   private volatile FutureTask<Void> currTxSelectionTask;
@@ -148,7 +156,8 @@ public class BlockTransactionSelector implements BlockTransactionSelectionServic
       final PluginTransactionSelector pluginTransactionSelector,
       final EthScheduler ethScheduler,
       final SelectorsStateManager selectorsStateManager,
-      final Optional<BlockAccessList.BlockAccessListBuilder> maybeBlockAccessListBuilder) {
+      final Optional<BlockAccessList.BlockAccessListBuilder> maybeBlockAccessListBuilder,
+      final Optional<SpeculativeTransactionExecutor> maybeSpeculativeExecutor) {
     this.transactionProcessor = transactionProcessor;
     this.blockchain = blockchain;
     this.worldState = worldState;
@@ -177,6 +186,7 @@ public class BlockTransactionSelector implements BlockTransactionSelectionServic
     this.pluginTxsSelectionMaxTimeNanos =
         miningConfiguration.getPluginTxsSelectionMaxTime(blockTxsSelectionMaxTime).toNanos();
     this.maybeBlockAccessListBuilder = maybeBlockAccessListBuilder;
+    this.maybeSpeculativeExecutor = maybeSpeculativeExecutor;
   }
 
   private List<AbstractTransactionSelector> createTransactionSelectors(
@@ -198,6 +208,9 @@ public class BlockTransactionSelector implements BlockTransactionSelectionServic
    * thread, can be cancelled via the isCancelled supplier, which would result in a
    * CancellationException.
    *
+   * <p>When called again, the transactions already evaluated by a previous call are skipped, and
+   * the ones added to the pool since are evaluated on top of the ones already selected.
+   *
    * @return The {@code TransactionSelectionResults} containing the results of transaction
    *     evaluation.
    */
@@ -212,6 +225,7 @@ public class BlockTransactionSelector implements BlockTransactionSelectionServic
 
   public void cancel() {
     isCancelled.set(true);
+    maybeSpeculativeExecutor.ifPresent(SpeculativeTransactionExecutor::stop);
     if (currTxSelectionTask != null) {
       currTxSelectionTask.cancel(true);
       LOG.debug("Cancelled transaction selection task");
@@ -263,12 +277,27 @@ public class BlockTransactionSelector implements BlockTransactionSelectionServic
                   .addArgument(blockSelectionContext.transactionPool()::logStats)
                   .log();
 
-              for (PendingTransaction candidateTx : candidateTransactions) {
-                final var selectionResult = evaluateTransaction(candidateTx);
-                selectionResults.put(candidateTx, selectionResult);
-                if (selectionResult.stop()) {
-                  break;
+              maybeSpeculativeExecutor.ifPresent(
+                  executor -> executor.start(candidateTransactions));
+              try {
+                for (int i = 0; i < candidateTransactions.size(); i++) {
+                  final PendingTransaction candidateTx = candidateTransactions.get(i);
+                  if (!evaluatedTransactions.add(candidateTx.getHash())) {
+                    // already evaluated on top of the same state by a previous selection
+                    continue;
+                  }
+                  final int candidateIndex = i;
+                  final var speculativeResult =
+                      maybeSpeculativeExecutor.flatMap(
+                          executor -> executor.advanceTo(candidateIndex));
+                  final var selectionResult = evaluateTransaction(candidateTx, speculativeResult);
+                  selectionResults.put(candidateTx, selectionResult);
+                  if (selectionResult.stop()) {
+                    break;
+                  }
                 }
+              } finally {
+                maybeSpeculativeExecutor.ifPresent(SpeculativeTransactionExecutor::stop);
               }
             },
             null);
@@ -291,6 +320,8 @@ public class BlockTransactionSelector implements BlockTransactionSelectionServic
       synchronized (isTimeout) {
         isTimeout.set(true);
       }
+      transactionSelectionResults.setTimedOut();
+      maybeSpeculativeExecutor.ifPresent(SpeculativeTransactionExecutor::stop);
 
       cancelEvaluatingTxWithGraceTime(currTxSelectionTask);
 
@@ -343,6 +374,7 @@ public class BlockTransactionSelector implements BlockTransactionSelectionServic
       synchronized (isTimeout) {
         isTimeout.set(true);
       }
+      transactionSelectionResults.setTimedOut();
 
       // cancelling the task and interrupting the thread running it
       currTxSelectionTask.cancel(true);
@@ -470,10 +502,16 @@ public class BlockTransactionSelector implements BlockTransactionSelectionServic
 
   private TransactionSelectionResult evaluateTransaction(
       final PendingTransaction pendingTransaction) {
+    return evaluateTransaction(pendingTransaction, Optional.empty());
+  }
+
+  private TransactionSelectionResult evaluateTransaction(
+      final PendingTransaction pendingTransaction,
+      final Optional<ParallelizedTransactionContext> speculativeResult) {
 
     TransactionSelectionResult evaluationResult;
     try {
-      evaluationResult = evaluatePendingTransaction(pendingTransaction);
+      evaluationResult = evaluatePendingTransaction(pendingTransaction, speculativeResult);
     } catch (Throwable t) {
       LOG.error("Unhandled exception evaluating transaction {}", pendingTransaction, t);
       evaluationResult = INTERNAL_ERROR;
@@ -499,6 +537,21 @@ public class BlockTransactionSelector implements BlockTransactionSelectionServic
   @Override
   public TransactionSelectionResult evaluatePendingTransaction(
       final org.hyperledger.besu.datatypes.PendingTransaction pendingTransaction) {
+    return evaluatePendingTransaction(pendingTransaction, Optional.empty());
+  }
+
+  /**
+   * Evaluates a pending transaction, reusing the result of its speculative execution, if there is
+   * one and it was not invalidated by the transactions already committed to the block, instead of
+   * executing it again. The state changes of a reused result are only applied on commit.
+   *
+   * @param pendingTransaction The transaction to be evaluated.
+   * @param speculativeResult The result of the speculative execution of the transaction, if any.
+   * @return The result of the transaction evaluation process.
+   */
+  private TransactionSelectionResult evaluatePendingTransaction(
+      final org.hyperledger.besu.datatypes.PendingTransaction pendingTransaction,
+      final Optional<ParallelizedTransactionContext> speculativeResult) {
 
     LOG.atTrace().setMessage("Starting evaluation of {}").addArgument(pendingTransaction).log();
 
@@ -515,8 +568,20 @@ public class BlockTransactionSelector implements BlockTransactionSelectionServic
       return handleTransactionNotSelected(evaluationContext, selectionResult);
     }
 
-    final TransactionProcessingResult processingResult =
-        processTransaction(evaluationContext.getTransaction());
+    final TransactionProcessingResult processingResult;
+    if (speculativeResult.isPresent()
+        && maybeSpeculativeExecutor
+            .get()
+            .canBeApplied(evaluationContext.getTransaction(), speculativeResult.get(), worldState)) {
+      LOG.atTrace()
+          .setMessage("Reusing the speculative execution of {}")
+          .addArgument(pendingTransaction::toTraceLog)
+          .log();
+      speculativeResultToApply = speculativeResult.get();
+      processingResult = speculativeResult.get().transactionProcessingResult();
+    } else {
+      processingResult = processTransaction(evaluationContext.getTransaction());
+    }
 
     txWorldStateUpdater.markTransactionBoundary();
 
@@ -543,6 +608,9 @@ public class BlockTransactionSelector implements BlockTransactionSelectionServic
         for (final var pendingAction : selectionPendingActions) {
           pendingAction.runOnCommit();
         }
+        if (speculativeResultToApply != null) {
+          maybeSpeculativeExecutor.get().apply(speculativeResultToApply, worldState);
+        }
         txWorldStateUpdater.commit();
         blockWorldStateUpdater.commit();
         blockWorldStateUpdater.markTransactionBoundary();
@@ -550,6 +618,7 @@ public class BlockTransactionSelector implements BlockTransactionSelectionServic
     }
 
     selectionPendingActions.clear();
+    speculativeResultToApply = null;
     blockWorldStateUpdater = worldState.updater();
     txWorldStateUpdater = blockWorldStateUpdater.updater();
 
@@ -562,6 +631,7 @@ public class BlockTransactionSelector implements BlockTransactionSelectionServic
       pendingAction.runOnRollback();
     }
     selectionPendingActions.clear();
+    speculativeResultToApply = null;
     selectorsStateManager.rollback();
     txWorldStateUpdater = blockWorldStateUpdater.updater();
   }
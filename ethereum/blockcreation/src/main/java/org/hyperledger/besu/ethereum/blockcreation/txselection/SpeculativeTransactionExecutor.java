@@ -0,0 +1,362 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.blockcreation.txselection;
+
+import static org.hyperledger.besu.ethereum.trie.pathbased.common.provider.WorldStateQueryParams.withBlockHeaderAndNoUpdateNodeHead;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.ProtocolContext;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.MutableWorldState;
+import org.hyperledger.besu.ethereum.core.ProcessableBlockHeader;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
+import org.hyperledger.besu.ethereum.eth.transactions.PendingTransaction;
+import org.hyperledger.besu.ethereum.mainnet.MainnetTransactionProcessor;
+import org.hyperledger.besu.ethereum.mainnet.ProtocolSpec;
+import org.hyperledger.besu.ethereum.mainnet.TransactionValidationParams;
+import org.hyperledger.besu.ethereum.mainnet.parallelization.ParallelBlockTransactionProcessor;
+import org.hyperledger.besu.ethereum.mainnet.parallelization.ParallelizedTransactionContext;
+import org.hyperledger.besu.ethereum.mainnet.parallelization.TransactionCollisionDetector;
+import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
+import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.worldview.BonsaiWorldState;
+import org.hyperledger.besu.ethereum.trie.pathbased.common.worldview.PathBasedWorldState;
+import org.hyperledger.besu.ethereum.trie.pathbased.common.worldview.accumulator.PathBasedWorldStateUpdateAccumulator;
+import org.hyperledger.besu.evm.frame.MessageFrame;
+import org.hyperledger.besu.evm.tracing.OperationTracer;
+import org.hyperledger.besu.evm.worldstate.WorldUpdater;
+import org.hyperledger.besu.evm.worldstate.WorldView;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.common.annotations.VisibleForTesting;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executes the next candidate transactions of a block selection speculatively, in parallel on the
+ * computation executor, so the sequential selection can reuse their results instead of executing
+ * them again.
+ *
+ * <p>Each speculative execution runs on its own copy of the parent world state, since the
+ * accumulator of the block under construction is not thread safe. Before a result is reused, the
+ * {@link TransactionCollisionDetector} checks that none of the accounts and slots the transaction
+ * touched was modified by what was already committed to the block, in which case the transaction
+ * is executed again sequentially. Only successful executions are kept, all the others are executed
+ * again sequentially to keep the selection identical to the one without speculation.
+ *
+ * <p>Every speculative execution has its own cancellation flag, polled before each operation, so a
+ * single execution can be stopped when the sequential selection overtakes it, and all of them when
+ * the selection ends.
+ */
+@SuppressWarnings({"unchecked", "rawtypes"})
+public class SpeculativeTransactionExecutor {
+  private static final Logger LOG = LoggerFactory.getLogger(SpeculativeTransactionExecutor.class);
+
+  private final ProtocolContext protocolContext;
+  private final ProtocolSpec protocolSpec;
+  private final BlockHeader parentHeader;
+  private final ProcessableBlockHeader pendingBlockHeader;
+  private final Address miningBeneficiary;
+  private final Wei blobGasPrice;
+  private final EthScheduler ethScheduler;
+  private final int window;
+  private final TransactionCollisionDetector transactionCollisionDetector =
+      new TransactionCollisionDetector();
+  private final AtomicBoolean stopped = new AtomicBoolean(false);
+  private final AtomicInteger reusedCount = new AtomicInteger();
+  private final AtomicInteger collisionCount = new AtomicInteger();
+  private volatile List<PendingTransaction> candidateTransactions = List.of();
+  private volatile SpeculativeExecution[] executions = new SpeculativeExecution[0];
+  private int nextToSchedule;
+
+  /**
+   * Creates an executor for the selection of the transactions of one block.
+   *
+   * @param protocolContext the protocol context, to get the parent world state
+   * @param protocolSpec the protocol spec of the block under construction
+   * @param parentHeader the header of the parent block
+   * @param pendingBlockHeader the header of the block under construction
+   * @param miningBeneficiary the mining beneficiary of the block under construction
+   * @param blobGasPrice the blob gas price of the block under construction
+   * @param ethScheduler the scheduler whose computation executor runs the speculative executions
+   * @param window how many candidates ahead of the one being evaluated are executed speculatively
+   */
+  public SpeculativeTransactionExecutor(
+      final ProtocolContext protocolContext,
+      final ProtocolSpec protocolSpec,
+      final BlockHeader parentHeader,
+      final ProcessableBlockHeader pendingBlockHeader,
+      final Address miningBeneficiary,
+      final Wei blobGasPrice,
+      final EthScheduler ethScheduler,
+      final int window) {
+    this.protocolContext = protocolContext;
+    this.protocolSpec = protocolSpec;
+    this.parentHeader = parentHeader;
+    this.pendingBlockHeader = pendingBlockHeader;
+    this.miningBeneficiary = miningBeneficiary;
+    this.blobGasPrice = blobGasPrice;
+    this.ethScheduler = ethScheduler;
+    this.window = window;
+  }
+
+  /**
+   * Starts the speculation over a new list of candidate transactions, in priority order.
+   *
+   * @param candidateTransactions the candidate transactions in the order they are evaluated
+   */
+  void start(final List<PendingTransaction> candidateTransactions) {
+    this.candidateTransactions = candidateTransactions;
+    this.executions = new SpeculativeExecution[candidateTransactions.size()];
+    this.nextToSchedule = 0;
+  }
+
+  /**
+   * Schedules the speculative execution of the candidates that follow the one at the specified
+   * index, up to the window size, and returns the speculative result of the candidate at the index
+   * if it is already available. A speculative execution that is still running is cancelled, since
+   * the sequential selection is going to execute the transaction anyway.
+   *
+   * @param index the index of the candidate about to be evaluated
+   * @return the speculative result of the candidate, if available
+   */
+  Optional<ParallelizedTransactionContext> advanceTo(final int index) {
+    final var currExecutions = executions;
+    final var currCandidates = candidateTransactions;
+    // the candidate being evaluated is not scheduled, if not already, since it is run sequentially
+    nextToSchedule = Math.max(nextToSchedule, index + 1);
+    final int lastToSchedule = Math.min(index + window, currCandidates.size() - 1);
+    while (!stopped.get() && nextToSchedule <= lastToSchedule) {
+      final Transaction transaction =
+          (Transaction) currCandidates.get(nextToSchedule).getTransaction();
+      final AtomicBoolean cancelled = new AtomicBoolean(false);
+      currExecutions[nextToSchedule] =
+          new SpeculativeExecution(
+              cancelled,
+              ethScheduler.scheduleComputationTask(() -> execute(transaction, cancelled)));
+      nextToSchedule++;
+    }
+
+    final var execution = currExecutions[index];
+    if (execution == null) {
+      return Optional.empty();
+    }
+    currExecutions[index] = null;
+    final var result = execution.result();
+    if (result.isDone() && !result.isCompletedExceptionally()) {
+      return result.join();
+    }
+    execution.cancel();
+    return Optional.empty();
+  }
+
+  /**
+   * Stops all the speculative executions, the ones already running stop at their next operation.
+   */
+  void stop() {
+    if (stopped.getAndSet(true)) {
+      return;
+    }
+    for (final var execution : executions) {
+      if (execution != null) {
+        execution.cancel();
+      }
+    }
+    LOG.atDebug()
+        .setMessage("Speculative transaction execution stopped, reused {}, collided {}")
+        .addArgument(reusedCount::get)
+        .addArgument(collisionCount::get)
+        .log();
+  }
+
+  /**
+   * Checks whether the speculative result of a transaction is still valid on top of what was
+   * already committed to the block under construction.
+   *
+   * @param transaction the transaction
+   * @param speculativeResult the result of its speculative execution
+   * @param worldState the world state of the block under construction
+   * @return true if the result can be applied to the world state of the block
+   */
+  boolean canBeApplied(
+      final Transaction transaction,
+      final ParallelizedTransactionContext speculativeResult,
+      final MutableWorldState worldState) {
+    final boolean hasCollision =
+        transactionCollisionDetector.hasCollision(
+            transaction, miningBeneficiary, speculativeResult, blockAccumulator(worldState));
+    if (hasCollision) {
+      collisionCount.incrementAndGet();
+      return false;
+    }
+    reusedCount.incrementAndGet();
+    return true;
+  }
+
+  /**
+   * Applies the state changes of a speculative result to the world state of the block under
+   * construction, and credits the mining beneficiary with the reward of the transaction.
+   *
+   * @param speculativeResult the result of the speculative execution
+   * @param worldState the world state of the block under construction
+   */
+  void apply(
+      final ParallelizedTransactionContext speculativeResult, final MutableWorldState worldState) {
+    final PathBasedWorldStateUpdateAccumulator blockAccumulator = blockAccumulator(worldState);
+    blockAccumulator.importStateChangesFromSource(speculativeResult.transactionAccumulator());
+    ParallelBlockTransactionProcessor.rewardMiningBeneficiary(
+        blockAccumulator,
+        miningBeneficiary,
+        speculativeResult,
+        protocolSpec.getTransactionProcessor().getClearEmptyAccounts());
+  }
+
+  @VisibleForTesting
+  int getReusedCount() {
+    return reusedCount.get();
+  }
+
+  @VisibleForTesting
+  int getCollisionCount() {
+    return collisionCount.get();
+  }
+
+  private PathBasedWorldStateUpdateAccumulator<?> blockAccumulator(
+      final MutableWorldState worldState) {
+    return ((PathBasedWorldState) worldState).getAccumulator();
+  }
+
+  private Optional<ParallelizedTransactionContext> execute(
+      final Transaction transaction, final AtomicBoolean cancelled) {
+    if (isCancelled(cancelled)) {
+      return Optional.empty();
+    }
+    final Optional<MutableWorldState> maybeWorldState =
+        protocolContext
+            .getWorldStateArchive()
+            .getWorldState(withBlockHeaderAndNoUpdateNodeHead(parentHeader));
+    if (maybeWorldState.isEmpty() || !(maybeWorldState.get() instanceof BonsaiWorldState ws)) {
+      return Optional.empty();
+    }
+    try {
+      ws.disableCacheMerkleTrieLoader();
+      final ParallelizedTransactionContext.Builder contextBuilder =
+          new ParallelizedTransactionContext.Builder();
+      final PathBasedWorldStateUpdateAccumulator<?> roundWorldStateUpdater = ws.updater();
+      final WorldUpdater transactionUpdater = roundWorldStateUpdater.updater();
+      final MainnetTransactionProcessor transactionProcessor =
+          protocolSpec.getTransactionProcessor();
+      final TransactionProcessingResult result =
+          transactionProcessor.processTransaction(
+              transactionUpdater,
+              pendingBlockHeader,
+              transaction.detachedCopy(),
+              miningBeneficiary,
+              new SpeculationTracer(
+                  transaction, cancelled, roundWorldStateUpdater, contextBuilder),
+              protocolSpec
+                  .getPreExecutionProcessor()
+                  .createBlockHashLookup(protocolContext.getBlockchain(), pendingBlockHeader),
+              TransactionValidationParams.mining(),
+              blobGasPrice,
+              Optional.empty());
+
+      if (isCancelled(cancelled) || !result.isSuccessful()) {
+        return Optional.empty();
+      }
+
+      transactionUpdater.commit();
+      roundWorldStateUpdater.commit();
+
+      contextBuilder
+          .transactionAccumulator(ws.getAccumulator())
+          .transactionProcessingResult(result);
+      final ParallelizedTransactionContext context = contextBuilder.build();
+      if (!context.isMiningBeneficiaryTouchedPreRewardByTransaction()) {
+        // the reward is credited when the result is applied, as done for parallel block processing
+        roundWorldStateUpdater.getAccountsToUpdate().remove(miningBeneficiary);
+      }
+      return Optional.of(context);
+    } catch (final Exception e) {
+      LOG.atTrace()
+          .setMessage("Speculative execution of {} failed, it will be executed sequentially")
+          .addArgument(transaction::getHash)
+          .setCause(e)
+          .log();
+      return Optional.empty();
+    } finally {
+      ws.close();
+    }
+  }
+
+  private boolean isCancelled(final AtomicBoolean cancelled) {
+    return cancelled.get() || stopped.get();
+  }
+
+  private record SpeculativeExecution(
+      AtomicBoolean cancelled, CompletableFuture<Optional<ParallelizedTransactionContext>> result) {
+
+    void cancel() {
+      cancelled.set(true);
+    }
+  }
+
+  private class SpeculationTracer implements OperationTracer {
+    private final Transaction transaction;
+    private final AtomicBoolean cancelled;
+    private final PathBasedWorldStateUpdateAccumulator<?> roundWorldStateUpdater;
+    private final ParallelizedTransactionContext.Builder contextBuilder;
+
+    SpeculationTracer(
+        final Transaction transaction,
+        final AtomicBoolean cancelled,
+        final PathBasedWorldStateUpdateAccumulator<?> roundWorldStateUpdater,
+        final ParallelizedTransactionContext.Builder contextBuilder) {
+      this.transaction = transaction;
+      this.cancelled = cancelled;
+      this.roundWorldStateUpdater = roundWorldStateUpdater;
+      this.contextBuilder = contextBuilder;
+    }
+
+    @Override
+    public void tracePreExecution(final MessageFrame frame) {
+      if (isCancelled(cancelled)) {
+        throw new CancellationException("Speculative transaction execution cancelled");
+      }
+    }
+
+    @Override
+    public void traceBeforeRewardTransaction(
+        final WorldView worldView,
+        final org.hyperledger.besu.datatypes.Transaction tx,
+        final Wei miningReward) {
+      // the mining beneficiary is only part of the collision detection if the transaction itself
+      // accessed it, and not only to receive the reward
+      if (transactionCollisionDetector
+          .getAddressesTouchedByTransaction(transaction, Optional.of(roundWorldStateUpdater))
+          .contains(miningBeneficiary)) {
+        contextBuilder.isMiningBeneficiaryTouchedPreRewardByTransaction(true);
+      }
+      contextBuilder.miningBeneficiaryReward(miningReward);
+    }
+  }
+}
@@ -52,6 +52,7 @@ public class TransactionSelectionResults {
   // cumulativeReceiptGasUsed: For receipt cumulativeGasUsed field (always post-refund)
   private long cumulativeGasUsed = 0;
   private long cumulativeReceiptGasUsed = 0;
+  private volatile boolean timedOut = false;
 
   void updateSelected(
       final Transaction transaction,
@@ -104,6 +105,39 @@ public class TransactionSelectionResults {
     return Map.copyOf(notSelectedTransactions);
   }
 
+  void setTimedOut() {
+    timedOut = true;
+  }
+
+  /**
+   * Whether the selection was interrupted for exceeding its max duration, in which case some of
+   * the candidate transactions could have not been evaluated.
+   *
+   * @return true if the selection timed out
+   */
+  public boolean isTimedOut() {
+    return timedOut;
+  }
+
+  /**
+   * Copy of these results, that is not affected by the transactions evaluated afterward when the
+   * selection is resumed.
+   *
+   * @return a copy of these results
+   */
+  public TransactionSelectionResults copy() {
+    final TransactionSelectionResults copy = new TransactionSelectionResults();
+    copy.selectedTransactions.addAll(selectedTransactions);
+    transactionsByType.forEach(
+        (type, txs) -> copy.transactionsByType.put(type, new ArrayList<>(txs)));
+    copy.receipts.addAll(receipts);
+    copy.notSelectedTransactions.putAll(notSelectedTransactions);
+    copy.cumulativeGasUsed = cumulativeGasUsed;
+    copy.cumulativeReceiptGasUsed = cumulativeReceiptGasUsed;
+    copy.timedOut = timedOut;
+    return copy;
+  }
+
   public void logSelectionStats() {
     if (LOG.isDebugEnabled()) {
       final var notSelectedTxs = getNotSelectedTransactions();
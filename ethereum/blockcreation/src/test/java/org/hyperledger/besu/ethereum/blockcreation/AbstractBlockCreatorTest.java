@@ -286,6 +286,10 @@ class AbstractBlockCreatorTest extends TrustedSetupClassLoaderExtension {
   }
 
   private CreateOn blockCreatorWithBlobGasSupport() {
+    return blockCreatorWithBlobGasSupport(false);
+  }
+
+  private CreateOn blockCreatorWithBlobGasSupport(final boolean incrementalSelectionEnabled) {
     final var alwaysValidTransactionValidatorFactory = mock(TransactionValidatorFactory.class);
     when(alwaysValidTransactionValidatorFactory.get())
         .thenReturn(new AlwaysValidTransactionValidator());
@@ -299,7 +303,7 @@ class AbstractBlockCreatorTest extends TrustedSetupClassLoaderExtension {
                   (evm, gasLimitCalculator, feeMarket) -> alwaysValidTransactionValidatorFactory);
               return specBuilder;
             });
-    return createBlockCreator(protocolSpecAdapters);
+    return createBlockCreator(protocolSpecAdapters, incrementalSelectionEnabled);
   }
 
   private CreateOn blockCreatorWithBalSupport() {
@@ -393,6 +397,85 @@ class AbstractBlockCreatorTest extends TrustedSetupClassLoaderExtension {
     assertThat(maybeBlockAccessList).isEmpty();
   }
 
+  @Test
+  public void resumesThePreviousSelectionWithTheNewTransactions() {
+    final CreateOn miningOn = blockCreatorWithBlobGasSupport(true);
+    final Transaction tx1 = transferTransaction(accounts.get(1), Wei.of(1000));
+    final Transaction tx2 = transferTransaction(accounts.get(2), Wei.of(1000));
+
+    assertThat(miningOn.transactionPool.addTransactionViaApi(tx1).isValid()).isTrue();
+    final BlockCreationResult firstResult = createBlockFromPool(miningOn);
+    assertThat(miningOn.transactionPool.addTransactionViaApi(tx2).isValid()).isTrue();
+    final BlockCreationResult secondResult = createBlockFromPool(miningOn);
+
+    assertThat(firstResult.getBlock().getBody().getTransactions()).containsExactly(tx1);
+    assertThat(secondResult.getBlock().getBody().getTransactions()).containsExactly(tx1, tx2);
+    // tx1 is not evaluated again on top of the state where it is already executed
+    assertThat(secondResult.getTransactionSelectionResults().getNotSelectedTransactions())
+        .isEmpty();
+
+    final BlockCreationResult fromScratchResult =
+        blockCreatorWithBlobGasSupport()
+            .blockCreator
+            .createBlock(
+                Optional.of(List.of(tx1, tx2)),
+                Optional.empty(),
+                Optional.empty(),
+                Optional.empty(),
+                Optional.empty(),
+                Optional.empty(),
+                1L,
+                false,
+                miningOn.parentHeader);
+    final BlockHeader header = secondResult.getBlock().getHeader();
+    final BlockHeader fromScratchHeader = fromScratchResult.getBlock().getHeader();
+    assertThat(header.getStateRoot()).isEqualTo(fromScratchHeader.getStateRoot());
+    assertThat(header.getReceiptsRoot()).isEqualTo(fromScratchHeader.getReceiptsRoot());
+    assertThat(header.getGasUsed()).isEqualTo(fromScratchHeader.getGasUsed());
+  }
+
+  @Test
+  public void selectsFromScratchWhenASelectedTransactionIsReplaced() {
+    final CreateOn miningOn = blockCreatorWithBlobGasSupport(true);
+    final Transaction tx = transferTransaction(accounts.get(1), Wei.of(1000));
+    final Transaction replacementTx = transferTransaction(accounts.get(1), Wei.of(2000));
+
+    assertThat(miningOn.transactionPool.addTransactionViaApi(tx).isValid()).isTrue();
+    final BlockCreationResult firstResult = createBlockFromPool(miningOn);
+    assertThat(miningOn.transactionPool.addTransactionViaApi(replacementTx).isValid()).isTrue();
+    final BlockCreationResult secondResult = createBlockFromPool(miningOn);
+
+    assertThat(firstResult.getBlock().getBody().getTransactions()).containsExactly(tx);
+    assertThat(secondResult.getBlock().getBody().getTransactions()).containsExactly(replacementTx);
+  }
+
+  private Transaction transferTransaction(final GenesisAccount sender, final Wei gasPrice) {
+    final KeyPair keyPair =
+        SIGNATURE_ALGORITHM.createKeyPair(SECPPrivateKey.create(sender.privateKey(), "ECDSA"));
+    return new TransactionTestFixture()
+        .sender(sender.address())
+        .to(Optional.of(accounts.get(0).address()))
+        .value(Wei.ONE)
+        .gasLimit(21_000L)
+        .gasPrice(gasPrice)
+        .nonce(sender.nonce())
+        .chainId(Optional.of(BigInteger.valueOf(42)))
+        .createTransaction(keyPair);
+  }
+
+  private BlockCreationResult createBlockFromPool(final CreateOn miningOn) {
+    return miningOn.blockCreator.createBlock(
+        Optional.empty(),
+        Optional.empty(),
+        Optional.empty(),
+        Optional.empty(),
+        Optional.empty(),
+        Optional.empty(),
+        1L,
+        false,
+        miningOn.parentHeader);
+  }
+
   private CreateOn blockCreatorWithWithdrawalsProcessor() {
     final ProtocolSpecAdapters protocolSpecAdapters =
         ProtocolSpecAdapters.create(
@@ -406,9 +489,17 @@ class AbstractBlockCreatorTest extends TrustedSetupClassLoaderExtension {
     return createBlockCreator(protocolSpecAdapters);
   }
 
-  record CreateOn(AbstractBlockCreator blockCreator, BlockHeader parentHeader) {}
+  record CreateOn(
+      AbstractBlockCreator blockCreator,
+      BlockHeader parentHeader,
+      TransactionPool transactionPool) {}
 
   private CreateOn createBlockCreator(final ProtocolSpecAdapters protocolSpecAdapters) {
+    return createBlockCreator(protocolSpecAdapters, false);
+  }
+
+  private CreateOn createBlockCreator(
+      final ProtocolSpecAdapters protocolSpecAdapters, final boolean incrementalSelectionEnabled) {
 
     final ExecutionContextTestFixture executionContextTestFixture =
         ExecutionContextTestFixture.builder(genesisConfig)
@@ -473,11 +564,14 @@ class AbstractBlockCreatorTest extends TrustedSetupClassLoaderExtension {
             transactionPool,
             executionContextTestFixture.getProtocolContext(),
             executionContextTestFixture.getProtocolSchedule(),
-            ethScheduler),
-        parentHeader);
+            ethScheduler,
+            incrementalSelectionEnabled),
+        parentHeader,
+        transactionPool);
   }
 
   static class TestBlockCreator extends AbstractBlockCreator {
+    private final boolean incrementalSelectionEnabled;
 
     protected TestBlockCreator(
         final MiningConfiguration miningConfiguration,
@@ -486,7 +580,8 @@ class AbstractBlockCreatorTest extends TrustedSetupClassLoaderExtension {
         final TransactionPool transactionPool,
         final ProtocolContext protocolContext,
         final ProtocolSchedule protocolSchedule,
-        final EthScheduler ethScheduler) {
+        final EthScheduler ethScheduler,
+        final boolean incrementalSelectionEnabled) {
       super(
           miningConfiguration,
           miningBeneficiaryCalculator,
@@ -495,6 +590,12 @@ class AbstractBlockCreatorTest extends TrustedSetupClassLoaderExtension {
           protocolContext,
           protocolSchedule,
           ethScheduler);
+      this.incrementalSelectionEnabled = incrementalSelectionEnabled;
+    }
+
+    @Override
+    protected boolean isIncrementalSelectionEnabled() {
+      return incrementalSelectionEnabled;
     }
 
     @Override
@@ -0,0 +1,461 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.blockcreation.txselection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hyperledger.besu.ethereum.trie.pathbased.common.provider.WorldStateQueryParams.withBlockHeaderAndNoUpdateNodeHead;
+import static org.hyperledger.besu.plugin.data.TransactionSelectionResult.SELECTED;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.config.GenesisConfig;
+import org.hyperledger.besu.crypto.KeyPair;
+import org.hyperledger.besu.crypto.SignatureAlgorithm;
+import org.hyperledger.besu.crypto.SignatureAlgorithmFactory;
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.ProtocolContext;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.BlockHeaderBuilder;
+import org.hyperledger.besu.ethereum.core.Difficulty;
+import org.hyperledger.besu.ethereum.core.ExecutionContextTestFixture;
+import org.hyperledger.besu.ethereum.core.ImmutableMiningConfiguration;
+import org.hyperledger.besu.ethereum.core.ImmutableMiningConfiguration.MutableInitValues;
+import org.hyperledger.besu.ethereum.core.MiningConfiguration;
+import org.hyperledger.besu.ethereum.core.MutableWorldState;
+import org.hyperledger.besu.ethereum.core.ProcessableBlockHeader;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
+import org.hyperledger.besu.ethereum.eth.transactions.PendingTransaction;
+import org.hyperledger.besu.ethereum.eth.transactions.PendingTransactions.PendingTransactionsSelector;
+import org.hyperledger.besu.ethereum.eth.transactions.TransactionPool;
+import org.hyperledger.besu.ethereum.mainnet.ProtocolSpec;
+import org.hyperledger.besu.ethereum.mainnet.parallelization.ParallelizedTransactionContext;
+import org.hyperledger.besu.plugin.data.TransactionProcessingResult;
+import org.hyperledger.besu.plugin.data.TransactionSelectionResult;
+import org.hyperledger.besu.plugin.services.storage.DataStorageFormat;
+import org.hyperledger.besu.plugin.services.txselection.PluginTransactionSelector;
+import org.hyperledger.besu.plugin.services.txselection.SelectorsStateManager;
+import org.hyperledger.besu.plugin.services.txselection.TransactionEvaluationContext;
+import org.hyperledger.besu.services.TransactionSelectionServiceImpl;
+import org.hyperledger.besu.util.number.PositiveNumber;
+
+import java.math.BigInteger;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class BlockTransactionSelectorSpeculationTest {
+  private static final SignatureAlgorithm SIGNATURE_ALGORITHM =
+      SignatureAlgorithmFactory.getInstance();
+  private static final BigInteger CHAIN_ID = BigInteger.valueOf(42);
+  private static final KeyPair SENDER1 = keyPair(1);
+  private static final KeyPair SENDER2 = keyPair(2);
+  private static final KeyPair SENDER3 = keyPair(3);
+  private static final Address RECIPIENT1 = Address.fromHexString("0x1001");
+  private static final Address RECIPIENT2 = Address.fromHexString("0x1002");
+  private static final Address RECIPIENT3 = Address.fromHexString("0x1003");
+  private static final Address REVERTING_CONTRACT = Address.fromHexString("0x1000");
+  private static final Address MINING_BENEFICIARY = Address.fromHexString("0xbeef");
+  private static final long SELECTION_MAX_TIME_MILLIS = 5_000;
+
+  private ProtocolContext protocolContext;
+  private BlockHeader parentHeader;
+  private ProtocolSpec protocolSpec;
+  private ProcessableBlockHeader pendingBlockHeader;
+  private final List<MutableWorldState> worldStates = new CopyOnWriteArrayList<>();
+  private final List<CompletableFuture<Optional<ParallelizedTransactionContext>>>
+      speculativeExecutions = new CopyOnWriteArrayList<>();
+  private final CompletableFuture<Void> releaseSpeculativeExecutions = new CompletableFuture<>();
+  private boolean holdSpeculativeExecutions;
+
+  @Mock private EthScheduler ethScheduler;
+  @Mock private TransactionPool transactionPool;
+
+  @BeforeEach
+  void setup() {
+    final ExecutionContextTestFixture executionContext =
+        ExecutionContextTestFixture.builder(
+                GenesisConfig.fromResource("/block-transaction-selector/speculation-genesis.json"))
+            .dataStorageFormat(DataStorageFormat.BONSAI)
+            .build();
+    protocolContext = executionContext.getProtocolContext();
+    parentHeader = executionContext.getGenesis().getHeader();
+    protocolSpec = executionContext.getProtocolSchedule().getByBlockHeader(parentHeader);
+    pendingBlockHeader =
+        BlockHeaderBuilder.create()
+            .parentHash(parentHeader.getHash())
+            .coinbase(MINING_BENEFICIARY)
+            .difficulty(Difficulty.ONE)
+            .number(parentHeader.getNumber() + 1)
+            .gasLimit(parentHeader.getGasLimit())
+            .timestamp(parentHeader.getTimestamp() + 1)
+            .baseFee(Wei.ONE)
+            .buildProcessableBlockHeader();
+
+    when(ethScheduler.scheduleBlockCreationTask(anyLong(), any(Runnable.class)))
+        .thenAnswer(invocation -> CompletableFuture.runAsync(invocation.getArgument(1)));
+    when(ethScheduler.scheduleFutureTask(any(Runnable.class), any(Duration.class)))
+        .thenAnswer(
+            invocation -> {
+              final Duration delay = invocation.getArgument(1);
+              CompletableFuture.delayedExecutor(delay.toMillis(), TimeUnit.MILLISECONDS)
+                  .execute(invocation.getArgument(0));
+              return null;
+            });
+    when(ethScheduler.scheduleComputationTask(any()))
+        .thenAnswer(
+            invocation -> {
+              final Supplier<Optional<ParallelizedTransactionContext>> computation =
+                  invocation.getArgument(0);
+              // speculative executions complete before the selection reaches them, unless held
+              final var speculativeExecution =
+                  holdSpeculativeExecutions
+                      ? releaseSpeculativeExecutions.thenApplyAsync(unused -> computation.get())
+                      : CompletableFuture.completedFuture(computation.get());
+              speculativeExecutions.add(speculativeExecution);
+              return speculativeExecution;
+            });
+  }
+
+  @AfterEach
+  void closeWorldStates() throws Exception {
+    releaseSpeculativeExecutions.complete(null);
+    for (final var worldState : worldStates) {
+      worldState.close();
+    }
+  }
+
+  @Test
+  void speculativeResultIsReusedWhenNotInvalidatedByTheBlock() {
+    final List<Transaction> transactions =
+        List.of(
+            transfer(SENDER1, RECIPIENT1),
+            transfer(SENDER2, RECIPIENT2),
+            transfer(SENDER3, RECIPIENT3));
+    final SpeculativeTransactionExecutor speculativeExecutor = createSpeculativeExecutor(2);
+    final MutableWorldState worldState = blockWorldState();
+
+    final TransactionSelectionResults results =
+        select(worldState, transactions, Optional.of(speculativeExecutor));
+
+    assertThat(results.getSelectedTransactions()).containsExactlyElementsOf(transactions);
+    assertThat(speculativeExecutor.getReusedCount()).isEqualTo(2);
+    assertThat(speculativeExecutor.getCollisionCount()).isZero();
+    assertThat(worldState.frontierRootHash()).isEqualTo(selectSequentially(transactions));
+  }
+
+  @Test
+  void collidingSpeculativeResultIsExecutedAgainSequentially() {
+    final List<Transaction> transactions =
+        List.of(transfer(SENDER1, RECIPIENT1), transfer(SENDER2, RECIPIENT1));
+    final SpeculativeTransactionExecutor speculativeExecutor = createSpeculativeExecutor(1);
+    final MutableWorldState worldState = blockWorldState();
+
+    final TransactionSelectionResults results =
+        select(worldState, transactions, Optional.of(speculativeExecutor));
+
+    assertThat(results.getSelectedTransactions()).containsExactlyElementsOf(transactions);
+    assertThat(speculativeExecutor.getReusedCount()).isZero();
+    assertThat(speculativeExecutor.getCollisionCount()).isEqualTo(1);
+    assertThat(worldState.get(RECIPIENT1).getBalance()).isEqualTo(Wei.of(2_000));
+    assertThat(worldState.frontierRootHash()).isEqualTo(selectSequentially(transactions));
+  }
+
+  @Test
+  void revertedSpeculativeExecutionIsExecutedAgainSequentially() {
+    final Transaction revertedTransaction =
+        transaction(SENDER2, REVERTING_CONTRACT, Wei.ZERO, 50_000);
+    final List<Transaction> transactions =
+        List.of(transfer(SENDER1, RECIPIENT1), revertedTransaction);
+    final SpeculativeTransactionExecutor speculativeExecutor = createSpeculativeExecutor(1);
+    final MutableWorldState worldState = blockWorldState();
+
+    final TransactionSelectionResults results =
+        select(worldState, transactions, Optional.of(speculativeExecutor));
+
+    assertThat(speculativeExecutions).hasSize(1);
+    assertThat(speculativeExecutions.get(0).join()).isEmpty();
+    assertThat(results.getSelectedTransactions()).containsExactlyElementsOf(transactions);
+    assertThat(results.getReceipts().get(1).getStatus()).isZero();
+    assertThat(speculativeExecutor.getReusedCount()).isZero();
+    assertThat(speculativeExecutor.getCollisionCount()).isZero();
+    assertThat(worldState.frontierRootHash()).isEqualTo(selectSequentially(transactions));
+  }
+
+  @Test
+  void runningSpeculativeExecutionIsCancelledWhenTheSelectionReachesIt() {
+    holdSpeculativeExecutions = true;
+    final List<Transaction> transactions =
+        List.of(transfer(SENDER1, RECIPIENT1), transfer(SENDER2, RECIPIENT2));
+    final SpeculativeTransactionExecutor speculativeExecutor = createSpeculativeExecutor(1);
+    final MutableWorldState worldState = blockWorldState();
+    // complete the speculative execution when the selection reaches its transaction, but before
+    // the end of the selection stops all the others
+    final AtomicReference<Optional<ParallelizedTransactionContext>> speculativeResult =
+        new AtomicReference<>();
+    final BlockTransactionSelector selector =
+        createSelector(
+            worldState,
+            onEvaluation(
+                1,
+                () -> {
+                  releaseSpeculativeExecutions.complete(null);
+                  speculativeResult.set(speculativeExecutions.get(0).join());
+                }),
+            Optional.of(speculativeExecutor));
+
+    final TransactionSelectionResults results = select(selector, transactions);
+
+    assertThat(speculativeExecutions).hasSize(1);
+    assertThat(speculativeResult.get()).isEmpty();
+    assertThat(results.getSelectedTransactions()).containsExactlyElementsOf(transactions);
+    assertThat(speculativeExecutor.getReusedCount()).isZero();
+    assertThat(worldState.frontierRootHash()).isEqualTo(selectSequentially(transactions));
+  }
+
+  @Test
+  void speculativeExecutionsAreCancelledWhenTheSelectionIsCancelled() {
+    holdSpeculativeExecutions = true;
+    final List<Transaction> transactions =
+        List.of(
+            transfer(SENDER1, RECIPIENT1),
+            transfer(SENDER2, RECIPIENT2),
+            transfer(SENDER3, RECIPIENT3));
+    final SpeculativeTransactionExecutor speculativeExecutor = createSpeculativeExecutor(2);
+    final AtomicReference<BlockTransactionSelector> selector = new AtomicReference<>();
+    selector.set(
+        createSelector(
+            blockWorldState(),
+            onEvaluation(0, () -> selector.get().cancel()),
+            Optional.of(speculativeExecutor)));
+
+    select(selector.get(), transactions);
+    releaseSpeculativeExecutions.complete(null);
+
+    assertThat(speculativeExecutions).hasSize(2);
+    assertThat(speculativeExecutions)
+        .allSatisfy(execution -> assertThat(execution.join()).isEmpty());
+  }
+
+  @Test
+  void speculativeExecutionsAreCancelledWhenTheSelectionTimesOut() {
+    holdSpeculativeExecutions = true;
+    final List<Transaction> transactions =
+        List.of(
+            transfer(SENDER1, RECIPIENT1),
+            transfer(SENDER2, RECIPIENT2),
+            transfer(SENDER3, RECIPIENT3));
+    final SpeculativeTransactionExecutor speculativeExecutor = createSpeculativeExecutor(2);
+    final BlockTransactionSelector selector =
+        createSelector(
+            blockWorldState(),
+            onEvaluation(
+                0,
+                () -> {
+                  try {
+                    Thread.sleep(SELECTION_MAX_TIME_MILLIS / 10);
+                  } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                  }
+                }),
+            Optional.of(speculativeExecutor),
+            SELECTION_MAX_TIME_MILLIS / 50);
+
+    final TransactionSelectionResults results = select(selector, transactions);
+    releaseSpeculativeExecutions.complete(null);
+
+    assertThat(results.isTimedOut()).isTrue();
+    assertThat(speculativeExecutions).hasSize(2);
+    assertThat(speculativeExecutions)
+        .allSatisfy(execution -> assertThat(execution.join()).isEmpty());
+  }
+
+  @Test
+  void nothingIsExecutedSpeculativelyOnceTheSelectionIsCancelled() {
+    final List<Transaction> transactions =
+        List.of(transfer(SENDER1, RECIPIENT1), transfer(SENDER2, RECIPIENT2));
+    final SpeculativeTransactionExecutor speculativeExecutor = createSpeculativeExecutor(1);
+    final BlockTransactionSelector selector =
+        createSelector(
+            blockWorldState(),
+            PluginTransactionSelector.ACCEPT_ALL,
+            Optional.of(speculativeExecutor));
+
+    selector.cancel();
+    final TransactionSelectionResults results = select(selector, transactions);
+
+    assertThat(results.getSelectedTransactions()).isEmpty();
+    verify(ethScheduler, never()).scheduleComputationTask(any());
+  }
+
+  private Hash selectSequentially(final List<Transaction> transactions) {
+    final MutableWorldState worldState = blockWorldState();
+    final TransactionSelectionResults results = select(worldState, transactions, Optional.empty());
+    assertThat(results.getSelectedTransactions()).containsExactlyElementsOf(transactions);
+    return worldState.frontierRootHash();
+  }
+
+  private TransactionSelectionResults select(
+      final MutableWorldState worldState,
+      final List<Transaction> transactions,
+      final Optional<SpeculativeTransactionExecutor> maybeSpeculativeExecutor) {
+    return select(
+        createSelector(worldState, PluginTransactionSelector.ACCEPT_ALL, maybeSpeculativeExecutor),
+        transactions);
+  }
+
+  private TransactionSelectionResults select(
+      final BlockTransactionSelector selector, final List<Transaction> transactions) {
+    final List<PendingTransaction> candidates =
+        transactions.stream().<PendingTransaction>map(PendingTransaction.Remote::new).toList();
+    doAnswer(
+            invocation -> {
+              final PendingTransactionsSelector pendingTransactionsSelector =
+                  invocation.getArgument(0);
+              pendingTransactionsSelector.evaluatePendingTransactions(candidates);
+              return null;
+            })
+        .when(transactionPool)
+        .selectTransactions(any());
+    return selector.buildTransactionListForBlock();
+  }
+
+  private BlockTransactionSelector createSelector(
+      final MutableWorldState worldState,
+      final PluginTransactionSelector pluginTransactionSelector,
+      final Optional<SpeculativeTransactionExecutor> maybeSpeculativeExecutor) {
+    return createSelector(
+        worldState, pluginTransactionSelector, maybeSpeculativeExecutor, SELECTION_MAX_TIME_MILLIS);
+  }
+
+  private BlockTransactionSelector createSelector(
+      final MutableWorldState worldState,
+      final PluginTransactionSelector pluginTransactionSelector,
+      final Optional<SpeculativeTransactionExecutor> maybeSpeculativeExecutor,
+      final long selectionMaxTimeMillis) {
+    final MiningConfiguration miningConfiguration =
+        ImmutableMiningConfiguration.builder()
+            .mutableInitValues(MutableInitValues.builder().minTransactionGasPrice(Wei.ZERO).build())
+            .transactionSelectionService(new TransactionSelectionServiceImpl())
+            .nonPoaBlockTxsSelectionMaxTime(PositiveNumber.fromInt((int) selectionMaxTimeMillis))
+            .build();
+    return new BlockTransactionSelector(
+        miningConfiguration,
+        protocolSpec.getTransactionProcessor(),
+        protocolContext.getBlockchain(),
+        worldState,
+        transactionPool,
+        pendingBlockHeader,
+        protocolSpec.getTransactionReceiptFactory(),
+        MINING_BENEFICIARY,
+        Wei.ZERO,
+        protocolSpec,
+        pluginTransactionSelector,
+        ethScheduler,
+        new SelectorsStateManager(),
+        Optional.empty(),
+        maybeSpeculativeExecutor);
+  }
+
+  private SpeculativeTransactionExecutor createSpeculativeExecutor(final int window) {
+    return new SpeculativeTransactionExecutor(
+        protocolContext,
+        protocolSpec,
+        parentHeader,
+        pendingBlockHeader,
+        MINING_BENEFICIARY,
+        Wei.ZERO,
+        ethScheduler,
+        window);
+  }
+
+  private MutableWorldState blockWorldState() {
+    final MutableWorldState worldState =
+        protocolContext
+            .getWorldStateArchive()
+            .getWorldState(withBlockHeaderAndNoUpdateNodeHead(parentHeader))
+            .orElseThrow();
+    worldStates.add(worldState);
+    return worldState;
+  }
+
+  private static PluginTransactionSelector onEvaluation(final int index, final Runnable action) {
+    return new PluginTransactionSelector() {
+      private int evaluated;
+
+      @Override
+      public TransactionSelectionResult evaluateTransactionPreProcessing(
+          final TransactionEvaluationContext evaluationContext) {
+        if (evaluated++ == index) {
+          action.run();
+        }
+        return SELECTED;
+      }
+
+      @Override
+      public TransactionSelectionResult evaluateTransactionPostProcessing(
+          final TransactionEvaluationContext evaluationContext,
+          final TransactionProcessingResult processingResult) {
+        return SELECTED;
+      }
+    };
+  }
+
+  private static Transaction transfer(final KeyPair sender, final Address recipient) {
+    return transaction(sender, recipient, Wei.of(1_000), 21_000);
+  }
+
+  private static Transaction transaction(
+      final KeyPair sender, final Address to, final Wei value, final long gasLimit) {
+    return Transaction.builder()
+        .gasLimit(gasLimit)
+        .gasPrice(Wei.of(10))
+        .nonce(0)
+        .payload(Bytes.EMPTY)
+        .to(to)
+        .value(value)
+        .chainId(CHAIN_ID)
+        .guessType()
+        .signAndBuild(sender);
+  }
+
+  private static KeyPair keyPair(final int seed) {
+    final var privateKey = SIGNATURE_ALGORITHM.createPrivateKey(BigInteger.valueOf(seed));
+    return new KeyPair(privateKey, SIGNATURE_ALGORITHM.createPublicKey(privateKey));
+  }
+}
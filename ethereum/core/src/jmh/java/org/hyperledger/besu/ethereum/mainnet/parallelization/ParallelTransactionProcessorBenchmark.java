@@ -0,0 +1,244 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.mainnet.parallelization;
+
+import org.hyperledger.besu.config.GenesisConfig;
+import org.hyperledger.besu.crypto.KeyPair;
+import org.hyperledger.besu.crypto.SECPPrivateKey;
+import org.hyperledger.besu.crypto.SignatureAlgorithm;
+import org.hyperledger.besu.crypto.SignatureAlgorithmFactory;
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.ProtocolContext;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.BlockHeaderTestFixture;
+import org.hyperledger.besu.ethereum.core.ExecutionContextTestFixture;
+import org.hyperledger.besu.ethereum.core.MutableWorldState;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.core.TransactionTestFixture;
+import org.hyperledger.besu.ethereum.mainnet.MainnetTransactionProcessor;
+import org.hyperledger.besu.ethereum.mainnet.TransactionValidationParams;
+import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
+import org.hyperledger.besu.ethereum.trie.pathbased.common.provider.WorldStateQueryParams;
+import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
+import org.hyperledger.besu.evm.blockhash.BlockHashLookup;
+import org.hyperledger.besu.evm.tracing.OperationTracer;
+import org.hyperledger.besu.evm.worldstate.WorldUpdater;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.plugin.services.storage.DataStorageFormat;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Processes a synthetic block with the speculative executor followed by the sequential replay of
+ * the conflicting transactions, with Block-STM, and sequentially as a baseline. A share of the
+ * transactions increment a single storage slot and conflict with each other, the others increment
+ * a slot of their own sender.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(value = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@BenchmarkMode(Mode.AverageTime)
+public class ParallelTransactionProcessorBenchmark {
+
+  private static final int TRANSACTION_COUNT = 500;
+  private static final SignatureAlgorithm SIGNATURE_ALGORITHM =
+      SignatureAlgorithmFactory.getInstance();
+  private static final BigInteger CHAIN_ID = BigInteger.valueOf(1337);
+  private static final Address COINBASE = Address.fromHexString("0xc0");
+  private static final Address SHARED_COUNTER = Address.fromHexString("0x1000");
+  private static final Address SENDER_COUNTERS = Address.fromHexString("0x2000");
+  // slot 0 += 1
+  private static final String SHARED_COUNTER_CODE = "0x60005460010160005500";
+  // slot CALLER += 1
+  private static final String SENDER_COUNTERS_CODE = "0x3354600101335500";
+  private static final BlockHashLookup BLOCK_HASH_LOOKUP = (frame, number) -> Hash.ZERO;
+
+  @Param({"0", "10", "50", "100"})
+  private int conflictPercent;
+
+  @Param({"sequential", "speculative", "block-stm"})
+  private String processor;
+
+  private ProtocolContext protocolContext;
+  private WorldStateArchive worldStateArchive;
+  private MainnetTransactionProcessor transactionProcessor;
+  private BlockHeader parentHeader;
+  private BlockHeader blockHeader;
+  private List<Transaction> transactions;
+  private ExecutorService executor;
+
+  @Setup
+  public void setUp() {
+    final List<KeyPair> senders = new ArrayList<>(TRANSACTION_COUNT);
+    final StringBuilder alloc = new StringBuilder();
+    for (int i = 0; i < TRANSACTION_COUNT; i++) {
+      final SECPPrivateKey privateKey =
+          SIGNATURE_ALGORITHM.createPrivateKey(BigInteger.valueOf(i + 1));
+      final KeyPair sender =
+          new KeyPair(privateKey, SIGNATURE_ALGORITHM.createPublicKey(privateKey));
+      senders.add(sender);
+      alloc.append(
+          String.format(
+              "\"%s\": {\"balance\": \"0x3635c9adc5dea00000\"},",
+              Address.extract(sender.getPublicKey())));
+    }
+    alloc.append(
+        String.format(
+            "\"%s\": {\"balance\": \"0x0\", \"code\": \"%s\"},",
+            SHARED_COUNTER,
+            SHARED_COUNTER_CODE));
+    alloc.append(
+        String.format(
+            "\"%s\": {\"balance\": \"0x0\", \"code\": \"%s\"}",
+            SENDER_COUNTERS,
+            SENDER_COUNTERS_CODE));
+    final String genesis =
+        String.format(
+            "{\"config\": {\"chainId\": %s, \"petersburgBlock\": 0},"
+                + " \"difficulty\": \"0x1\", \"gasLimit\": \"0x1c9c380\", \"alloc\": {%s}}",
+            CHAIN_ID,
+            alloc);
+
+    final ExecutionContextTestFixture executionContext =
+        ExecutionContextTestFixture.builder(GenesisConfig.fromConfig(genesis))
+            .dataStorageFormat(DataStorageFormat.BONSAI)
+            .build();
+    protocolContext = executionContext.getProtocolContext();
+    worldStateArchive = executionContext.getStateArchive();
+    parentHeader = executionContext.getGenesis().getHeader();
+    transactionProcessor =
+        executionContext
+            .getProtocolSchedule()
+            .getByBlockHeader(parentHeader)
+            .getTransactionProcessor();
+    blockHeader =
+        new BlockHeaderTestFixture()
+            .parentHash(parentHeader.getHash())
+            .number(parentHeader.getNumber() + 1)
+            .coinbase(COINBASE)
+            .gasLimit(parentHeader.getGasLimit())
+            .buildHeader();
+
+    transactions = new ArrayList<>(TRANSACTION_COUNT);
+    for (int i = 0; i < TRANSACTION_COUNT; i++) {
+      transactions.add(
+          new TransactionTestFixture()
+              .to(Optional.of(i % 100 < conflictPercent ? SHARED_COUNTER : SENDER_COUNTERS))
+              .gasLimit(100_000)
+              .chainId(Optional.of(CHAIN_ID))
+              .createTransaction(senders.get(i)));
+    }
+
+    executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+  }
+
+  @TearDown
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Benchmark
+  public void processBlock(final Blackhole blackhole) throws Exception {
+    try (final MutableWorldState worldState =
+        worldStateArchive
+            .getWorldState(WorldStateQueryParams.withBlockHeaderAndNoUpdateNodeHead(parentHeader))
+            .orElseThrow()) {
+      final Optional<ParallelTransactionProcessor> parallelProcessor = createProcessor();
+      parallelProcessor.ifPresent(
+          p ->
+              p.runAsyncBlock(
+                  protocolContext,
+                  blockHeader,
+                  transactions,
+                  COINBASE,
+                  BLOCK_HASH_LOOKUP,
+                  Wei.ZERO,
+                  executor,
+                  Optional.empty()));
+      for (int i = 0; i < transactions.size(); i++) {
+        final Transaction transaction = transactions.get(i);
+        final int location = i;
+        final TransactionProcessingResult result =
+            parallelProcessor
+                .flatMap(
+                    p ->
+                        p.getProcessingResult(
+                            worldState,
+                            COINBASE,
+                            transaction,
+                            location,
+                            Optional.empty(),
+                            Optional.empty()))
+                .orElseGet(() -> processSequentially(worldState, transaction));
+        blackhole.consume(result);
+      }
+    }
+  }
+
+  private Optional<ParallelTransactionProcessor> createProcessor() {
+    final TransactionSchedulingMetrics schedulingMetrics =
+        new TransactionSchedulingMetrics(new NoOpMetricsSystem());
+    return switch (processor) {
+      case "speculative" ->
+          Optional.of(
+              new ParallelizedConcurrentTransactionProcessor(
+                  transactionProcessor, Optional.empty(), schedulingMetrics));
+      case "block-stm" ->
+          Optional.of(new BlockStmTransactionProcessor(transactionProcessor, schedulingMetrics));
+      default -> Optional.empty();
+    };
+  }
+
+  private TransactionProcessingResult processSequentially(
+      final MutableWorldState worldState, final Transaction transaction) {
+    final WorldUpdater blockUpdater = worldState.updater();
+    final WorldUpdater transactionUpdater = blockUpdater.updater();
+    final TransactionProcessingResult result =
+        transactionProcessor.processTransaction(
+            transactionUpdater,
+            blockHeader,
+            transaction,
+            COINBASE,
+            OperationTracer.NO_TRACING,
+            BLOCK_HASH_LOOKUP,
+            TransactionValidationParams.processingBlock(),
+            Wei.ZERO);
+    transactionUpdater.commit();
+    blockUpdater.commit();
+    return result;
+  }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.vm.operations;
+
+import static org.mockito.Mockito.mock;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.evm.Code;
+import org.hyperledger.besu.evm.EVM;
+import org.hyperledger.besu.evm.MainnetEVMs;
+import org.hyperledger.besu.evm.frame.BlockValues;
+import org.hyperledger.besu.evm.frame.MessageFrame;
+import org.hyperledger.besu.evm.internal.EvmConfiguration;
+import org.hyperledger.besu.evm.internal.EvmConfiguration.OperandStackMode;
+import org.hyperledger.besu.evm.internal.EvmConfiguration.WorldUpdaterMode;
+import org.hyperledger.besu.evm.tracing.OperationTracer;
+import org.hyperledger.besu.evm.worldstate.WorldUpdater;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the regular interpreter loop with basic block execution on contract shaped bytecode: a
+ * counting loop, an arithmetic heavy loop and a solc style function dispatcher.
+ */
+@State(Scope.Thread)
+@Warmup(iterations = 6, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(value = TimeUnit.NANOSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+public class BasicBlockExecutionBenchmark {
+
+  // transfer(address,uint256) selector, which the dispatcher matches last
+  private static final Bytes TRANSFER_CALL_DATA =
+      Bytes.fromHexString("0xa9059cbb" + "00".repeat(64));
+
+  private static final Map<String, String> CONTRACTS =
+      Map.of(
+          // sum = 0; for (i = 10000; i != 0; i--) sum += i;
+          "sumLoop",
+          "0x60006127105b801560165780910190600190036005565b00",
+          // x = 42; for (i = 10000; i != 0; i--) { x ^= x << 13; x ^= x >> 7; x ^= x << 17; }
+          "xorShiftLoop",
+          "0x612710602a5b81156023578060"
+              + "0d1b188060071c188060111b18"
+              + "906001900390600556"
+              + "5b00",
+          // free memory pointer, calldata size check and an eight entry selector table
+          "dispatcher",
+          "0x60806040526004361061006b5760003560e01c"
+              + "806306fdde031461006b578063095ea7b31461006b57806318160ddd1461006b57"
+              + "806323b872dd1461006b578063313ce5671461006b57806370a082311461006b57"
+              + "806395d89b411461006b578063a9059cbb14610070575b600080fd"
+              + "5b600160020180600302900360ff1615505000");
+
+  @Param({"sumLoop", "xorShiftLoop", "dispatcher"})
+  private String contract;
+
+  @Param({"BYTES", "UINT256"})
+  private String operandStackMode;
+
+  private Code code;
+  private EVM regularEvm;
+  private EVM basicBlockEvm;
+
+  @Setup
+  public void setUp() {
+    code = new Code(Bytes.fromHexString(CONTRACTS.get(contract)));
+    regularEvm = createEvm(false);
+    basicBlockEvm = createEvm(true);
+  }
+
+  private EVM createEvm(final boolean basicBlockExecution) {
+    return MainnetEVMs.futureEips(
+        new EvmConfiguration(
+            EvmConfiguration.DEFAULT.jumpDestCacheWeightKB(),
+            WorldUpdaterMode.STACKED,
+            true,
+            OperandStackMode.valueOf(operandStackMode),
+            false,
+            basicBlockExecution,
+            false));
+  }
+
+  private MessageFrame createFrame() {
+    final MessageFrame frame =
+        MessageFrame.builder()
+            .worldUpdater(mock(WorldUpdater.class))
+            .originator(Address.ZERO)
+            .gasPrice(Wei.ONE)
+            .blobGasPrice(Wei.ONE)
+            .blockValues(mock(BlockValues.class))
+            .miningBeneficiary(Address.ZERO)
+            .blockHashLookup((__, ___) -> Hash.ZERO)
+            .type(MessageFrame.Type.MESSAGE_CALL)
+            .initialGas(Long.MAX_VALUE)
+            .address(Address.ZERO)
+            .contract(Address.ZERO)
+            .inputData(TRANSFER_CALL_DATA)
+            .sender(Address.ZERO)
+            .value(Wei.ZERO)
+            .apparentValue(Wei.ZERO)
+            .code(code)
+            .operandStackMode(OperandStackMode.valueOf(operandStackMode))
+            .completer(__ -> {})
+            .build();
+    frame.setState(MessageFrame.State.CODE_EXECUTING);
+    return frame;
+  }
+
+  @Benchmark
+  public MessageFrame regular() {
+    final MessageFrame frame = createFrame();
+    regularEvm.runToHalt(frame, OperationTracer.NO_TRACING);
+    return frame;
+  }
+
+  @Benchmark
+  public MessageFrame basicBlocks() {
+    final MessageFrame frame = createFrame();
+    basicBlockEvm.runToHalt(frame, OperationTracer.NO_TRACING);
+    return frame;
+  }
+}
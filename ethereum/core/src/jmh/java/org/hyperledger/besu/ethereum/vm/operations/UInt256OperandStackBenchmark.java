@@ -0,0 +1,116 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.vm.operations;
+
+import org.hyperledger.besu.evm.frame.MessageFrame;
+import org.hyperledger.besu.evm.internal.OperandStack;
+import org.hyperledger.besu.evm.internal.UInt256OperandStack;
+import org.hyperledger.besu.evm.operation.AddOperationOptimized;
+import org.hyperledger.besu.evm.operation.DupOperation;
+import org.hyperledger.besu.evm.operation.SwapOperation;
+import org.hyperledger.besu.evm.operation.UInt256StackOperations;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the {@code Bytes} backed {@link OperandStack} with the limb backed {@link
+ * UInt256OperandStack} on the same workloads.
+ */
+@State(Scope.Thread)
+@Warmup(iterations = 6, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(value = TimeUnit.NANOSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+public class UInt256OperandStackBenchmark {
+  private static final int OPERATIONS_PER_INVOCATION = 1000;
+
+  @Param({"6", "15", "34", "100", "234", "500", "800", "1024"})
+  private int stackDepth;
+
+  private static final Bytes BYTES =
+      Bytes.fromHexString("0x3232323232323232323232323232323232323232323232323232323232323232");
+
+  private MessageFrame bytesFrame;
+  private UInt256OperandStack uint256Stack;
+
+  @Setup(Level.Iteration)
+  public void setUp() {
+    bytesFrame = BenchmarkHelper.createMessageCallFrame();
+    uint256Stack = new UInt256OperandStack(MessageFrame.DEFAULT_MAX_STACK_SIZE);
+    for (int i = 0; i < 16; i++) {
+      bytesFrame.pushStackItem(BYTES);
+      uint256Stack.push(BYTES);
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(OPERATIONS_PER_INVOCATION)
+  public void fillUpBytes() {
+    for (int i = 0; i < OPERATIONS_PER_INVOCATION; i++) {
+      OperandStack stack = new OperandStack(MessageFrame.DEFAULT_MAX_STACK_SIZE);
+      for (int j = 0; j < stackDepth; j++) {
+        stack.push(BYTES);
+      }
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(OPERATIONS_PER_INVOCATION)
+  public void fillUpUInt256() {
+    for (int i = 0; i < OPERATIONS_PER_INVOCATION; i++) {
+      UInt256OperandStack stack = new UInt256OperandStack(MessageFrame.DEFAULT_MAX_STACK_SIZE);
+      for (int j = 0; j < stackDepth; j++) {
+        stack.pushLong(j);
+      }
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(OPERATIONS_PER_INVOCATION)
+  public void dupAddBytes(final Blackhole blackhole) {
+    for (int i = 0; i < OPERATIONS_PER_INVOCATION; i++) {
+      DupOperation.staticOperation(bytesFrame, 2);
+      blackhole.consume(AddOperationOptimized.staticOperation(bytesFrame));
+      SwapOperation.staticOperation(bytesFrame, 1);
+      bytesFrame.popStackItem();
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(OPERATIONS_PER_INVOCATION)
+  public void dupAddUInt256(final Blackhole blackhole) {
+    for (int i = 0; i < OPERATIONS_PER_INVOCATION; i++) {
+      UInt256StackOperations.dup(uint256Stack, 2);
+      blackhole.consume(UInt256StackOperations.add(uint256Stack));
+      UInt256StackOperations.swap(uint256Stack, 1);
+      uint256Stack.drop();
+    }
+  }
+}
@@ -382,6 +382,7 @@ public abstract class MiningConfiguration {
     long DEFAULT_POS_BLOCK_CREATION_REPETITION_MIN_DURATION = Duration.ofMillis(500).toMillis();
     long DEFAULT_POS_BLOCK_FINALIZATION_TIMEOUT_MS = 800L;
     Integer DEFAULT_POS_SLOT_DURATION_SECS = 12;
+    int DEFAULT_BLOCK_TXS_SELECTION_SPECULATIVE_WINDOW = 0;
 
     MiningConfiguration.Unstable DEFAULT = ImmutableMiningConfiguration.Unstable.builder().build();
 
@@ -424,5 +425,10 @@ public abstract class MiningConfiguration {
     default long getPosBlockFinalizationTimeoutMs() {
       return DEFAULT_POS_BLOCK_FINALIZATION_TIMEOUT_MS;
     }
+
+    @Value.Default
+    default int getBlockTxsSelectionSpeculativeWindow() {
+      return DEFAULT_BLOCK_TXS_SELECTION_SPECULATIVE_WINDOW;
+    }
   }
 }
@@ -42,6 +42,15 @@ public interface BalConfiguration {
     return true;
   }
 
+  /**
+   * Returns whether blocks without a usable BAL are executed in parallel with Block-STM instead of
+   * the speculative executor.
+   */
+  @Value.Default
+  default boolean isBlockStmEnabled() {
+    return false;
+  }
+
   /**
    * Returns whether mismatches between BAL and synchronously computed state roots should only log
    * an error instead of throwing an exception.
@@ -192,6 +192,7 @@ public abstract class MainnetProtocolSpecs {
                     .clearEmptyAccounts(false)
                     .warmCoinbase(false)
                     .maxStackSize(evmConfiguration.evmStackSize())
+                    .operandStackMode(evmConfiguration.operandStackMode())
                     .feeMarket(FeeMarket.legacy())
                     .coinbaseFeePriceCalculator(CoinbaseFeePriceCalculator.frontier())
                     .build())
@@ -404,6 +405,7 @@ public abstract class MainnetProtocolSpecs {
                     .clearEmptyAccounts(true)
                     .warmCoinbase(false)
                     .maxStackSize(evmConfiguration.evmStackSize())
+                    .operandStackMode(evmConfiguration.operandStackMode())
                     .feeMarket(feeMarket)
                     .coinbaseFeePriceCalculator(CoinbaseFeePriceCalculator.frontier())
                     .build())
@@ -620,6 +622,7 @@ public abstract class MainnetProtocolSpecs {
                     .clearEmptyAccounts(true)
                     .warmCoinbase(false)
                     .maxStackSize(evmConfiguration.evmStackSize())
+                    .operandStackMode(evmConfiguration.operandStackMode())
                     .feeMarket(feeMarket)
                     .coinbaseFeePriceCalculator(CoinbaseFeePriceCalculator.eip1559())
                     .build())
@@ -762,6 +765,7 @@ public abstract class MainnetProtocolSpecs {
                     .clearEmptyAccounts(true)
                     .warmCoinbase(true)
                     .maxStackSize(evmConfiguration.evmStackSize())
+                    .operandStackMode(evmConfiguration.operandStackMode())
                     .feeMarket(feeMarket)
                     .coinbaseFeePriceCalculator(CoinbaseFeePriceCalculator.eip1559())
                     .build())
@@ -853,6 +857,7 @@ public abstract class MainnetProtocolSpecs {
                     .clearEmptyAccounts(true)
                     .warmCoinbase(true)
                     .maxStackSize(evmConfiguration.evmStackSize())
+                    .operandStackMode(evmConfiguration.operandStackMode())
                     .feeMarket(feeMarket)
                     .coinbaseFeePriceCalculator(CoinbaseFeePriceCalculator.eip1559())
                     .build())
@@ -949,6 +954,7 @@ public abstract class MainnetProtocolSpecs {
                         .clearEmptyAccounts(true)
                         .warmCoinbase(true)
                         .maxStackSize(evmConfiguration.evmStackSize())
+                        .operandStackMode(evmConfiguration.operandStackMode())
                         .feeMarket(feeMarket)
                         .coinbaseFeePriceCalculator(CoinbaseFeePriceCalculator.eip1559())
                         .codeDelegationProcessor(
@@ -1213,6 +1219,7 @@ public abstract class MainnetProtocolSpecs {
                     .clearEmptyAccounts(true)
                     .warmCoinbase(true)
                     .maxStackSize(evmConfiguration.evmStackSize())
+                    .operandStackMode(evmConfiguration.operandStackMode())
                     .feeMarket(feeMarket)
                     .coinbaseFeePriceCalculator(CoinbaseFeePriceCalculator.eip1559())
                     .codeDelegationProcessor(
@@ -38,6 +38,7 @@ import org.hyperledger.besu.evm.account.MutableAccount;
 import org.hyperledger.besu.evm.blockhash.BlockHashLookup;
 import org.hyperledger.besu.evm.frame.MessageFrame;
 import org.hyperledger.besu.evm.gascalculator.GasCalculator;
+import org.hyperledger.besu.evm.internal.EvmConfiguration.OperandStackMode;
 import org.hyperledger.besu.evm.log.TransferLogEmitter;
 import org.hyperledger.besu.evm.processor.AbstractMessageProcessor;
 import org.hyperledger.besu.evm.processor.ContractCreationProcessor;
@@ -75,6 +76,8 @@ public class MainnetTransactionProcessor {
 
   private final int maxStackSize;
 
+  private final OperandStackMode operandStackMode;
+
   private final boolean clearEmptyAccounts;
 
   protected final boolean warmCoinbase;
@@ -94,6 +97,7 @@ public class MainnetTransactionProcessor {
       final boolean clearEmptyAccounts,
       final boolean warmCoinbase,
       final int maxStackSize,
+      final OperandStackMode operandStackMode,
       final FeeMarket feeMarket,
       final CoinbaseFeePriceCalculator coinbaseFeePriceCalculator,
       final CodeDelegationProcessor maybeCodeDelegationProcessor,
@@ -105,6 +109,7 @@ public class MainnetTransactionProcessor {
     this.clearEmptyAccounts = clearEmptyAccounts;
     this.warmCoinbase = warmCoinbase;
     this.maxStackSize = maxStackSize;
+    this.operandStackMode = operandStackMode;
     this.feeMarket = feeMarket;
     this.coinbaseFeePriceCalculator = coinbaseFeePriceCalculator;
     this.maybeCodeDelegationProcessor = Optional.ofNullable(maybeCodeDelegationProcessor);
@@ -324,6 +329,7 @@ public class MainnetTransactionProcessor {
       final MessageFrame.Builder commonMessageFrameBuilder =
           MessageFrame.builder()
               .maxStackSize(maxStackSize)
+              .operandStackMode(operandStackMode)
               .worldUpdater(worldUpdater.updater())
               .initialGas(gasAvailable)
               .originator(senderAddress)
@@ -656,6 +662,7 @@ public class MainnetTransactionProcessor {
     private boolean clearEmptyAccounts;
     private boolean warmCoinbase;
     private int maxStackSize;
+    private OperandStackMode operandStackMode = OperandStackMode.BYTES;
     private FeeMarket feeMarket;
     private CoinbaseFeePriceCalculator coinbaseFeePriceCalculator;
     private CodeDelegationProcessor codeDelegationProcessor;
@@ -698,6 +705,11 @@ public class MainnetTransactionProcessor {
       return this;
     }
 
+    public Builder operandStackMode(final OperandStackMode operandStackMode) {
+      this.operandStackMode = operandStackMode;
+      return this;
+    }
+
     public Builder feeMarket(final FeeMarket feeMarket) {
       this.feeMarket = feeMarket;
       return this;
@@ -728,6 +740,7 @@ public class MainnetTransactionProcessor {
       this.clearEmptyAccounts = processor.clearEmptyAccounts;
       this.warmCoinbase = processor.warmCoinbase;
       this.maxStackSize = processor.maxStackSize;
+      this.operandStackMode = processor.operandStackMode;
       this.feeMarket = processor.feeMarket;
       this.coinbaseFeePriceCalculator = processor.coinbaseFeePriceCalculator;
       this.codeDelegationProcessor = processor.maybeCodeDelegationProcessor.orElse(null);
@@ -744,6 +757,7 @@ public class MainnetTransactionProcessor {
           clearEmptyAccounts,
           warmCoinbase,
           maxStackSize,
+          operandStackMode,
           feeMarket,
           coinbaseFeePriceCalculator,
           codeDelegationProcessor,
@@ -0,0 +1,288 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.mainnet.parallelization;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collaborative scheduler of the Block-STM algorithm. Worker threads ask it for the next task,
+ * either executing an incarnation of a transaction or validating the read set of an executed one,
+ * and always pick the task with the lowest transaction index so that the prefix of the block
+ * settles first.
+ *
+ * <p>A failed validation aborts the transaction, which is re-executed as a new incarnation, and
+ * schedules the validation of every later transaction again. An execution that read an estimate
+ * is suspended until the transaction that wrote it has been re-executed. The block is done when
+ * every transaction has been executed and validated and no task is in flight.
+ */
+public class BlockStmScheduler {
+
+  /**
+   * A task handed to a worker.
+   *
+   * @param kind whether to execute or validate
+   * @param txIndex the index of the transaction
+   * @param incarnation the incarnation of the transaction to execute or validate
+   */
+  public record Task(TaskKind kind, int txIndex, int incarnation) {}
+
+  /** The kinds of task. */
+  public enum TaskKind {
+    EXECUTION,
+    VALIDATION
+  }
+
+  private enum Status {
+    READY_TO_EXECUTE,
+    EXECUTING,
+    EXECUTED,
+    ABORTING
+  }
+
+  private final int transactionCount;
+  private final AtomicInteger executionIndex = new AtomicInteger();
+  private final AtomicInteger validationIndex = new AtomicInteger();
+  private final AtomicInteger activeTasks = new AtomicInteger();
+  private final AtomicLong decreaseCount = new AtomicLong();
+  private final AtomicLong incarnationCount = new AtomicLong();
+  private volatile boolean done;
+
+  // status, incarnation and dependents of a transaction are guarded by its lock
+  private final Object[] locks;
+  private final Status[] statuses;
+  private final int[] incarnations;
+  private final List<List<Integer>> dependents;
+
+  public BlockStmScheduler(final int transactionCount) {
+    this.transactionCount = transactionCount;
+    this.locks = new Object[transactionCount];
+    this.statuses = new Status[transactionCount];
+    this.incarnations = new int[transactionCount];
+    this.dependents = new ArrayList<>(transactionCount);
+    for (int i = 0; i < transactionCount; i++) {
+      locks[i] = new Object();
+      statuses[i] = Status.READY_TO_EXECUTE;
+      dependents.add(new ArrayList<>());
+    }
+    done = transactionCount == 0;
+  }
+
+  /**
+   * Whether every transaction has been executed and validated, or the scheduler was halted.
+   *
+   * @return true when workers should stop
+   */
+  public boolean isDone() {
+    return done;
+  }
+
+  /** Stops the workers, for instance when an execution failed unexpectedly. */
+  public void halt() {
+    done = true;
+  }
+
+  /**
+   * The number of executions started beyond the first incarnation of every transaction.
+   *
+   * @return the number of re-executions
+   */
+  public long getReexecutionCount() {
+    return Math.max(0, incarnationCount.get() - transactionCount);
+  }
+
+  /**
+   * Picks the next task, favouring validations when they lag behind executions.
+   *
+   * @return the next task, or null if there is nothing to do right now
+   */
+  public Task nextTask() {
+    if (validationIndex.get() < executionIndex.get()) {
+      return nextVersionToValidate();
+    }
+    return nextVersionToExecute();
+  }
+
+  /**
+   * Suspends a transaction until the transaction whose estimate it read has been re-executed.
+   *
+   * @param txIndex the index of the suspended transaction
+   * @param blockingTxIndex the index of the transaction it waits for
+   * @return false if the blocking transaction was already executed, the execution should then be
+   *     retried immediately
+   */
+  public boolean addDependency(final int txIndex, final int blockingTxIndex) {
+    synchronized (locks[blockingTxIndex]) {
+      if (statuses[blockingTxIndex] == Status.EXECUTED) {
+        return false;
+      }
+      synchronized (locks[txIndex]) {
+        statuses[txIndex] = Status.ABORTING;
+      }
+      dependents.get(blockingTxIndex).add(txIndex);
+    }
+    activeTasks.decrementAndGet();
+    return true;
+  }
+
+  /**
+   * Marks an incarnation as executed and resumes the transactions waiting for it.
+   *
+   * @param txIndex the index of the executed transaction
+   * @param incarnation the executed incarnation
+   * @param wroteNewLocation whether the incarnation wrote a location the previous one did not
+   * @return the validation of this incarnation if it can be done right away, or null
+   */
+  public Task finishExecution(
+      final int txIndex, final int incarnation, final boolean wroteNewLocation) {
+    final List<Integer> resumed;
+    synchronized (locks[txIndex]) {
+      statuses[txIndex] = Status.EXECUTED;
+      resumed = new ArrayList<>(dependents.get(txIndex));
+      dependents.get(txIndex).clear();
+    }
+    resumeDependencies(resumed);
+    if (validationIndex.get() > txIndex) {
+      if (!wroteNewLocation) {
+        // only this transaction may have been invalidated, validate it without a new wave
+        return new Task(TaskKind.VALIDATION, txIndex, incarnation);
+      }
+      decreaseValidationIndex(txIndex);
+    }
+    activeTasks.decrementAndGet();
+    return null;
+  }
+
+  /**
+   * Aborts an incarnation whose validation failed, unless it was already aborted by another
+   * validation.
+   *
+   * @param txIndex the index of the transaction
+   * @param incarnation the validated incarnation
+   * @return true if this call aborted the incarnation
+   */
+  public boolean tryValidationAbort(final int txIndex, final int incarnation) {
+    synchronized (locks[txIndex]) {
+      if (incarnations[txIndex] == incarnation && statuses[txIndex] == Status.EXECUTED) {
+        statuses[txIndex] = Status.ABORTING;
+        return true;
+      }
+      return false;
+    }
+  }
+
+  /**
+   * Completes a validation, scheduling the re-execution of the transaction if it was aborted.
+   *
+   * @param txIndex the index of the validated transaction
+   * @param aborted whether the validation aborted the transaction
+   * @return the re-execution of the transaction if it can be done right away, or null
+   */
+  public Task finishValidation(final int txIndex, final boolean aborted) {
+    if (aborted) {
+      setReadyStatus(txIndex);
+      decreaseValidationIndex(txIndex + 1);
+      if (executionIndex.get() > txIndex) {
+        final Task reexecution = tryIncarnate(txIndex);
+        if (reexecution != null) {
+          return reexecution;
+        }
+      }
+    }
+    activeTasks.decrementAndGet();
+    return null;
+  }
+
+  private Task nextVersionToExecute() {
+    if (executionIndex.get() >= transactionCount) {
+      checkDone();
+      return null;
+    }
+    activeTasks.incrementAndGet();
+    return tryIncarnate(executionIndex.getAndIncrement());
+  }
+
+  private Task nextVersionToValidate() {
+    if (validationIndex.get() >= transactionCount) {
+      checkDone();
+      return null;
+    }
+    activeTasks.incrementAndGet();
+    final int txIndex = validationIndex.getAndIncrement();
+    if (txIndex < transactionCount) {
+      synchronized (locks[txIndex]) {
+        if (statuses[txIndex] == Status.EXECUTED) {
+          return new Task(TaskKind.VALIDATION, txIndex, incarnations[txIndex]);
+        }
+      }
+    }
+    activeTasks.decrementAndGet();
+    return null;
+  }
+
+  private Task tryIncarnate(final int txIndex) {
+    if (txIndex < transactionCount) {
+      synchronized (locks[txIndex]) {
+        if (statuses[txIndex] == Status.READY_TO_EXECUTE) {
+          statuses[txIndex] = Status.EXECUTING;
+          incarnationCount.incrementAndGet();
+          return new Task(TaskKind.EXECUTION, txIndex, incarnations[txIndex]);
+        }
+      }
+    }
+    activeTasks.decrementAndGet();
+    return null;
+  }
+
+  private void setReadyStatus(final int txIndex) {
+    synchronized (locks[txIndex]) {
+      incarnations[txIndex]++;
+      statuses[txIndex] = Status.READY_TO_EXECUTE;
+    }
+  }
+
+  private void resumeDependencies(final List<Integer> resumed) {
+    if (resumed.isEmpty()) {
+      return;
+    }
+    int lowest = Integer.MAX_VALUE;
+    for (final int txIndex : resumed) {
+      setReadyStatus(txIndex);
+      lowest = Math.min(lowest, txIndex);
+    }
+    decreaseExecutionIndex(lowest);
+  }
+
+  private void decreaseExecutionIndex(final int target) {
+    executionIndex.accumulateAndGet(target, Math::min);
+    decreaseCount.incrementAndGet();
+  }
+
+  private void decreaseValidationIndex(final int target) {
+    validationIndex.accumulateAndGet(target, Math::min);
+    decreaseCount.incrementAndGet();
+  }
+
+  private void checkDone() {
+    final long observedDecreaseCount = decreaseCount.get();
+    if (Math.min(executionIndex.get(), validationIndex.get()) >= transactionCount
+        && activeTasks.get() == 0
+        && observedDecreaseCount == decreaseCount.get()) {
+      done = true;
+    }
+  }
+}
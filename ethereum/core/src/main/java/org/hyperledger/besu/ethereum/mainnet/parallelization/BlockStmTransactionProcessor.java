@@ -0,0 +1,487 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.mainnet.parallelization;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.StorageSlotKey;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.ProtocolContext;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.MutableWorldState;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.mainnet.MainnetTransactionProcessor;
+import org.hyperledger.besu.ethereum.mainnet.TransactionValidationParams;
+import org.hyperledger.besu.ethereum.mainnet.block.access.list.AccessLocationTracker;
+import org.hyperledger.besu.ethereum.mainnet.block.access.list.BlockAccessList.BlockAccessListBuilder;
+import org.hyperledger.besu.ethereum.mainnet.parallelization.BlockStmScheduler.Task;
+import org.hyperledger.besu.ethereum.mainnet.parallelization.BlockStmScheduler.TaskKind;
+import org.hyperledger.besu.ethereum.mainnet.parallelization.MultiVersionMemory.Location;
+import org.hyperledger.besu.ethereum.mainnet.parallelization.MultiVersionMemory.Version;
+import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
+import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.BonsaiAccount;
+import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.worldview.BonsaiWorldState;
+import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.worldview.BonsaiWorldStateUpdateAccumulator;
+import org.hyperledger.besu.ethereum.trie.pathbased.common.PathBasedAccount;
+import org.hyperledger.besu.ethereum.trie.pathbased.common.PathBasedValue;
+import org.hyperledger.besu.ethereum.trie.pathbased.common.worldview.PathBasedWorldState;
+import org.hyperledger.besu.ethereum.trie.pathbased.common.worldview.accumulator.PathBasedWorldStateUpdateAccumulator;
+import org.hyperledger.besu.evm.account.Account;
+import org.hyperledger.besu.evm.blockhash.BlockHashLookup;
+import org.hyperledger.besu.evm.tracing.OperationTracer;
+import org.hyperledger.besu.evm.worldstate.WorldUpdater;
+import org.hyperledger.besu.evm.worldstate.WorldView;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.google.common.annotations.VisibleForTesting;
+import org.apache.tuweni.units.bigints.UInt256;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executes the transactions of a block with the Block-STM algorithm. Transactions run
+ * optimistically on a {@link MultiVersionMemory} holding the writes of every earlier transaction,
+ * and a transaction whose reads are invalidated by the re-execution of an earlier one is
+ * re-validated and re-executed on its own, instead of leaving it to the sequential processing of
+ * the block.
+ *
+ * <p>The block processor still applies the results in block order. Each result is checked against
+ * the state of the block before being merged, comparing every value the execution read, including
+ * in the frames it reverted, with the block's current value, so a result only reaches the block
+ * state if a sequential execution would have produced the same. Reverted and failed transactions
+ * are applied like successful ones. Invalid transactions, transactions touching the mining
+ * beneficiary before their reward, and transactions clearing the storage of an account are always
+ * left to the sequential processing.
+ */
+@SuppressWarnings({"unchecked", "rawtypes"})
+public class BlockStmTransactionProcessor implements ParallelTransactionProcessor {
+
+  private static final Logger LOG = LoggerFactory.getLogger(BlockStmTransactionProcessor.class);
+
+  private static final int NCPU = Runtime.getRuntime().availableProcessors();
+
+  private final MainnetTransactionProcessor transactionProcessor;
+  private final TransactionCollisionDetector transactionCollisionDetector;
+  private final Optional<TransactionSchedulingMetrics> schedulingMetrics;
+  private final int workerCount;
+
+  private AtomicReferenceArray<ExecutedTransaction> executedTransactions;
+  private CompletableFuture<Void> blockExecution;
+
+  public BlockStmTransactionProcessor(
+      final MainnetTransactionProcessor transactionProcessor,
+      final TransactionSchedulingMetrics schedulingMetrics) {
+    this(transactionProcessor, Optional.of(schedulingMetrics), NCPU);
+  }
+
+  @VisibleForTesting
+  BlockStmTransactionProcessor(
+      final MainnetTransactionProcessor transactionProcessor,
+      final Optional<TransactionSchedulingMetrics> schedulingMetrics,
+      final int workerCount) {
+    this.transactionProcessor = transactionProcessor;
+    this.transactionCollisionDetector = new TransactionCollisionDetector();
+    this.schedulingMetrics = schedulingMetrics;
+    this.workerCount = workerCount;
+  }
+
+  @Override
+  public void runAsyncBlock(
+      final ProtocolContext protocolContext,
+      final BlockHeader blockHeader,
+      final List<Transaction> transactions,
+      final Address miningBeneficiary,
+      final BlockHashLookup blockHashLookup,
+      final Wei blobGasPrice,
+      final Executor executor,
+      final Optional<BlockAccessListBuilder> blockAccessListBuilder) {
+    final MultiVersionMemory memory = new MultiVersionMemory(transactions.size());
+    final BlockStmScheduler scheduler = new BlockStmScheduler(transactions.size());
+    executedTransactions = new AtomicReferenceArray<>(transactions.size());
+
+    final CompletableFuture<?>[] workers =
+        new CompletableFuture[Math.min(workerCount, transactions.size())];
+    for (int i = 0; i < workers.length; i++) {
+      workers[i] =
+          CompletableFuture.runAsync(
+              () -> {
+                try {
+                  runWorker(
+                      protocolContext,
+                      blockHeader,
+                      transactions,
+                      miningBeneficiary,
+                      blockHashLookup,
+                      blobGasPrice,
+                      blockAccessListBuilder,
+                      memory,
+                      scheduler);
+                } catch (final RuntimeException e) {
+                  // stop the other workers, the block is left to sequential processing
+                  scheduler.halt();
+                  throw e;
+                }
+              },
+              executor);
+    }
+    blockExecution =
+        CompletableFuture.allOf(workers)
+            .thenRun(
+                () ->
+                    schedulingMetrics.ifPresent(
+                        metrics -> metrics.recordReexecutions(scheduler.getReexecutionCount())));
+  }
+
+  private void runWorker(
+      final ProtocolContext protocolContext,
+      final BlockHeader blockHeader,
+      final List<Transaction> transactions,
+      final Address miningBeneficiary,
+      final BlockHashLookup blockHashLookup,
+      final Wei blobGasPrice,
+      final Optional<BlockAccessListBuilder> blockAccessListBuilder,
+      final MultiVersionMemory memory,
+      final BlockStmScheduler scheduler) {
+    final BonsaiWorldState ws =
+        ParallelBlockTransactionProcessor.getWorldState(protocolContext, blockHeader);
+    if (ws == null) {
+      throw new IllegalStateException("the parent of the block is not the chain head");
+    }
+    try {
+      ws.disableCacheMerkleTrieLoader();
+      Task task = null;
+      while (!scheduler.isDone()) {
+        if (task != null && task.kind() == TaskKind.EXECUTION) {
+          task =
+              execute(
+                  task,
+                  ws,
+                  blockHeader,
+                  transactions.get(task.txIndex()),
+                  miningBeneficiary,
+                  blockHashLookup,
+                  blobGasPrice,
+                  blockAccessListBuilder,
+                  memory,
+                  scheduler);
+        } else if (task != null) {
+          task = validate(task, memory, scheduler);
+        }
+        if (task == null) {
+          task = scheduler.nextTask();
+          if (task == null) {
+            Thread.onSpinWait();
+          }
+        }
+      }
+    } finally {
+      ws.close();
+    }
+  }
+
+  private Task execute(
+      final Task task,
+      final BonsaiWorldState ws,
+      final BlockHeader blockHeader,
+      final Transaction transaction,
+      final Address miningBeneficiary,
+      final BlockHashLookup blockHashLookup,
+      final Wei blobGasPrice,
+      final Optional<BlockAccessListBuilder> blockAccessListBuilder,
+      final MultiVersionMemory memory,
+      final BlockStmScheduler scheduler) {
+    final int txIndex = task.txIndex();
+    while (true) {
+      final MultiVersionWorldView view = new MultiVersionWorldView(memory, txIndex, ws);
+      final ParallelizedTransactionContext context =
+          runTransaction(
+              view,
+              ws,
+              blockHeader,
+              txIndex,
+              transaction,
+              miningBeneficiary,
+              blockHashLookup,
+              blobGasPrice,
+              blockAccessListBuilder);
+
+      final OptionalInt blockingTxIndex = view.getBlockingTransaction();
+      if (blockingTxIndex.isPresent()) {
+        if (scheduler.addDependency(txIndex, blockingTxIndex.getAsInt())) {
+          return null;
+        }
+        // the blocking transaction was re-executed in the meantime, read its new writes
+        continue;
+      }
+
+      executedTransactions.set(
+          txIndex, context == null ? null : new ExecutedTransaction(context, view.getReadValues()));
+      final boolean wroteNewLocation =
+          memory.record(
+              new Version(txIndex, task.incarnation()),
+              view.getReadSet(),
+              context == null ? Map.of() : getWriteSet(context, memory));
+      return scheduler.finishExecution(txIndex, task.incarnation(), wroteNewLocation);
+    }
+  }
+
+  private Task validate(
+      final Task task, final MultiVersionMemory memory, final BlockStmScheduler scheduler) {
+    final boolean aborted =
+        !memory.validateReadSet(task.txIndex())
+            && scheduler.tryValidationAbort(task.txIndex(), task.incarnation());
+    if (aborted) {
+      memory.convertWritesToEstimates(task.txIndex());
+    }
+    return scheduler.finishValidation(task.txIndex(), aborted);
+  }
+
+  private ParallelizedTransactionContext runTransaction(
+      final MultiVersionWorldView view,
+      final BonsaiWorldState ws,
+      final BlockHeader blockHeader,
+      final int transactionLocation,
+      final Transaction transaction,
+      final Address miningBeneficiary,
+      final BlockHashLookup blockHashLookup,
+      final Wei blobGasPrice,
+      final Optional<BlockAccessListBuilder> blockAccessListBuilder) {
+    try {
+      final ParallelizedTransactionContext.Builder contextBuilder =
+          new ParallelizedTransactionContext.Builder();
+      final BonsaiWorldStateUpdateAccumulator transactionAccumulator =
+          new BonsaiWorldStateUpdateAccumulator(
+              view,
+              (__, ___) -> {},
+              (__, ___) -> {},
+              ws.getAccumulator().getEvmConfiguration(),
+              ws.codeCache());
+      final WorldUpdater transactionUpdater = transactionAccumulator.updater();
+      final Optional<AccessLocationTracker> transactionLocationTracker =
+          blockAccessListBuilder.map(
+              b ->
+                  BlockAccessListBuilder.createTransactionAccessLocationTracker(
+                      transactionLocation));
+      final TransactionProcessingResult result =
+          transactionProcessor.processTransaction(
+              transactionUpdater,
+              blockHeader,
+              transaction.detachedCopy(),
+              miningBeneficiary,
+              new OperationTracer() {
+                @Override
+                public void traceBeforeRewardTransaction(
+                    final WorldView worldView,
+                    final org.hyperledger.besu.datatypes.Transaction tx,
+                    final Wei miningReward) {
+                  // same as the speculative processor, a beneficiary read before the reward makes
+                  // the transaction depend on the rewards of all the previous ones
+                  if (transactionCollisionDetector
+                      .getAddressesTouchedByTransaction(
+                          transaction, Optional.of(transactionAccumulator))
+                      .contains(miningBeneficiary)) {
+                    contextBuilder.isMiningBeneficiaryTouchedPreRewardByTransaction(true);
+                  }
+                  contextBuilder.miningBeneficiaryReward(miningReward);
+                }
+              },
+              blockHashLookup,
+              TransactionValidationParams.processingBlock(),
+              blobGasPrice,
+              transactionLocationTracker);
+
+      transactionUpdater.commit();
+      transactionAccumulator.commit();
+
+      contextBuilder
+          .transactionAccumulator(transactionAccumulator)
+          .transactionProcessingResult(result);
+      final ParallelizedTransactionContext context = contextBuilder.build();
+      if (!context.isMiningBeneficiaryTouchedPreRewardByTransaction()) {
+        // the reward is added when the result is applied, it is neither a read nor a write
+        transactionAccumulator.getAccountsToUpdate().remove(miningBeneficiary);
+        view.forgetRead(Location.account(miningBeneficiary));
+      }
+      return context;
+    } catch (final Exception e) {
+      LOG.trace("Block-STM execution of transaction {} failed", transactionLocation, e);
+      return null;
+    }
+  }
+
+  private static Map<Location, Object> getWriteSet(
+      final ParallelizedTransactionContext context, final MultiVersionMemory memory) {
+    final PathBasedWorldStateUpdateAccumulator<?> accumulator = context.transactionAccumulator();
+    final Map<Location, Object> writeSet = new HashMap<>();
+    accumulator
+        .getAccountsToUpdate()
+        .forEach(
+            (address, value) -> {
+              if (isAccountChanged(value.getPrior(), value.getUpdated())) {
+                final BonsaiAccount updated = (BonsaiAccount) value.getUpdated();
+                writeSet.put(
+                    Location.account(address), updated == null ? null : new BonsaiAccount(updated));
+              }
+            });
+    accumulator
+        .getStorageToUpdate()
+        .forEach(
+            (address, slots) ->
+                slots.forEach(
+                    (slot, value) -> {
+                      if (!value.isUnchanged()) {
+                        writeSet.put(
+                            Location.storage(address, slot),
+                            Objects.requireNonNullElse(value.getUpdated(), UInt256.ZERO));
+                      }
+                    }));
+    accumulator.getCodeToUpdate().values().stream()
+        .map(PathBasedValue::getUpdated)
+        .filter(Objects::nonNull)
+        .forEach(memory::putCode);
+    return writeSet;
+  }
+
+  private static boolean isAccountChanged(
+      final PathBasedAccount prior, final PathBasedAccount updated) {
+    if (prior == null || updated == null) {
+      return prior != updated;
+    }
+    return prior.getNonce() != updated.getNonce()
+        || !prior.getBalance().equals(updated.getBalance())
+        || !prior.getCodeHash().equals(updated.getCodeHash());
+  }
+
+  /**
+   * Applies the result of a transaction executed by Block-STM once every earlier transaction of
+   * the block has been applied. The result is discarded, and the transaction left to sequential
+   * processing, if any value its execution read differs from the current state of the block.
+   *
+   * @param worldState Mutable world state intended for applying transaction results.
+   * @param miningBeneficiary Address of the beneficiary for mining rewards.
+   * @param transaction Transaction for which the result is to be applied.
+   * @param transactionLocation Index of the transaction within the block.
+   * @param confirmedParallelizedTransactionCounter Metric counter for confirmed parallelized
+   *     transactions
+   * @param conflictingButCachedTransactionCounter Metric counter for conflicting transactions
+   * @return Optional containing the transaction processing result if applied, or empty if the
+   *     transaction needs to be replayed.
+   */
+  @Override
+  public Optional<TransactionProcessingResult> getProcessingResult(
+      final MutableWorldState worldState,
+      final Address miningBeneficiary,
+      final Transaction transaction,
+      final int transactionLocation,
+      final Optional<Counter> confirmedParallelizedTransactionCounter,
+      final Optional<Counter> conflictingButCachedTransactionCounter) {
+    final ExecutedTransaction executedTransaction = awaitExecution(transactionLocation);
+    if (executedTransaction == null) {
+      return Optional.empty();
+    }
+    final ParallelizedTransactionContext context = executedTransaction.context();
+
+    final PathBasedWorldStateUpdateAccumulator blockAccumulator =
+        (PathBasedWorldStateUpdateAccumulator) ((PathBasedWorldState) worldState).updater();
+    final PathBasedWorldStateUpdateAccumulator<?> transactionAccumulator =
+        context.transactionAccumulator();
+    final TransactionProcessingResult transactionProcessingResult =
+        context.transactionProcessingResult();
+    if (transactionProcessingResult.isInvalid()
+        || context.isMiningBeneficiaryTouchedPreRewardByTransaction()
+        || !transactionAccumulator.getStorageToClear().isEmpty()
+        || !readsMatchBlockState(executedTransaction.readValues(), blockAccumulator)) {
+      conflictingButCachedTransactionCounter.ifPresent(Counter::inc);
+      return Optional.empty();
+    }
+
+    ParallelBlockTransactionProcessor.rewardMiningBeneficiary(
+        blockAccumulator, miningBeneficiary, context, transactionProcessor.getClearEmptyAccounts());
+    blockAccumulator.importUpdatedStateFromSource(transactionAccumulator);
+
+    if (confirmedParallelizedTransactionCounter.isPresent()) {
+      confirmedParallelizedTransactionCounter.get().inc();
+      transactionProcessingResult.setIsProcessedInParallel(Optional.of(Boolean.TRUE));
+      transactionProcessingResult.accumulator = transactionAccumulator;
+    }
+    return Optional.of(transactionProcessingResult);
+  }
+
+  private ExecutedTransaction awaitExecution(final int transactionLocation) {
+    if (blockExecution == null) {
+      return null;
+    }
+    try {
+      blockExecution.join();
+      return executedTransactions.get(transactionLocation);
+    } catch (final Exception e) {
+      LOG.debug("Block-STM execution failed, falling back to sequential processing", e);
+      return null;
+    }
+  }
+
+  private static boolean readsMatchBlockState(
+      final Map<Location, Optional<Object>> readValues,
+      final PathBasedWorldStateUpdateAccumulator<?> blockAccumulator) {
+    for (final Map.Entry<Location, Optional<Object>> read : readValues.entrySet()) {
+      final Address address = read.getKey().address();
+      final StorageSlotKey slot = read.getKey().slot();
+      final boolean matches;
+      if (slot == null) {
+        matches =
+            isSameAccount((Account) read.getValue().orElse(null), blockAccumulator.get(address));
+      } else {
+        matches =
+            read.getValue()
+                .equals(
+                    Optional.of(
+                        blockAccumulator
+                            .getStorageValueByStorageSlotKey(address, slot)
+                            .orElse(UInt256.ZERO)));
+      }
+      if (!matches) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isSameAccount(final Account read, final Account current) {
+    if (read == null || current == null) {
+      return read == current;
+    }
+    return read.getNonce() == current.getNonce()
+        && read.getBalance().equals(current.getBalance())
+        && read.getCodeHash().equals(current.getCodeHash());
+  }
+
+  /**
+   * The result of the last execution of a transaction, with the values that execution read.
+   *
+   * @param context the result of the execution
+   * @param readValues the value read for each location
+   */
+  private record ExecutedTransaction(
+      ParallelizedTransactionContext context, Map<Location, Optional<Object>> readValues) {}
+}
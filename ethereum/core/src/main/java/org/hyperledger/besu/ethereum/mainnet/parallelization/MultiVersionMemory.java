@@ -0,0 +1,229 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.mainnet.parallelization;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.StorageSlotKey;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * Multi-version memory of the Block-STM algorithm: for every location of the world state, the
+ * values written by the transactions of the block, keyed by transaction index.
+ *
+ * <p>A transaction reads the value written by the highest transaction below it, or the parent
+ * state when no earlier transaction wrote the location. Every read is recorded with the version it
+ * observed, so that the read set can be validated once earlier transactions have been re-executed.
+ * When a transaction is aborted its writes are turned into estimates, which tell the transactions
+ * reading them that they depend on a transaction that is about to write again.
+ */
+public class MultiVersionMemory {
+
+  /** The version read from the parent state, when no transaction of the block wrote a location. */
+  public static final Version PARENT_STATE = new Version(-1, 0);
+
+  private final Map<Location, ConcurrentSkipListMap<Integer, Entry>> data =
+      new ConcurrentHashMap<>();
+  private final Map<Hash, Bytes> codeByHash = new ConcurrentHashMap<>();
+  private final AtomicReferenceArray<Map<Location, Version>> lastReadSets;
+  private final AtomicReferenceArray<Set<Location>> lastWrittenLocations;
+
+  /**
+   * A location of the world state: an account when {@code slot} is null, one of its storage slots
+   * otherwise.
+   *
+   * @param address the address of the account
+   * @param slot the storage slot, or null for the account itself
+   */
+  public record Location(Address address, StorageSlotKey slot) {
+
+    public static Location account(final Address address) {
+      return new Location(address, null);
+    }
+
+    public static Location storage(final Address address, final StorageSlotKey slot) {
+      return new Location(address, slot);
+    }
+  }
+
+  /**
+   * A version of a location: the transaction that wrote it and the incarnation of that
+   * transaction, which counts its executions.
+   *
+   * @param txIndex the index of the transaction in the block
+   * @param incarnation the incarnation of the transaction
+   */
+  public record Version(int txIndex, int incarnation) {}
+
+  /**
+   * The outcome of a read.
+   *
+   * @param status whether a value, an estimate or nothing was found
+   * @param version the version found, {@link #PARENT_STATE} when nothing was found
+   * @param value the value found, which may be null for a deleted account
+   */
+  public record ReadResult(ReadStatus status, Version version, Object value) {
+
+    private static final ReadResult NOT_FOUND =
+        new ReadResult(ReadStatus.NOT_FOUND, PARENT_STATE, null);
+  }
+
+  /** The status of a read. */
+  public enum ReadStatus {
+    /** A transaction of the block wrote the location. */
+    VALUE,
+    /** The transaction that wrote the location was aborted and is going to write again. */
+    ESTIMATE,
+    /** No transaction of the block wrote the location, it must be read from the parent state. */
+    NOT_FOUND
+  }
+
+  private record Entry(int incarnation, Object value, boolean estimate) {}
+
+  public MultiVersionMemory(final int transactionCount) {
+    this.lastReadSets = new AtomicReferenceArray<>(transactionCount);
+    this.lastWrittenLocations = new AtomicReferenceArray<>(transactionCount);
+  }
+
+  /**
+   * Reads a location as seen by a transaction.
+   *
+   * @param location the location to read
+   * @param txIndex the index of the reading transaction
+   * @return the value written by the highest transaction below {@code txIndex}, if any
+   */
+  public ReadResult read(final Location location, final int txIndex) {
+    final ConcurrentSkipListMap<Integer, Entry> versions = data.get(location);
+    if (versions == null) {
+      return ReadResult.NOT_FOUND;
+    }
+    final Map.Entry<Integer, Entry> latest = versions.lowerEntry(txIndex);
+    if (latest == null) {
+      return ReadResult.NOT_FOUND;
+    }
+    final Entry entry = latest.getValue();
+    return new ReadResult(
+        entry.estimate() ? ReadStatus.ESTIMATE : ReadStatus.VALUE,
+        new Version(latest.getKey(), entry.incarnation()),
+        entry.value());
+  }
+
+  /**
+   * Records the outcome of an execution: its read set, used by later validations, and its writes,
+   * which replace the ones of the previous incarnation.
+   *
+   * @param version the executed transaction and incarnation
+   * @param readSet the locations read, with the version observed for each
+   * @param writeSet the locations written, with their new values
+   * @return true if the execution wrote a location that the previous incarnation did not write
+   */
+  public boolean record(
+      final Version version,
+      final Map<Location, Version> readSet,
+      final Map<Location, Object> writeSet) {
+    final int txIndex = version.txIndex();
+    writeSet.forEach(
+        (location, value) ->
+            data.computeIfAbsent(location, __ -> new ConcurrentSkipListMap<>())
+                .put(txIndex, new Entry(version.incarnation(), value, false)));
+
+    final Set<Location> previousLocations = lastWrittenLocations.get(txIndex);
+    boolean wroteNewLocation = false;
+    if (previousLocations != null) {
+      for (final Location location : previousLocations) {
+        if (!writeSet.containsKey(location)) {
+          data.get(location).remove(txIndex);
+        }
+      }
+      for (final Location location : writeSet.keySet()) {
+        if (!previousLocations.contains(location)) {
+          wroteNewLocation = true;
+          break;
+        }
+      }
+    } else {
+      wroteNewLocation = !writeSet.isEmpty();
+    }
+
+    lastWrittenLocations.set(txIndex, Set.copyOf(writeSet.keySet()));
+    lastReadSets.set(txIndex, readSet);
+    return wroteNewLocation;
+  }
+
+  /**
+   * Marks the writes of an aborted transaction as estimates.
+   *
+   * @param txIndex the index of the aborted transaction
+   */
+  public void convertWritesToEstimates(final int txIndex) {
+    final Set<Location> locations = lastWrittenLocations.get(txIndex);
+    if (locations == null) {
+      return;
+    }
+    for (final Location location : locations) {
+      data.get(location)
+          .computeIfPresent(
+              txIndex, (__, entry) -> new Entry(entry.incarnation(), entry.value(), true));
+    }
+  }
+
+  /**
+   * Checks that every location read by the last execution of a transaction would still be read at
+   * the same version.
+   *
+   * @param txIndex the index of the transaction
+   * @return true if the read set is still valid
+   */
+  public boolean validateReadSet(final int txIndex) {
+    final Map<Location, Version> readSet = lastReadSets.get(txIndex);
+    if (readSet == null) {
+      return false;
+    }
+    for (final Map.Entry<Location, Version> read : readSet.entrySet()) {
+      final ReadResult current = read(read.getKey(), txIndex);
+      if (current.status() == ReadStatus.ESTIMATE || !current.version().equals(read.getValue())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Stores code deployed by a transaction, so that later transactions can load it by hash.
+   *
+   * @param code the deployed code
+   */
+  public void putCode(final Bytes code) {
+    codeByHash.putIfAbsent(Hash.hash(code), code);
+  }
+
+  /**
+   * Looks up code deployed by a transaction of the block.
+   *
+   * @param codeHash the hash of the code
+   * @return the code, if a transaction deployed it
+   */
+  public Optional<Bytes> getCode(final Hash codeHash) {
+    return Optional.ofNullable(codeByHash.get(codeHash));
+  }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.mainnet.parallelization;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.StorageSlotKey;
+import org.hyperledger.besu.ethereum.mainnet.parallelization.MultiVersionMemory.Location;
+import org.hyperledger.besu.ethereum.mainnet.parallelization.MultiVersionMemory.ReadResult;
+import org.hyperledger.besu.ethereum.mainnet.parallelization.MultiVersionMemory.ReadStatus;
+import org.hyperledger.besu.ethereum.mainnet.parallelization.MultiVersionMemory.Version;
+import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.BonsaiAccount;
+import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.cache.CodeCache;
+import org.hyperledger.besu.ethereum.trie.pathbased.common.storage.PathBasedWorldStateKeyValueStorage;
+import org.hyperledger.besu.ethereum.trie.pathbased.common.worldview.PathBasedWorldView;
+import org.hyperledger.besu.evm.account.Account;
+import org.hyperledger.besu.evm.worldstate.WorldUpdater;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.units.bigints.UInt256;
+
+/**
+ * The world state as seen by one execution of a transaction of the block: the values written by
+ * the earlier transactions in the {@link MultiVersionMemory}, and the parent state for the
+ * locations none of them wrote. Every read is recorded in the read set of the execution.
+ *
+ * <p>A storage slot of an account that an earlier transaction destroyed is still read from the
+ * parent state. Such a transaction never commits its speculative result, and the validation
+ * against the block state rejects the transactions that read the stale values.
+ */
+public class MultiVersionWorldView implements PathBasedWorldView {
+
+  private final MultiVersionMemory memory;
+  private final int txIndex;
+  private final PathBasedWorldView parentState;
+  // the accumulator commits accounts from a parallel stream, which may load storage
+  private final Map<Location, Version> readSet = new ConcurrentHashMap<>();
+  private final Map<Location, Optional<Object>> readValues = new ConcurrentHashMap<>();
+  private final AtomicInteger blockingTxIndex = new AtomicInteger(-1);
+
+  public MultiVersionWorldView(
+      final MultiVersionMemory memory, final int txIndex, final PathBasedWorldView parentState) {
+    this.memory = memory;
+    this.txIndex = txIndex;
+    this.parentState = parentState;
+  }
+
+  @Override
+  public Account get(final Address address) {
+    final Location location = Location.account(address);
+    final ReadResult read = read(location);
+    final Account account;
+    if (read.status() == ReadStatus.NOT_FOUND) {
+      account = parentState.get(address);
+    } else {
+      final BonsaiAccount written = (BonsaiAccount) read.value();
+      account = written == null ? null : new BonsaiAccount(written, this, false);
+    }
+    readValues.putIfAbsent(location, Optional.ofNullable(account));
+    return account;
+  }
+
+  @Override
+  public Optional<UInt256> getStorageValueByStorageSlotKey(
+      final Address address, final StorageSlotKey storageSlotKey) {
+    final Location location = Location.storage(address, storageSlotKey);
+    final ReadResult read = read(location);
+    final Optional<UInt256> value;
+    if (read.status() == ReadStatus.NOT_FOUND) {
+      value = parentState.getStorageValueByStorageSlotKey(address, storageSlotKey);
+    } else {
+      // zero slots are not stored, the parent state would not return them either
+      final UInt256 written = (UInt256) read.value();
+      value = written.isZero() ? Optional.empty() : Optional.of(written);
+    }
+    readValues.putIfAbsent(location, Optional.of(value.orElse(UInt256.ZERO)));
+    return value;
+  }
+
+  @Override
+  public UInt256 getStorageValue(final Address address, final UInt256 key) {
+    return getStorageValueByStorageSlotKey(address, new StorageSlotKey(key)).orElse(UInt256.ZERO);
+  }
+
+  @Override
+  public UInt256 getPriorStorageValue(final Address address, final UInt256 key) {
+    return getStorageValue(address, key);
+  }
+
+  @Override
+  public Optional<Bytes> getCode(final Address address, final Hash codeHash) {
+    final Optional<Bytes> deployedCode = memory.getCode(codeHash);
+    return deployedCode.isPresent() ? deployedCode : parentState.getCode(address, codeHash);
+  }
+
+  @Override
+  public Map<Bytes32, Bytes> getAllAccountStorage(final Address address, final Hash rootHash) {
+    return parentState.getAllAccountStorage(address, rootHash);
+  }
+
+  @Override
+  public boolean isModifyingHeadWorldState() {
+    return false;
+  }
+
+  @Override
+  public PathBasedWorldStateKeyValueStorage getWorldStateStorage() {
+    return parentState.getWorldStateStorage();
+  }
+
+  @Override
+  public WorldUpdater updater() {
+    throw new UnsupportedOperationException("a multi-version view is only read by an accumulator");
+  }
+
+  @Override
+  public CodeCache codeCache() {
+    return parentState.codeCache();
+  }
+
+  /**
+   * The locations read by the execution, with the version observed for each.
+   *
+   * @return the read set
+   */
+  public Map<Location, Version> getReadSet() {
+    return readSet;
+  }
+
+  /**
+   * The value returned by the first read of each location: the account, empty for an account that
+   * does not exist, or the value of the storage slot. Unlike the accumulator of the execution, it
+   * includes the locations only read by the reverted frames of the transaction.
+   *
+   * @return the values read by the execution
+   */
+  public Map<Location, Optional<Object>> getReadValues() {
+    return readValues;
+  }
+
+  /**
+   * Removes a location from the read set, for a location whose value does not influence the
+   * execution.
+   *
+   * @param location the location to forget
+   */
+  public void forgetRead(final Location location) {
+    readSet.remove(location);
+    readValues.remove(location);
+  }
+
+  /**
+   * The highest transaction whose estimate was read. The execution then ran on a value that is
+   * about to change and must be retried once that transaction has been re-executed.
+   *
+   * @return the index of the blocking transaction, if an estimate was read
+   */
+  public OptionalInt getBlockingTransaction() {
+    final int blocking = blockingTxIndex.get();
+    return blocking < 0 ? OptionalInt.empty() : OptionalInt.of(blocking);
+  }
+
+  private ReadResult read(final Location location) {
+    final ReadResult read = memory.read(location, txIndex);
+    readSet.putIfAbsent(location, read.version());
+    if (read.status() == ReadStatus.ESTIMATE) {
+      blockingTxIndex.accumulateAndGet(read.version().txIndex(), Math::max);
+    }
+    return read;
+  }
+}
@@ -18,24 +18,28 @@ import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.Wei;
 import org.hyperledger.besu.ethereum.ProtocolContext;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
-import org.hyperledger.besu.ethereum.core.MutableWorldState;
 import org.hyperledger.besu.ethereum.core.Transaction;
 import org.hyperledger.besu.ethereum.mainnet.block.access.list.BlockAccessList.BlockAccessListBuilder;
-import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
 import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.worldview.BonsaiWorldState;
 import org.hyperledger.besu.ethereum.trie.pathbased.common.provider.WorldStateQueryParams;
+import org.hyperledger.besu.ethereum.trie.pathbased.common.worldview.accumulator.PathBasedWorldStateUpdateAccumulator;
+import org.hyperledger.besu.evm.account.MutableAccount;
 import org.hyperledger.besu.evm.blockhash.BlockHashLookup;
-import org.hyperledger.besu.plugin.services.metrics.Counter;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 
-public abstract class ParallelBlockTransactionProcessor {
+/**
+ * Executes each transaction of the block as a separate task, whose result is checked against the
+ * block state when the block processor reaches the transaction.
+ */
+public abstract class ParallelBlockTransactionProcessor implements ParallelTransactionProcessor {
 
   protected CompletableFuture<ParallelizedTransactionContext>[] futures;
 
+  @Override
   @SuppressWarnings({"unchecked", "rawtypes"})
   public void runAsyncBlock(
       final ProtocolContext protocolContext,
@@ -69,7 +73,7 @@ public abstract class ParallelBlockTransactionProcessor {
     }
   }
 
-  protected BonsaiWorldState getWorldState(
+  protected static BonsaiWorldState getWorldState(
       final ProtocolContext protocolContext, final BlockHeader blockHeader) {
 
     final BlockHeader chainHeadHeader = protocolContext.getBlockchain().getChainHeadHeader();
@@ -85,6 +89,42 @@ public abstract class ParallelBlockTransactionProcessor {
             .orElse(null);
   }
 
+  /**
+   * Credits the mining beneficiary with the reward of a transaction executed in parallel, which
+   * was left out of the transaction's changes to avoid a conflict between all the transactions of
+   * the block, and reports the resulting balance in the transaction's block access view.
+   *
+   * @param blockAccumulator the accumulator of the block
+   * @param miningBeneficiary the mining beneficiary of the block
+   * @param parallelizedTransactionContext the context of the transaction executed in parallel
+   * @param clearEmptyAccounts whether empty accounts are cleared, in which case a zero reward does
+   *     not touch the mining beneficiary
+   */
+  public static void rewardMiningBeneficiary(
+      final PathBasedWorldStateUpdateAccumulator<?> blockAccumulator,
+      final Address miningBeneficiary,
+      final ParallelizedTransactionContext parallelizedTransactionContext,
+      final boolean clearEmptyAccounts) {
+    final MutableAccount miningBeneficiaryAccount = blockAccumulator.getOrCreate(miningBeneficiary);
+    final Wei reward = parallelizedTransactionContext.miningBeneficiaryReward();
+    if (!reward.isZero() || !clearEmptyAccounts) {
+      miningBeneficiaryAccount.incrementBalance(reward);
+    }
+
+    final Wei miningBeneficiaryPostBalance = miningBeneficiaryAccount.getBalance();
+    parallelizedTransactionContext
+        .transactionProcessingResult()
+        .getPartialBlockAccessView()
+        .ifPresent(
+            partialBlockAccessView ->
+                partialBlockAccessView.accountChanges().stream()
+                    .filter(accountChanges -> accountChanges.getAddress().equals(miningBeneficiary))
+                    .findFirst()
+                    .ifPresent(
+                        accountChanges ->
+                            accountChanges.setPostBalance(miningBeneficiaryPostBalance)));
+  }
+
   protected abstract ParallelizedTransactionContext runTransaction(
       ProtocolContext protocolContext,
       BlockHeader blockHeader,
@@ -94,12 +134,4 @@ public abstract class ParallelBlockTransactionProcessor {
       BlockHashLookup blockHashLookup,
       Wei blobGasPrice,
       Optional<BlockAccessListBuilder> blockAccessListBuilder);
-
-  public abstract Optional<TransactionProcessingResult> getProcessingResult(
-      MutableWorldState worldState,
-      Address miningBeneficiary,
-      Transaction transaction,
-      int location,
-      Optional<Counter> confirmedParallelizedTransactionCounter,
-      Optional<Counter> conflictingButCachedTransactionCounter);
 }
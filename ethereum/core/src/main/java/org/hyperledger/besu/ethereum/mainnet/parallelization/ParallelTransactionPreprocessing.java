@@ -26,6 +26,7 @@ import org.hyperledger.besu.ethereum.mainnet.block.access.list.BlockAccessList;
 import org.hyperledger.besu.ethereum.mainnet.block.access.list.BlockAccessList.BlockAccessListBuilder;
 import org.hyperledger.besu.ethereum.trie.pathbased.common.provider.PathBasedWorldStateProvider;
 import org.hyperledger.besu.evm.blockhash.BlockHashLookup;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 
 import java.util.List;
 import java.util.Optional;
@@ -36,14 +37,28 @@ public class ParallelTransactionPreprocessing implements PreprocessingFunction {
   private final MainnetTransactionProcessor transactionProcessor;
   private final Executor executor;
   private final BalConfiguration balConfiguration;
+  private final TransactionSchedulingMetrics schedulingMetrics;
 
   public ParallelTransactionPreprocessing(
       final MainnetTransactionProcessor transactionProcessor,
       final Executor executor,
       final BalConfiguration balConfiguration) {
+    this(
+        transactionProcessor,
+        executor,
+        balConfiguration,
+        new TransactionSchedulingMetrics(new NoOpMetricsSystem()));
+  }
+
+  public ParallelTransactionPreprocessing(
+      final MainnetTransactionProcessor transactionProcessor,
+      final Executor executor,
+      final BalConfiguration balConfiguration,
+      final TransactionSchedulingMetrics schedulingMetrics) {
     this.transactionProcessor = transactionProcessor;
     this.executor = executor;
     this.balConfiguration = balConfiguration;
+    this.schedulingMetrics = schedulingMetrics;
   }
 
   @Override
@@ -60,14 +75,18 @@ public class ParallelTransactionPreprocessing implements PreprocessingFunction {
       return Optional.empty();
     }
 
-    final ParallelBlockTransactionProcessor parallelProcessor;
+    final ParallelTransactionProcessor parallelProcessor;
 
     if (balConfiguration.isPerfectParallelizationEnabled() && maybeBlockBal.isPresent()) {
       parallelProcessor =
           new BalConcurrentTransactionProcessor(
               transactionProcessor, maybeBlockBal.get(), balConfiguration);
+    } else if (balConfiguration.isBlockStmEnabled()) {
+      parallelProcessor = new BlockStmTransactionProcessor(transactionProcessor, schedulingMetrics);
     } else {
-      parallelProcessor = new ParallelizedConcurrentTransactionProcessor(transactionProcessor);
+      parallelProcessor =
+          new ParallelizedConcurrentTransactionProcessor(
+              transactionProcessor, maybeBlockBal, schedulingMetrics);
     }
 
     parallelProcessor.runAsyncBlock(
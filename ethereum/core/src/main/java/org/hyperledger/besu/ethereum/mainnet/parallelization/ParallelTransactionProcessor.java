@@ -0,0 +1,80 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.mainnet.parallelization;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.ProtocolContext;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.MutableWorldState;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.mainnet.block.access.list.BlockAccessList.BlockAccessListBuilder;
+import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
+import org.hyperledger.besu.evm.blockhash.BlockHashLookup;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+
+/**
+ * Executes the transactions of a block ahead of the block processor, which then applies the
+ * results in block order and processes sequentially the transactions without a usable result.
+ */
+public interface ParallelTransactionProcessor {
+
+  /**
+   * Starts the execution of the transactions of the block, without waiting for it to complete.
+   *
+   * @param protocolContext the protocol context
+   * @param blockHeader the header of the block
+   * @param transactions the transactions of the block
+   * @param miningBeneficiary the mining beneficiary of the block
+   * @param blockHashLookup the block hash lookup
+   * @param blobGasPrice the blob gas price of the block
+   * @param executor the executor running the transactions
+   * @param blockAccessListBuilder the builder of the block access list, if one is produced
+   */
+  void runAsyncBlock(
+      ProtocolContext protocolContext,
+      BlockHeader blockHeader,
+      List<Transaction> transactions,
+      Address miningBeneficiary,
+      BlockHashLookup blockHashLookup,
+      Wei blobGasPrice,
+      Executor executor,
+      Optional<BlockAccessListBuilder> blockAccessListBuilder);
+
+  /**
+   * Applies the result of a transaction executed ahead of the block processor to the block state,
+   * once every earlier transaction of the block has been applied.
+   *
+   * @param worldState the world state of the block
+   * @param miningBeneficiary the mining beneficiary of the block
+   * @param transaction the transaction
+   * @param location the index of the transaction within the block
+   * @param confirmedParallelizedTransactionCounter counter of the results applied
+   * @param conflictingButCachedTransactionCounter counter of the results discarded
+   * @return the result of the transaction if it was applied, or empty if the transaction must be
+   *     processed sequentially
+   */
+  Optional<TransactionProcessingResult> getProcessingResult(
+      MutableWorldState worldState,
+      Address miningBeneficiary,
+      Transaction transaction,
+      int location,
+      Optional<Counter> confirmedParallelizedTransactionCounter,
+      Optional<Counter> conflictingButCachedTransactionCounter);
+}
@@ -23,20 +23,25 @@ import org.hyperledger.besu.ethereum.core.Transaction;
 import org.hyperledger.besu.ethereum.mainnet.MainnetTransactionProcessor;
 import org.hyperledger.besu.ethereum.mainnet.TransactionValidationParams;
 import org.hyperledger.besu.ethereum.mainnet.block.access.list.AccessLocationTracker;
+import org.hyperledger.besu.ethereum.mainnet.block.access.list.BlockAccessList;
 import org.hyperledger.besu.ethereum.mainnet.block.access.list.BlockAccessList.BlockAccessListBuilder;
 import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
 import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.worldview.BonsaiWorldState;
 import org.hyperledger.besu.ethereum.trie.pathbased.common.worldview.PathBasedWorldState;
 import org.hyperledger.besu.ethereum.trie.pathbased.common.worldview.accumulator.PathBasedWorldStateUpdateAccumulator;
-import org.hyperledger.besu.evm.account.MutableAccount;
 import org.hyperledger.besu.evm.blockhash.BlockHashLookup;
 import org.hyperledger.besu.evm.tracing.OperationTracer;
 import org.hyperledger.besu.evm.worldstate.WorldUpdater;
 import org.hyperledger.besu.evm.worldstate.WorldView;
 import org.hyperledger.besu.plugin.services.metrics.Counter;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
+import java.util.function.IntConsumer;
 
 import com.google.common.annotations.VisibleForTesting;
 
@@ -53,6 +58,10 @@ public class ParallelizedConcurrentTransactionProcessor extends ParallelBlockTra
 
   private final TransactionCollisionDetector transactionCollisionDetector;
 
+  private final Optional<TransactionSchedulingMetrics> schedulingMetrics;
+
+  private final Optional<BlockAccessList> blockAccessList;
+
   /**
    * Constructs a PreloadConcurrentTransactionProcessor with a specified transaction processor. This
    * processor is responsible for the individual processing of transactions.
@@ -63,6 +72,28 @@ public class ParallelizedConcurrentTransactionProcessor extends ParallelBlockTra
       final MainnetTransactionProcessor transactionProcessor) {
     this.transactionProcessor = transactionProcessor;
     this.transactionCollisionDetector = new TransactionCollisionDetector();
+    this.schedulingMetrics = Optional.empty();
+    this.blockAccessList = Optional.empty();
+  }
+
+  /**
+   * Constructs a processor that schedules transactions according to their dependencies: the
+   * transactions that depend on no earlier transaction are executed right away, and the others are
+   * not executed at all, since their result on the state of the parent block would be rejected by
+   * the collision detection. They are left to the block processor, which executes them in order.
+   *
+   * @param transactionProcessor The transaction processor for processing individual transactions.
+   * @param blockAccessList The block access list of the block, if any, to find dependencies.
+   * @param schedulingMetrics The metrics recording the dependency graph of each block.
+   */
+  public ParallelizedConcurrentTransactionProcessor(
+      final MainnetTransactionProcessor transactionProcessor,
+      final Optional<BlockAccessList> blockAccessList,
+      final TransactionSchedulingMetrics schedulingMetrics) {
+    this.transactionProcessor = transactionProcessor;
+    this.transactionCollisionDetector = new TransactionCollisionDetector();
+    this.schedulingMetrics = Optional.of(schedulingMetrics);
+    this.blockAccessList = blockAccessList;
   }
 
   @VisibleForTesting
@@ -71,6 +102,102 @@ public class ParallelizedConcurrentTransactionProcessor extends ParallelBlockTra
       final TransactionCollisionDetector transactionCollisionDetector) {
     this.transactionProcessor = transactionProcessor;
     this.transactionCollisionDetector = transactionCollisionDetector;
+    this.schedulingMetrics = Optional.empty();
+    this.blockAccessList = Optional.empty();
+  }
+
+  @Override
+  public void runAsyncBlock(
+      final ProtocolContext protocolContext,
+      final BlockHeader blockHeader,
+      final List<Transaction> transactions,
+      final Address miningBeneficiary,
+      final BlockHashLookup blockHashLookup,
+      final Wei blobGasPrice,
+      final Executor executor,
+      final Optional<BlockAccessListBuilder> blockAccessListBuilder) {
+    if (schedulingMetrics.isEmpty()) {
+      super.runAsyncBlock(
+          protocolContext,
+          blockHeader,
+          transactions,
+          miningBeneficiary,
+          blockHashLookup,
+          blobGasPrice,
+          executor,
+          blockAccessListBuilder);
+      return;
+    }
+
+    final CompletableFuture<ParallelizedTransactionContext>[] blockFutures =
+        new CompletableFuture[transactions.size()];
+    for (int i = 0; i < transactions.size(); i++) {
+      blockFutures[i] = new CompletableFuture<>();
+    }
+    futures = blockFutures;
+
+    final IntConsumer executeTransaction =
+        txIndex -> {
+          // a transaction already reached by the block processor is cancelled and skipped
+          if (!blockFutures[txIndex].isDone()) {
+            blockFutures[txIndex].complete(
+                runTransaction(
+                    protocolContext,
+                    blockHeader,
+                    txIndex,
+                    transactions.get(txIndex),
+                    miningBeneficiary,
+                    blockHashLookup,
+                    blobGasPrice,
+                    blockAccessListBuilder));
+          }
+        };
+    final BiConsumer<Integer, int[]> schedule =
+        (txIndex, dependencies) -> {
+          if (dependencies.length == 0) {
+            executor.execute(() -> executeTransaction.accept(txIndex));
+          } else {
+            // a dependent transaction is processed sequentially by the block processor
+            blockFutures[txIndex].complete(null);
+          }
+        };
+
+    if (blockAccessList.isPresent()) {
+      final TransactionDependencyGraph graph =
+          TransactionDependencyGraph.fromBlockAccessList(
+              transactions, blockAccessList.get(), miningBeneficiary);
+      schedulingMetrics.get().recordDependencyGraph(graph);
+      for (int i = 0; i < transactions.size(); i++) {
+        schedule.accept(i, graph.dependencies(i));
+      }
+      return;
+    }
+
+    // the senders are needed to find the dependencies, they are recovered in parallel and each
+    // transaction is scheduled as soon as the senders up to its own are known
+    final TransactionDependencyGraph.Builder graphBuilder =
+        new TransactionDependencyGraph.Builder(transactions.size(), miningBeneficiary);
+    CompletableFuture<Void> knownDependencies = CompletableFuture.completedFuture(null);
+    for (int i = 0; i < transactions.size(); i++) {
+      final int txIndex = i;
+      final Transaction transaction = transactions.get(i);
+      knownDependencies =
+          knownDependencies.thenCombine(
+              CompletableFuture.runAsync(transaction::getSender, executor),
+              (__, ___) -> {
+                schedule.accept(txIndex, graphBuilder.add(transaction));
+                return null;
+              });
+    }
+    knownDependencies.whenComplete(
+        (__, error) -> {
+          if (error != null) {
+            // a sender could not be recovered, leave the rest of the block to sequential processing
+            Arrays.stream(blockFutures).forEach(future -> future.complete(null));
+            return;
+          }
+          schedulingMetrics.get().recordDependencyGraph(graphBuilder.build());
+        });
   }
 
   @Override
@@ -209,25 +336,11 @@ public class ParallelizedConcurrentTransactionProcessor extends ParallelBlockTra
           transactionCollisionDetector.hasCollision(
               transaction, miningBeneficiary, parallelizedTransactionContext, blockAccumulator);
       if (transactionProcessingResult.isSuccessful() && !hasCollision) {
-        final MutableAccount miningBeneficiaryAccount =
-            blockAccumulator.getOrCreate(miningBeneficiary);
-        Wei reward = parallelizedTransactionContext.miningBeneficiaryReward();
-        if (!reward.isZero() || !transactionProcessor.getClearEmptyAccounts()) {
-          miningBeneficiaryAccount.incrementBalance(reward);
-        }
-
-        final Wei miningBeneficiaryPostBalance = miningBeneficiaryAccount.getBalance();
-        transactionProcessingResult
-            .getPartialBlockAccessView()
-            .ifPresent(
-                partialBlockAccessView ->
-                    partialBlockAccessView.accountChanges().stream()
-                        .filter(
-                            accountChanges -> accountChanges.getAddress().equals(miningBeneficiary))
-                        .findFirst()
-                        .ifPresent(
-                            accountChanges ->
-                                accountChanges.setPostBalance(miningBeneficiaryPostBalance)));
+        rewardMiningBeneficiary(
+            blockAccumulator,
+            miningBeneficiary,
+            parallelizedTransactionContext,
+            transactionProcessor.getClearEmptyAccounts());
 
         blockAccumulator.importStateChangesFromSource(transactionAccumulator);
 
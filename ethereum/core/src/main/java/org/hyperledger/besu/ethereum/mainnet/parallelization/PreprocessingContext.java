@@ -14,4 +14,4 @@
  */
 package org.hyperledger.besu.ethereum.mainnet.parallelization;
 
-public record PreprocessingContext(ParallelBlockTransactionProcessor processor) {}
+public record PreprocessingContext(ParallelTransactionProcessor processor) {}
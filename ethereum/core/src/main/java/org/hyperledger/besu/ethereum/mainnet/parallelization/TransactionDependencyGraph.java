@@ -0,0 +1,363 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.mainnet.parallelization;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.StorageSlotKey;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.mainnet.block.access.list.BlockAccessList;
+import org.hyperledger.besu.ethereum.mainnet.block.access.list.BlockAccessList.AccountChanges;
+import org.hyperledger.besu.ethereum.mainnet.block.access.list.BlockAccessList.SlotChanges;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Read/write dependency graph between the transactions of a block, used to schedule their
+ * speculative execution.
+ *
+ * <p>A transaction depends on an earlier one when it touches an account whose nonce, balance or
+ * code the earlier transaction changed, or when both write the same storage slot. Those are exactly
+ * the overlaps that make {@link TransactionCollisionDetector} reject a result computed against the
+ * parent state, so a dependent transaction can never be committed from its speculative execution.
+ * The graph only contains dependencies that are known before execution and may miss some; the
+ * collision detector still validates every result, so a missing edge costs a re-execution and
+ * never correctness.
+ *
+ * <p>Transactions are grouped in waves: wave 0 holds the transactions with no dependency and wave
+ * {@code n} those whose dependencies are all in earlier waves. The graph is deterministic, it only
+ * depends on the transactions and on the block access list. It can also be built one transaction
+ * at a time with a {@link Builder}, so that each transaction is scheduled as soon as its own
+ * dependencies are known.
+ */
+public final class TransactionDependencyGraph {
+
+  private final int[] waves;
+  private final int[][] dependencies;
+  private final int waveCount;
+  private final long criticalPathGas;
+  private final long totalGas;
+
+  private TransactionDependencyGraph(
+      final int[] waves,
+      final int[][] dependencies,
+      final int waveCount,
+      final long criticalPathGas,
+      final long totalGas) {
+    this.waves = waves;
+    this.dependencies = dependencies;
+    this.waveCount = waveCount;
+    this.criticalPathGas = criticalPathGas;
+    this.totalGas = totalGas;
+  }
+
+  /**
+   * Builds the graph from what the transactions alone reveal: every transaction changes the nonce
+   * of its sender, and the balance of its recipient when it transfers value. Senders are recovered
+   * if they are not already.
+   *
+   * @param transactions the transactions of the block, in block order
+   * @param miningBeneficiary the block's mining beneficiary, which is left out of the analysis
+   * @return the dependency graph
+   */
+  public static TransactionDependencyGraph fromTransactions(
+      final List<Transaction> transactions, final Address miningBeneficiary) {
+    final Builder builder = new Builder(transactions.size(), miningBeneficiary);
+    transactions.forEach(builder::add);
+    return builder.build();
+  }
+
+  /**
+   * Builds the graph from the changes recorded per transaction in a block access list, which
+   * includes the accounts and slots written by contract execution.
+   *
+   * @param transactions the transactions of the block, in block order
+   * @param blockAccessList the block access list of the block
+   * @param miningBeneficiary the block's mining beneficiary, which is left out of the analysis
+   * @return the dependency graph
+   */
+  public static TransactionDependencyGraph fromBlockAccessList(
+      final List<Transaction> transactions,
+      final BlockAccessList blockAccessList,
+      final Address miningBeneficiary) {
+    final List<AccessSet> accessSets = new ArrayList<>(transactions.size());
+    for (final Transaction transaction : transactions) {
+      final AccessSet accessSet = new AccessSet();
+      transaction.getTo().ifPresent(accessSet::touchAccount);
+      accessSets.add(accessSet);
+    }
+    for (final AccountChanges accountChanges : blockAccessList.accountChanges()) {
+      final Address address = accountChanges.address();
+      // the block access index of a transaction is its location plus one, index 0 and the one
+      // after the last transaction belong to the system calls around the transactions
+      accountChanges
+          .balanceChanges()
+          .forEach(change -> writeAccount(accessSets, change.txIndex() - 1, address));
+      accountChanges
+          .nonceChanges()
+          .forEach(change -> writeAccount(accessSets, change.txIndex() - 1, address));
+      accountChanges
+          .codeChanges()
+          .forEach(change -> writeAccount(accessSets, change.txIndex() - 1, address));
+      for (final SlotChanges slotChanges : accountChanges.storageChanges()) {
+        final StorageLocation location = new StorageLocation(address, slotChanges.slot());
+        slotChanges
+            .changes()
+            .forEach(change -> writeSlot(accessSets, change.txIndex() - 1, location));
+      }
+    }
+    final Builder builder = new Builder(transactions.size(), miningBeneficiary);
+    for (int i = 0; i < transactions.size(); i++) {
+      builder.add(transactions.get(i), accessSets.get(i));
+    }
+    return builder.build();
+  }
+
+  private static void writeAccount(
+      final List<AccessSet> accessSets, final int location, final Address address) {
+    if (location >= 0 && location < accessSets.size()) {
+      accessSets.get(location).writeAccount(address);
+    }
+  }
+
+  private static void writeSlot(
+      final List<AccessSet> accessSets, final int location, final StorageLocation slot) {
+    if (location >= 0 && location < accessSets.size()) {
+      accessSets.get(location).writeSlot(slot);
+    }
+  }
+
+  /**
+   * The number of transactions in the graph.
+   *
+   * @return the number of transactions
+   */
+  public int size() {
+    return waves.length;
+  }
+
+  /**
+   * The wave of a transaction, which is the length of the longest chain of dependencies leading to
+   * it.
+   *
+   * @param location the location of the transaction in the block
+   * @return the wave of the transaction, 0 if it depends on no earlier transaction
+   */
+  public int wave(final int location) {
+    return waves[location];
+  }
+
+  /**
+   * The earlier transactions a transaction directly depends on: the last ones to write each
+   * account or slot it touches. Waiting for them is enough to wait for all its dependencies, since
+   * each of them depends on the previous writers of the same locations.
+   *
+   * @param location the location of the transaction in the block
+   * @return the locations of the transactions it depends on, in block order
+   */
+  public int[] dependencies(final int location) {
+    return dependencies[location];
+  }
+
+  /**
+   * Whether a transaction depends on no earlier transaction of the block.
+   *
+   * @param location the location of the transaction in the block
+   * @return true if the transaction can be executed against the parent state
+   */
+  public boolean isIndependent(final int location) {
+    return waves[location] == 0;
+  }
+
+  /**
+   * The number of waves, which is also the number of transactions on the longest dependency chain.
+   *
+   * @return the number of waves, 0 for an empty block
+   */
+  public int waveCount() {
+    return waveCount;
+  }
+
+  /**
+   * The number of transactions that depend on no earlier transaction.
+   *
+   * @return the number of transactions in wave 0
+   */
+  public int independentCount() {
+    return (int) Arrays.stream(waves).filter(wave -> wave == 0).count();
+  }
+
+  /**
+   * The critical path of the block weighted by gas: the highest sum of gas limits along a chain of
+   * dependent transactions. No schedule can execute the block faster than this chain.
+   *
+   * @return the gas limit of the critical path
+   */
+  public long criticalPathGas() {
+    return criticalPathGas;
+  }
+
+  /**
+   * The sum of the gas limits of all transactions.
+   *
+   * @return the total gas limit
+   */
+  public long totalGas() {
+    return totalGas;
+  }
+
+  /** Builds a dependency graph one transaction at a time, in block order. */
+  public static final class Builder {
+    private final Address miningBeneficiary;
+    private final int[] waves;
+    private final int[][] dependencies;
+    // for every location, the latest wave, the heaviest chain and the last of the transactions
+    // writing it
+    private final Map<Address, Writers> accountWriters = new HashMap<>();
+    private final Map<StorageLocation, Writers> slotWriters = new HashMap<>();
+    private int size;
+    private int waveCount;
+    private long criticalPathGas;
+    private long totalGas;
+
+    /**
+     * Creates a builder for the transactions of a block.
+     *
+     * @param transactionCount the number of transactions of the block
+     * @param miningBeneficiary the block's mining beneficiary, which is left out of the analysis
+     */
+    public Builder(final int transactionCount, final Address miningBeneficiary) {
+      this.miningBeneficiary = miningBeneficiary;
+      this.waves = new int[transactionCount];
+      this.dependencies = new int[transactionCount][];
+    }
+
+    /**
+     * Adds the next transaction of the block, with the accounts that the transaction alone reveals:
+     * the nonce of its sender, and the balance of its recipient when it transfers value.
+     *
+     * @param transaction the next transaction of the block
+     * @return the locations of the earlier transactions it directly depends on
+     */
+    public int[] add(final Transaction transaction) {
+      final AccessSet accessSet = new AccessSet();
+      accessSet.writeAccount(transaction.getSender());
+      transaction
+          .getTo()
+          .ifPresent(
+              to -> {
+                if (transaction.getValue().isZero()) {
+                  accessSet.touchAccount(to);
+                } else {
+                  accessSet.writeAccount(to);
+                }
+              });
+      return add(transaction, accessSet);
+    }
+
+    private int[] add(final Transaction transaction, final AccessSet accessSet) {
+      final int location = size++;
+      // every transaction pays the mining beneficiary, the collision detector handles it apart
+      accessSet.touchedAccounts.remove(miningBeneficiary);
+      accessSet.writtenAccounts.remove(miningBeneficiary);
+
+      Writers latest = Writers.NONE;
+      final Set<Integer> lastWriters = new TreeSet<>();
+      for (final Address address : accessSet.touchedAccounts) {
+        final Writers writers = accountWriters.get(address);
+        if (writers != null) {
+          latest = Writers.max(latest, writers);
+          lastWriters.add(writers.lastWriter);
+        }
+      }
+      for (final StorageLocation slot : accessSet.writtenSlots) {
+        final Writers writers = slotWriters.get(slot);
+        if (writers != null) {
+          latest = Writers.max(latest, writers);
+          lastWriters.add(writers.lastWriter);
+        }
+      }
+      final long gas = transaction.getGasLimit();
+      final Writers writer = new Writers(latest.wave + 1, latest.pathGas + gas, location);
+      for (final Address address : accessSet.writtenAccounts) {
+        accountWriters.merge(address, writer, Writers::max);
+      }
+      for (final StorageLocation slot : accessSet.writtenSlots) {
+        slotWriters.merge(slot, writer, Writers::max);
+      }
+
+      waves[location] = writer.wave;
+      dependencies[location] = lastWriters.stream().mapToInt(Integer::intValue).toArray();
+      waveCount = Math.max(waveCount, writer.wave + 1);
+      criticalPathGas = Math.max(criticalPathGas, writer.pathGas);
+      totalGas += gas;
+      return dependencies[location];
+    }
+
+    /**
+     * Builds the graph of all the transactions added so far.
+     *
+     * @return the dependency graph
+     */
+    public TransactionDependencyGraph build() {
+      return new TransactionDependencyGraph(
+          Arrays.copyOf(waves, size),
+          Arrays.copyOf(dependencies, size),
+          waveCount,
+          criticalPathGas,
+          totalGas);
+    }
+  }
+
+  private record StorageLocation(Address address, StorageSlotKey slot) {}
+
+  private record Writers(int wave, long pathGas, int lastWriter) {
+
+    private static final Writers NONE = new Writers(-1, 0, -1);
+
+    private static Writers max(final Writers a, final Writers b) {
+      return new Writers(
+          Math.max(a.wave, b.wave),
+          Math.max(a.pathGas, b.pathGas),
+          Math.max(a.lastWriter, b.lastWriter));
+    }
+  }
+
+  private static final class AccessSet {
+    private final Set<Address> touchedAccounts = new HashSet<>();
+    private final Set<Address> writtenAccounts = new HashSet<>();
+    private final Set<StorageLocation> writtenSlots = new HashSet<>();
+
+    private void touchAccount(final Address address) {
+      touchedAccounts.add(address);
+    }
+
+    private void writeAccount(final Address address) {
+      touchedAccounts.add(address);
+      writtenAccounts.add(address);
+    }
+
+    private void writeSlot(final StorageLocation slot) {
+      touchedAccounts.add(slot.address());
+      writtenSlots.add(slot);
+    }
+  }
+}
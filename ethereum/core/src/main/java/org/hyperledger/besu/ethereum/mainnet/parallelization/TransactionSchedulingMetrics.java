@@ -0,0 +1,78 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.mainnet.parallelization;
+
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/** Metrics describing the scheduling of the last block executed in parallel. */
+public class TransactionSchedulingMetrics {
+
+  private final AtomicLong waveCount = new AtomicLong();
+  private final AtomicLong independentTransactions = new AtomicLong();
+  private final AtomicLong criticalPathGas = new AtomicLong();
+  private final AtomicLong totalGas = new AtomicLong();
+  private final Counter dependentTransactionsCounter;
+  private final Counter reexecutionsCounter;
+
+  public TransactionSchedulingMetrics(final MetricsSystem metricsSystem) {
+    metricsSystem.createLongGauge(
+        BesuMetricCategory.BLOCK_PROCESSING,
+        "parallel_execution_waves",
+        "Number of waves of dependent transactions in the last block",
+        waveCount::get);
+    metricsSystem.createLongGauge(
+        BesuMetricCategory.BLOCK_PROCESSING,
+        "parallel_execution_independent_transactions",
+        "Number of transactions without dependency on an earlier transaction in the last block",
+        independentTransactions::get);
+    metricsSystem.createLongGauge(
+        BesuMetricCategory.BLOCK_PROCESSING,
+        "parallel_execution_critical_path_gas",
+        "Gas limit of the heaviest chain of dependent transactions in the last block",
+        criticalPathGas::get);
+    metricsSystem.createLongGauge(
+        BesuMetricCategory.BLOCK_PROCESSING,
+        "parallel_execution_total_gas",
+        "Gas limit of all the transactions in the last block",
+        totalGas::get);
+    dependentTransactionsCounter =
+        metricsSystem.createCounter(
+            BesuMetricCategory.BLOCK_PROCESSING,
+            "parallel_execution_dependent_transactions_counter",
+            "Counter for the number of transactions depending on an earlier one");
+    reexecutionsCounter =
+        metricsSystem.createCounter(
+            BesuMetricCategory.BLOCK_PROCESSING,
+            "parallel_execution_reexecutions_counter",
+            "Counter for the number of transactions re-executed by the Block-STM scheduler");
+  }
+
+  public void recordDependencyGraph(final TransactionDependencyGraph graph) {
+    final int independent = graph.independentCount();
+    waveCount.set(graph.waveCount());
+    independentTransactions.set(independent);
+    criticalPathGas.set(graph.criticalPathGas());
+    totalGas.set(graph.totalGas());
+    dependentTransactionsCounter.inc(graph.size() - independent);
+  }
+
+  public void recordReexecutions(final long reexecutions) {
+    reexecutionsCounter.inc(reexecutions);
+  }
+}
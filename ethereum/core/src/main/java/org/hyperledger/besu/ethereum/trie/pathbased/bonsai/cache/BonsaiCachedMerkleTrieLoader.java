@@ -14,18 +14,22 @@
  */
 package org.hyperledger.besu.ethereum.trie.pathbased.bonsai.cache;
 
-import static org.hyperledger.besu.metrics.BesuMetricCategory.BLOCKCHAIN;
-
 import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.datatypes.StorageSlotKey;
+import org.hyperledger.besu.ethereum.trie.CompactEncoding;
 import org.hyperledger.besu.ethereum.trie.MerkleTrie;
 import org.hyperledger.besu.ethereum.trie.MerkleTrieException;
 import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.storage.BonsaiWorldStateKeyValueStorage;
 import org.hyperledger.besu.ethereum.trie.pathbased.common.StorageSubscriber;
 import org.hyperledger.besu.ethereum.trie.patricia.StoredMerklePatriciaTrie;
+import org.hyperledger.besu.ethereum.worldstate.PathBasedExtraStorageConfiguration.PathBasedUnstable;
 import org.hyperledger.besu.metrics.ObservableMetricsSystem;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
@@ -33,25 +37,37 @@ import java.util.concurrent.Executors;
 import java.util.function.Function;
 
 import com.google.common.annotations.VisibleForTesting;
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 
 public class BonsaiCachedMerkleTrieLoader implements StorageSubscriber {
 
   private static final ExecutorService VIRTUAL_POOL = Executors.newVirtualThreadPerTaskExecutor();
+  // keys are hashes, so a trie of 16^12 leaves would be needed to make deeper nodes common. The
+  // rare deeper nodes are read one by one once the batch is exhausted.
+  private static final int MAX_BATCHED_DEPTH = 12;
 
-  private static final int ACCOUNT_CACHE_SIZE = 100_000;
-  private static final int STORAGE_CACHE_SIZE = 200_000;
-  private final Cache<Bytes, Bytes> accountNodes =
-      CacheBuilder.newBuilder().recordStats().maximumSize(ACCOUNT_CACHE_SIZE).build();
-  private final Cache<Bytes, Bytes> storageNodes =
-      CacheBuilder.newBuilder().recordStats().maximumSize(STORAGE_CACHE_SIZE).build();
+  private final OffHeapTrieNodeCache accountNodes;
+  private final OffHeapTrieNodeCache storageNodes;
 
   public BonsaiCachedMerkleTrieLoader(final ObservableMetricsSystem metricsSystem) {
-    metricsSystem.createGuavaCacheCollector(BLOCKCHAIN, "accountsNodes", accountNodes);
-    metricsSystem.createGuavaCacheCollector(BLOCKCHAIN, "storageNodes", storageNodes);
+    this(metricsSystem, PathBasedUnstable.DEFAULT_TRIE_NODE_CACHE_SIZE_MB);
+  }
+
+  /**
+   * Creates a loader whose node caches share the given memory budget, a third of it going to the
+   * account trie and the rest to the storage tries.
+   *
+   * @param metricsSystem the metrics system
+   * @param cacheSizeMb the size of the off-heap node caches in megabytes
+   */
+  public BonsaiCachedMerkleTrieLoader(
+      final ObservableMetricsSystem metricsSystem, final long cacheSizeMb) {
+    final long cacheSize = cacheSizeMb * 1024 * 1024;
+    this.accountNodes = new OffHeapTrieNodeCache(cacheSize / 3);
+    this.storageNodes = new OffHeapTrieNodeCache(cacheSize - cacheSize / 3);
+    accountNodes.setupMetricsSystem(metricsSystem, "accountsNodes");
+    storageNodes.setupMetricsSystem(metricsSystem, "storageNodes");
   }
 
   public void preLoadAccount(
@@ -70,11 +86,17 @@ public class BonsaiCachedMerkleTrieLoader implements StorageSubscriber {
       final Address account) {
     final long storageSubscriberId = worldStateKeyValueStorage.subscribe(this);
     try {
+      final PathNodes pathNodes =
+          new PathNodes(worldStateKeyValueStorage, Bytes.EMPTY, account.addressHash().getBytes());
       final StoredMerklePatriciaTrie<Bytes, Bytes> accountTrie =
           new StoredMerklePatriciaTrie<>(
               (location, hash) -> {
                 Optional<Bytes> node =
-                    getAccountStateTrieNode(worldStateKeyValueStorage, location, hash);
+                    getCachedNode(accountNodes, hash)
+                        .or(() -> pathNodes.get(location, hash))
+                        .or(
+                            () ->
+                                worldStateKeyValueStorage.getAccountStateTrieNode(location, hash));
                 node.ifPresent(bytes -> accountNodes.put(Hash.hash(bytes).getBytes(), bytes));
                 return node;
               },
@@ -105,17 +127,28 @@ public class BonsaiCachedMerkleTrieLoader implements StorageSubscriber {
     final Hash accountHash = account.addressHash();
     final long storageSubscriberId = worldStateKeyValueStorage.subscribe(this);
     try {
+      // the root of the storage trie is stored at the account hash, it is not addressed by hash
       worldStateKeyValueStorage
           .getStateTrieNode(Bytes.concatenate(accountHash.getBytes(), Bytes.EMPTY))
           .ifPresent(
               storageRoot -> {
                 try {
+                  final PathNodes pathNodes =
+                      new PathNodes(
+                          worldStateKeyValueStorage,
+                          accountHash.getBytes(),
+                          slotKey.getSlotHash().getBytes());
+                  pathNodes.put(Bytes.EMPTY, storageRoot);
                   final StoredMerklePatriciaTrie<Bytes, Bytes> storageTrie =
                       new StoredMerklePatriciaTrie<Bytes, Bytes>(
                           (location, hash) -> {
                             Optional<Bytes> node =
-                                getAccountStorageTrieNode(
-                                    worldStateKeyValueStorage, accountHash, location, hash);
+                                getCachedNode(storageNodes, hash)
+                                    .or(() -> pathNodes.get(location, hash))
+                                    .or(
+                                        () ->
+                                            worldStateKeyValueStorage.getAccountStorageTrieNode(
+                                                accountHash, location, hash));
                             node.ifPresent(
                                 bytes -> storageNodes.put(Hash.hash(bytes).getBytes(), bytes));
                             return node;
@@ -133,6 +166,14 @@ public class BonsaiCachedMerkleTrieLoader implements StorageSubscriber {
     }
   }
 
+  private static Optional<Bytes> getCachedNode(
+      final OffHeapTrieNodeCache cache, final Bytes32 nodeHash) {
+    if (nodeHash.equals(MerkleTrie.EMPTY_TRIE_NODE_HASH)) {
+      return Optional.of(MerkleTrie.EMPTY_TRIE_NODE);
+    }
+    return cache.get(nodeHash);
+  }
+
   public Optional<Bytes> getAccountStateTrieNode(
       final BonsaiWorldStateKeyValueStorage worldStateKeyValueStorage,
       final Bytes location,
@@ -140,7 +181,8 @@ public class BonsaiCachedMerkleTrieLoader implements StorageSubscriber {
     if (nodeHash.equals(MerkleTrie.EMPTY_TRIE_NODE_HASH)) {
       return Optional.of(MerkleTrie.EMPTY_TRIE_NODE);
     } else {
-      return Optional.ofNullable(accountNodes.getIfPresent(nodeHash))
+      return accountNodes
+          .get(nodeHash)
           .or(() -> worldStateKeyValueStorage.getAccountStateTrieNode(location, nodeHash));
     }
   }
@@ -153,11 +195,68 @@ public class BonsaiCachedMerkleTrieLoader implements StorageSubscriber {
     if (nodeHash.equals(MerkleTrie.EMPTY_TRIE_NODE_HASH)) {
       return Optional.of(MerkleTrie.EMPTY_TRIE_NODE);
     } else {
-      return Optional.ofNullable(storageNodes.getIfPresent(nodeHash))
+      return storageNodes
+          .get(nodeHash)
           .or(
               () ->
                   worldStateKeyValueStorage.getAccountStorageTrieNode(
                       accountHash, location, nodeHash));
     }
   }
+
+  /**
+   * The nodes on the path to a key that are missing from the cache. The trie is walked from the
+   * cache until a node is missing; every node that may lie on the path below it is then read in a
+   * single batch. Nodes are stored by location, so they are at the prefixes of the path of the key;
+   * the locations without a node are simply not found.
+   */
+  private static class PathNodes {
+    private final BonsaiWorldStateKeyValueStorage worldStateKeyValueStorage;
+    private final Bytes locationPrefix;
+    private final Bytes path;
+    private final Map<Bytes, Bytes> nodesByLocation = new HashMap<>();
+    private boolean batchRead = false;
+
+    PathNodes(
+        final BonsaiWorldStateKeyValueStorage worldStateKeyValueStorage,
+        final Bytes locationPrefix,
+        final Bytes keyHash) {
+      this.worldStateKeyValueStorage = worldStateKeyValueStorage;
+      this.locationPrefix = locationPrefix;
+      this.path = CompactEncoding.bytesToPath(keyHash);
+    }
+
+    void put(final Bytes location, final Bytes node) {
+      nodesByLocation.put(location, node);
+    }
+
+    Optional<Bytes> get(final Bytes location, final Bytes32 nodeHash) {
+      if (!nodesByLocation.containsKey(location) && !batchRead) {
+        batchRead = true;
+        readFrom(location.size());
+      }
+      return Optional.ofNullable(nodesByLocation.get(location))
+          .filter(node -> Hash.hash(node).getBytes().equals(nodeHash));
+    }
+
+    private void readFrom(final int depth) {
+      // the last nibble of the path is the leaf terminator
+      final int maxDepth = Math.min(path.size() - 1, MAX_BATCHED_DEPTH);
+      final List<Bytes> locations = new ArrayList<>();
+      final List<Bytes> keys = new ArrayList<>();
+      for (int d = depth; d <= maxDepth; d++) {
+        final Bytes location = path.slice(0, d);
+        locations.add(location);
+        keys.add(Bytes.concatenate(locationPrefix, location));
+      }
+      if (keys.isEmpty()) {
+        return;
+      }
+      final List<Optional<Bytes>> nodes = worldStateKeyValueStorage.getTrieNodesUnsafe(keys);
+      for (int i = 0; i < nodes.size(); i++) {
+        final Bytes location = locations.get(i);
+        nodes.get(i).ifPresent(node -> nodesByLocation.put(location, node));
+      }
+    }
+  }
 }
@@ -0,0 +1,371 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.trie.pathbased.bonsai.cache;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static org.hyperledger.besu.metrics.BesuMetricCategory.BLOCKCHAIN;
+
+import org.hyperledger.besu.metrics.ObservableMetricsSystem;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.google.common.cache.AbstractCache;
+import com.google.common.cache.CacheStats;
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * A cache of trie nodes keyed by their hash, bounded by a memory budget and kept outside of the
+ * Java heap.
+ *
+ * <p>The cache is split in segments, each guarded by its own lock. A segment appends its entries
+ * to a direct byte buffer used as a ring, so the oldest entries are evicted first when the buffer
+ * wraps around, and indexes them with an open addressing table of primitive arrays. The table
+ * probes a bounded number of slots; an index slot pointing to an overwritten entry is simply
+ * reused. The heap only holds the segments and their index arrays, whatever the number of cached
+ * nodes. Segments are allocated on their first write.
+ */
+public class OffHeapTrieNodeCache {
+
+  private static final int HASH_SIZE = 32;
+  // every entry is laid out as [value length][hash][value]
+  private static final int ENTRY_HEADER_SIZE = Integer.BYTES + HASH_SIZE;
+  // marks the unused end of the buffer when an entry does not fit before wrapping around
+  private static final int PADDING = -1;
+  private static final int MAX_PROBES = 8;
+  // trie nodes are about a hundred bytes on average, index more slots than there are entries
+  private static final int BYTES_PER_SLOT = 64;
+  private static final int MAX_SEGMENTS = 64;
+  private static final int MIN_SEGMENT_CAPACITY = 1 << 20;
+  private static final int MAX_SEGMENT_CAPACITY = 1 << 30;
+
+  private final Segment[] segments;
+  private final long capacity;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+
+  /**
+   * Creates a cache that uses up to the given number of bytes of direct memory.
+   *
+   * @param capacity the memory budget of the cache in bytes, 0 disables the cache
+   */
+  public OffHeapTrieNodeCache(final long capacity) {
+    checkArgument(capacity >= 0, "capacity must not be negative");
+    int segmentCount =
+        (int)
+            Math.min(
+                MAX_SEGMENTS, Math.max(1, Long.highestOneBit(capacity / MIN_SEGMENT_CAPACITY)));
+    while (capacity / segmentCount > MAX_SEGMENT_CAPACITY) {
+      segmentCount <<= 1;
+    }
+    final int segmentCapacity = capacity == 0 ? 0 : (int) (capacity / segmentCount);
+    this.segments = new Segment[segmentCapacity < ENTRY_HEADER_SIZE ? 0 : segmentCount];
+    for (int i = 0; i < segments.length; i++) {
+      segments[i] = new Segment(segmentCapacity);
+    }
+    this.capacity = (long) segmentCapacity * segments.length;
+  }
+
+  /**
+   * Gets a node from the cache.
+   *
+   * @param hash the hash of the node
+   * @return the node if it is cached
+   */
+  public Optional<Bytes> get(final Bytes hash) {
+    if (segments.length == 0) {
+      return Optional.empty();
+    }
+    final Optional<Bytes> node = segmentFor(hash).get(hash);
+    if (node.isPresent()) {
+      hits.increment();
+    } else {
+      misses.increment();
+    }
+    return node;
+  }
+
+  /**
+   * Puts a node in the cache, possibly evicting the oldest nodes. Nodes too large to be cached are
+   * ignored.
+   *
+   * @param hash the hash of the node
+   * @param node the encoded node
+   */
+  public void put(final Bytes hash, final Bytes node) {
+    checkArgument(hash.size() == HASH_SIZE, "expected a 32 bytes hash");
+    if (segments.length != 0) {
+      segmentFor(hash).put(hash, node);
+    }
+  }
+
+  /**
+   * The direct memory the cache uses once every segment has been written to.
+   *
+   * @return the capacity of the cache in bytes
+   */
+  public long capacity() {
+    return capacity;
+  }
+
+  /**
+   * The number of nodes currently held in the cache.
+   *
+   * @return the number of cached nodes
+   */
+  public long size() {
+    return Arrays.stream(segments).mapToLong(Segment::size).sum();
+  }
+
+  /**
+   * The number of nodes evicted from the cache so far.
+   *
+   * @return the number of evictions
+   */
+  public long evictionCount() {
+    return Arrays.stream(segments).mapToLong(Segment::evictionCount).sum();
+  }
+
+  /**
+   * The ratio of lookups that found their node.
+   *
+   * @return the hit rate, 1 when there was no lookup
+   */
+  public double hitRate() {
+    final long hitCount = hits.sum();
+    final long requestCount = hitCount + misses.sum();
+    return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+  }
+
+  /**
+   * Registers the metrics of this cache, as the Guava cache metrics of the on-heap cache it
+   * replaced, so that the existing series keep their names.
+   *
+   * @param metricsSystem the metrics system
+   * @param name the name of the cache in the metrics
+   */
+  public void setupMetricsSystem(final ObservableMetricsSystem metricsSystem, final String name) {
+    metricsSystem.createGuavaCacheCollector(BLOCKCHAIN, name, new StatisticsView());
+  }
+
+  private Segment segmentFor(final Bytes hash) {
+    // node hashes are uniformly distributed, any of their bytes make a good hash code
+    return segments[(hash.getInt(0) & Integer.MAX_VALUE) % segments.length];
+  }
+
+  /** A Guava view of this cache that only exposes its size and statistics. */
+  private final class StatisticsView extends AbstractCache<Bytes, Bytes> {
+
+    @Override
+    public Bytes getIfPresent(final Object key) {
+      return key instanceof Bytes hash ? OffHeapTrieNodeCache.this.get(hash).orElse(null) : null;
+    }
+
+    @Override
+    public long size() {
+      return OffHeapTrieNodeCache.this.size();
+    }
+
+    @Override
+    public CacheStats stats() {
+      return new CacheStats(hits.sum(), misses.sum(), 0, 0, 0, evictionCount());
+    }
+  }
+
+  private static final class Segment {
+    private final int capacity;
+    private final int slotCount;
+    private final int slotMask;
+    // the buffer and the index are allocated on the first write, see allocate()
+    private ByteBuffer buffer;
+    // absolute position of the indexed entry plus one, 0 for a never used slot
+    private long[] positions;
+    private int[] tags;
+    private final Lock readLock;
+    private final Lock writeLock;
+    // absolute positions only grow, the entry at position p lives at p % capacity until the
+    // write position goes past p + capacity
+    private long writePosition;
+    private long oldestPosition;
+    private long entryCount;
+    private long evictionCount;
+
+    Segment(final int capacity) {
+      this.capacity = capacity;
+      this.slotCount =
+          Math.max(MAX_PROBES, Integer.highestOneBit(Math.max(1, capacity / BYTES_PER_SLOT)));
+      this.slotMask = slotCount - 1;
+      final ReadWriteLock lock = new ReentrantReadWriteLock();
+      this.readLock = lock.readLock();
+      this.writeLock = lock.writeLock();
+    }
+
+    Optional<Bytes> get(final Bytes hash) {
+      final int home = hash.getInt(4);
+      final int tag = hash.getInt(8);
+      readLock.lock();
+      try {
+        final int offset = find(hash, home, tag);
+        if (offset < 0) {
+          return Optional.empty();
+        }
+        final byte[] node = new byte[buffer.getInt(offset)];
+        buffer.get(offset + ENTRY_HEADER_SIZE, node);
+        return Optional.of(Bytes.wrap(node));
+      } finally {
+        readLock.unlock();
+      }
+    }
+
+    void put(final Bytes hash, final Bytes node) {
+      final int entrySize = ENTRY_HEADER_SIZE + node.size();
+      if (entrySize > capacity / 4) {
+        return;
+      }
+      final int home = hash.getInt(4);
+      final int tag = hash.getInt(8);
+      writeLock.lock();
+      try {
+        allocate();
+        if (find(hash, home, tag) >= 0) {
+          // nodes are addressed by their hash, the cached node is the same
+          return;
+        }
+        final int slot = victimSlot(home);
+        int offset = (int) (writePosition % capacity);
+        final int padding = offset + entrySize > capacity ? capacity - offset : 0;
+        // account for the overwritten entries before the padding marker hides one of them
+        evictOverwrittenEntries(writePosition + padding + entrySize);
+        if (padding > 0) {
+          if (padding >= Integer.BYTES) {
+            buffer.putInt(offset, PADDING);
+          }
+          writePosition += padding;
+          offset = 0;
+        }
+        buffer.putInt(offset, node.size());
+        buffer.put(offset + Integer.BYTES, hash.toArrayUnsafe(), 0, HASH_SIZE);
+        buffer.put(offset + ENTRY_HEADER_SIZE, node.toArrayUnsafe(), 0, node.size());
+        positions[slot] = writePosition + 1;
+        tags[slot] = tag;
+        writePosition += entrySize;
+        entryCount++;
+      } finally {
+        writeLock.unlock();
+      }
+    }
+
+    long size() {
+      readLock.lock();
+      try {
+        return entryCount;
+      } finally {
+        readLock.unlock();
+      }
+    }
+
+    long evictionCount() {
+      readLock.lock();
+      try {
+        return evictionCount;
+      } finally {
+        readLock.unlock();
+      }
+    }
+
+    /**
+     * Allocates the segment when it is first written to, so that a loader which never preloads
+     * anything, as with a Forest database, does not hold its memory budget.
+     */
+    private void allocate() {
+      if (buffer == null) {
+        buffer = ByteBuffer.allocateDirect(capacity);
+        positions = new long[slotCount];
+        tags = new int[slotCount];
+      }
+    }
+
+    /** Returns the offset of the entry of the hash in the buffer, or -1 if it is not cached. */
+    private int find(final Bytes hash, final int home, final int tag) {
+      if (buffer == null) {
+        return -1;
+      }
+      for (int probe = 0; probe < MAX_PROBES; probe++) {
+        final int slot = (home + probe) & slotMask;
+        final long position = positions[slot] - 1;
+        if (position < 0) {
+          // slots are never cleared, so the hash was never indexed past an unused slot
+          return -1;
+        }
+        if (tags[slot] == tag && isLive(position)) {
+          final int offset = (int) (position % capacity);
+          if (hasHash(offset, hash)) {
+            return offset;
+          }
+        }
+      }
+      return -1;
+    }
+
+    /** Picks an unused or stale slot, or else the slot of the oldest entry among the probed. */
+    private int victimSlot(final int home) {
+      int victim = home & slotMask;
+      for (int probe = 0; probe < MAX_PROBES; probe++) {
+        final int slot = (home + probe) & slotMask;
+        final long position = positions[slot] - 1;
+        if (position < 0 || !isLive(position)) {
+          return slot;
+        }
+        if (position < positions[victim] - 1) {
+          victim = slot;
+        }
+      }
+      return victim;
+    }
+
+    private boolean isLive(final long position) {
+      return position >= writePosition - capacity;
+    }
+
+    private boolean hasHash(final int offset, final Bytes hash) {
+      for (int i = 0; i < HASH_SIZE; i += Long.BYTES) {
+        if (buffer.getLong(offset + Integer.BYTES + i) != hash.getLong(i)) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    /** Walks the entries that the next write overwrites to keep the entry count accurate. */
+    private void evictOverwrittenEntries(final long nextWritePosition) {
+      while (oldestPosition < writePosition && oldestPosition < nextWritePosition - capacity) {
+        final int offset = (int) (oldestPosition % capacity);
+        final int length = capacity - offset < Integer.BYTES ? PADDING : buffer.getInt(offset);
+        if (length == PADDING) {
+          oldestPosition += capacity - offset;
+        } else {
+          oldestPosition += ENTRY_HEADER_SIZE + length;
+          entryCount--;
+          evictionCount++;
+        }
+      }
+    }
+  }
+}
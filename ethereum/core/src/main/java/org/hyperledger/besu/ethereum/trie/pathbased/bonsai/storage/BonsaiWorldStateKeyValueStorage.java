@@ -130,6 +130,21 @@ public class BonsaiWorldStateKeyValueStorage extends PathBasedWorldStateKeyValue
     return composedWorldStateStorage.get(TRIE_BRANCH_STORAGE, key.toArrayUnsafe()).map(Bytes::wrap);
   }
 
+  /**
+   * Reads the trie nodes stored at several locations in a single batch, without checking their
+   * hash.
+   *
+   * @param keys the locations of the nodes, prefixed by the account hash for storage tries
+   * @return the node stored at each location, in the order of the keys
+   */
+  public List<Optional<Bytes>> getTrieNodesUnsafe(final List<Bytes> keys) {
+    return composedWorldStateStorage
+        .multiGet(TRIE_BRANCH_STORAGE, keys.stream().map(Bytes::toArrayUnsafe).toList())
+        .stream()
+        .map(value -> value.map(Bytes::wrap))
+        .toList();
+  }
+
   public Optional<Bytes> getStorageValueByStorageSlotKey(
       final Hash accountHash, final StorageSlotKey storageSlotKey) {
     return getStorageValueByStorageSlotKey(
@@ -44,13 +44,16 @@ import org.hyperledger.besu.ethereum.trie.patricia.StoredMerklePatriciaTrie;
 import org.hyperledger.besu.evm.account.Account;
 import org.hyperledger.besu.evm.internal.EvmConfiguration;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
-import java.util.stream.Stream;
 
 import com.google.common.annotations.VisibleForTesting;
 import jakarta.validation.constraints.NotNull;
@@ -58,10 +61,14 @@ import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import org.apache.tuweni.rlp.RLP;
 import org.apache.tuweni.units.bigints.UInt256;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 @SuppressWarnings("rawtypes")
 public class BonsaiWorldState extends PathBasedWorldState {
 
+  private static final Logger LOG = LoggerFactory.getLogger(BonsaiWorldState.class);
+
   protected BonsaiCachedMerkleTrieLoader bonsaiCachedMerkleTrieLoader;
   private final CodeCache codeCache;
 
@@ -131,18 +138,36 @@ public class BonsaiWorldState extends PathBasedWorldState {
 
     clearStorage(maybeStateUpdater, worldStateUpdater);
 
+    final boolean shouldCommit = maybeStateUpdater.isPresent();
+    final long startNanos = System.nanoTime();
+
+    // Stage the storage changes of each account in its own trie. The writes to the state updater
+    // are buffered per account, so the storage tries are processed in parallel even when
+    // committing and the updater is only used from this thread
+    final List<StorageTrieUpdate> storageTrieUpdates =
+        worldStateUpdater.getStorageToUpdate().entrySet().parallelStream()
+            .map(
+                addressMapEntry ->
+                    updateAccountStorageState(shouldCommit, worldStateUpdater, addressMapEntry))
+            .flatMap(Optional::stream)
+            .toList();
+    final long updateNanos = System.nanoTime();
+
+    storageTrieUpdates.parallelStream()
+        .forEach(
+            storageTrieUpdate ->
+                withAddress(
+                    storageTrieUpdate.address(), () -> prefetch(storageTrieUpdate.storageTrie())));
+    final long prefetchNanos = System.nanoTime();
+
     // This must be done before updating the accounts so
     // that we can get the storage state hash
-    Stream<Map.Entry<Address, StorageConsumingMap<StorageSlotKey, PathBasedValue<UInt256>>>>
-        storageStream = worldStateUpdater.getStorageToUpdate().entrySet().stream();
-    if (maybeStateUpdater.isEmpty()) {
-      storageStream =
-          storageStream
-              .parallel(); // if we are not updating the state updater we can use parallel stream
-    }
-    storageStream.forEach(
-        addressMapEntry ->
-            updateAccountStorageState(maybeStateUpdater, worldStateUpdater, addressMapEntry));
+    storageTrieUpdates.parallelStream()
+        .forEach(
+            storageTrieUpdate ->
+                withAddress(
+                    storageTrieUpdate.address(),
+                    () -> hashAccountStorageTrie(shouldCommit, storageTrieUpdate)));
 
     // Third update the code.  This has the side effect of ensuring a code hash is calculated.
     updateCode(maybeStateUpdater, worldStateUpdater);
@@ -160,9 +185,37 @@ public class BonsaiWorldState extends PathBasedWorldState {
 
     // TODO write to a cache and then generate a layer update from that and the
     // DB tx updates.  Right now it is just DB updates.
-    maybeStateUpdater.ifPresent(
-        bonsaiUpdater -> accountTrie.commit(bonsaiUpdater::putAccountStateTrieNode));
+    prefetch(accountTrie);
+    final List<Consumer<BonsaiWorldStateKeyValueStorage.Updater>> accountTrieWrites =
+        new ArrayList<>();
+    if (shouldCommit) {
+      accountTrie.commit(
+          (location, nodeHash, value) ->
+              accountTrieWrites.add(
+                  bonsaiUpdater ->
+                      bonsaiUpdater.putAccountStateTrieNode(location, nodeHash, value)));
+    }
     final Bytes32 rootHash = accountTrie.getRootHash();
+    final long hashNanos = System.nanoTime();
+
+    maybeStateUpdater.ifPresent(
+        bonsaiUpdater -> {
+          storageTrieUpdates.forEach(
+              storageTrieUpdate ->
+                  storageTrieUpdate.writes().forEach(write -> write.accept(bonsaiUpdater)));
+          accountTrieWrites.forEach(write -> write.accept(bonsaiUpdater));
+        });
+    final long persistNanos = System.nanoTime();
+
+    LOG.atDebug()
+        .setMessage("Calculated state root {} in {} ms (update {}, prefetch {}, hash {}, persist {})")
+        .addArgument(rootHash)
+        .addArgument(() -> TimeUnit.NANOSECONDS.toMillis(persistNanos - startNanos))
+        .addArgument(() -> TimeUnit.NANOSECONDS.toMillis(updateNanos - startNanos))
+        .addArgument(() -> TimeUnit.NANOSECONDS.toMillis(prefetchNanos - updateNanos))
+        .addArgument(() -> TimeUnit.NANOSECONDS.toMillis(hashNanos - prefetchNanos))
+        .addArgument(() -> TimeUnit.NANOSECONDS.toMillis(persistNanos - hashNanos))
+        .log();
     return Hash.wrap(rootHash);
   }
 
@@ -230,75 +283,122 @@ public class BonsaiWorldState extends PathBasedWorldState {
     return value == null || value.isEmpty();
   }
 
-  private void updateAccountStorageState(
-      final Optional<BonsaiWorldStateKeyValueStorage.Updater> maybeStateUpdater,
+  private Optional<StorageTrieUpdate> updateAccountStorageState(
+      final boolean shouldCommit,
       final BonsaiWorldStateUpdateAccumulator worldStateUpdater,
       final Map.Entry<Address, StorageConsumingMap<StorageSlotKey, PathBasedValue<UInt256>>>
           storageAccountUpdate) {
     final Address updatedAddress = storageAccountUpdate.getKey();
     final Hash updatedAddressHash = updatedAddress.addressHash();
-    if (worldStateUpdater.getAccountsToUpdate().containsKey(updatedAddress)) {
-      final PathBasedValue<BonsaiAccount> accountValue =
-          worldStateUpdater.getAccountsToUpdate().get(updatedAddress);
-      final BonsaiAccount accountOriginal = accountValue.getPrior();
-      final Hash storageRoot =
-          (accountOriginal == null
-                  || worldStateUpdater.getStorageToClear().contains(updatedAddress))
-              ? Hash.EMPTY_TRIE_HASH
-              : accountOriginal.getStorageRoot();
-      final MerkleTrie<Bytes, Bytes> storageTrie =
-          createTrie(
-              (location, key) ->
-                  bonsaiCachedMerkleTrieLoader.getAccountStorageTrieNode(
-                      getWorldStateStorage(), updatedAddressHash, location, key),
-              Bytes32.wrap(storageRoot.getBytes()));
-
-      // for manicured tries and composting, collect branches here (not implemented)
-      for (final Map.Entry<StorageSlotKey, PathBasedValue<UInt256>> storageUpdate :
-          storageAccountUpdate.getValue().entrySet()) {
-        final Hash slotHash = storageUpdate.getKey().getSlotHash();
-        final UInt256 updatedStorage = storageUpdate.getValue().getUpdated();
-        try {
-
-          if (!storageUpdate.getValue().isUnchanged()) {
-            if (updatedStorage == null || updatedStorage.equals(UInt256.ZERO)) {
-              maybeStateUpdater.ifPresent(
+    if (!worldStateUpdater.getAccountsToUpdate().containsKey(updatedAddress)) {
+      return Optional.empty();
+    }
+    final PathBasedValue<BonsaiAccount> accountValue =
+        worldStateUpdater.getAccountsToUpdate().get(updatedAddress);
+    final BonsaiAccount accountOriginal = accountValue.getPrior();
+    final Hash storageRoot =
+        (accountOriginal == null || worldStateUpdater.getStorageToClear().contains(updatedAddress))
+            ? Hash.EMPTY_TRIE_HASH
+            : accountOriginal.getStorageRoot();
+    final MerkleTrie<Bytes, Bytes> storageTrie =
+        createTrie(
+            (location, key) ->
+                bonsaiCachedMerkleTrieLoader.getAccountStorageTrieNode(
+                    getWorldStateStorage(), updatedAddressHash, location, key),
+            Bytes32.wrap(storageRoot.getBytes()));
+    final List<Consumer<BonsaiWorldStateKeyValueStorage.Updater>> writes = new ArrayList<>();
+
+    // for manicured tries and composting, collect branches here (not implemented)
+    for (final Map.Entry<StorageSlotKey, PathBasedValue<UInt256>> storageUpdate :
+        storageAccountUpdate.getValue().entrySet()) {
+      final Hash slotHash = storageUpdate.getKey().getSlotHash();
+      final UInt256 updatedStorage = storageUpdate.getValue().getUpdated();
+      try {
+
+        if (!storageUpdate.getValue().isUnchanged()) {
+          if (updatedStorage == null || updatedStorage.equals(UInt256.ZERO)) {
+            if (shouldCommit) {
+              writes.add(
                   bonsaiUpdater ->
                       bonsaiUpdater.removeStorageValueBySlotHash(updatedAddressHash, slotHash));
-              storageTrie.remove(slotHash.getBytes());
-            } else {
-              maybeStateUpdater.ifPresent(
+            }
+            storageTrie.remove(slotHash.getBytes());
+          } else {
+            if (shouldCommit) {
+              writes.add(
                   bonsaiUpdater ->
                       bonsaiUpdater.putStorageValueBySlotHash(
                           updatedAddressHash, slotHash, updatedStorage));
-              storageTrie.put(slotHash.getBytes(), encodeTrieValue(updatedStorage));
             }
+            storageTrie.put(slotHash.getBytes(), encodeTrieValue(updatedStorage));
           }
-        } catch (MerkleTrieException e) {
-          // need to throw to trigger the heal
-          throw new MerkleTrieException(
-              e.getMessage(), Optional.of(updatedAddress), e.getHash(), e.getLocation());
         }
+      } catch (MerkleTrieException e) {
+        // need to throw to trigger the heal
+        throw new MerkleTrieException(
+            e.getMessage(), Optional.of(updatedAddress), e.getHash(), e.getLocation());
       }
+    }
+    // for manicured tries and composting, trim and compost here
+    return Optional.of(
+        new StorageTrieUpdate(
+            updatedAddress, updatedAddressHash, accountValue.getUpdated(), storageTrie, writes));
+  }
 
-      final BonsaiAccount accountUpdated = accountValue.getUpdated();
-      if (accountUpdated != null) {
-        maybeStateUpdater.ifPresent(
-            bonsaiUpdater ->
-                storageTrie.commit(
-                    (location, nodeHash, value) ->
-                        writeStorageTrieNode(
-                            bonsaiUpdater, updatedAddressHash, location, nodeHash, value)));
-        // only use storage root of the trie when trie is enabled
-        if (!worldStateConfig.isTrieDisabled()) {
-          final Hash newStorageRoot = Hash.wrap(storageTrie.getRootHash());
-          accountUpdated.setStorageRoot(newStorageRoot);
-        }
+  private void hashAccountStorageTrie(
+      final boolean shouldCommit, final StorageTrieUpdate storageTrieUpdate) {
+    final BonsaiAccount accountUpdated = storageTrieUpdate.accountUpdated();
+    if (accountUpdated != null) {
+      final MerkleTrie<Bytes, Bytes> storageTrie = storageTrieUpdate.storageTrie();
+      if (shouldCommit) {
+        storageTrie.commit(
+            (location, nodeHash, value) ->
+                storageTrieUpdate
+                    .writes()
+                    .add(
+                        bonsaiUpdater ->
+                            writeStorageTrieNode(
+                                bonsaiUpdater,
+                                storageTrieUpdate.addressHash(),
+                                location,
+                                nodeHash,
+                                value)));
+      }
+      // only use storage root of the trie when trie is enabled
+      if (!worldStateConfig.isTrieDisabled()) {
+        final Hash newStorageRoot = Hash.wrap(storageTrie.getRootHash());
+        accountUpdated.setStorageRoot(newStorageRoot);
       }
     }
-    // for manicured tries and composting, trim and compost here
   }
 
+  private static void prefetch(final MerkleTrie<Bytes, Bytes> trie) {
+    if (trie instanceof ParallelStoredMerklePatriciaTrie<Bytes, Bytes> parallelTrie) {
+      parallelTrie.prefetch();
+    }
+  }
+
+  private static void withAddress(final Address address, final Runnable task) {
+    try {
+      task.run();
+    } catch (MerkleTrieException e) {
+      // need to throw to trigger the heal
+      throw new MerkleTrieException(
+          e.getMessage(), Optional.of(address), e.getHash(), e.getLocation());
+    }
+  }
+
+  /**
+   * The staged changes of the storage trie of an account, with the writes to apply to the state
+   * updater once the trie is hashed.
+   */
+  private record StorageTrieUpdate(
+      Address address,
+      Hash addressHash,
+      BonsaiAccount accountUpdated,
+      MerkleTrie<Bytes, Bytes> storageTrie,
+      List<Consumer<BonsaiWorldStateKeyValueStorage.Updater>> writes) {}
+
   private void clearStorage(
       final Optional<BonsaiWorldStateKeyValueStorage.Updater> maybeStateUpdater,
       final BonsaiWorldStateUpdateAccumulator worldStateUpdater) {
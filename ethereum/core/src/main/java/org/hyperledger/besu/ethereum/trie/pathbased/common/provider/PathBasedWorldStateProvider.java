@@ -25,6 +25,7 @@ import org.hyperledger.besu.ethereum.proof.WorldStateProofProvider;
 import org.hyperledger.besu.ethereum.trie.MerkleTrieException;
 import org.hyperledger.besu.ethereum.trie.pathbased.common.cache.PathBasedCachedWorldStorageManager;
 import org.hyperledger.besu.ethereum.trie.pathbased.common.storage.PathBasedWorldStateKeyValueStorage;
+import org.hyperledger.besu.ethereum.trie.pathbased.common.trielog.TrieLogCheckpoint;
 import org.hyperledger.besu.ethereum.trie.pathbased.common.trielog.TrieLogManager;
 import org.hyperledger.besu.ethereum.trie.pathbased.common.worldview.PathBasedWorldState;
 import org.hyperledger.besu.ethereum.trie.pathbased.common.worldview.WorldStateConfig;
@@ -265,18 +266,38 @@ public abstract class PathBasedWorldStateProvider implements WorldStateArchive {
           BlockHeader persistedHeader = maybePersistedHeader.get();
           // roll back from persisted to even with target
           Hash persistedBlockHash = persistedHeader.getBlockHash();
+          // checkpoints let whole intervals of blocks be rolled with a single merged trie log
           while (persistedHeader.getNumber() > targetHeader.getNumber()) {
-            LOG.debug("Rollback {}", persistedBlockHash);
-            rollBacks.add(trieLogManager.getTrieLogLayer(persistedBlockHash).get());
-            persistedHeader = blockchain.getBlockHeader(persistedHeader.getParentHash()).get();
+            final Optional<TrieLogCheckpoint> checkpoint =
+                trieLogManager.getWidestTrieLogCheckpoint(
+                    persistedHeader, targetHeader.getNumber());
+            if (checkpoint.isPresent()) {
+              LOG.debug("Rollback checkpoint {}", persistedBlockHash);
+              rollBacks.add(checkpoint.get().layer());
+              persistedHeader =
+                  blockchain.getBlockHeader(checkpoint.get().startBlockHash()).get();
+            } else {
+              LOG.debug("Rollback {}", persistedBlockHash);
+              rollBacks.add(trieLogManager.getTrieLogLayer(persistedBlockHash).get());
+              persistedHeader = blockchain.getBlockHeader(persistedHeader.getParentHash()).get();
+            }
             persistedBlockHash = persistedHeader.getBlockHash();
           }
           // roll forward to target
           Hash targetBlockHash = targetHeader.getBlockHash();
           while (persistedHeader.getNumber() < targetHeader.getNumber()) {
-            LOG.debug("Rollforward {}", targetBlockHash);
-            rollForwards.add(trieLogManager.getTrieLogLayer(targetBlockHash).get());
-            targetHeader = blockchain.getBlockHeader(targetHeader.getParentHash()).get();
+            final Optional<TrieLogCheckpoint> checkpoint =
+                trieLogManager.getWidestTrieLogCheckpoint(
+                    targetHeader, persistedHeader.getNumber());
+            if (checkpoint.isPresent()) {
+              LOG.debug("Rollforward checkpoint {}", targetBlockHash);
+              rollForwards.add(checkpoint.get().layer());
+              targetHeader = blockchain.getBlockHeader(checkpoint.get().startBlockHash()).get();
+            } else {
+              LOG.debug("Rollforward {}", targetBlockHash);
+              rollForwards.add(trieLogManager.getTrieLogLayer(targetBlockHash).get());
+              targetHeader = blockchain.getBlockHeader(targetHeader.getParentHash()).get();
+            }
             targetBlockHash = targetHeader.getBlockHash();
           }
 
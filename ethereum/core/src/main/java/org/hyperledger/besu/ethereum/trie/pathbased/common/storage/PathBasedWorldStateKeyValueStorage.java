@@ -72,6 +72,10 @@ public abstract class PathBasedWorldStateKeyValueStorage
   // 0x6172636869766564426C6F636B73
   public static final byte[] ARCHIVED_BLOCKS = "archivedBlocks".getBytes(StandardCharsets.UTF_8);
 
+  // 0x747269654c6f67436865636b706f696e74
+  public static final byte[] TRIE_LOG_CHECKPOINT_KEY_PREFIX =
+      "trieLogCheckpoint".getBytes(StandardCharsets.UTF_8);
+
   private final AtomicBoolean shouldClose = new AtomicBoolean(false);
 
   protected final AtomicBoolean isClosed = new AtomicBoolean(false);
@@ -116,7 +120,18 @@ public abstract class PathBasedWorldStateKeyValueStorage
   }
 
   public Stream<byte[]> streamTrieLogKeys(final long limit) {
-    return trieLogStorage.streamKeys().limit(limit);
+    // checkpoint keys are longer than a block hash
+    return trieLogStorage.streamKeys().filter(key -> key.length == Bytes32.SIZE).limit(limit);
+  }
+
+  public Optional<byte[]> getTrieLogCheckpoint(final int level, final Hash blockHash) {
+    return trieLogStorage.get(trieLogCheckpointKey(level, blockHash));
+  }
+
+  public static byte[] trieLogCheckpointKey(final int level, final Hash blockHash) {
+    return Bytes.concatenate(
+            Bytes.wrap(TRIE_LOG_CHECKPOINT_KEY_PREFIX), Bytes.of(level), blockHash.getBytes())
+        .toArrayUnsafe();
   }
 
   public Optional<Bytes> getStateTrieNode(final Bytes location) {
@@ -215,6 +230,15 @@ public abstract class PathBasedWorldStateKeyValueStorage
     }
   }
 
+  public boolean pruneTrieLogCheckpoint(final int level, final Hash blockHash) {
+    try {
+      return trieLogStorage.tryDelete(trieLogCheckpointKey(level, blockHash));
+    } catch (Exception e) {
+      LOG.error("Error pruning trie log checkpoint for block hash {}", blockHash, e);
+      return false;
+    }
+  }
+
   /**
    * Move old account state from the primary DB segment to the archive segment that will only be
    * used for historic state queries. This prevents performance degradation over time for writes to
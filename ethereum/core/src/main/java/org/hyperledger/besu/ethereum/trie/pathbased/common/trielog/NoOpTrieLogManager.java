@@ -48,4 +48,9 @@ public class NoOpTrieLogManager extends TrieLogManager {
   public Optional<TrieLog> getTrieLogLayer(final Hash blockHash) {
     return Optional.empty();
   }
+
+  @Override
+  public Optional<TrieLogCheckpoint> getTrieLogCheckpoint(final int level, final Hash blockHash) {
+    return Optional.empty();
+  }
 }
@@ -0,0 +1,56 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.trie.pathbased.common.trielog;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.plugin.services.trielogs.TrieLog;
+
+/**
+ * A trie log merging the trie logs of a whole interval of blocks into a single diff, so that the
+ * world state can be rolled across the interval in one step.
+ *
+ * <p>Level 0 checkpoints span {@link #BASE_INTERVAL} blocks, and each level above merges {@link
+ * #FAN_OUT} checkpoints of the level below. A checkpoint of level {@code l} ends at a block whose
+ * number is a multiple of {@link #interval(int)} and starts right after its ancestor {@code
+ * interval(l)} blocks below, so reaching any block takes a handful of checkpoints per level.
+ *
+ * @param level the level of the checkpoint
+ * @param startBlockHash the hash of the block the checkpoint starts after, rolling the checkpoint
+ *     back leaves the world state at this block
+ * @param layer the merged trie log, with the hash of the block the checkpoint ends at
+ */
+public record TrieLogCheckpoint(int level, Hash startBlockHash, TrieLog layer) {
+  public static final int BASE_INTERVAL = 256;
+  public static final int FAN_OUT = 16;
+  public static final int LEVELS = 3;
+
+  /**
+   * The number of blocks spanned by the checkpoints of a level.
+   *
+   * @param level the level of the checkpoints
+   * @return the number of blocks spanned
+   */
+  public static long interval(final int level) {
+    long interval = BASE_INTERVAL;
+    for (int i = 0; i < level; i++) {
+      interval *= FAN_OUT;
+    }
+    return interval;
+  }
+
+  public Hash endBlockHash() {
+    return layer.getBlockHash();
+  }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.trie.pathbased.common.trielog;
+
+import static org.hyperledger.besu.ethereum.trie.pathbased.common.trielog.TrieLogCheckpoint.BASE_INTERVAL;
+import static org.hyperledger.besu.ethereum.trie.pathbased.common.trielog.TrieLogCheckpoint.FAN_OUT;
+import static org.hyperledger.besu.ethereum.trie.pathbased.common.trielog.TrieLogCheckpoint.LEVELS;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.chain.BlockAddedEvent;
+import org.hyperledger.besu.ethereum.chain.BlockAddedObserver;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.trie.pathbased.common.PathBasedValue;
+import org.hyperledger.besu.plugin.services.trielogs.TrieLog;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+import com.google.common.annotations.VisibleForTesting;
+import org.apache.tuweni.units.bigints.UInt256;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Creates the {@link TrieLogCheckpoint}s ending at each new canonical head whose number is a
+ * multiple of {@link TrieLogCheckpoint#BASE_INTERVAL}, merging the trie logs of the blocks below it
+ * and then the checkpoints of each level into the level above.
+ *
+ * <p>Checkpoints wider than the number of layers that can be loaded are never used to roll the
+ * world state, so their levels are not created.
+ */
+public class TrieLogCheckpointer implements BlockAddedObserver {
+
+  private static final Logger LOG = LoggerFactory.getLogger(TrieLogCheckpointer.class);
+
+  private final Blockchain blockchain;
+  private final TrieLogManager trieLogManager;
+  private final Consumer<Runnable> executeAsync;
+  private final int levels;
+
+  public TrieLogCheckpointer(
+      final Blockchain blockchain,
+      final TrieLogManager trieLogManager,
+      final Consumer<Runnable> executeAsync) {
+    this.blockchain = blockchain;
+    this.trieLogManager = trieLogManager;
+    this.executeAsync = executeAsync;
+    int levels = 0;
+    while (levels < LEVELS
+        && TrieLogCheckpoint.interval(levels) <= trieLogManager.getMaxLayersToLoad()) {
+      levels++;
+    }
+    this.levels = levels;
+  }
+
+  @Override
+  public void onBlockAdded(final BlockAddedEvent event) {
+    final BlockHeader header = event.getHeader();
+    if (event.isNewCanonicalHead()
+        && levels > 0
+        && header.getNumber() > 0
+        && header.getNumber() % BASE_INTERVAL == 0) {
+      executeAsync.accept(() -> createCheckpoints(header));
+    }
+  }
+
+  @VisibleForTesting
+  void createCheckpoints(final BlockHeader header) {
+    for (int level = 0;
+        level < levels
+            && header.getNumber() % TrieLogCheckpoint.interval(level) == 0
+            && header.getNumber() >= TrieLogCheckpoint.interval(level);
+        level++) {
+      final Optional<TrieLogCheckpoint> checkpoint =
+          level == 0 ? mergeTrieLogs(header) : mergeCheckpoints(level, header);
+      if (checkpoint.isEmpty()) {
+        LOG.atDebug()
+            .setMessage("Missing trie logs to create the level {} checkpoint of {}")
+            .addArgument(level)
+            .addArgument(header::toLogString)
+            .log();
+        return;
+      }
+      trieLogManager.saveTrieLogCheckpoint(checkpoint.get());
+      LOG.atDebug()
+          .setMessage("Created the level {} trie log checkpoint of {}")
+          .addArgument(level)
+          .addArgument(header::toLogString)
+          .log();
+    }
+  }
+
+  private Optional<TrieLogCheckpoint> mergeTrieLogs(final BlockHeader endHeader) {
+    final List<TrieLog> layers = new ArrayList<>(BASE_INTERVAL);
+    BlockHeader header = endHeader;
+    for (int i = 0; i < BASE_INTERVAL; i++) {
+      final Optional<TrieLog> layer = trieLogManager.getTrieLogLayer(header.getBlockHash());
+      final Optional<BlockHeader> parent = blockchain.getBlockHeader(header.getParentHash());
+      if (layer.isEmpty() || parent.isEmpty()) {
+        return Optional.empty();
+      }
+      layers.add(layer.get());
+      header = parent.get();
+    }
+    Collections.reverse(layers);
+    return Optional.of(
+        new TrieLogCheckpoint(
+            0,
+            header.getBlockHash(),
+            merge(endHeader.getBlockHash(), endHeader.getNumber(), layers)));
+  }
+
+  private Optional<TrieLogCheckpoint> mergeCheckpoints(
+      final int level, final BlockHeader endHeader) {
+    final List<TrieLog> layers = new ArrayList<>(FAN_OUT);
+    Hash blockHash = endHeader.getBlockHash();
+    for (int i = 0; i < FAN_OUT; i++) {
+      final Optional<TrieLogCheckpoint> checkpoint =
+          trieLogManager.getTrieLogCheckpoint(level - 1, blockHash);
+      if (checkpoint.isEmpty()) {
+        return Optional.empty();
+      }
+      layers.add(checkpoint.get().layer());
+      blockHash = checkpoint.get().startBlockHash();
+    }
+    Collections.reverse(layers);
+    return Optional.of(
+        new TrieLogCheckpoint(
+            level, blockHash, merge(endHeader.getBlockHash(), endHeader.getNumber(), layers)));
+  }
+
+  /**
+   * Merges the trie logs of consecutive blocks into a single one going from the prior values of the
+   * first change of each key to the updated values of its last change. Keys ending up unchanged are
+   * dropped.
+   *
+   * @param blockHash the hash of the last block
+   * @param blockNumber the number of the last block
+   * @param layers the trie logs, from the lowest block to the highest
+   * @return the merged trie log
+   */
+  public static TrieLogLayer merge(
+      final Hash blockHash, final long blockNumber, final List<? extends TrieLog> layers) {
+    final TrieLogLayer merged = new TrieLogLayer();
+    merged.setBlockHash(blockHash).setBlockNumber(blockNumber);
+    for (final TrieLog layer : layers) {
+      mergeChanges(merged.getAccounts(), layer.getAccountChanges());
+      mergeChanges(merged.getCode(), layer.getCodeChanges());
+      layer
+          .<TrieLog.LogTuple<UInt256>>getStorageChanges()
+          .forEach(
+              (address, slots) ->
+                  mergeChanges(
+                      merged.getStorage().computeIfAbsent(address, a -> new TreeMap<>()), slots));
+    }
+    merged.getAccounts().values().removeIf(PathBasedValue::isUnchanged);
+    merged.getCode().values().removeIf(PathBasedValue::isUnchanged);
+    merged
+        .getStorage()
+        .values()
+        .forEach(slots -> slots.values().removeIf(PathBasedValue::isUnchanged));
+    merged.getStorage().values().removeIf(Map::isEmpty);
+    merged.freeze();
+    return merged;
+  }
+
+  private static <K, T> void mergeChanges(
+      final Map<K, PathBasedValue<T>> merged, final Map<K, ? extends TrieLog.LogTuple<T>> changes) {
+    changes.forEach(
+        (key, change) ->
+            merged.merge(
+                key,
+                new PathBasedValue<>(
+                    change.getPrior(),
+                    change.getUpdated(),
+                    change.isLastStepCleared(),
+                    change.isClearedAtLeastOnce()),
+                (earlier, later) ->
+                    new PathBasedValue<>(
+                        earlier.getPrior(),
+                        later.getUpdated(),
+                        later.isLastStepCleared(),
+                        earlier.isClearedAtLeastOnce() || later.isClearedAtLeastOnce())));
+  }
+}
@@ -29,12 +29,14 @@ import org.hyperledger.besu.plugin.services.trielogs.TrieLogFactory;
 import org.hyperledger.besu.plugin.services.trielogs.TrieLogProvider;
 import org.hyperledger.besu.util.Subscribers;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.LongStream;
 import java.util.stream.Stream;
 
 import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -131,6 +133,56 @@ public class TrieLogManager {
     return rootWorldStateStorage.getTrieLog(blockHash).map(trieLogFactory::deserialize);
   }
 
+  public Optional<TrieLogCheckpoint> getTrieLogCheckpoint(final int level, final Hash blockHash) {
+    return rootWorldStateStorage
+        .getTrieLogCheckpoint(level, blockHash)
+        .map(
+            checkpoint ->
+                new TrieLogCheckpoint(
+                    level,
+                    Hash.wrap(Bytes32.wrap(checkpoint, 0)),
+                    trieLogFactory.deserialize(
+                        Arrays.copyOfRange(checkpoint, Bytes32.SIZE, checkpoint.length))));
+  }
+
+  /**
+   * Gets the checkpoint spanning the most blocks that ends at the given block and does not start
+   * below the given block number.
+   *
+   * @param blockHeader the block the checkpoint ends at
+   * @param lowestBlockNumber the lowest block number the checkpoint may start at
+   * @return the widest checkpoint, or empty if there is none
+   */
+  public Optional<TrieLogCheckpoint> getWidestTrieLogCheckpoint(
+      final BlockHeader blockHeader, final long lowestBlockNumber) {
+    for (int level = TrieLogCheckpoint.LEVELS - 1; level >= 0; level--) {
+      final long interval = TrieLogCheckpoint.interval(level);
+      if (blockHeader.getNumber() % interval == 0
+          && blockHeader.getNumber() - interval >= lowestBlockNumber) {
+        final Optional<TrieLogCheckpoint> checkpoint =
+            getTrieLogCheckpoint(level, blockHeader.getBlockHash());
+        if (checkpoint.isPresent()) {
+          return checkpoint;
+        }
+      }
+    }
+    return Optional.empty();
+  }
+
+  public void saveTrieLogCheckpoint(final TrieLogCheckpoint checkpoint) {
+    final PathBasedWorldStateKeyValueStorage.Updater updater = rootWorldStateStorage.updater();
+    updater
+        .getTrieLogStorageTransaction()
+        .put(
+            PathBasedWorldStateKeyValueStorage.trieLogCheckpointKey(
+                checkpoint.level(), checkpoint.endBlockHash()),
+            Bytes.concatenate(
+                    checkpoint.startBlockHash().getBytes(),
+                    Bytes.wrap(trieLogFactory.serialize(checkpoint.layer())))
+                .toArrayUnsafe());
+    updater.commitTrieLogOnly();
+  }
+
   public synchronized long subscribe(final TrieLogEvent.TrieLogObserver sub) {
     return trieLogObservers.subscribe(sub);
   }
@@ -228,6 +228,7 @@ public class TrieLogPruner implements TrieLogEvent.TrieLogObserver {
             if (rootWorldStateStorage.pruneTrieLog(blockHash)) {
               wasPruned.put(e.getKey(), blockHash);
             }
+            pruneCheckpoints(e.getKey(), blockHash);
           }
         });
 
@@ -248,6 +249,16 @@ public class TrieLogPruner implements TrieLogEvent.TrieLogObserver {
     return wasPruned.size();
   }
 
+  private void pruneCheckpoints(final long blockNumber, final Hash blockHash) {
+    for (int level = 0;
+        level < TrieLogCheckpoint.LEVELS
+            && blockNumber > 0
+            && blockNumber % TrieLogCheckpoint.interval(level) == 0;
+        level++) {
+      rootWorldStateStorage.pruneTrieLogCheckpoint(level, blockHash);
+    }
+  }
+
   @Override
   public void onTrieLogAdded(final TrieLogEvent event) {
     if (TrieLogEvent.Type.ADDED.equals(event.getType())) {
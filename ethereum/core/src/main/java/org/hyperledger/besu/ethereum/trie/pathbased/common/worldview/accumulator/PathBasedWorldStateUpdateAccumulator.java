@@ -37,15 +37,18 @@ import org.hyperledger.besu.evm.worldstate.UpdateTrackingAccount;
 import org.hyperledger.besu.plugin.services.trielogs.TrieLog;
 import org.hyperledger.besu.plugin.services.trielogs.TrieLogAccumulator;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
 
 import org.apache.tuweni.bytes.Bytes;
@@ -60,6 +63,8 @@ public abstract class PathBasedWorldStateUpdateAccumulator<ACCOUNT extends PathB
     implements PathBasedWorldView, TrieLogAccumulator {
   private static final Logger LOG =
       LoggerFactory.getLogger(PathBasedWorldStateUpdateAccumulator.class);
+  // trie logs touching fewer addresses are rolled on the calling thread
+  private static final int PARALLEL_ROLLING_THRESHOLD = 64;
   protected final Consumer<PathBasedValue<ACCOUNT>> accountPreloader;
   protected final Consumer<StorageSlotKey> storagePreloader;
 
@@ -223,6 +228,86 @@ public abstract class PathBasedWorldStateUpdateAccumulator<ACCOUNT extends PathB
     this.isAccumulatorStateChanged = true;
   }
 
+  /**
+   * Integrates the updated values of an external source into the current state while keeping the
+   * prior values of the current state. This is meant for a source that was not built on the same
+   * prior state, such as a transaction executed on top of the speculative results of earlier
+   * transactions: its prior values are the ones it read, while the prior values of the current
+   * state are the ones of the parent block and must be preserved for the trie log.
+   *
+   * <p>The caller is responsible for checking that the values read by the source match the current
+   * state. A value that the current state has not loaded yet takes the prior value of the source,
+   * which is only correct if it matches the parent block.
+   *
+   * @param source The source accumulator
+   */
+  public void importUpdatedStateFromSource(
+      final PathBasedWorldStateUpdateAccumulator<ACCOUNT> source) {
+    source
+        .getAccountsToUpdate()
+        .forEach(
+            (address, pathBasedValue) -> {
+              final PathBasedValue<ACCOUNT> current = accountsToUpdate.get(address);
+              final ACCOUNT prior;
+              if (current != null) {
+                prior = current.getPrior();
+              } else {
+                prior =
+                    pathBasedValue.getPrior() != null
+                        ? copyAccount(pathBasedValue.getPrior(), this, false)
+                        : null;
+              }
+              final ACCOUNT updated =
+                  pathBasedValue.getUpdated() != null
+                      ? copyAccount(pathBasedValue.getUpdated(), this, true)
+                      : null;
+              accountsToUpdate.put(
+                  address,
+                  new PathBasedValue<>(prior, updated, pathBasedValue.isLastStepCleared()));
+            });
+    source
+        .getCodeToUpdate()
+        .forEach(
+            (address, pathBasedValue) -> {
+              final PathBasedValue<Bytes> current = codeToUpdate.get(address);
+              codeToUpdate.put(
+                  address,
+                  new PathBasedValue<>(
+                      current != null ? current.getPrior() : pathBasedValue.getPrior(),
+                      pathBasedValue.getUpdated(),
+                      pathBasedValue.isLastStepCleared()));
+            });
+    source
+        .getStorageToUpdate()
+        .forEach(
+            (address, slots) -> {
+              final StorageConsumingMap<StorageSlotKey, PathBasedValue<UInt256>>
+                  storageConsumingMap =
+                      storageToUpdate.computeIfAbsent(
+                          address,
+                          k ->
+                              new StorageConsumingMap<>(
+                                  address, new ConcurrentHashMap<>(), storagePreloader));
+              slots.forEach(
+                  (storageSlotKey, uInt256PathBasedValue) -> {
+                    final PathBasedValue<UInt256> current =
+                        storageConsumingMap.get(storageSlotKey);
+                    storageConsumingMap.put(
+                        storageSlotKey,
+                        new PathBasedValue<>(
+                            current != null
+                                ? current.getPrior()
+                                : uInt256PathBasedValue.getPrior(),
+                            uInt256PathBasedValue.getUpdated(),
+                            uInt256PathBasedValue.isLastStepCleared()));
+                  });
+            });
+    storageToClear.addAll(source.storageToClear);
+    storageKeyHashLookup.putAll(source.storageKeyHashLookup);
+
+    this.isAccumulatorStateChanged = true;
+  }
+
   protected Consumer<PathBasedValue<ACCOUNT>> getAccountPreloader() {
     return accountPreloader;
   }
@@ -635,43 +720,73 @@ public abstract class PathBasedWorldStateUpdateAccumulator<ACCOUNT extends PathB
   }
 
   public void rollForward(final TrieLog layer) {
-    layer
-        .getAccountChanges()
-        .forEach(
-            (address, change) ->
-                rollAccountChange(address, change.getPrior(), change.getUpdated()));
-    layer
-        .getCodeChanges()
-        .forEach(
-            (address, change) -> rollCodeChange(address, change.getPrior(), change.getUpdated()));
-    layer
-        .getStorageChanges()
-        .forEach(
-            (address, storage) ->
-                storage.forEach(
-                    (storageSlotKey, value) ->
-                        rollStorageChange(
-                            address, storageSlotKey, value.getPrior(), value.getUpdated())));
+    rollLayer(layer, true);
   }
 
   public void rollBack(final TrieLog layer) {
-    layer
-        .getAccountChanges()
-        .forEach(
-            (address, change) ->
-                rollAccountChange(address, change.getUpdated(), change.getPrior()));
-    layer
-        .getCodeChanges()
-        .forEach(
-            (address, change) -> rollCodeChange(address, change.getUpdated(), change.getPrior()));
-    layer
-        .getStorageChanges()
+    rollLayer(layer, false);
+  }
+
+  /**
+   * Rolls the changes of a trie log forward or back. The changes of different addresses are
+   * independent of each other, so the addresses of large trie logs are partitioned by address hash
+   * and rolled in parallel, each partition loading the accounts, code and slots it needs from the
+   * parent world state concurrently with the others. All the changes of an address are rolled by
+   * the same partition, in order.
+   */
+  private void rollLayer(final TrieLog layer, final boolean forward) {
+    final Set<Address> addresses = new HashSet<>(layer.getAccountChanges().keySet());
+    addresses.addAll(layer.getCodeChanges().keySet());
+    addresses.addAll(layer.getStorageChanges().keySet());
+    final int parallelism = ForkJoinPool.getCommonPoolParallelism();
+    if (parallelism < 2 || addresses.size() < PARALLEL_ROLLING_THRESHOLD) {
+      addresses.forEach(address -> rollAddressChanges(layer, address, forward));
+      return;
+    }
+    final List<List<Address>> partitions = new ArrayList<>(parallelism);
+    for (int i = 0; i < parallelism; i++) {
+      partitions.add(new ArrayList<>());
+    }
+    addresses.forEach(
+        address ->
+            partitions
+                .get(Math.floorMod(address.addressHash().hashCode(), parallelism))
+                .add(address));
+    partitions.parallelStream()
         .forEach(
-            (address, storage) ->
-                storage.forEach(
-                    (storageSlotKey, value) ->
-                        rollStorageChange(
-                            address, storageSlotKey, value.getUpdated(), value.getPrior())));
+            partition ->
+                partition.forEach(address -> rollAddressChanges(layer, address, forward)));
+  }
+
+  private void rollAddressChanges(
+      final TrieLog layer, final Address address, final boolean forward) {
+    final TrieLog.LogTuple<AccountValue> accountChange = layer.getAccountChanges().get(address);
+    if (accountChange != null) {
+      rollAccountChange(
+          address, expectedValue(accountChange, forward), replacementValue(accountChange, forward));
+    }
+    final TrieLog.LogTuple<Bytes> codeChange = layer.getCodeChanges().get(address);
+    if (codeChange != null) {
+      rollCodeChange(
+          address, expectedValue(codeChange, forward), replacementValue(codeChange, forward));
+    }
+    final Map<StorageSlotKey, TrieLog.LogTuple<UInt256>> storageChanges =
+        layer.getStorageChanges(address);
+    storageChanges.forEach(
+        (storageSlotKey, value) ->
+            rollStorageChange(
+                address,
+                storageSlotKey,
+                expectedValue(value, forward),
+                replacementValue(value, forward)));
+  }
+
+  private static <T> T expectedValue(final TrieLog.LogTuple<T> change, final boolean forward) {
+    return forward ? change.getPrior() : change.getUpdated();
+  }
+
+  private static <T> T replacementValue(final TrieLog.LogTuple<T> change, final boolean forward) {
+    return forward ? change.getUpdated() : change.getPrior();
   }
 
   private void rollAccountChange(
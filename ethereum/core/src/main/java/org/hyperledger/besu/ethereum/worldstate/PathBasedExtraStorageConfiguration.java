@@ -87,6 +87,8 @@ public interface PathBasedExtraStorageConfiguration {
 
     boolean DEFAULT_FULL_FLAT_DB_ENABLED = true;
     boolean DEFAULT_CODE_USING_CODE_HASH_ENABLED = true;
+    long DEFAULT_TRIE_NODE_CACHE_SIZE_MB = 256;
+    boolean DEFAULT_TRIE_LOG_CHECKPOINTS_ENABLED = false;
 
     @Value.Default
     default boolean getFullFlatDbEnabled() {
@@ -97,5 +99,15 @@ public interface PathBasedExtraStorageConfiguration {
     default boolean getCodeStoredByCodeHashEnabled() {
       return DEFAULT_CODE_USING_CODE_HASH_ENABLED;
     }
+
+    @Value.Default
+    default long getTrieNodeCacheSizeMb() {
+      return DEFAULT_TRIE_NODE_CACHE_SIZE_MB;
+    }
+
+    @Value.Default
+    default boolean getTrieLogCheckpointsEnabled() {
+      return DEFAULT_TRIE_LOG_CHECKPOINTS_ENABLED;
+    }
   }
 }
@@ -149,9 +149,21 @@ class AbstractBlockProcessorIntegrationTest {
             BalConfiguration.DEFAULT,
             new NoOpMetricsSystem());
 
+    final BlockProcessor blockStmBlockProcessor =
+        new MainnetParallelBlockProcessor(
+            transactionProcessor,
+            receiptFactory,
+            coinbaseReward,
+            BlockHeader::getCoinbase,
+            skipRewards,
+            protocolSchedule,
+            ImmutableBalConfiguration.builder().isBlockStmEnabled(true).build(),
+            new NoOpMetricsSystem());
+
     return Stream.of(
         Arguments.of("sequential", sequentialBlockProcessor),
-        Arguments.of("parallel", parallelBlockProcessor));
+        Arguments.of("parallel", parallelBlockProcessor),
+        Arguments.of("block-stm", blockStmBlockProcessor));
   }
 
   private static Stream<Arguments> blockProcessorProvider() {
@@ -0,0 +1,107 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.mainnet.parallelization;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.StorageSlotKey;
+import org.hyperledger.besu.ethereum.mainnet.parallelization.BlockStmScheduler.Task;
+import org.hyperledger.besu.ethereum.mainnet.parallelization.BlockStmScheduler.TaskKind;
+import org.hyperledger.besu.ethereum.mainnet.parallelization.MultiVersionMemory.Location;
+import org.hyperledger.besu.ethereum.mainnet.parallelization.MultiVersionMemory.ReadResult;
+import org.hyperledger.besu.ethereum.mainnet.parallelization.MultiVersionMemory.ReadStatus;
+import org.hyperledger.besu.ethereum.mainnet.parallelization.MultiVersionMemory.Version;
+
+import java.util.Map;
+
+import org.apache.tuweni.units.bigints.UInt256;
+import org.junit.jupiter.api.Test;
+
+class MultiVersionMemoryTest {
+
+  private static final Location SLOT =
+      Location.storage(Address.fromHexString("0x70"), new StorageSlotKey(UInt256.ONE));
+
+  @Test
+  void readsTheWriteOfTheHighestEarlierTransaction() {
+    final MultiVersionMemory memory = new MultiVersionMemory(4);
+    memory.record(new Version(0, 0), Map.of(), Map.of(SLOT, UInt256.valueOf(10)));
+    memory.record(new Version(2, 0), Map.of(), Map.of(SLOT, UInt256.valueOf(30)));
+
+    assertThat(memory.read(SLOT, 0).status()).isEqualTo(ReadStatus.NOT_FOUND);
+    assertThat(memory.read(SLOT, 2).value()).isEqualTo(UInt256.valueOf(10));
+    final ReadResult read = memory.read(SLOT, 3);
+    assertThat(read.version()).isEqualTo(new Version(2, 0));
+    assertThat(read.value()).isEqualTo(UInt256.valueOf(30));
+  }
+
+  @Test
+  void abortedWritesAreReadAsEstimatesAndInvalidateReaders() {
+    final MultiVersionMemory memory = new MultiVersionMemory(2);
+    memory.record(new Version(0, 0), Map.of(), Map.of(SLOT, UInt256.ONE));
+    memory.record(new Version(1, 0), Map.of(SLOT, new Version(0, 0)), Map.of());
+    assertThat(memory.validateReadSet(1)).isTrue();
+
+    memory.convertWritesToEstimates(0);
+
+    assertThat(memory.read(SLOT, 1).status()).isEqualTo(ReadStatus.ESTIMATE);
+    assertThat(memory.validateReadSet(1)).isFalse();
+  }
+
+  @Test
+  void newIncarnationReplacesPreviousWrites() {
+    final MultiVersionMemory memory = new MultiVersionMemory(2);
+    assertThat(memory.record(new Version(0, 0), Map.of(), Map.of(SLOT, UInt256.ONE))).isTrue();
+    memory.record(new Version(1, 0), Map.of(SLOT, new Version(0, 0)), Map.of());
+
+    assertThat(memory.record(new Version(0, 1), Map.of(), Map.of())).isFalse();
+
+    assertThat(memory.read(SLOT, 1).status()).isEqualTo(ReadStatus.NOT_FOUND);
+    assertThat(memory.validateReadSet(1)).isFalse();
+  }
+
+  @Test
+  void schedulerExecutesAndValidatesEveryTransaction() {
+    final BlockStmScheduler scheduler = new BlockStmScheduler(2);
+
+    final Task first = scheduler.nextTask();
+    assertThat(first).isEqualTo(new Task(TaskKind.EXECUTION, 0, 0));
+    assertThat(scheduler.finishExecution(0, 0, true)).isNull();
+    final Task validation = scheduler.nextTask();
+    assertThat(validation).isEqualTo(new Task(TaskKind.VALIDATION, 0, 0));
+    assertThat(scheduler.finishValidation(0, false)).isNull();
+
+    final Task second = scheduler.nextTask();
+    assertThat(second).isEqualTo(new Task(TaskKind.EXECUTION, 1, 0));
+    scheduler.finishExecution(1, 0, true);
+    scheduler.finishValidation(scheduler.nextTask().txIndex(), false);
+
+    assertThat(scheduler.nextTask()).isNull();
+    assertThat(scheduler.isDone()).isTrue();
+    assertThat(scheduler.getReexecutionCount()).isZero();
+  }
+
+  @Test
+  void failedValidationReexecutesTheTransaction() {
+    final BlockStmScheduler scheduler = new BlockStmScheduler(1);
+    scheduler.finishExecution(0, scheduler.nextTask().incarnation(), true);
+    final Task validation = scheduler.nextTask();
+
+    assertThat(scheduler.tryValidationAbort(0, validation.incarnation())).isTrue();
+    assertThat(scheduler.finishValidation(0, true)).isEqualTo(new Task(TaskKind.EXECUTION, 0, 1));
+    assertThat(scheduler.getReexecutionCount()).isEqualTo(1);
+  }
+}
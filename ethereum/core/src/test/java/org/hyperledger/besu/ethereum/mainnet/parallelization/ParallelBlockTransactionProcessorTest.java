@@ -22,6 +22,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -59,7 +60,10 @@ import org.hyperledger.besu.evm.tracing.OperationTracer;
 import org.hyperledger.besu.evm.worldstate.WorldUpdater;
 import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 
+import java.util.ArrayDeque;
 import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -390,6 +394,105 @@ class ParallelBlockTransactionProcessorTest {
     verify(beneficiaryChanges).setPostBalance(any(Wei.class));
   }
 
+  @Test
+  void testDependentTransactionIsNotExecutedSpeculatively() {
+    final MainnetTransactionProcessor transactionProcessor =
+        mock(MainnetTransactionProcessor.class);
+    stubSuccessfulTransaction(transactionProcessor, Optional.empty());
+    final TestEnvironment env = createTestEnvironment();
+    when(env.protocolContext().getWorldStateArchive().getWorldState(any()))
+        .thenAnswer(__ -> Optional.of(createEmptyWorldState()));
+    final Transaction first = mockTransaction();
+    final Transaction sameSender = mockTransaction();
+    final Transaction otherSender = mockTransaction();
+    when(first.getSender()).thenReturn(Address.fromHexString("0xa"));
+    when(sameSender.getSender()).thenReturn(Address.fromHexString("0xa"));
+    when(otherSender.getSender()).thenReturn(Address.fromHexString("0xb"));
+    final Deque<Runnable> tasks = new ArrayDeque<>();
+
+    final ParallelBlockTransactionProcessor processor =
+        runScheduledBlock(
+            transactionProcessor, env, List.of(first, sameSender, otherSender), tasks::add);
+    while (!tasks.isEmpty()) {
+      tasks.poll().run();
+    }
+
+    // the second transaction of the sender is left to the block processor
+    verify(transactionProcessor)
+        .processTransaction(any(), any(), eq(first), any(), any(), any(), any(), any(), any());
+    verify(transactionProcessor)
+        .processTransaction(
+            any(), any(), eq(otherSender), any(), any(), any(), any(), any(), any());
+    verify(transactionProcessor, never())
+        .processTransaction(
+            any(), any(), eq(sameSender), any(), any(), any(), any(), any(), any());
+    assertTrue(
+        processor
+            .getProcessingResult(
+                env.worldState(),
+                MINING_BENEFICIARY,
+                sameSender,
+                1,
+                Optional.empty(),
+                Optional.empty())
+            .isEmpty());
+  }
+
+  @Test
+  void testTransactionReachedByTheBlockProcessorIsNotExecuted() {
+    final MainnetTransactionProcessor transactionProcessor =
+        mock(MainnetTransactionProcessor.class);
+    stubSuccessfulTransaction(transactionProcessor, Optional.empty());
+    final TestEnvironment env = createTestEnvironment();
+    when(env.protocolContext().getWorldStateArchive().getWorldState(any()))
+        .thenAnswer(__ -> Optional.of(createEmptyWorldState()));
+    final Transaction first = mockTransaction();
+    final Transaction otherSender = mockTransaction();
+    when(first.getSender()).thenReturn(Address.fromHexString("0xa"));
+    when(otherSender.getSender()).thenReturn(Address.fromHexString("0xb"));
+    final Deque<Runnable> tasks = new ArrayDeque<>();
+
+    final ParallelBlockTransactionProcessor processor =
+        runScheduledBlock(transactionProcessor, env, List.of(first, otherSender), tasks::add);
+    assertTrue(
+        processor
+            .getProcessingResult(
+                env.worldState(), MINING_BENEFICIARY, first, 0, Optional.empty(), Optional.empty())
+            .isEmpty());
+    while (!tasks.isEmpty()) {
+      tasks.poll().run();
+    }
+
+    // the cancelled transaction is skipped, unlike the one not reached yet
+    verify(transactionProcessor, never())
+        .processTransaction(any(), any(), eq(first), any(), any(), any(), any(), any(), any());
+    verify(transactionProcessor)
+        .processTransaction(
+            any(), any(), eq(otherSender), any(), any(), any(), any(), any(), any());
+  }
+
+  private ParallelBlockTransactionProcessor runScheduledBlock(
+      final MainnetTransactionProcessor transactionProcessor,
+      final TestEnvironment env,
+      final List<Transaction> transactions,
+      final Executor executor) {
+    final ParallelBlockTransactionProcessor processor =
+        new ParallelizedConcurrentTransactionProcessor(
+            transactionProcessor,
+            Optional.empty(),
+            new TransactionSchedulingMetrics(new NoOpMetricsSystem()));
+    processor.runAsyncBlock(
+        env.protocolContext(),
+        env.blockHeader(),
+        transactions,
+        MINING_BENEFICIARY,
+        (__, ___) -> Hash.EMPTY,
+        BLOB_GAS_PRICE,
+        executor,
+        Optional.empty());
+    return processor;
+  }
+
   @Test
   void testPreStateSetup() {
     final TestEnvironment env = createTestEnvironment();
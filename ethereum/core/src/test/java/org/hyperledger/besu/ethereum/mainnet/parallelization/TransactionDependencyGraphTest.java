@@ -0,0 +1,196 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.mainnet.parallelization;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.StorageSlotKey;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.mainnet.block.access.list.BlockAccessList;
+import org.hyperledger.besu.ethereum.mainnet.block.access.list.BlockAccessList.AccountChanges;
+import org.hyperledger.besu.ethereum.mainnet.block.access.list.BlockAccessList.BalanceChange;
+import org.hyperledger.besu.ethereum.mainnet.block.access.list.BlockAccessList.NonceChange;
+import org.hyperledger.besu.ethereum.mainnet.block.access.list.BlockAccessList.SlotChanges;
+import org.hyperledger.besu.ethereum.mainnet.block.access.list.BlockAccessList.StorageChange;
+
+import java.math.BigInteger;
+import java.util.List;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.units.bigints.UInt256;
+import org.junit.jupiter.api.Test;
+
+class TransactionDependencyGraphTest {
+
+  private static final Address ALICE = Address.fromHexString("0xa1");
+  private static final Address BOB = Address.fromHexString("0xb0b");
+  private static final Address CAROL = Address.fromHexString("0xca");
+  private static final Address DAVE = Address.fromHexString("0xda");
+  private static final Address EVE = Address.fromHexString("0xe0");
+  private static final Address TOKEN = Address.fromHexString("0x70");
+  private static final Address COINBASE = Address.fromHexString("0xc0");
+
+  private static Transaction transaction(
+      final Address sender, final Address to, final Wei value, final long gasLimit) {
+    return new Transaction.Builder()
+        .nonce(1)
+        .gasPrice(Wei.of(1))
+        .gasLimit(gasLimit)
+        .to(to)
+        .value(value)
+        .payload(Bytes.EMPTY)
+        .chainId(BigInteger.ONE)
+        .sender(sender)
+        .build();
+  }
+
+  private static AccountChanges accountChanges(
+      final Address address,
+      final List<SlotChanges> storageChanges,
+      final List<BalanceChange> balanceChanges,
+      final List<NonceChange> nonceChanges) {
+    return new AccountChanges(
+        address, storageChanges, List.of(), balanceChanges, nonceChanges, List.of());
+  }
+
+  @Test
+  void unrelatedTransactionsAreIndependent() {
+    final TransactionDependencyGraph graph =
+        TransactionDependencyGraph.fromTransactions(
+            List.of(
+                transaction(ALICE, BOB, Wei.ONE, 21_000),
+                transaction(CAROL, DAVE, Wei.ONE, 30_000)),
+            COINBASE);
+
+    assertThat(graph.waveCount()).isEqualTo(1);
+    assertThat(graph.independentCount()).isEqualTo(2);
+    assertThat(graph.criticalPathGas()).isEqualTo(30_000);
+    assertThat(graph.totalGas()).isEqualTo(51_000);
+  }
+
+  @Test
+  void senderAndValueRecipientChainsAreOrdered() {
+    final TransactionDependencyGraph graph =
+        TransactionDependencyGraph.fromTransactions(
+            List.of(
+                transaction(ALICE, BOB, Wei.ONE, 21_000),
+                transaction(CAROL, TOKEN, Wei.ZERO, 50_000),
+                // BOB received value from transaction 0
+                transaction(BOB, DAVE, Wei.ZERO, 21_000),
+                // calls the account of the sender of transaction 2
+                transaction(DAVE, BOB, Wei.ZERO, 21_000),
+                // TOKEN was only called without value, its balance did not change
+                transaction(EVE, TOKEN, Wei.ZERO, 21_000)),
+            COINBASE);
+
+    assertThat(graph.wave(0)).isZero();
+    assertThat(graph.wave(1)).isZero();
+    assertThat(graph.wave(2)).isEqualTo(1);
+    assertThat(graph.wave(3)).isEqualTo(2);
+    assertThat(graph.wave(4)).isZero();
+    assertThat(graph.waveCount()).isEqualTo(3);
+    assertThat(graph.criticalPathGas()).isEqualTo(63_000);
+    assertThat(graph.dependencies(0)).isEmpty();
+    assertThat(graph.dependencies(1)).isEmpty();
+    assertThat(graph.dependencies(2)).containsExactly(0);
+    assertThat(graph.dependencies(3)).containsExactly(2);
+    assertThat(graph.dependencies(4)).isEmpty();
+  }
+
+  @Test
+  void miningBeneficiaryDoesNotCreateDependencies() {
+    final TransactionDependencyGraph graph =
+        TransactionDependencyGraph.fromTransactions(
+            List.of(
+                transaction(ALICE, COINBASE, Wei.ONE, 21_000),
+                transaction(BOB, COINBASE, Wei.ONE, 21_000)),
+            COINBASE);
+
+    assertThat(graph.independentCount()).isEqualTo(2);
+  }
+
+  @Test
+  void blockAccessListStorageWritesCreateDependencies() {
+    final StorageSlotKey balanceOfAlice = new StorageSlotKey(UInt256.ONE);
+    final StorageSlotKey balanceOfBob = new StorageSlotKey(UInt256.valueOf(2));
+    final List<Transaction> transactions =
+        List.of(
+            transaction(ALICE, TOKEN, Wei.ZERO, 40_000),
+            transaction(BOB, TOKEN, Wei.ZERO, 40_000),
+            transaction(CAROL, TOKEN, Wei.ZERO, 40_000));
+    // block access indices are shifted by one, index 0 is the pre-execution system calls
+    final BlockAccessList blockAccessList =
+        new BlockAccessList(
+            List.of(
+                accountChanges(
+                    TOKEN,
+                    List.of(
+                        new SlotChanges(
+                            balanceOfAlice,
+                            List.of(
+                                new StorageChange(0, UInt256.ZERO),
+                                new StorageChange(1, UInt256.ONE),
+                                new StorageChange(3, UInt256.valueOf(2)))),
+                        new SlotChanges(
+                            balanceOfBob, List.of(new StorageChange(2, UInt256.ONE)))),
+                    List.of(),
+                    List.of()),
+                accountChanges(ALICE, List.of(), List.of(), List.of(new NonceChange(1, 2))),
+                accountChanges(
+                    COINBASE,
+                    List.of(),
+                    List.of(
+                        new BalanceChange(1, Wei.ONE),
+                        new BalanceChange(2, Wei.of(2)),
+                        new BalanceChange(3, Wei.of(3))),
+                    List.of())));
+
+    final TransactionDependencyGraph graph =
+        TransactionDependencyGraph.fromBlockAccessList(transactions, blockAccessList, COINBASE);
+
+    // transactions 0 and 2 write the same slot, transaction 1 another slot of the same contract
+    assertThat(graph.wave(0)).isZero();
+    assertThat(graph.wave(1)).isZero();
+    assertThat(graph.wave(2)).isEqualTo(1);
+    assertThat(graph.dependencies(2)).containsExactly(0);
+    assertThat(graph.criticalPathGas()).isEqualTo(80_000);
+  }
+
+  @Test
+  void builderReportsTheDependenciesOfEachTransactionAsItIsAdded() {
+    final TransactionDependencyGraph.Builder builder =
+        new TransactionDependencyGraph.Builder(3, COINBASE);
+
+    assertThat(builder.add(transaction(ALICE, BOB, Wei.ONE, 21_000))).isEmpty();
+    assertThat(builder.add(transaction(CAROL, BOB, Wei.ONE, 21_000))).containsExactly(0);
+    // only the last writer of BOB, which itself depends on the first one
+    assertThat(builder.add(transaction(DAVE, BOB, Wei.ONE, 21_000))).containsExactly(1);
+
+    final TransactionDependencyGraph graph = builder.build();
+    assertThat(graph.size()).isEqualTo(3);
+    assertThat(graph.wave(2)).isEqualTo(2);
+  }
+
+  @Test
+  void emptyBlock() {
+    final TransactionDependencyGraph graph =
+        TransactionDependencyGraph.fromTransactions(List.of(), COINBASE);
+
+    assertThat(graph.size()).isZero();
+    assertThat(graph.waveCount()).isZero();
+  }
+}
@@ -341,6 +341,61 @@ class LogRollingTests {
     assertThat(secondWorldState.rootHash()).isEqualByComparingTo(worldState.rootHash());
   }
 
+  @Test
+  void rollForwardAndBackManyAccounts() {
+    final BonsaiWorldState worldState =
+        new BonsaiWorldState(
+            archive,
+            new BonsaiWorldStateKeyValueStorage(
+                provider, new NoOpMetricsSystem(), DataStorageConfiguration.DEFAULT_BONSAI_CONFIG),
+            EvmConfiguration.DEFAULT,
+            createStatefulConfigWithTrie(),
+            new CodeCache());
+
+    // enough addresses for the trie log to be rolled in parallel
+    final BonsaiWorldStateUpdateAccumulator updater =
+        (BonsaiWorldStateUpdateAccumulator) worldState.updater();
+    for (int i = 1; i <= 200; i++) {
+      final MutableAccount mutableAccount =
+          updater.createAccount(Address.fromHexString("0x" + Integer.toHexString(i)), 1, Wei.of(i));
+      mutableAccount.setCode(Bytes.of(0, 1, i));
+      mutableAccount.setStorageValue(UInt256.ONE, UInt256.valueOf(i));
+    }
+    updater.commit();
+    final TrieLogLayer layer = new TrieLogFactoryImpl().create(updater, headerOne);
+    worldState.persist(null);
+
+    final BonsaiWorldState secondWorldState =
+        new BonsaiWorldState(
+            secondArchive,
+            new BonsaiWorldStateKeyValueStorage(
+                secondProvider,
+                new NoOpMetricsSystem(),
+                DataStorageConfiguration.DEFAULT_BONSAI_CONFIG),
+            EvmConfiguration.DEFAULT,
+            createStatefulConfigWithTrie(),
+            new CodeCache());
+    final BonsaiWorldStateUpdateAccumulator secondUpdater =
+        (BonsaiWorldStateUpdateAccumulator) secondWorldState.updater();
+
+    secondUpdater.rollForward(layer);
+    secondUpdater.commit();
+    secondWorldState.persist(null);
+
+    assertKeyValueStorageEqual(accountStorage, secondAccountStorage);
+    assertKeyValueStorageEqual(codeStorage, secondCodeStorage);
+    assertKeyValueStorageEqual(storageStorage, secondStorageStorage);
+    assertThat(secondWorldState.rootHash()).isEqualByComparingTo(worldState.rootHash());
+
+    final BonsaiWorldStateUpdateAccumulator rollbackUpdater =
+        (BonsaiWorldStateUpdateAccumulator) secondWorldState.updater();
+    rollbackUpdater.rollBack(layer);
+    rollbackUpdater.commit();
+    secondWorldState.persist(null);
+
+    assertThat(secondWorldState.rootHash()).isEqualByComparingTo(Hash.EMPTY_TRIE_HASH);
+  }
+
   private TrieLogLayer getTrieLogLayer(final KeyValueStorage storage, final Hash key) {
     return storage
         .get(key.getBytes().toArrayUnsafe())
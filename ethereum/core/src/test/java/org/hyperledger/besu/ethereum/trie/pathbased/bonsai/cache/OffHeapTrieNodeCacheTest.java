@@ -0,0 +1,86 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.trie.pathbased.bonsai.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.crypto.Hash;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+
+class OffHeapTrieNodeCacheTest {
+
+  @Test
+  void getsCachedNodes() {
+    final OffHeapTrieNodeCache cache = new OffHeapTrieNodeCache(1024 * 1024);
+    final Bytes node = Bytes.fromHexString("0xf851808080a0");
+
+    cache.put(Hash.keccak256(node), node);
+
+    assertThat(cache.get(Hash.keccak256(node))).contains(node);
+    assertThat(cache.get(Hash.keccak256(Bytes.of(1)))).isEmpty();
+    assertThat(cache.size()).isEqualTo(1);
+    assertThat(cache.hitRate()).isEqualTo(0.5);
+  }
+
+  @Test
+  void evictsOldestNodesWhenFull() {
+    final OffHeapTrieNodeCache cache = new OffHeapTrieNodeCache(1024 * 1024);
+    final List<Bytes> nodes = new ArrayList<>();
+    // about ten times the capacity of the cache, with sizes that do not divide it
+    for (int i = 0; i < 40_000; i++) {
+      final Bytes node = Bytes.concatenate(Bytes.ofUnsignedInt(i), Bytes.wrap(new byte[i % 300]));
+      nodes.add(node);
+      cache.put(Hash.keccak256(node), node);
+    }
+
+    assertThat(cache.get(Hash.keccak256(nodes.get(0)))).isEmpty();
+    for (final Bytes node : nodes.subList(nodes.size() - 100, nodes.size())) {
+      assertThat(cache.get(Hash.keccak256(node))).contains(node);
+    }
+    assertThat(cache.evictionCount()).isPositive();
+    assertThat(cache.size() + cache.evictionCount()).isEqualTo(nodes.size());
+  }
+
+  @Test
+  void neverReturnsAnotherNode() {
+    final OffHeapTrieNodeCache cache = new OffHeapTrieNodeCache(1024 * 1024);
+    final List<Bytes> nodes = new ArrayList<>();
+    for (int i = 0; i < 20_000; i++) {
+      final Bytes node = Bytes.concatenate(Bytes.ofUnsignedInt(i), Bytes.wrap(new byte[i % 500]));
+      nodes.add(node);
+      cache.put(Hash.keccak256(node), node);
+    }
+
+    for (final Bytes node : nodes) {
+      cache.get(Hash.keccak256(node)).ifPresent(cached -> assertThat(cached).isEqualTo(node));
+    }
+  }
+
+  @Test
+  void zeroCapacityDisablesTheCache() {
+    final OffHeapTrieNodeCache cache = new OffHeapTrieNodeCache(0);
+    final Bytes node = Bytes.of(1, 2, 3);
+
+    cache.put(Hash.keccak256(node), node);
+
+    assertThat(cache.get(Hash.keccak256(node))).isEmpty();
+    assertThat(cache.capacity()).isZero();
+  }
+}
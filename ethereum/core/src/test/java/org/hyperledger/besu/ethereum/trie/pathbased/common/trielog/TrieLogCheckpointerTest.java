@@ -0,0 +1,181 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.trie.pathbased.common.trielog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.datatypes.AccountValue;
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.StorageSlotKey;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.BlockHeaderTestFixture;
+import org.hyperledger.besu.ethereum.core.InMemoryKeyValueStorageProvider;
+import org.hyperledger.besu.ethereum.trie.common.PmtStateTrieAccountValue;
+import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.storage.BonsaiWorldStateKeyValueStorage;
+import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.trielog.TrieLogFactoryImpl;
+import org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.plugin.services.trielogs.TrieLog;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.units.bigints.UInt256;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TrieLogCheckpointerTest {
+
+  private static final Address ACCOUNT = Address.fromHexString("0x1234");
+  private static final Address CONTRACT = Address.fromHexString("0x5678");
+  private static final StorageSlotKey SLOT = new StorageSlotKey(UInt256.ONE);
+  private static final Bytes CODE = Bytes.fromHexString("0x6001");
+
+  private final Blockchain blockchain = mock(Blockchain.class);
+  private final Map<Hash, BlockHeader> headers = new HashMap<>();
+  private BonsaiWorldStateKeyValueStorage worldStateStorage;
+  private TrieLogManager trieLogManager;
+  private TrieLogCheckpointer checkpointer;
+
+  @BeforeEach
+  public void setup() {
+    worldStateStorage =
+        new BonsaiWorldStateKeyValueStorage(
+            new InMemoryKeyValueStorageProvider(),
+            new NoOpMetricsSystem(),
+            DataStorageConfiguration.DEFAULT_BONSAI_CONFIG);
+    trieLogManager = new TrieLogManager(blockchain, worldStateStorage, 512, null);
+    checkpointer = new TrieLogCheckpointer(blockchain, trieLogManager, Runnable::run);
+    when(blockchain.getBlockHeader(any(Hash.class)))
+        .thenAnswer(
+            invocation -> Optional.ofNullable(headers.get(invocation.<Hash>getArgument(0))));
+  }
+
+  @Test
+  public void mergeKeepsThePriorOfTheFirstChangeAndTheUpdateOfTheLast() {
+    final TrieLogLayer first =
+        new TrieLogLayer()
+            .addAccountChange(ACCOUNT, account(1), account(2))
+            .addAccountChange(CONTRACT, null, account(0))
+            .addCodeChange(CONTRACT, null, CODE, Hash.ZERO)
+            .addStorageChange(CONTRACT, SLOT, null, UInt256.valueOf(5));
+    final TrieLogLayer second =
+        new TrieLogLayer()
+            .addAccountChange(ACCOUNT, account(2), account(3))
+            .addStorageChange(CONTRACT, SLOT, UInt256.valueOf(5), UInt256.valueOf(7));
+    final TrieLogLayer third =
+        new TrieLogLayer()
+            .addAccountChange(CONTRACT, account(0), null)
+            .addCodeChange(CONTRACT, CODE, null, Hash.ZERO)
+            .addStorageChange(CONTRACT, SLOT, UInt256.valueOf(7), null);
+
+    final TrieLogLayer merged =
+        TrieLogCheckpointer.merge(Hash.EMPTY, 3, List.of(first, second, third));
+
+    assertThat(merged.getBlockHash()).isEqualTo(Hash.EMPTY);
+    assertThat(merged.getPriorAccount(ACCOUNT)).contains(account(1));
+    assertThat(merged.getAccount(ACCOUNT)).contains(account(3));
+    // created then destroyed within the merged blocks
+    assertThat(merged.getAccountChanges()).doesNotContainKey(CONTRACT);
+    assertThat(merged.getCodeChanges()).isEmpty();
+    assertThat(merged.getStorageChanges()).isEmpty();
+  }
+
+  @Test
+  public void createsCheckpointSpanningTheTrieLogsOfTheInterval() {
+    final List<BlockHeader> chain = buildChain(TrieLogCheckpoint.BASE_INTERVAL);
+    final BlockHeader head = chain.get(TrieLogCheckpoint.BASE_INTERVAL);
+
+    checkpointer.createCheckpoints(head);
+
+    final Optional<TrieLogCheckpoint> checkpoint =
+        trieLogManager.getWidestTrieLogCheckpoint(head, 0);
+    assertThat(checkpoint).isPresent();
+    assertThat(checkpoint.get().level()).isZero();
+    assertThat(checkpoint.get().startBlockHash()).isEqualTo(chain.get(0).getBlockHash());
+    assertThat(checkpoint.get().endBlockHash()).isEqualTo(head.getBlockHash());
+    final TrieLog layer = checkpoint.get().layer();
+    assertThat(layer.getPriorAccount(ACCOUNT).map(AccountValue::getBalance)).contains(Wei.ZERO);
+    assertThat(layer.getAccount(ACCOUNT).map(AccountValue::getBalance))
+        .contains(Wei.of(TrieLogCheckpoint.BASE_INTERVAL));
+    assertThat(layer.getCode(CONTRACT)).contains(CODE);
+    assertThat(layer.getStorageByStorageSlotKey(CONTRACT, SLOT))
+        .contains(UInt256.valueOf(TrieLogCheckpoint.BASE_INTERVAL));
+
+    // a checkpoint starting below the lowest block number is not used
+    assertThat(trieLogManager.getWidestTrieLogCheckpoint(head, 1)).isEmpty();
+    // nor listed with the trie logs
+    assertThat(worldStateStorage.streamTrieLogKeys(Long.MAX_VALUE))
+        .hasSize(TrieLogCheckpoint.BASE_INTERVAL);
+  }
+
+  @Test
+  public void doesNotCreateCheckpointWhenATrieLogIsMissing() {
+    final List<BlockHeader> chain = buildChain(TrieLogCheckpoint.BASE_INTERVAL);
+    worldStateStorage.pruneTrieLog(chain.get(10).getBlockHash());
+
+    checkpointer.createCheckpoints(chain.get(TrieLogCheckpoint.BASE_INTERVAL));
+
+    assertThat(trieLogManager.getTrieLogCheckpoint(0, chain.getLast().getBlockHash())).isEmpty();
+  }
+
+  private List<BlockHeader> buildChain(final int length) {
+    final BlockHeader genesis = new BlockHeaderTestFixture().number(0).buildHeader();
+    headers.put(genesis.getBlockHash(), genesis);
+    final List<BlockHeader> chain = new ArrayList<>(List.of(genesis));
+    final BonsaiWorldStateKeyValueStorage.Updater updater = worldStateStorage.updater();
+    final TrieLogFactoryImpl trieLogFactory = new TrieLogFactoryImpl();
+    for (int number = 1; number <= length; number++) {
+      final BlockHeader header =
+          new BlockHeaderTestFixture()
+              .number(number)
+              .parentHash(chain.getLast().getBlockHash())
+              .buildHeader();
+      headers.put(header.getBlockHash(), header);
+      chain.add(header);
+      final TrieLogLayer layer =
+          new TrieLogLayer()
+              .setBlockHash(header.getBlockHash())
+              .addAccountChange(ACCOUNT, account(number - 1), account(number))
+              .addStorageChange(
+                  CONTRACT,
+                  SLOT,
+                  number == 1 ? null : UInt256.valueOf(number - 1),
+                  UInt256.valueOf(number));
+      if (number == 1) {
+        layer.addCodeChange(CONTRACT, null, CODE, header.getBlockHash());
+      }
+      updater
+          .getTrieLogStorageTransaction()
+          .put(header.getBlockHash().getBytes().toArrayUnsafe(), trieLogFactory.serialize(layer));
+    }
+    updater.commitTrieLogOnly();
+    return chain;
+  }
+
+  private static PmtStateTrieAccountValue account(final long balance) {
+    return new PmtStateTrieAccountValue(0, Wei.of(balance), Hash.EMPTY_TRIE_HASH, Hash.EMPTY);
+  }
+}
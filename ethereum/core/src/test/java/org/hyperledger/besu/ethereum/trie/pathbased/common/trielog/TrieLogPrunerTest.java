@@ -16,6 +16,8 @@ package org.hyperledger.besu.ethereum.trie.pathbased.common.trielog;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -339,6 +341,25 @@ public class TrieLogPrunerTest {
     verify(worldState, never()).pruneTrieLog(key(1));
   }
 
+  @Test
+  public void prunes_checkpoints_ending_at_pruned_blocks() {
+    // Given
+    when(blockchain.getChainHeadBlockNumber()).thenReturn(1_000L);
+    TrieLogPruner trieLogPruner =
+        new TrieLogPruner(
+            worldState, blockchain, executeAsync, 10, 10, false, new NoOpMetricsSystem());
+    trieLogPruner.addToPruneQueue(255, key(1));
+    trieLogPruner.addToPruneQueue(256, key(2));
+
+    // When
+    trieLogPruner.pruneFromQueue();
+
+    // Then
+    verify(worldState, never()).pruneTrieLogCheckpoint(anyInt(), eq(key(1)));
+    verify(worldState, times(1)).pruneTrieLogCheckpoint(0, key(2));
+    verify(worldState, never()).pruneTrieLogCheckpoint(1, key(2));
+  }
+
   private TrieLogPruner setupPrunerAndFinalizedBlock(
       final long configuredRetainHeight, final long finalizedBlockHeight) {
     final long chainHeight = 5;
@@ -560,11 +560,19 @@ class SnapServer implements BesuEvents.InitialSyncCompletionListener {
                       continue;
                     }
 
-                    List<Bytes> storagePaths = triePath.subList(1, triePath.size());
-                    for (var path : storagePaths) {
-                      final Bytes location = CompactEncoding.decode(path);
-                      var optStorage =
-                          storage.getTrieNodeUnsafe(Bytes.concatenate(accountPrefix, location));
+                    List<Bytes> storageLocations =
+                        triePath.subList(1, triePath.size()).stream()
+                            .map(CompactEncoding::decode)
+                            .toList();
+                    // read all the requested nodes of this account in a single batch
+                    List<Optional<Bytes>> storageNodes =
+                        storage.getTrieNodesUnsafe(
+                            storageLocations.stream()
+                                .map(location -> Bytes.concatenate(accountPrefix, location))
+                                .toList());
+                    for (int i = 0; i < storageLocations.size(); i++) {
+                      final Bytes location = storageLocations.get(i);
+                      var optStorage = storageNodes.get(i);
                       if (optStorage.isEmpty() && location.isEmpty()) {
                         optStorage = Optional.of(MerkleTrie.EMPTY_TRIE_NODE);
                       }
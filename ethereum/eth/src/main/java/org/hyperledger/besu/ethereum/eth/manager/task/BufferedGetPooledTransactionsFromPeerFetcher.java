@@ -24,8 +24,8 @@ import org.hyperledger.besu.ethereum.eth.manager.peertask.PeerTaskExecutorRespon
 import org.hyperledger.besu.ethereum.eth.manager.peertask.PeerTaskExecutorResult;
 import org.hyperledger.besu.ethereum.eth.manager.peertask.task.GetPooledTransactionsFromPeerTask;
 import org.hyperledger.besu.ethereum.eth.transactions.PeerTransactionTracker;
+import org.hyperledger.besu.ethereum.eth.transactions.RemoteTransactionsBatcher;
 import org.hyperledger.besu.ethereum.eth.transactions.TransactionAnnouncement;
-import org.hyperledger.besu.ethereum.eth.transactions.TransactionPool;
 import org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolMetrics;
 
 import java.util.ArrayList;
@@ -45,7 +45,7 @@ public class BufferedGetPooledTransactionsFromPeerFetcher {
       LoggerFactory.getLogger(BufferedGetPooledTransactionsFromPeerFetcher.class);
   private static final int MAX_HASHES = 256;
 
-  private final TransactionPool transactionPool;
+  private final RemoteTransactionsBatcher remoteTransactionsBatcher;
   private final PeerTransactionTracker transactionTracker;
   private final EthContext ethContext;
   private final TransactionPoolMetrics metrics;
@@ -59,7 +59,7 @@ public class BufferedGetPooledTransactionsFromPeerFetcher {
       final EthContext ethContext,
       final ScheduledFuture<?> scheduledFuture,
       final EthPeer peer,
-      final TransactionPool transactionPool,
+      final RemoteTransactionsBatcher remoteTransactionsBatcher,
       final PeerTransactionTracker transactionTracker,
       final int maxTransactionsMessageSize,
       final TransactionPoolMetrics metrics,
@@ -67,7 +67,7 @@ public class BufferedGetPooledTransactionsFromPeerFetcher {
     this.ethContext = ethContext;
     this.scheduledFuture = scheduledFuture;
     this.peer = peer;
-    this.transactionPool = transactionPool;
+    this.remoteTransactionsBatcher = remoteTransactionsBatcher;
     this.transactionTracker = transactionTracker;
     this.metrics = metrics;
     this.metricLabel = metricLabel;
@@ -123,7 +123,7 @@ public class BufferedGetPooledTransactionsFromPeerFetcher {
                     .addArgument(() -> Transaction.toHashList(retrievedTransactions))
                     .log();
 
-                transactionPool.addRemoteTransactions(retrievedTransactions);
+                remoteTransactionsBatcher.addRemoteTransactions(retrievedTransactions);
               });
     }
   }
@@ -33,6 +33,7 @@ import org.hyperledger.besu.ethereum.mainnet.HeaderValidationMode;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
 import org.hyperledger.besu.metrics.BesuMetricCategory;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.services.pipeline.PipeMetrics;
 import org.hyperledger.besu.services.pipeline.Pipeline;
 import org.hyperledger.besu.services.pipeline.PipelineBuilder;
 
@@ -53,6 +54,7 @@ public class FullSyncDownloadPipelineFactory implements DownloadPipelineFactory
       () -> HeaderValidationMode.DETACHED_ONLY;
   private final BetterSyncTargetEvaluator betterSyncTargetEvaluator;
   private final SyncTerminationCondition fullSyncTerminationCondition;
+  private final PipeMetrics pipeMetrics;
 
   public FullSyncDownloadPipelineFactory(
       final SynchronizerConfiguration syncConfig,
@@ -67,6 +69,8 @@ public class FullSyncDownloadPipelineFactory implements DownloadPipelineFactory
     this.ethContext = ethContext;
     this.metricsSystem = metricsSystem;
     this.fullSyncTerminationCondition = syncTerminationCondition;
+    this.pipeMetrics =
+        new PipeMetrics(metricsSystem, BesuMetricCategory.SYNCHRONIZER, "chain_download_pipeline");
     this.betterSyncTargetEvaluator =
         new BetterSyncTargetEvaluator(syncConfig, ethContext.getEthPeers());
   }
@@ -122,12 +126,19 @@ public class FullSyncDownloadPipelineFactory implements DownloadPipelineFactory
                 "Number of entries process by each chain download pipeline stage",
                 "step",
                 "action"),
+            pipeMetrics,
             true,
             "fullSync")
         .thenProcessAsyncOrdered("downloadHeaders", downloadHeadersStep, downloaderParallelism)
         .thenFlatMap("validateHeadersJoin", validateHeadersJoinUpStep, singleHeaderBufferSize)
         .inBatches(headerRequestSize)
-        .thenProcessAsyncOrdered("downloadBodies", downloadBodiesStep, downloaderParallelism)
+        // body downloads are the usual bottleneck, let them take more peers when blocks back up
+        .thenProcessAsyncAdaptively(
+            "downloadBodies",
+            downloadBodiesStep,
+            Math.max(1, downloaderParallelism / 2),
+            downloaderParallelism * 2,
+            true)
         .thenFlatMap("extractTxSignatures", extractTxSignaturesStep, singleHeaderBufferSize)
         .andFinishWith("importBlock", importBlockStep);
   }
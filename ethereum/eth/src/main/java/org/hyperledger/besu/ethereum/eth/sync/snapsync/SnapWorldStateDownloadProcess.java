@@ -44,6 +44,11 @@ import org.slf4j.LoggerFactory;
 public class SnapWorldStateDownloadProcess implements WorldStateDownloadProcess {
 
   private static final Logger LOG = LoggerFactory.getLogger(SnapWorldStateDownloadProcess.class);
+  // the trie nodes already stored locally are loaded without any network request, so the loading
+  // takes more cores while the healing requests back up
+  private static final int MIN_LOAD_LOCAL_DATA_THREADS = 1;
+  private static final int MAX_LOAD_LOCAL_DATA_THREADS =
+      Math.max(3, Runtime.getRuntime().availableProcessors());
   private final Pipeline<Task<SnapDataRequest>> completionPipeline;
   private final Pipeline<Task<SnapDataRequest>> fetchAccountPipeline;
   private final Pipeline<Task<SnapDataRequest>> fetchStorageDataPipeline;
@@ -384,10 +389,11 @@ public class SnapWorldStateDownloadProcess implements WorldStateDownloadProcess
                   outputCounter,
                   true,
                   "world_state_heal")
-              .thenFlatMapInParallel(
+              .thenFlatMapInParallelAdaptively(
                   "requestLoadLocalTrieNodeData",
                   task -> loadLocalDataStep.loadLocalDataTrieNode(task, requestsToComplete),
-                  3,
+                  MIN_LOAD_LOCAL_DATA_THREADS,
+                  MAX_LOAD_LOCAL_DATA_THREADS,
                   bufferCapacity)
               .inBatches(snapSyncConfiguration.getTrienodeCountPerRequest())
               .thenProcess(
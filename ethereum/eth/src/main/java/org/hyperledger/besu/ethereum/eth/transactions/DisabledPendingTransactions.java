@@ -126,4 +126,9 @@ public class DisabledPendingTransactions implements PendingTransactions {
   public Optional<Transaction> restoreBlob(final Transaction transaction) {
     return Optional.empty();
   }
+
+  @Override
+  public OptionalLong getCandidatesVersion() {
+    return OptionalLong.empty();
+  }
 }
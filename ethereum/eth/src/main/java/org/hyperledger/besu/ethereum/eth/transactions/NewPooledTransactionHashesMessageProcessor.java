@@ -44,6 +44,7 @@ public class NewPooledTransactionHashesMessageProcessor {
 
   private final PeerTransactionTracker transactionTracker;
   private final TransactionPool transactionPool;
+  private final RemoteTransactionsBatcher remoteTransactionsBatcher;
   private final TransactionPoolConfiguration transactionPoolConfiguration;
   private final EthContext ethContext;
   private final TransactionPoolMetrics metrics;
@@ -52,12 +53,14 @@ public class NewPooledTransactionHashesMessageProcessor {
   public NewPooledTransactionHashesMessageProcessor(
       final PeerTransactionTracker transactionTracker,
       final TransactionPool transactionPool,
+      final RemoteTransactionsBatcher remoteTransactionsBatcher,
       final TransactionPoolConfiguration transactionPoolConfiguration,
       final EthContext ethContext,
       final TransactionPoolMetrics metrics,
       final int maxTransactionsMessageSize) {
     this.transactionTracker = transactionTracker;
     this.transactionPool = transactionPool;
+    this.remoteTransactionsBatcher = remoteTransactionsBatcher;
     this.transactionPoolConfiguration = transactionPoolConfiguration;
     this.ethContext = ethContext;
     this.metrics = metrics;
@@ -122,7 +125,7 @@ public class NewPooledTransactionHashesMessageProcessor {
                     ethContext,
                     scheduledFuture,
                     peer,
-                    transactionPool,
+                    remoteTransactionsBatcher,
                     transactionTracker,
                     maxTransactionsMessageSize,
                     metrics,
@@ -77,6 +77,15 @@ public interface PendingTransactions {
 
   Optional<Transaction> restoreBlob(Transaction transaction);
 
+  /**
+   * A version of the transactions that are candidates for inclusion in the next block, that changes
+   * every time one of them is added, removed or reordered. Selecting transactions again while the
+   * version is unchanged gives the same candidates in the same order.
+   *
+   * @return the version of the candidate transactions, or empty if it is not tracked
+   */
+  OptionalLong getCandidatesVersion();
+
   @FunctionalInterface
   interface PendingTransactionsSelector {
     Map<PendingTransaction, TransactionSelectionResult> evaluatePendingTransactions(
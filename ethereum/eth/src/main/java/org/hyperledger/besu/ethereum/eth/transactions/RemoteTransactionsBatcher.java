@@ -0,0 +1,151 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.transactions;
+
+import static org.hyperledger.besu.ethereum.core.Transaction.toHashList;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import com.google.common.collect.Lists;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Ingestion stage between the transaction message processors and the pool. Transactions received
+ * from all peers are collected for a short window, then the batch is deduplicated, the senders are
+ * recovered in parallel on the computation executor and only after that the batch is added to the
+ * pool, so that the pool does not spend its time recovering signatures one by one.
+ *
+ * <p>When the window is zero, transactions are passed straight to the pool.
+ */
+public class RemoteTransactionsBatcher {
+  private static final Logger LOG = LoggerFactory.getLogger(RemoteTransactionsBatcher.class);
+  static final String METRIC_LABEL = "remote_transactions_batch";
+  private static final int SENDER_RECOVERY_CHUNK_SIZE = 32;
+
+  private final TransactionPool transactionPool;
+  private final EthScheduler ethScheduler;
+  private final TransactionPoolMetrics metrics;
+  private final Duration window;
+  private Map<Hash, Transaction> pendingBatch = new LinkedHashMap<>();
+  private int receivedInBatch = 0;
+
+  public RemoteTransactionsBatcher(
+      final TransactionPool transactionPool,
+      final EthScheduler ethScheduler,
+      final TransactionPoolMetrics metrics,
+      final Duration window) {
+    this.transactionPool = transactionPool;
+    this.ethScheduler = ethScheduler;
+    this.metrics = metrics;
+    this.window = window;
+  }
+
+  /**
+   * Queue transactions received from a peer to be added to the pool with the next batch
+   *
+   * @param transactions the transactions received from a peer
+   */
+  public void addRemoteTransactions(final Collection<Transaction> transactions) {
+    if (window.isZero()) {
+      transactionPool.addRemoteTransactions(transactions);
+      return;
+    }
+    if (transactions.isEmpty()) {
+      return;
+    }
+
+    final boolean scheduleFlush;
+    synchronized (this) {
+      scheduleFlush = receivedInBatch == 0;
+      receivedInBatch += transactions.size();
+      transactions.forEach(tx -> pendingBatch.putIfAbsent(tx.getHash(), tx));
+    }
+
+    if (scheduleFlush) {
+      ethScheduler.scheduleFutureTask(() -> ethScheduler.scheduleTxWorkerTask(this::flush), window);
+    }
+  }
+
+  private void flush() {
+    final Collection<Transaction> batch;
+    final int received;
+    synchronized (this) {
+      batch = pendingBatch.values();
+      received = receivedInBatch;
+      pendingBatch = new LinkedHashMap<>();
+      receivedInBatch = 0;
+    }
+
+    final List<Transaction> freshTransactions =
+        batch.stream()
+            .filter(tx -> transactionPool.getTransactionByHash(tx.getHash()).isEmpty())
+            .toList();
+    metrics.incrementAlreadySeenTransactions(METRIC_LABEL, received - freshTransactions.size());
+
+    if (freshTransactions.isEmpty()) {
+      return;
+    }
+
+    final List<CompletableFuture<List<Transaction>>> recoveries =
+        Lists.partition(freshTransactions, SENDER_RECOVERY_CHUNK_SIZE).stream()
+            .map(chunk -> ethScheduler.scheduleComputationTask(() -> recoverSenders(chunk)))
+            .toList();
+
+    CompletableFuture.allOf(recoveries.toArray(CompletableFuture[]::new))
+        .whenComplete(
+            (unused, throwable) -> {
+              final List<Transaction> recovered = new ArrayList<>(freshTransactions.size());
+              recoveries.stream()
+                  .filter(recovery -> !recovery.isCompletedExceptionally())
+                  .map(CompletableFuture::join)
+                  .forEach(recovered::addAll);
+              LOG.atTrace()
+                  .setMessage("Adding batch of remote transactions: received={}, hashes={}")
+                  .addArgument(received)
+                  .addArgument(() -> toHashList(recovered))
+                  .log();
+              ethScheduler.scheduleTxWorkerTask(
+                  () -> transactionPool.addRemoteTransactions(recovered));
+            });
+  }
+
+  private static List<Transaction> recoverSenders(final List<Transaction> transactions) {
+    final List<Transaction> recovered = new ArrayList<>(transactions.size());
+    for (final Transaction transaction : transactions) {
+      try {
+        transaction.getSender();
+        recovered.add(transaction);
+      } catch (final IllegalStateException e) {
+        // an unrecoverable signature would otherwise make the pool reject the whole batch
+        LOG.atTrace()
+            .setMessage("Discarding remote transaction with invalid signature {}")
+            .addArgument(transaction::toTraceLog)
+            .log();
+      }
+    }
+    return recovered;
+  }
+}
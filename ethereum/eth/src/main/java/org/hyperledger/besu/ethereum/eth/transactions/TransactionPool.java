@@ -580,6 +580,10 @@ public class TransactionPool implements BlockAddedObserver {
     return pendingTransactions.getStatus();
   }
 
+  public OptionalLong getCandidatesVersion() {
+    return pendingTransactions.getCandidatesVersion();
+  }
+
   @VisibleForTesting
   Class<? extends PendingTransactions> pendingTransactionsImplementation() {
     return pendingTransactions.getClass();
@@ -43,6 +43,7 @@ public interface TransactionPoolConfiguration {
     int DEFAULT_MAX_TRACKED_SEEN_TXS_PER_PEER = 200_000;
     boolean DEFAULT_PEER_TRACKER_FORGET_EVICTED_TXS = false;
     Duration DEFAULT_SAVE_RESTORE_TIMEOUT = Duration.ofMinutes(1);
+    Duration DEFAULT_REMOTE_TXS_BATCH_WINDOW = Duration.ZERO;
 
     TransactionPoolConfiguration.Unstable DEFAULT =
         ImmutableTransactionPoolConfiguration.Unstable.builder().build();
@@ -71,6 +72,11 @@ public interface TransactionPoolConfiguration {
     default Duration getSaveRestoreTimeout() {
       return DEFAULT_SAVE_RESTORE_TIMEOUT;
     }
+
+    @Value.Default
+    default Duration getRemoteTxsBatchWindow() {
+      return DEFAULT_REMOTE_TXS_BATCH_WINDOW;
+    }
   }
 
   enum Implementation {
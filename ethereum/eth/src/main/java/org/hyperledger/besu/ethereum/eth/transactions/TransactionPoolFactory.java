@@ -127,10 +127,18 @@ public class TransactionPoolFactory {
             transactionPoolConfiguration,
             blobCache);
 
+    final RemoteTransactionsBatcher remoteTransactionsBatcher =
+        new RemoteTransactionsBatcher(
+            transactionPool,
+            ethContext.getScheduler(),
+            metrics,
+            transactionPoolConfiguration.getUnstable().getRemoteTxsBatchWindow());
+
     final TransactionsMessageHandler transactionsMessageHandler =
         new TransactionsMessageHandler(
             ethContext.getScheduler(),
-            new TransactionsMessageProcessor(transactionTracker, transactionPool, metrics),
+            new TransactionsMessageProcessor(
+                transactionTracker, remoteTransactionsBatcher, metrics),
             transactionPoolConfiguration.getUnstable().getTxMessageKeepAliveSeconds());
 
     final NewPooledTransactionHashesMessageHandler pooledTransactionsMessageHandler =
@@ -139,6 +147,7 @@ public class TransactionPoolFactory {
             new NewPooledTransactionHashesMessageProcessor(
                 transactionTracker,
                 transactionPool,
+                remoteTransactionsBatcher,
                 transactionPoolConfiguration,
                 ethContext,
                 metrics,
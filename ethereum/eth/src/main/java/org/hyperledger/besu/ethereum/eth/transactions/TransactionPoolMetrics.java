@@ -41,6 +41,8 @@ public class TransactionPoolMetrics {
   public static final String REJECTED_COUNTER_NAME = "rejected_total";
   public static final String PENALIZED_COUNTER_NAME = "penalized_total";
   public static final String EXPIRED_MESSAGES_COUNTER_NAME = "messages_expired_total";
+  public static final String ALREADY_SEEN_TRANSACTIONS_COUNTER_NAME =
+      "remote_transactions_already_seen_total";
   private static final int SKIPPED_MESSAGES_LOGGING_THRESHOLD = 1000;
   private final MetricsSystem metricsSystem;
   private final LabelledMetric<Counter> addedCounter;
@@ -141,7 +143,7 @@ public class TransactionPoolMetrics {
     alreadySeenTransactionsCounter =
         metricsSystem.createLabelledCounter(
             BesuMetricCategory.TRANSACTION_POOL,
-            "remote_transactions_already_seen_total",
+            ALREADY_SEEN_TRANSACTIONS_COUNTER_NAME,
             "Total number of received transactions already seen",
             "message");
   }
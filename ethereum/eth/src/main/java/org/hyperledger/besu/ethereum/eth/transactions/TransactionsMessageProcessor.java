@@ -35,16 +35,16 @@ class TransactionsMessageProcessor {
   private static final Logger LOG = LoggerFactory.getLogger(TransactionsMessageProcessor.class);
   static final String METRIC_LABEL = "transactions";
   private final PeerTransactionTracker transactionTracker;
-  private final TransactionPool transactionPool;
+  private final RemoteTransactionsBatcher remoteTransactionsBatcher;
 
   private final TransactionPoolMetrics metrics;
 
   public TransactionsMessageProcessor(
       final PeerTransactionTracker transactionTracker,
-      final TransactionPool transactionPool,
+      final RemoteTransactionsBatcher remoteTransactionsBatcher,
       final TransactionPoolMetrics metrics) {
     this.transactionTracker = transactionTracker;
-    this.transactionPool = transactionPool;
+    this.remoteTransactionsBatcher = remoteTransactionsBatcher;
     this.metrics = metrics;
     metrics.initExpiredMessagesCounter(METRIC_LABEL);
   }
@@ -89,7 +89,7 @@ class TransactionsMessageProcessor {
           .addArgument(() -> toHashList(freshTransactions))
           .log();
 
-      transactionPool.addRemoteTransactions(freshTransactions);
+      remoteTransactionsBatcher.addRemoteTransactions(freshTransactions);
 
     } catch (final RLPException ex) {
       if (peer != null) {
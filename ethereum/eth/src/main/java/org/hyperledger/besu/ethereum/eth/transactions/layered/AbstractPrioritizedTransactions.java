@@ -36,6 +36,7 @@ import java.util.Map;
 import java.util.NavigableMap;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiFunction;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -47,6 +48,7 @@ import java.util.stream.Collectors;
 public abstract class AbstractPrioritizedTransactions extends AbstractSequentialTransactionsLayer {
   protected final TreeSet<PendingTransaction> orderByFee;
   private final MiningConfiguration miningConfiguration;
+  private final AtomicLong version = new AtomicLong();
 
   public AbstractPrioritizedTransactions(
       final TransactionPoolConfiguration poolConfig,
@@ -74,6 +76,22 @@ public abstract class AbstractPrioritizedTransactions extends AbstractSequential
   public void reset() {
     super.reset();
     orderByFee.clear();
+    orderChanged();
+  }
+
+  /**
+   * The version of the content of this layer, it is incremented every time a transaction is added,
+   * removed or the order by fee changes, so block creation can tell whether a new selection could
+   * give a different result.
+   *
+   * @return the current version of the content of this layer
+   */
+  public long getVersion() {
+    return version.get();
+  }
+
+  protected void orderChanged() {
+    version.incrementAndGet();
   }
 
   @Override
@@ -98,11 +116,13 @@ public abstract class AbstractPrioritizedTransactions extends AbstractSequential
   protected void internalAdd(
       final NavigableMap<Long, PendingTransaction> senderTxs, final PendingTransaction addedTx) {
     orderByFee.add(addedTx);
+    orderChanged();
   }
 
   @Override
   protected void internalReplaced(final PendingTransaction replacedTx) {
     orderByFee.remove(replacedTx);
+    orderChanged();
   }
 
   private boolean hasPriority(final PendingTransaction pendingTransaction) {
@@ -145,6 +165,7 @@ public abstract class AbstractPrioritizedTransactions extends AbstractSequential
       final PendingTransaction removedTx,
       final LayeredRemovalReason removalReason) {
     orderByFee.remove(removedTx);
+    orderChanged();
   }
 
   @Override
@@ -152,6 +173,7 @@ public abstract class AbstractPrioritizedTransactions extends AbstractSequential
     orderByFee.remove(penalizedTx);
     penalizedTx.decrementScore();
     orderByFee.add(penalizedTx);
+    orderChanged();
   }
 
   @Override
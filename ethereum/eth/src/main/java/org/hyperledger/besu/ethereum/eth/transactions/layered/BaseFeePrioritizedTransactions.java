@@ -103,6 +103,7 @@ public class BaseFeePrioritizedTransactions extends AbstractPrioritizedTransacti
 
     nextBlockBaseFee = Optional.of(newNextBlockBaseFee);
     orderByFee.clear();
+    orderChanged();
     senderBalanceChecker.clear();
 
     final var itTxsBySender = txsBySender.entrySet().iterator();
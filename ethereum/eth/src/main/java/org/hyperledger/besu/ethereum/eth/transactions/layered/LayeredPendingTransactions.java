@@ -44,23 +44,35 @@ import org.hyperledger.besu.evm.account.AccountState;
 import org.hyperledger.besu.plugin.data.TransactionSelectionResult;
 
 import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.Marker;
 import org.slf4j.MarkerFactory;
 
+/**
+ * Pending transactions organized in layers.
+ *
+ * <p>The layers are only modified while holding the monitor of this instance, since adding,
+ * removing or promoting the transactions of a sender can move transactions of other senders across
+ * layers. Lookups by hash, as well as listing the pending transactions, are instead served by a
+ * concurrent index of all the transactions in the layers, that is updated together with the
+ * layers, so gossip deduplication and RPC queries never wait for a write in progress.
+ */
 public class LayeredPendingTransactions implements PendingTransactions {
   private static final Logger LOG = LoggerFactory.getLogger(LayeredPendingTransactions.class);
   private static final Marker INVALID_TX_REMOVED = MarkerFactory.getMarker("INVALID_TX_REMOVED");
   private final TransactionPoolConfiguration poolConfig;
   private final AbstractPrioritizedTransactions prioritizedTransactions;
   private final EthScheduler ethScheduler;
+  private final Map<Hash, PendingTransaction> pendingTransactionsByHash = new ConcurrentHashMap<>();
 
   public LayeredPendingTransactions(
       final TransactionPoolConfiguration poolConfig,
@@ -69,11 +81,15 @@ public class LayeredPendingTransactions implements PendingTransactions {
     this.poolConfig = poolConfig;
     this.prioritizedTransactions = prioritizedTransactions;
     this.ethScheduler = ethScheduler;
+    // drop notifications are sent synchronously, by any layer, when a tx leaves the pool
+    prioritizedTransactions.subscribeToDropped(
+        (transaction, reason) -> pendingTransactionsByHash.remove(transaction.getHash()));
   }
 
   @Override
   public synchronized void reset() {
     prioritizedTransactions.reset();
+    pendingTransactionsByHash.clear();
   }
 
   @Override
@@ -95,7 +111,9 @@ public class LayeredPendingTransactions implements PendingTransactions {
     }
 
     try {
-      return prioritizedTransactions.add(pendingTransaction, (int) nonceDistance, NEW);
+      return indexIfAdded(
+          pendingTransaction,
+          prioritizedTransactions.add(pendingTransaction, (int) nonceDistance, NEW));
     } catch (final Throwable throwable) {
       return reconcileAndRetryAdd(
           pendingTransaction, stateSenderNonce, (int) nonceDistance, throwable);
@@ -118,7 +136,8 @@ public class LayeredPendingTransactions implements PendingTransactions {
         .log();
     reconcileSender(pendingTransaction.getSender(), stateSenderNonce);
     try {
-      return prioritizedTransactions.add(pendingTransaction, nonceDistance, NEW);
+      return indexIfAdded(
+          pendingTransaction, prioritizedTransactions.add(pendingTransaction, nonceDistance, NEW));
     } catch (final Throwable throwable2) {
       // the error should have been solved by the reconcile, logging at higher level now
       LOG.atWarn()
@@ -205,7 +224,10 @@ public class LayeredPendingTransactions implements PendingTransactions {
       final long lowestNonce = reAddTxs.getFirst().getNonce();
       final int newNonceDistance = (int) Math.max(0, lowestNonce - stateSenderNonce);
 
-      reAddTxs.forEach(ptx -> prioritizedTransactions.add(ptx, newNonceDistance, NEW_RECONCILED));
+      reAddTxs.forEach(
+          ptx ->
+              indexIfAdded(
+                  ptx, prioritizedTransactions.add(ptx, newNonceDistance, NEW_RECONCILED)));
     }
 
     LOG.atDebug()
@@ -216,6 +238,26 @@ public class LayeredPendingTransactions implements PendingTransactions {
         .log();
   }
 
+  /**
+   * Adds a transaction to the index by hash, if it is in the pool after it was added. A successful
+   * add does not mean that the transaction is still in the pool, since, if the pool is full, it
+   * could have been dropped right after, and in that case its drop notification has already been
+   * processed.
+   *
+   * @param pendingTransaction the transaction that was added
+   * @param addResult the result of the add
+   * @return the result of the add
+   */
+  private TransactionAddedResult indexIfAdded(
+      final PendingTransaction pendingTransaction, final TransactionAddedResult addResult) {
+    if (addResult.isSuccess()) {
+      prioritizedTransactions
+          .getByHash(pendingTransaction.getHash())
+          .ifPresent(addedTx -> pendingTransactionsByHash.put(addedTx.getHash(), addedTx));
+    }
+    return addResult;
+  }
+
   private void logInvalidTransaction(
       final PendingTransaction pendingTransaction, final TransactionSelectionResult result) {
     LOG.atInfo()
@@ -260,13 +302,19 @@ public class LayeredPendingTransactions implements PendingTransactions {
   public void evictOldTransactions() {}
 
   @Override
-  public synchronized List<Transaction> getLocalTransactions() {
-    return prioritizedTransactions.getAllLocal();
+  public List<Transaction> getLocalTransactions() {
+    return pendingTransactionsByHash.values().stream()
+        .filter(PendingTransaction::isReceivedFromLocalSource)
+        .map(PendingTransaction::getTransaction)
+        .toList();
   }
 
   @Override
-  public synchronized List<Transaction> getPriorityTransactions() {
-    return prioritizedTransactions.getAllPriority();
+  public List<Transaction> getPriorityTransactions() {
+    return pendingTransactionsByHash.values().stream()
+        .filter(PendingTransaction::hasPriority)
+        .map(PendingTransaction::getTransaction)
+        .toList();
   }
 
   @Override
@@ -325,25 +373,24 @@ public class LayeredPendingTransactions implements PendingTransactions {
   }
 
   @Override
-  public synchronized int size() {
-    return prioritizedTransactions.count();
+  public int size() {
+    return pendingTransactionsByHash.size();
   }
 
   @Override
-  public synchronized boolean containsTransaction(final Transaction transaction) {
-    return prioritizedTransactions.contains(transaction);
+  public boolean containsTransaction(final Transaction transaction) {
+    return pendingTransactionsByHash.containsKey(transaction.getHash());
   }
 
   @Override
-  public synchronized Optional<Transaction> getTransactionByHash(final Hash transactionHash) {
-    return prioritizedTransactions
-        .getByHash(transactionHash)
+  public Optional<Transaction> getTransactionByHash(final Hash transactionHash) {
+    return Optional.ofNullable(pendingTransactionsByHash.get(transactionHash))
         .map(PendingTransaction::getTransaction);
   }
 
   @Override
-  public synchronized List<PendingTransaction> getPendingTransactions() {
-    return prioritizedTransactions.getAll();
+  public List<PendingTransaction> getPendingTransactions() {
+    return new ArrayList<>(pendingTransactionsByHash.values());
   }
 
   @Override
@@ -442,4 +489,9 @@ public class LayeredPendingTransactions implements PendingTransactions {
   public Optional<Transaction> restoreBlob(final Transaction transaction) {
     return prioritizedTransactions.getBlobCache().restoreBlob(transaction);
   }
+
+  @Override
+  public OptionalLong getCandidatesVersion() {
+    return OptionalLong.of(prioritizedTransactions.getVersion());
+  }
 }
@@ -548,4 +548,9 @@ public abstract class AbstractPendingTransactionsSorter implements PendingTransa
   public Optional<Transaction> restoreBlob(final Transaction transaction) {
     return blobCache.restoreBlob(transaction);
   }
+
+  @Override
+  public OptionalLong getCandidatesVersion() {
+    return OptionalLong.empty();
+  }
 }
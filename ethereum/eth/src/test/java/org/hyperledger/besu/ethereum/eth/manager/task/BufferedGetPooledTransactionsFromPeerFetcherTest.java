@@ -38,6 +38,7 @@ import org.hyperledger.besu.ethereum.eth.manager.peertask.PeerTaskExecutorRespon
 import org.hyperledger.besu.ethereum.eth.manager.peertask.PeerTaskExecutorResult;
 import org.hyperledger.besu.ethereum.eth.manager.peertask.task.GetPooledTransactionsFromPeerTask;
 import org.hyperledger.besu.ethereum.eth.transactions.PeerTransactionTracker;
+import org.hyperledger.besu.ethereum.eth.transactions.RemoteTransactionsBatcher;
 import org.hyperledger.besu.ethereum.eth.transactions.TransactionAnnouncement;
 import org.hyperledger.besu.ethereum.eth.transactions.TransactionPool;
 import org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolConfiguration;
@@ -45,6 +46,7 @@ import org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolMetrics;
 import org.hyperledger.besu.metrics.StubMetricsSystem;
 import org.hyperledger.besu.testutil.DeterministicEthScheduler;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -93,7 +95,11 @@ public class BufferedGetPooledTransactionsFromPeerFetcherTest {
             ethContext,
             mock,
             ethPeer,
-            transactionPool,
+            new RemoteTransactionsBatcher(
+                transactionPool,
+                ethScheduler,
+                new TransactionPoolMetrics(metricsSystem),
+                Duration.ZERO),
             transactionTracker,
             EthProtocolConfiguration.DEFAULT_MAX_TRANSACTIONS_MESSAGE_SIZE,
             new TransactionPoolMetrics(metricsSystem),
@@ -99,6 +99,11 @@ class NewPooledTransactionHashesMessageProcessorTest {
         new NewPooledTransactionHashesMessageProcessor(
             transactionTracker,
             transactionPool,
+            new RemoteTransactionsBatcher(
+                transactionPool,
+                ethScheduler,
+                new TransactionPoolMetrics(metricsSystem),
+                Duration.ZERO),
             transactionPoolConfiguration,
             ethContext,
             new TransactionPoolMetrics(metricsSystem),
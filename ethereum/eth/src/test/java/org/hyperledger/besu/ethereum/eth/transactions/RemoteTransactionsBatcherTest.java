@@ -0,0 +1,102 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.transactions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.metrics.StubMetricsSystem;
+import org.hyperledger.besu.testutil.DeterministicEthScheduler;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class RemoteTransactionsBatcherTest {
+
+  @Mock private TransactionPool transactionPool;
+
+  private final BlockDataGenerator generator = new BlockDataGenerator();
+  private final Transaction transaction1 = generator.transaction();
+  private final Transaction transaction2 = generator.transaction();
+  private final Transaction transaction3 = generator.transaction();
+
+  private final DeterministicEthScheduler ethScheduler = new DeterministicEthScheduler();
+  private StubMetricsSystem metricsSystem;
+
+  @BeforeEach
+  public void setup() {
+    metricsSystem = new StubMetricsSystem();
+  }
+
+  @Test
+  public void zeroWindowAddsTransactionsStraightToThePool() {
+    final RemoteTransactionsBatcher batcher = createBatcher(Duration.ZERO);
+
+    batcher.addRemoteTransactions(List.of(transaction1, transaction2));
+
+    verify(transactionPool).addRemoteTransactions(List.of(transaction1, transaction2));
+  }
+
+  @Test
+  public void transactionsFromDifferentMessagesAreAddedAsOneDeduplicatedBatch() {
+    ethScheduler.mockScheduledExecutor().setAutoRun(false);
+    final RemoteTransactionsBatcher batcher = createBatcher(Duration.ofMillis(50));
+
+    batcher.addRemoteTransactions(List.of(transaction1, transaction2));
+    batcher.addRemoteTransactions(List.of(transaction2, transaction3));
+    verify(transactionPool, never()).addRemoteTransactions(any());
+
+    ethScheduler.mockScheduledExecutor().runPendingFutures();
+
+    verify(transactionPool)
+        .addRemoteTransactions(List.of(transaction1, transaction2, transaction3));
+    assertThat(
+            metricsSystem.getCounterValue(
+                TransactionPoolMetrics.ALREADY_SEEN_TRANSACTIONS_COUNTER_NAME,
+                RemoteTransactionsBatcher.METRIC_LABEL))
+        .isEqualTo(1);
+  }
+
+  @Test
+  public void transactionsAlreadyInThePoolAreSkipped() {
+    ethScheduler.mockScheduledExecutor().setAutoRun(false);
+    when(transactionPool.getTransactionByHash(transaction2.getHash()))
+        .thenReturn(Optional.of(transaction2));
+    final RemoteTransactionsBatcher batcher = createBatcher(Duration.ofMillis(50));
+
+    batcher.addRemoteTransactions(List.of(transaction1, transaction2, transaction3));
+    ethScheduler.mockScheduledExecutor().runPendingFutures();
+
+    verify(transactionPool).addRemoteTransactions(List.of(transaction1, transaction3));
+  }
+
+  private RemoteTransactionsBatcher createBatcher(final Duration window) {
+    return new RemoteTransactionsBatcher(
+        transactionPool, ethScheduler, new TransactionPoolMetrics(metricsSystem), window);
+  }
+}
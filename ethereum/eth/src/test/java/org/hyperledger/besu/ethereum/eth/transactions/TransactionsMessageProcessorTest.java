@@ -25,9 +25,12 @@ import static org.mockito.Mockito.verifyNoInteractions;
 import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
 import org.hyperledger.besu.ethereum.core.Transaction;
 import org.hyperledger.besu.ethereum.eth.manager.EthPeer;
+import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
 import org.hyperledger.besu.ethereum.eth.messages.TransactionsMessage;
 import org.hyperledger.besu.metrics.StubMetricsSystem;
 
+import java.time.Duration;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -40,6 +43,7 @@ public class TransactionsMessageProcessorTest {
   @Mock private TransactionPool transactionPool;
   @Mock private PeerTransactionTracker transactionTracker;
   @Mock private EthPeer peer1;
+  @Mock private EthScheduler ethScheduler;
 
   private final BlockDataGenerator generator = new BlockDataGenerator();
   private final Transaction transaction1 = generator.transaction();
@@ -53,9 +57,12 @@ public class TransactionsMessageProcessorTest {
   public void setup() {
     metricsSystem = new StubMetricsSystem();
 
+    final TransactionPoolMetrics metrics = new TransactionPoolMetrics(metricsSystem);
     messageHandler =
         new TransactionsMessageProcessor(
-            transactionTracker, transactionPool, new TransactionPoolMetrics(metricsSystem));
+            transactionTracker,
+            new RemoteTransactionsBatcher(transactionPool, ethScheduler, metrics, Duration.ZERO),
+            metrics);
   }
 
   @Test
@@ -498,6 +498,50 @@ public class LayeredPendingTransactionsTest extends BaseTransactionPoolTest {
         .containsExactly(transaction0);
   }
 
+  @Test
+  public void lookupsByHashFollowSenderReconciliation() {
+    final Transaction tx0 = createTransaction(0, KEYS1);
+    final Transaction tx1 = createTransaction(1, KEYS1);
+    final Transaction tx2 = createTransaction(2, KEYS1);
+    pendingTransactions.addTransaction(createRemotePendingTransaction(tx0), Optional.empty());
+    pendingTransactions.addTransaction(createRemotePendingTransaction(tx1), Optional.empty());
+
+    // the world state already confirmed the tx with nonce 0, so the sender is reconciled
+    final Account sender = mock(Account.class);
+    when(sender.getNonce()).thenReturn(1L);
+    pendingTransactions.addTransaction(createRemotePendingTransaction(tx2), Optional.of(sender));
+
+    assertTransactionNotPending(pendingTransactions, tx0);
+    assertTransactionPending(pendingTransactions, tx1);
+    assertTransactionPending(pendingTransactions, tx2);
+    assertThat(pendingTransactions.size()).isEqualTo(2);
+    assertThat(pendingTransactions.getPendingTransactions())
+        .map(PendingTransaction::getTransaction)
+        .containsExactlyInAnyOrder(tx1, tx2);
+  }
+
+  @Test
+  public void candidatesVersionChangesOnlyWhenCandidatesChange() {
+    final long initialVersion = pendingTransactions.getCandidatesVersion().getAsLong();
+
+    final var pendingTx0 = createRemotePendingTransaction(transaction0);
+    pendingTransactions.addTransaction(pendingTx0, Optional.empty());
+    final long addedVersion = pendingTransactions.getCandidatesVersion().getAsLong();
+    assertThat(addedVersion).isGreaterThan(initialVersion);
+
+    // a selection that does not affect the candidates leaves the version unchanged
+    pendingTransactions.selectTransactions(pendingTxs -> Map.of(pendingTx0, SELECTED));
+    assertThat(pendingTransactions.getCandidatesVersion()).hasValue(addedVersion);
+
+    pendingTransactions.selectTransactions(
+        pendingTxs ->
+            Map.of(
+                pendingTx0,
+                TransactionSelectionResult.invalid(UPFRONT_COST_EXCEEDS_BALANCE.name())));
+    assertThat(pendingTransactions.getCandidatesVersion().getAsLong())
+        .isGreaterThan(addedVersion);
+  }
+
   @Test
   public void returnEmptyOptionalAsMaximumNonceWhenNoTransactionsPresent() {
     assertThat(pendingTransactions.getNextNonceForSender(SENDER1)).isEmpty();
@@ -35,6 +35,7 @@ import org.hyperledger.besu.evm.EvmSpecVersion;
 import org.hyperledger.besu.evm.frame.MessageFrame;
 import org.hyperledger.besu.evm.internal.EvmConfiguration;
 import org.hyperledger.besu.evm.tracing.OpCodeTracerConfigBuilder;
+import org.hyperledger.besu.evm.tracing.OpcodeNGramTracer;
 import org.hyperledger.besu.evm.tracing.OperationTracer;
 import org.hyperledger.besu.evm.tracing.StreamingOperationTracer;
 import org.hyperledger.besu.evm.worldstate.WorldUpdater;
@@ -234,6 +235,13 @@ public class EvmToolCommand implements Runnable {
       negatable = true)
   final Boolean showStorage = false;
 
+  @Option(
+      names = {"--opcode-ngrams"},
+      description =
+          "Count the sequences of up to this many consecutively executed opcodes and print the most frequent ones. Default is not to count.",
+      paramLabel = "<int>")
+  private final Integer opcodeNGrams = 0;
+
   @Option(
       names = {"--notime"},
       description = "Don't include time data in summary output.",
@@ -267,6 +275,7 @@ public class EvmToolCommand implements Runnable {
   }
 
   static final Joiner STORAGE_JOINER = Joiner.on(",\n");
+  private static final int MAX_NGRAMS = 50;
   private final EvmToolCommandOptionsModule daggerOptions = new EvmToolCommandOptionsModule();
   PrintWriter out;
   InputStream in;
@@ -457,7 +466,9 @@ public class EvmToolCommand implements Runnable {
                         .traceOpcodes(Collections.emptySet())
                         .eip3155Strict(eip3155strict)
                         .build())
-                : OperationTracer.NO_TRACING;
+                : lastLoop && opcodeNGrams > 0
+                    ? new OpcodeNGramTracer(opcodeNGrams)
+                    : OperationTracer.NO_TRACING;
 
         WorldUpdater updater = component.getWorldUpdater();
         updater.getOrCreate(sender);
@@ -571,6 +582,15 @@ public class EvmToolCommand implements Runnable {
           }
           out.println(resultLine);
 
+          if (tracer instanceof OpcodeNGramTracer nGramTracer) {
+            for (final OpcodeNGramTracer.NGram nGram : nGramTracer.mostFrequent(MAX_NGRAMS)) {
+              out.println(
+                  new JsonObject()
+                      .put("ngram", String.join(" ", nGram.opcodes()))
+                      .put("count", nGram.count()));
+            }
+          }
+
           if (showJsonAlloc) {
             dumpWorldState(worldState, out);
           }
@@ -142,11 +142,50 @@ public class EvmToolCommandOptionsModule {
       arity = "1")
   private boolean enableOptimizedOpcodes = true;
 
+  @CommandLine.Option(
+      names = {"--Xevm-operand-stack-mode"},
+      description = "How operand stack items are represented while executing EVM code",
+      fallbackValue = "BYTES",
+      defaultValue = "BYTES",
+      hidden = true)
+  private EvmConfiguration.OperandStackMode operandStackMode =
+      EvmConfiguration.OperandStackMode.BYTES;
+
+  @CommandLine.Option(
+      names = {"--Xevm-pooled-frame-memory"},
+      description = "Reuse the memory of completed message frames within a thread",
+      fallbackValue = "true",
+      hidden = true,
+      arity = "1")
+  private boolean pooledFrameMemory = false;
+
+  @CommandLine.Option(
+      names = {"--Xevm-basic-block-execution"},
+      description = "Charge gas and check stack bounds once per basic block of straight line code",
+      fallbackValue = "true",
+      hidden = true,
+      arity = "1")
+  private boolean basicBlockExecution = false;
+
+  @CommandLine.Option(
+      names = {"--Xevm-superinstructions"},
+      description = "Execute frequent opcode sequences, such as PUSH and JUMP, as one operation",
+      fallbackValue = "true",
+      hidden = true,
+      arity = "1")
+  private boolean superinstructions = false;
+
   @Provides
   @Singleton
   EvmConfiguration provideEvmConfiguration() {
     return new EvmConfiguration(
-        jumpDestCacheWeightKilobytes, worldstateUpdateMode, enableOptimizedOpcodes);
+        jumpDestCacheWeightKilobytes,
+        worldstateUpdateMode,
+        enableOptimizedOpcodes,
+        operandStackMode,
+        pooledFrameMemory,
+        basicBlockExecution,
+        superinstructions);
   }
 
   /** Default constructor for the EvmToolCommandOptionsModule class. */
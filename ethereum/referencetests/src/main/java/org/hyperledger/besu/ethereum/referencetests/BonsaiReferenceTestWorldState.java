@@ -28,6 +28,7 @@ import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.worldview.BonsaiWorld
 import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.worldview.BonsaiWorldStateUpdateAccumulator;
 import org.hyperledger.besu.ethereum.trie.pathbased.common.cache.PathBasedCachedWorldStorageManager;
 import org.hyperledger.besu.ethereum.trie.pathbased.common.trielog.TrieLogAddedEvent;
+import org.hyperledger.besu.ethereum.trie.pathbased.common.trielog.TrieLogCheckpoint;
 import org.hyperledger.besu.ethereum.trie.pathbased.common.trielog.TrieLogManager;
 import org.hyperledger.besu.ethereum.trie.pathbased.common.worldview.PathBasedWorldState;
 import org.hyperledger.besu.ethereum.trie.pathbased.common.worldview.accumulator.PathBasedWorldStateUpdateAccumulator;
@@ -300,6 +301,12 @@ public class BonsaiReferenceTestWorldState extends BonsaiWorldState
       trieLogCache.invalidate(blockHash); // remove trielog from the cache
       return Optional.ofNullable(trieLogFactory.deserialize(trielog));
     }
+
+    @Override
+    public Optional<TrieLogCheckpoint> getTrieLogCheckpoint(
+        final int level, final Hash blockHash) {
+      return Optional.empty();
+    }
   }
 
   @Override
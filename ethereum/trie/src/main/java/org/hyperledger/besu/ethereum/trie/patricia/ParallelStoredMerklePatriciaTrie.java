@@ -66,6 +66,9 @@ public class ParallelStoredMerklePatriciaTrie<K extends Bytes, V>
   /** Pending updates accumulated between commits */
   private final Map<K, Optional<V>> pendingUpdates = new ConcurrentHashMap<>();
 
+  /** Whether the nodes along the paths of the pending updates are already loaded */
+  private volatile boolean prefetched = false;
+
   /**
    * Creates a new parallel trie with an empty root.
    *
@@ -135,6 +138,7 @@ public class ParallelStoredMerklePatriciaTrie<K extends Bytes, V>
   @Override
   public void put(final K key, final V value) {
     pendingUpdates.put(key, Optional.of(value));
+    prefetched = false;
   }
 
   /**
@@ -146,6 +150,7 @@ public class ParallelStoredMerklePatriciaTrie<K extends Bytes, V>
   @Override
   public void remove(final K key) {
     pendingUpdates.put(key, Optional.empty());
+    prefetched = false;
   }
 
   /**
@@ -190,10 +195,12 @@ public class ParallelStoredMerklePatriciaTrie<K extends Bytes, V>
       this.root = loadNode(root);
 
       // Convert pending updates to UpdateEntry objects with nibble paths
-      final List<UpdateEntry<V>> entries =
-          pendingUpdates.entrySet().stream()
-              .map(e -> new UpdateEntry<>(bytesToPath(e.getKey()), e.getValue()))
-              .toList();
+      final List<UpdateEntry<V>> entries = getUpdateEntries();
+
+      // Read the nodes along the update paths concurrently before updating them
+      if (!prefetched) {
+        prefetchNodes(entries);
+      }
 
       final CommitCache commitCache = new CommitCache();
       final boolean shouldCommit = maybeNodeUpdater.isPresent();
@@ -218,6 +225,80 @@ public class ParallelStoredMerklePatriciaTrie<K extends Bytes, V>
     } finally {
       // Always clear pending updates after processing
       pendingUpdates.clear();
+      prefetched = false;
+    }
+  }
+
+  /**
+   * Loads the stored nodes along the paths of the pending updates, reading the children of each
+   * branch concurrently. The loaded nodes are kept by their lazy references in the trie, so the
+   * following update does not wait on storage one node at a time.
+   */
+  public void prefetch() {
+    if (pendingUpdates.isEmpty() || prefetched) {
+      return;
+    }
+    this.root = loadNode(root);
+    prefetchNodes(getUpdateEntries());
+  }
+
+  private List<UpdateEntry<V>> getUpdateEntries() {
+    return pendingUpdates.entrySet().stream()
+        .map(e -> new UpdateEntry<>(bytesToPath(e.getKey()), e.getValue()))
+        .toList();
+  }
+
+  private void prefetchNodes(final List<UpdateEntry<V>> entries) {
+    FORK_JOIN_POOL.invoke(ForkJoinTask.adapt(() -> prefetchNode(root, 0, entries)));
+    prefetched = true;
+  }
+
+  /**
+   * Loads a node and the stored nodes below it along the paths of the updates. Only the children
+   * still to be read from storage are forked, the ones already in memory are walked in place.
+   *
+   * @param node the node to load
+   * @param depth the number of nibbles of the update paths above the node
+   * @param updates the updates going through the node
+   */
+  private void prefetchNode(
+      final Node<V> node, final int depth, final List<UpdateEntry<V>> updates) {
+    switch (loadNode(node)) {
+      case BranchNode<V> branch -> {
+        final List<ForkJoinTask<?>> forkJoinTasks = new ArrayList<>();
+        groupUpdatesByNibble(updates, depth)
+            .forEach(
+                (nibble, childUpdates) -> {
+                  if (nibble >= NB_CHILD) {
+                    return;
+                  }
+                  final Node<V> child = branch.child(nibble);
+                  if (child instanceof StoredNode) {
+                    forkJoinTasks.add(
+                        ForkJoinTask.adapt(() -> prefetchNode(child, depth + 1, childUpdates))
+                            .fork());
+                  } else {
+                    prefetchNode(child, depth + 1, childUpdates);
+                  }
+                });
+        forkJoinTasks.forEach(ForkJoinTask::join);
+      }
+      case ExtensionNode<V> extension -> {
+        final Bytes extensionPath = extension.getPath();
+        final List<UpdateEntry<V>> childUpdates =
+            updates.stream()
+                .filter(
+                    update ->
+                        update.path.size() >= depth + extensionPath.size()
+                            && update.path.slice(depth, extensionPath.size()).equals(extensionPath))
+                .toList();
+        if (!childUpdates.isEmpty()) {
+          prefetchNode(extension.getChild(), depth + extensionPath.size(), childUpdates);
+        }
+      }
+      default -> {
+        // leaves and empty nodes have nothing below them to load
+      }
     }
   }
 
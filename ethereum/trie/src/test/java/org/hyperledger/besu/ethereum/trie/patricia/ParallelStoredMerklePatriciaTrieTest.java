@@ -21,6 +21,7 @@ import org.hyperledger.besu.ethereum.trie.MerkleStorage;
 import org.hyperledger.besu.services.kvstore.InMemoryKeyValueStorage;
 
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
 import org.apache.tuweni.bytes.Bytes;
@@ -429,6 +430,42 @@ class ParallelStoredMerklePatriciaTrieTest {
     }
   }
 
+  @Test
+  void shouldPrefetchNodesAlongUpdatePaths() {
+    final int numKeys = 1000;
+    for (int i = 0; i < numKeys; i++) {
+      parallelTrie.put(createKey(i * 7919), createValue(i));
+      sequentialTrie.put(createKey(i * 7919), createValue(i));
+    }
+    parallelTrie.commit(parallelStorage::put);
+    sequentialTrie.commit(sequentialStorage::put);
+
+    final AtomicInteger loadedNodes = new AtomicInteger();
+    final ParallelStoredMerklePatriciaTrie<Bytes, Bytes> newTrie =
+        new ParallelStoredMerklePatriciaTrie<>(
+            (location, hash) -> {
+              loadedNodes.incrementAndGet();
+              return parallelStorage.get(location, hash);
+            },
+            parallelTrie.getRootHash(),
+            Function.identity(),
+            Function.identity());
+    for (int i = 0; i < numKeys; i += 10) {
+      newTrie.put(createKey(i * 7919), createValue(i + 1));
+      sequentialTrie.put(createKey(i * 7919), createValue(i + 1));
+    }
+
+    newTrie.prefetch();
+    final int prefetchedNodes = loadedNodes.get();
+    assertThat(prefetchedNodes).isGreaterThan(0);
+
+    // the update only walks nodes already loaded
+    newTrie.commit(parallelStorage::put);
+    sequentialTrie.commit(sequentialStorage::put);
+    assertThat(loadedNodes.get()).isEqualTo(prefetchedNodes);
+    assertThat(newTrie.getRootHash()).isEqualTo(sequentialTrie.getRootHash());
+  }
+
   @Test
   void shouldProduceConsistentRootHashAcrossMultipleBuilds() {
     final int numKeys = 50;
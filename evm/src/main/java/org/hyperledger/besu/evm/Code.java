@@ -15,7 +15,9 @@
 package org.hyperledger.besu.evm;
 
 import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.evm.code.BasicBlocks;
 import org.hyperledger.besu.evm.code.OpcodeInfo;
+import org.hyperledger.besu.evm.code.Superinstructions;
 import org.hyperledger.besu.evm.operation.JumpDestOperation;
 
 import java.io.ByteArrayOutputStream;
@@ -42,6 +44,12 @@ public class Code {
   /** Bit mask for jump destinations, used to optimize JUMP/JUMPI operations */
   private long[] jumpDestBitMask = null;
 
+  /** Basic blocks, used by the block execution mode of the interpreter */
+  private BasicBlocks basicBlocks = null;
+
+  /** Fusable opcode sequences, used by the superinstruction mode of the interpreter */
+  private Superinstructions superinstructions = null;
+
   /**
    * Public constructor.
    *
@@ -188,6 +196,56 @@ public class Code {
     this.jumpDestBitMask = jumpDestBitMask;
   }
 
+  /**
+   * Returns the basic blocks of this code for the given fork rules, analysing it on first use.
+   *
+   * @param enableConstantinople whether SHL, SHR and SAR are available
+   * @param enableShanghai whether PUSH0 is available
+   * @return the basic blocks of this code
+   */
+  public BasicBlocks getBasicBlocks(
+      final boolean enableConstantinople, final boolean enableShanghai) {
+    BasicBlocks result = basicBlocks;
+    if (result == null || !result.isFor(enableConstantinople, enableShanghai)) {
+      result =
+          BasicBlocks.analyze(getBytes().toArrayUnsafe(), enableConstantinople, enableShanghai);
+      basicBlocks = result;
+    }
+    return result;
+  }
+
+  /**
+   * Returns the basic blocks of this code if they have been computed.
+   *
+   * @return the basic blocks, or null if not computed yet
+   */
+  public BasicBlocks getBasicBlocksIfPresent() {
+    return basicBlocks;
+  }
+
+  /**
+   * Returns the fusable opcode sequences of this code, analysing it on first use.
+   *
+   * @return the superinstructions of this code
+   */
+  public Superinstructions getSuperinstructions() {
+    Superinstructions result = superinstructions;
+    if (result == null) {
+      result = Superinstructions.analyze(getBytes().toArrayUnsafe());
+      superinstructions = result;
+    }
+    return result;
+  }
+
+  /**
+   * Returns the fusable opcode sequences of this code if they have been computed.
+   *
+   * @return the superinstructions, or null if not computed yet
+   */
+  public Superinstructions getSuperinstructionsIfPresent() {
+    return superinstructions;
+  }
+
   /**
    * Computes a bitmask where each bit set to 1 indicates a valid `JUMPDEST` opcode in the EVM
    * bytecode. The bitmap is organized in 64-byte chunks, each represented as a `long` (64 bits).
@@ -15,10 +15,14 @@
 package org.hyperledger.besu.evm;
 
 import static com.google.common.base.Preconditions.checkNotNull;
+import static org.hyperledger.besu.evm.internal.Words.clampedAdd;
+import static org.hyperledger.besu.evm.internal.Words.clampedToLong;
 import static org.hyperledger.besu.evm.operation.PushOperation.PUSH_BASE;
 import static org.hyperledger.besu.evm.operation.SwapOperation.SWAP_BASE;
 
 import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.evm.code.BasicBlocks;
+import org.hyperledger.besu.evm.code.Superinstructions;
 import org.hyperledger.besu.evm.frame.ExceptionalHaltReason;
 import org.hyperledger.besu.evm.frame.MessageFrame;
 import org.hyperledger.besu.evm.frame.MessageFrame.State;
@@ -26,6 +30,7 @@ import org.hyperledger.besu.evm.gascalculator.GasCalculator;
 import org.hyperledger.besu.evm.internal.EvmConfiguration;
 import org.hyperledger.besu.evm.internal.JumpDestOnlyCodeCache;
 import org.hyperledger.besu.evm.internal.OverflowException;
+import org.hyperledger.besu.evm.internal.UInt256OperandStack;
 import org.hyperledger.besu.evm.internal.UnderflowException;
 import org.hyperledger.besu.evm.operation.AddModOperation;
 import org.hyperledger.besu.evm.operation.AddModOperationOptimized;
@@ -39,6 +44,7 @@ import org.hyperledger.besu.evm.operation.CountLeadingZerosOperation;
 import org.hyperledger.besu.evm.operation.DivOperation;
 import org.hyperledger.besu.evm.operation.DupNOperation;
 import org.hyperledger.besu.evm.operation.DupOperation;
+import org.hyperledger.besu.evm.operation.EqOperation;
 import org.hyperledger.besu.evm.operation.ExchangeOperation;
 import org.hyperledger.besu.evm.operation.ExpOperation;
 import org.hyperledger.besu.evm.operation.GtOperation;
@@ -48,6 +54,7 @@ import org.hyperledger.besu.evm.operation.JumpDestOperation;
 import org.hyperledger.besu.evm.operation.JumpOperation;
 import org.hyperledger.besu.evm.operation.JumpiOperation;
 import org.hyperledger.besu.evm.operation.LtOperation;
+import org.hyperledger.besu.evm.operation.MStoreOperation;
 import org.hyperledger.besu.evm.operation.ModOperation;
 import org.hyperledger.besu.evm.operation.ModOperationOptimized;
 import org.hyperledger.besu.evm.operation.MulModOperation;
@@ -79,6 +86,7 @@ import org.hyperledger.besu.evm.operation.StopOperation;
 import org.hyperledger.besu.evm.operation.SubOperation;
 import org.hyperledger.besu.evm.operation.SwapNOperation;
 import org.hyperledger.besu.evm.operation.SwapOperation;
+import org.hyperledger.besu.evm.operation.UInt256StackOperations;
 import org.hyperledger.besu.evm.operation.VirtualOperation;
 import org.hyperledger.besu.evm.operation.XorOperation;
 import org.hyperledger.besu.evm.operation.XorOperationOptimized;
@@ -103,6 +111,13 @@ public class EVM {
   protected static final OperationResult UNDERFLOW_RESPONSE =
       new OperationResult(0L, ExceptionalHaltReason.INSUFFICIENT_STACK_ITEMS);
 
+  // gas of the fused sequences, the sum of the fixed costs of their operations
+  private static final long PUSH_JUMP_GAS = 3L + 8L;
+  private static final long PUSH_JUMPI_GAS = 3L + 10L;
+  private static final long ISZERO_PUSH_JUMPI_GAS = 3L + 3L + 10L;
+  private static final long PUSH4_EQ_GAS = 3L + 3L;
+  private static final long DUP_GAS = 3L;
+
   private final OperationRegistry operations;
   private final GasCalculator gasCalculator;
   private final Operation endOfScriptStop;
@@ -115,6 +130,9 @@ public class EVM {
   private final boolean enableAmsterdam;
   private final boolean enableOsaka;
 
+  // DUP+MSTORE is only fused when MSTORE has not been replaced in the operation registry
+  private final boolean standardMStore;
+
   private final JumpDestOnlyCodeCache jumpDestOnlyCodeCache;
 
   /**
@@ -141,6 +159,7 @@ public class EVM {
     enableShanghai = EvmSpecVersion.SHANGHAI.ordinal() <= evmSpecVersion.ordinal();
     enableAmsterdam = EvmSpecVersion.AMSTERDAM.ordinal() <= evmSpecVersion.ordinal();
     enableOsaka = EvmSpecVersion.OSAKA.ordinal() <= evmSpecVersion.ordinal();
+    standardMStore = operations.get(0x52) instanceof MStoreOperation;
   }
 
   /**
@@ -219,10 +238,33 @@ public class EVM {
     var operationTracer = tracing == OperationTracer.NO_TRACING ? null : tracing;
     byte[] code = frame.getCode().getBytes().toArrayUnsafe();
     Operation[] operationArray = operations.getOperations();
+    final UInt256OperandStack uint256Stack = frame.getUInt256Stack();
+    // tracers observe every operation, so blocks and superinstructions are only used without one
+    final BasicBlocks basicBlocks =
+        evmConfiguration.basicBlockExecution() && operationTracer == null
+            ? frame.getCode().getBasicBlocks(enableConstantinople, enableShanghai)
+            : null;
+    final Superinstructions superinstructions =
+        evmConfiguration.superinstructions() && operationTracer == null
+            ? frame.getCode().getSuperinstructions()
+            : null;
     while (frame.getState() == MessageFrame.State.CODE_EXECUTING) {
       Operation currentOperation;
       int opcode;
       int pc = frame.getPC();
+      if (basicBlocks != null) {
+        final int block = basicBlocks.blockAt(pc);
+        if (block >= 0 && runBasicBlock(frame, uint256Stack, basicBlocks, block, code, pc)) {
+          continue;
+        }
+      }
+      if (superinstructions != null) {
+        final byte kind = superinstructions.kindAt(pc);
+        if (kind != Superinstructions.NONE
+            && runSuperinstruction(frame, uint256Stack, kind, code, pc)) {
+          continue;
+        }
+      }
       try {
         opcode = code[pc] & 0xff;
         currentOperation = operationArray[opcode];
@@ -238,174 +280,180 @@ public class EVM {
       OperationResult result;
       try {
         result =
-            switch (opcode) {
-              case 0x00 -> StopOperation.staticOperation(frame);
-              case 0x01 ->
-                  evmConfiguration.enableOptimizedOpcodes()
-                      ? AddOperationOptimized.staticOperation(frame)
-                      : AddOperation.staticOperation(frame);
-              case 0x02 -> MulOperation.staticOperation(frame);
-              case 0x03 -> SubOperation.staticOperation(frame);
-              case 0x04 -> DivOperation.staticOperation(frame);
-              case 0x05 -> SDivOperation.staticOperation(frame);
-              case 0x06 ->
-                  evmConfiguration.enableOptimizedOpcodes()
-                      ? ModOperationOptimized.staticOperation(frame)
-                      : ModOperation.staticOperation(frame);
-              case 0x07 ->
-                  evmConfiguration.enableOptimizedOpcodes()
-                      ? SModOperationOptimized.staticOperation(frame)
-                      : SModOperation.staticOperation(frame);
-              case 0x08 ->
-                  evmConfiguration.enableOptimizedOpcodes()
-                      ? AddModOperationOptimized.staticOperation(frame)
-                      : AddModOperation.staticOperation(frame);
-              case 0x09 ->
-                  evmConfiguration.enableOptimizedOpcodes()
-                      ? MulModOperationOptimized.staticOperation(frame)
-                      : MulModOperation.staticOperation(frame);
-              case 0x0a -> ExpOperation.staticOperation(frame, gasCalculator);
-              case 0x0b -> SignExtendOperation.staticOperation(frame);
-              case 0x0c, 0x0d, 0x0e, 0x0f -> InvalidOperation.invalidOperationResult(opcode);
-              case 0x10 -> LtOperation.staticOperation(frame);
-              case 0x11 -> GtOperation.staticOperation(frame);
-              case 0x12 -> SLtOperation.staticOperation(frame);
-              case 0x13 -> SGtOperation.staticOperation(frame);
-              case 0x15 -> IsZeroOperation.staticOperation(frame);
-              case 0x16 ->
-                  evmConfiguration.enableOptimizedOpcodes()
-                      ? AndOperationOptimized.staticOperation(frame)
-                      : AndOperation.staticOperation(frame);
-              case 0x17 ->
-                  evmConfiguration.enableOptimizedOpcodes()
-                      ? OrOperationOptimized.staticOperation(frame)
-                      : OrOperation.staticOperation(frame);
-              case 0x18 ->
-                  evmConfiguration.enableOptimizedOpcodes()
-                      ? XorOperationOptimized.staticOperation(frame)
-                      : XorOperation.staticOperation(frame);
-              case 0x19 ->
-                  evmConfiguration.enableOptimizedOpcodes()
-                      ? NotOperationOptimized.staticOperation(frame)
-                      : NotOperation.staticOperation(frame);
-              case 0x1a -> ByteOperation.staticOperation(frame);
-              case 0x1b ->
-                  enableConstantinople
-                      ? shiftOperation(
-                          frame,
-                          ShlOperation::staticOperation,
-                          ShlOperationOptimized::staticOperation)
-                      : InvalidOperation.invalidOperationResult(opcode);
-              case 0x1c ->
-                  enableConstantinople
-                      ? shiftOperation(
-                          frame,
-                          ShrOperation::staticOperation,
-                          ShrOperationOptimized::staticOperation)
-                      : InvalidOperation.invalidOperationResult(opcode);
-              case 0x1d ->
-                  enableConstantinople
-                      ? shiftOperation(
-                          frame,
-                          SarOperation::staticOperation,
-                          SarOperationOptimized::staticOperation)
-                      : InvalidOperation.invalidOperationResult(opcode);
-              case 0x1e ->
-                  enableOsaka
-                      ? CountLeadingZerosOperation.staticOperation(frame)
-                      : InvalidOperation.invalidOperationResult(opcode);
-              case 0x50 -> PopOperation.staticOperation(frame);
-              case 0x56 -> JumpOperation.staticOperation(frame);
-              case 0x57 -> JumpiOperation.staticOperation(frame);
-              case 0x5b -> JumpDestOperation.JUMPDEST_SUCCESS;
-              case 0x5f ->
-                  enableShanghai
-                      ? Push0Operation.staticOperation(frame)
-                      : InvalidOperation.invalidOperationResult(opcode);
-              case 0x60, // PUSH1-32
-                  0x61,
-                  0x62,
-                  0x63,
-                  0x64,
-                  0x65,
-                  0x66,
-                  0x67,
-                  0x68,
-                  0x69,
-                  0x6a,
-                  0x6b,
-                  0x6c,
-                  0x6d,
-                  0x6e,
-                  0x6f,
-                  0x70,
-                  0x71,
-                  0x72,
-                  0x73,
-                  0x74,
-                  0x75,
-                  0x76,
-                  0x77,
-                  0x78,
-                  0x79,
-                  0x7a,
-                  0x7b,
-                  0x7c,
-                  0x7d,
-                  0x7e,
-                  0x7f ->
-                  PushOperation.staticOperation(frame, code, pc, opcode - PUSH_BASE);
-              case 0x80, // DUP1-16
-                  0x81,
-                  0x82,
-                  0x83,
-                  0x84,
-                  0x85,
-                  0x86,
-                  0x87,
-                  0x88,
-                  0x89,
-                  0x8a,
-                  0x8b,
-                  0x8c,
-                  0x8d,
-                  0x8e,
-                  0x8f ->
-                  DupOperation.staticOperation(frame, opcode - DupOperation.DUP_BASE);
-              case 0x90, // SWAP1-16
-                  0x91,
-                  0x92,
-                  0x93,
-                  0x94,
-                  0x95,
-                  0x96,
-                  0x97,
-                  0x98,
-                  0x99,
-                  0x9a,
-                  0x9b,
-                  0x9c,
-                  0x9d,
-                  0x9e,
-                  0x9f ->
-                  SwapOperation.staticOperation(frame, opcode - SWAP_BASE);
-              case 0xe6 -> // DUPN (EIP-8024)
-                  enableAmsterdam
-                      ? DupNOperation.staticOperation(frame, code, pc)
-                      : InvalidOperation.invalidOperationResult(opcode);
-              case 0xe7 -> // SWAPN (EIP-8024)
-                  enableAmsterdam
-                      ? SwapNOperation.staticOperation(frame, code, pc)
-                      : InvalidOperation.invalidOperationResult(opcode);
-              case 0xe8 -> // EXCHANGE (EIP-8024)
-                  enableAmsterdam
-                      ? ExchangeOperation.staticOperation(frame, code, pc)
-                      : InvalidOperation.invalidOperationResult(opcode);
-              default -> { // unoptimized operations
-                frame.setCurrentOperation(currentOperation);
-                yield currentOperation.execute(frame, this);
-              }
-            };
+            uint256Stack == null
+                ? null
+                : uint256StackOperation(frame, uint256Stack, code, pc, opcode);
+        if (result == null) {
+          result =
+              switch (opcode) {
+                case 0x00 -> StopOperation.staticOperation(frame);
+                case 0x01 ->
+                    evmConfiguration.enableOptimizedOpcodes()
+                        ? AddOperationOptimized.staticOperation(frame)
+                        : AddOperation.staticOperation(frame);
+                case 0x02 -> MulOperation.staticOperation(frame);
+                case 0x03 -> SubOperation.staticOperation(frame);
+                case 0x04 -> DivOperation.staticOperation(frame);
+                case 0x05 -> SDivOperation.staticOperation(frame);
+                case 0x06 ->
+                    evmConfiguration.enableOptimizedOpcodes()
+                        ? ModOperationOptimized.staticOperation(frame)
+                        : ModOperation.staticOperation(frame);
+                case 0x07 ->
+                    evmConfiguration.enableOptimizedOpcodes()
+                        ? SModOperationOptimized.staticOperation(frame)
+                        : SModOperation.staticOperation(frame);
+                case 0x08 ->
+                    evmConfiguration.enableOptimizedOpcodes()
+                        ? AddModOperationOptimized.staticOperation(frame)
+                        : AddModOperation.staticOperation(frame);
+                case 0x09 ->
+                    evmConfiguration.enableOptimizedOpcodes()
+                        ? MulModOperationOptimized.staticOperation(frame)
+                        : MulModOperation.staticOperation(frame);
+                case 0x0a -> ExpOperation.staticOperation(frame, gasCalculator);
+                case 0x0b -> SignExtendOperation.staticOperation(frame);
+                case 0x0c, 0x0d, 0x0e, 0x0f -> InvalidOperation.invalidOperationResult(opcode);
+                case 0x10 -> LtOperation.staticOperation(frame);
+                case 0x11 -> GtOperation.staticOperation(frame);
+                case 0x12 -> SLtOperation.staticOperation(frame);
+                case 0x13 -> SGtOperation.staticOperation(frame);
+                case 0x15 -> IsZeroOperation.staticOperation(frame);
+                case 0x16 ->
+                    evmConfiguration.enableOptimizedOpcodes()
+                        ? AndOperationOptimized.staticOperation(frame)
+                        : AndOperation.staticOperation(frame);
+                case 0x17 ->
+                    evmConfiguration.enableOptimizedOpcodes()
+                        ? OrOperationOptimized.staticOperation(frame)
+                        : OrOperation.staticOperation(frame);
+                case 0x18 ->
+                    evmConfiguration.enableOptimizedOpcodes()
+                        ? XorOperationOptimized.staticOperation(frame)
+                        : XorOperation.staticOperation(frame);
+                case 0x19 ->
+                    evmConfiguration.enableOptimizedOpcodes()
+                        ? NotOperationOptimized.staticOperation(frame)
+                        : NotOperation.staticOperation(frame);
+                case 0x1a -> ByteOperation.staticOperation(frame);
+                case 0x1b ->
+                    enableConstantinople
+                        ? shiftOperation(
+                            frame,
+                            ShlOperation::staticOperation,
+                            ShlOperationOptimized::staticOperation)
+                        : InvalidOperation.invalidOperationResult(opcode);
+                case 0x1c ->
+                    enableConstantinople
+                        ? shiftOperation(
+                            frame,
+                            ShrOperation::staticOperation,
+                            ShrOperationOptimized::staticOperation)
+                        : InvalidOperation.invalidOperationResult(opcode);
+                case 0x1d ->
+                    enableConstantinople
+                        ? shiftOperation(
+                            frame,
+                            SarOperation::staticOperation,
+                            SarOperationOptimized::staticOperation)
+                        : InvalidOperation.invalidOperationResult(opcode);
+                case 0x1e ->
+                    enableOsaka
+                        ? CountLeadingZerosOperation.staticOperation(frame)
+                        : InvalidOperation.invalidOperationResult(opcode);
+                case 0x50 -> PopOperation.staticOperation(frame);
+                case 0x56 -> JumpOperation.staticOperation(frame);
+                case 0x57 -> JumpiOperation.staticOperation(frame);
+                case 0x5b -> JumpDestOperation.JUMPDEST_SUCCESS;
+                case 0x5f ->
+                    enableShanghai
+                        ? Push0Operation.staticOperation(frame)
+                        : InvalidOperation.invalidOperationResult(opcode);
+                case 0x60, // PUSH1-32
+                    0x61,
+                    0x62,
+                    0x63,
+                    0x64,
+                    0x65,
+                    0x66,
+                    0x67,
+                    0x68,
+                    0x69,
+                    0x6a,
+                    0x6b,
+                    0x6c,
+                    0x6d,
+                    0x6e,
+                    0x6f,
+                    0x70,
+                    0x71,
+                    0x72,
+                    0x73,
+                    0x74,
+                    0x75,
+                    0x76,
+                    0x77,
+                    0x78,
+                    0x79,
+                    0x7a,
+                    0x7b,
+                    0x7c,
+                    0x7d,
+                    0x7e,
+                    0x7f ->
+                    PushOperation.staticOperation(frame, code, pc, opcode - PUSH_BASE);
+                case 0x80, // DUP1-16
+                    0x81,
+                    0x82,
+                    0x83,
+                    0x84,
+                    0x85,
+                    0x86,
+                    0x87,
+                    0x88,
+                    0x89,
+                    0x8a,
+                    0x8b,
+                    0x8c,
+                    0x8d,
+                    0x8e,
+                    0x8f ->
+                    DupOperation.staticOperation(frame, opcode - DupOperation.DUP_BASE);
+                case 0x90, // SWAP1-16
+                    0x91,
+                    0x92,
+                    0x93,
+                    0x94,
+                    0x95,
+                    0x96,
+                    0x97,
+                    0x98,
+                    0x99,
+                    0x9a,
+                    0x9b,
+                    0x9c,
+                    0x9d,
+                    0x9e,
+                    0x9f ->
+                    SwapOperation.staticOperation(frame, opcode - SWAP_BASE);
+                case 0xe6 -> // DUPN (EIP-8024)
+                    enableAmsterdam
+                        ? DupNOperation.staticOperation(frame, code, pc)
+                        : InvalidOperation.invalidOperationResult(opcode);
+                case 0xe7 -> // SWAPN (EIP-8024)
+                    enableAmsterdam
+                        ? SwapNOperation.staticOperation(frame, code, pc)
+                        : InvalidOperation.invalidOperationResult(opcode);
+                case 0xe8 -> // EXCHANGE (EIP-8024)
+                    enableAmsterdam
+                        ? ExchangeOperation.staticOperation(frame, code, pc)
+                        : InvalidOperation.invalidOperationResult(opcode);
+                default -> { // unoptimized operations
+                  frame.setCurrentOperation(currentOperation);
+                  yield currentOperation.execute(frame, this);
+                }
+              };
+        }
       } catch (final OverflowException oe) {
         result = OVERFLOW_RESPONSE;
       } catch (final UnderflowException ue) {
@@ -440,6 +488,358 @@ public class EVM {
     return operations.getOperations();
   }
 
+  /**
+   * Executes a whole basic block, charging its gas once up front. Stack bounds and gas are checked
+   * for the block as a whole before anything runs; if any check fails nothing is executed and the
+   * caller falls back to the regular loop, which then halts on the exact operation it would have
+   * halted on anyway.
+   *
+   * @return true if the block was executed, false if the regular loop must execute it instead
+   */
+  private boolean runBasicBlock(
+      final MessageFrame frame,
+      final UInt256OperandStack uint256Stack,
+      final BasicBlocks basicBlocks,
+      final int block,
+      final byte[] code,
+      final int start) {
+    final int stackSize = frame.stackSize();
+    final long gasCost = basicBlocks.gasCost(block);
+    if (stackSize < basicBlocks.requiredItems(block)
+        || stackSize + basicBlocks.maxGrowth(block) > frame.getMaxStackSize()
+        || frame.getRemainingGas() < gasCost) {
+      return false;
+    }
+    frame.decrementRemainingGas(gasCost);
+
+    final int end = basicBlocks.end(block);
+    int pc = start;
+    try {
+      while (pc < end) {
+        final int opcode = code[pc] & 0xff;
+        if (uint256Stack == null
+            || uint256StackOperation(frame, uint256Stack, code, pc, opcode) == null) {
+          basicBlockOperation(frame, code, pc, opcode);
+        }
+        pc += opcode >= 0x60 && opcode <= 0x7f ? opcode - PUSH_BASE + 1 : 1;
+      }
+    } catch (final OverflowException | UnderflowException e) {
+      // unreachable as the stack bounds are checked for the whole block
+      final ExceptionalHaltReason haltReason =
+          e instanceof OverflowException
+              ? ExceptionalHaltReason.TOO_MANY_STACK_ITEMS
+              : ExceptionalHaltReason.INSUFFICIENT_STACK_ITEMS;
+      frame.setExceptionalHaltReason(Optional.of(haltReason));
+      frame.setState(State.EXCEPTIONAL_HALT);
+      return true;
+    }
+    frame.setPC(end);
+    return true;
+  }
+
+  /**
+   * Executes a fused opcode sequence. Stack bounds, gas and jump destinations are checked for the
+   * whole sequence before anything runs; if any check fails nothing is executed and the caller
+   * falls back to the regular loop, which runs the sequence one operation at a time and halts
+   * exactly where it would have halted anyway.
+   *
+   * @return true if the sequence was executed, false if the regular loop must execute it instead
+   */
+  private boolean runSuperinstruction(
+      final MessageFrame frame,
+      final UInt256OperandStack uint256Stack,
+      final byte kind,
+      final byte[] code,
+      final int pc) {
+    final int stackSize = frame.stackSize();
+    if (stackSize >= frame.getMaxStackSize()) {
+      // every sequence pushes an item before consuming it
+      return false;
+    }
+    final long remainingGas = frame.getRemainingGas();
+    switch (kind) {
+      case Superinstructions.PUSH_JUMP -> {
+        final int pushSize = (code[pc] & 0xff) - PUSH_BASE;
+        final int dest = jumpDestination(code, pc + 1, pushSize);
+        if (remainingGas < PUSH_JUMP_GAS || frame.getCode().isJumpDestInvalid(dest)) {
+          return false;
+        }
+        frame.decrementRemainingGas(PUSH_JUMP_GAS);
+        frame.setPC(dest);
+      }
+      case Superinstructions.PUSH_JUMPI -> {
+        if (stackSize < 1 || remainingGas < PUSH_JUMPI_GAS) {
+          return false;
+        }
+        final int pushSize = (code[pc] & 0xff) - PUSH_BASE;
+        final int dest = jumpDestination(code, pc + 1, pushSize);
+        final boolean jump = !isTopZero(frame, uint256Stack);
+        if (jump && frame.getCode().isJumpDestInvalid(dest)) {
+          return false;
+        }
+        popTop(frame, uint256Stack);
+        frame.decrementRemainingGas(PUSH_JUMPI_GAS);
+        frame.setPC(jump ? dest : pc + pushSize + 2);
+      }
+      case Superinstructions.ISZERO_PUSH_JUMPI -> {
+        if (stackSize < 1 || remainingGas < ISZERO_PUSH_JUMPI_GAS) {
+          return false;
+        }
+        final int pushSize = (code[pc + 1] & 0xff) - PUSH_BASE;
+        final int dest = jumpDestination(code, pc + 2, pushSize);
+        final boolean jump = isTopZero(frame, uint256Stack);
+        if (jump && frame.getCode().isJumpDestInvalid(dest)) {
+          return false;
+        }
+        popTop(frame, uint256Stack);
+        frame.decrementRemainingGas(ISZERO_PUSH_JUMPI_GAS);
+        frame.setPC(jump ? dest : pc + pushSize + 3);
+      }
+      case Superinstructions.PUSH4_EQ -> {
+        if (stackSize < 1 || remainingGas < PUSH4_EQ_GAS) {
+          return false;
+        }
+        if (uint256Stack != null) {
+          uint256Stack.pushImmediate(code, pc + 1, 4);
+          uint256Stack.eq();
+        } else {
+          PushOperation.staticOperation(frame, code, pc, 4);
+          EqOperation.staticOperation(frame);
+        }
+        frame.decrementRemainingGas(PUSH4_EQ_GAS);
+        frame.setPC(pc + 6);
+      }
+      case Superinstructions.DUP_MSTORE -> {
+        final int depth = (code[pc] & 0xff) - DupOperation.DUP_BASE;
+        if (!standardMStore || stackSize < depth) {
+          return false;
+        }
+        // the duplicated item is the offset and the item below it the value, so the net effect
+        // is popping the value and storing it at the offset
+        final long location = clampedToLong(frame.getStackItem(depth - 1));
+        final long gasCost =
+            clampedAdd(DUP_GAS, gasCalculator.mStoreOperationGasCost(frame, location));
+        if (remainingGas < gasCost) {
+          return false;
+        }
+        final Bytes value = frame.popStackItem();
+        frame.writeMemoryRightAligned(location, 32, value, true);
+        frame.decrementRemainingGas(gasCost);
+        frame.setPC(pc + 2);
+      }
+      default -> {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static int jumpDestination(final byte[] code, final int start, final int size) {
+    long dest = 0;
+    for (int i = start; i < start + size; i++) {
+      dest = (dest << 8) | (code[i] & 0xff);
+    }
+    return dest > Integer.MAX_VALUE ? -1 : (int) dest;
+  }
+
+  private static boolean isTopZero(
+      final MessageFrame frame, final UInt256OperandStack uint256Stack) {
+    return uint256Stack != null ? uint256Stack.isZeroAt(0) : frame.getStackItem(0).isZero();
+  }
+
+  private static void popTop(final MessageFrame frame, final UInt256OperandStack uint256Stack) {
+    if (uint256Stack != null) {
+      uint256Stack.drop();
+    } else {
+      frame.popStackItem();
+    }
+  }
+
+  /**
+   * Executes one of the operations that can be part of a basic block on the {@code Bytes} stack,
+   * using the same implementations as the regular loop. Gas is accounted for by the block.
+   */
+  private OperationResult basicBlockOperation(
+      final MessageFrame frame, final byte[] code, final int pc, final int opcode) {
+    return switch (opcode) {
+      case 0x01 ->
+          evmConfiguration.enableOptimizedOpcodes()
+              ? AddOperationOptimized.staticOperation(frame)
+              : AddOperation.staticOperation(frame);
+      case 0x02 -> MulOperation.staticOperation(frame);
+      case 0x03 -> SubOperation.staticOperation(frame);
+      case 0x04 -> DivOperation.staticOperation(frame);
+      case 0x05 -> SDivOperation.staticOperation(frame);
+      case 0x06 ->
+          evmConfiguration.enableOptimizedOpcodes()
+              ? ModOperationOptimized.staticOperation(frame)
+              : ModOperation.staticOperation(frame);
+      case 0x07 ->
+          evmConfiguration.enableOptimizedOpcodes()
+              ? SModOperationOptimized.staticOperation(frame)
+              : SModOperation.staticOperation(frame);
+      case 0x08 ->
+          evmConfiguration.enableOptimizedOpcodes()
+              ? AddModOperationOptimized.staticOperation(frame)
+              : AddModOperation.staticOperation(frame);
+      case 0x09 ->
+          evmConfiguration.enableOptimizedOpcodes()
+              ? MulModOperationOptimized.staticOperation(frame)
+              : MulModOperation.staticOperation(frame);
+      case 0x0b -> SignExtendOperation.staticOperation(frame);
+      case 0x10 -> LtOperation.staticOperation(frame);
+      case 0x11 -> GtOperation.staticOperation(frame);
+      case 0x12 -> SLtOperation.staticOperation(frame);
+      case 0x13 -> SGtOperation.staticOperation(frame);
+      case 0x14 -> EqOperation.staticOperation(frame);
+      case 0x15 -> IsZeroOperation.staticOperation(frame);
+      case 0x16 ->
+          evmConfiguration.enableOptimizedOpcodes()
+              ? AndOperationOptimized.staticOperation(frame)
+              : AndOperation.staticOperation(frame);
+      case 0x17 ->
+          evmConfiguration.enableOptimizedOpcodes()
+              ? OrOperationOptimized.staticOperation(frame)
+              : OrOperation.staticOperation(frame);
+      case 0x18 ->
+          evmConfiguration.enableOptimizedOpcodes()
+              ? XorOperationOptimized.staticOperation(frame)
+              : XorOperation.staticOperation(frame);
+      case 0x19 ->
+          evmConfiguration.enableOptimizedOpcodes()
+              ? NotOperationOptimized.staticOperation(frame)
+              : NotOperation.staticOperation(frame);
+      case 0x1a -> ByteOperation.staticOperation(frame);
+      case 0x1b ->
+          shiftOperation(
+              frame, ShlOperation::staticOperation, ShlOperationOptimized::staticOperation);
+      case 0x1c ->
+          shiftOperation(
+              frame, ShrOperation::staticOperation, ShrOperationOptimized::staticOperation);
+      case 0x1d ->
+          shiftOperation(
+              frame, SarOperation::staticOperation, SarOperationOptimized::staticOperation);
+      case 0x50 -> PopOperation.staticOperation(frame);
+      case 0x5b -> JumpDestOperation.JUMPDEST_SUCCESS;
+      case 0x5f -> Push0Operation.staticOperation(frame);
+      default -> {
+        if (opcode < 0x80) { // PUSH1-32
+          yield PushOperation.staticOperation(frame, code, pc, opcode - PUSH_BASE);
+        } else if (opcode < 0x90) { // DUP1-16
+          yield DupOperation.staticOperation(frame, opcode - DupOperation.DUP_BASE);
+        } else { // SWAP1-16
+          yield SwapOperation.staticOperation(frame, opcode - SWAP_BASE);
+        }
+      }
+    };
+  }
+
+  /**
+   * Executes the operations that have an in-place implementation on the limb-backed stack.
+   *
+   * @return the operation result, or null if the opcode must go through the regular dispatch
+   */
+  private OperationResult uint256StackOperation(
+      final MessageFrame frame,
+      final UInt256OperandStack stack,
+      final byte[] code,
+      final int pc,
+      final int opcode) {
+    return switch (opcode) {
+      case 0x01 -> UInt256StackOperations.add(stack);
+      case 0x02 -> UInt256StackOperations.mul(stack);
+      case 0x03 -> UInt256StackOperations.sub(stack);
+      case 0x06 -> UInt256StackOperations.mod(stack);
+      case 0x07 -> UInt256StackOperations.signedMod(stack);
+      case 0x08 -> UInt256StackOperations.addMod(stack);
+      case 0x09 -> UInt256StackOperations.mulMod(stack);
+      case 0x10 -> UInt256StackOperations.lt(stack);
+      case 0x11 -> UInt256StackOperations.gt(stack);
+      case 0x12 -> UInt256StackOperations.slt(stack);
+      case 0x13 -> UInt256StackOperations.sgt(stack);
+      case 0x14 -> UInt256StackOperations.eq(stack);
+      case 0x15 -> UInt256StackOperations.isZero(stack);
+      case 0x16 -> UInt256StackOperations.and(stack);
+      case 0x17 -> UInt256StackOperations.or(stack);
+      case 0x18 -> UInt256StackOperations.xor(stack);
+      case 0x19 -> UInt256StackOperations.not(stack);
+      case 0x1a -> UInt256StackOperations.byteAt(stack);
+      case 0x1b -> enableConstantinople ? UInt256StackOperations.shl(stack) : null;
+      case 0x1c -> enableConstantinople ? UInt256StackOperations.shr(stack) : null;
+      case 0x1d -> enableConstantinople ? UInt256StackOperations.sar(stack) : null;
+      case 0x50 -> UInt256StackOperations.pop(stack);
+      case 0x5f -> enableShanghai ? UInt256StackOperations.push0(stack) : null;
+      case 0x60, // PUSH1-32
+          0x61,
+          0x62,
+          0x63,
+          0x64,
+          0x65,
+          0x66,
+          0x67,
+          0x68,
+          0x69,
+          0x6a,
+          0x6b,
+          0x6c,
+          0x6d,
+          0x6e,
+          0x6f,
+          0x70,
+          0x71,
+          0x72,
+          0x73,
+          0x74,
+          0x75,
+          0x76,
+          0x77,
+          0x78,
+          0x79,
+          0x7a,
+          0x7b,
+          0x7c,
+          0x7d,
+          0x7e,
+          0x7f ->
+          UInt256StackOperations.push(frame, stack, code, pc, opcode - PUSH_BASE);
+      case 0x80, // DUP1-16
+          0x81,
+          0x82,
+          0x83,
+          0x84,
+          0x85,
+          0x86,
+          0x87,
+          0x88,
+          0x89,
+          0x8a,
+          0x8b,
+          0x8c,
+          0x8d,
+          0x8e,
+          0x8f ->
+          UInt256StackOperations.dup(stack, opcode - DupOperation.DUP_BASE);
+      case 0x90, // SWAP1-16
+          0x91,
+          0x92,
+          0x93,
+          0x94,
+          0x95,
+          0x96,
+          0x97,
+          0x98,
+          0x99,
+          0x9a,
+          0x9b,
+          0x9c,
+          0x9d,
+          0x9e,
+          0x9f ->
+          UInt256StackOperations.swap(stack, opcode - SWAP_BASE);
+      default -> null;
+    };
+  }
+
   private OperationResult shiftOperation(
       final MessageFrame frame,
       final Function<MessageFrame, OperationResult> standard,
@@ -462,6 +862,13 @@ public class EVM {
     Code result = jumpDestOnlyCodeCache.getIfPresent(codeHash);
     if (result == null) {
       result = new Code(codeBytes);
+      // analyse before caching so that the results are accounted for in the cache weight
+      if (evmConfiguration.basicBlockExecution()) {
+        result.getBasicBlocks(enableConstantinople, enableShanghai);
+      }
+      if (evmConfiguration.superinstructions()) {
+        result.getSuperinstructions();
+      }
       jumpDestOnlyCodeCache.put(codeHash, result);
     }
 
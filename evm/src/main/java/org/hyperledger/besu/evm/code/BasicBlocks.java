@@ -0,0 +1,248 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.code;
+
+import org.hyperledger.besu.evm.operation.JumpDestOperation;
+
+import java.util.Arrays;
+
+/**
+ * The basic blocks of a piece of legacy EVM code, as used by the block execution mode of the
+ * interpreter.
+ *
+ * <p>A basic block is a run of at least {@link #MIN_BLOCK_OPERATIONS} straight line operations
+ * with a fixed gas cost that only touch the stack: arithmetic, comparison, bitwise, POP, PUSH, DUP,
+ * SWAP and a leading JUMPDEST. Blocks start at offset 0, at every JUMPDEST and after every other
+ * operation, and end right before the next operation that is not in that set. For each block the
+ * total gas cost, the number of stack items it needs on entry and the highest it raises the stack
+ * above the entry height are precomputed, so the interpreter can charge gas and check stack bounds
+ * once for the whole block.
+ *
+ * <p>Blocks are located in constant time through a bit mask of block start offsets, like the jump
+ * destination mask of {@link org.hyperledger.besu.evm.Code}, plus a running count of blocks per 64
+ * byte chunk.
+ */
+public final class BasicBlocks {
+
+  /** Blocks with fewer operations than this are left to the regular interpreter loop. */
+  public static final int MIN_BLOCK_OPERATIONS = 2;
+
+  private static final int STRIDE = 4;
+  private static final int END = 0;
+  private static final int GAS = 1;
+  private static final int REQUIRED_ITEMS = 2;
+  private static final int MAX_GROWTH = 3;
+
+  private final boolean enableConstantinople;
+  private final boolean enableShanghai;
+  private final long[] blockStartBitMask;
+  private final int[] blocksBefore;
+  private final int[] blocks;
+
+  private BasicBlocks(
+      final boolean enableConstantinople,
+      final boolean enableShanghai,
+      final long[] blockStartBitMask,
+      final int[] blocksBefore,
+      final int[] blocks) {
+    this.enableConstantinople = enableConstantinople;
+    this.enableShanghai = enableShanghai;
+    this.blockStartBitMask = blockStartBitMask;
+    this.blocksBefore = blocksBefore;
+    this.blocks = blocks;
+  }
+
+  /**
+   * Splits the code into basic blocks.
+   *
+   * @param code the raw code
+   * @param enableConstantinople whether SHL, SHR and SAR are available
+   * @param enableShanghai whether PUSH0 is available
+   * @return the basic blocks of the code
+   */
+  public static BasicBlocks analyze(
+      final byte[] code, final boolean enableConstantinople, final boolean enableShanghai) {
+    final int length = code.length;
+    final long[] blockStartBitMask = new long[(length >> 6) + 1];
+    int[] blocks = new int[STRIDE * 16];
+    int blockCount = 0;
+
+    int pc = 0;
+    while (pc < length) {
+      final int start = pc;
+      int operations = 0;
+      long gas = 0;
+      int requiredItems = 0;
+      int height = 0;
+      int maxGrowth = 0;
+      while (pc < length) {
+        final int opcode = code[pc] & 0xff;
+        final int cost = staticGasCost(opcode, enableConstantinople, enableShanghai);
+        if (cost < 0 || (opcode == JumpDestOperation.OPCODE && pc != start)) {
+          break;
+        }
+        final OpcodeInfo info = OpcodeInfo.getOpcode(opcode);
+        requiredItems = Math.max(requiredItems, info.inputs() - height);
+        height += info.stackDelta();
+        maxGrowth = Math.max(maxGrowth, height);
+        gas += cost;
+        operations++;
+        pc += info.pcAdvance();
+      }
+
+      if (operations >= MIN_BLOCK_OPERATIONS) {
+        if (blocks.length < (blockCount + 1) * STRIDE) {
+          blocks = Arrays.copyOf(blocks, blocks.length * 2);
+        }
+        final int base = blockCount * STRIDE;
+        blocks[base + END] = pc;
+        blocks[base + GAS] = (int) gas;
+        blocks[base + REQUIRED_ITEMS] = requiredItems;
+        blocks[base + MAX_GROWTH] = maxGrowth;
+        blockStartBitMask[start >>> 6] |= 1L << (start & 0x3F);
+        blockCount++;
+      }
+      if (operations == 0) {
+        // step over the operation that cannot be part of a block, including its immediate data
+        pc += OpcodeInfo.getOpcode(code[pc] & 0xff).pcAdvance();
+      }
+    }
+
+    final int[] blocksBefore = new int[blockStartBitMask.length];
+    for (int i = 1; i < blocksBefore.length; i++) {
+      blocksBefore[i] = blocksBefore[i - 1] + Long.bitCount(blockStartBitMask[i - 1]);
+    }
+    return new BasicBlocks(
+        enableConstantinople,
+        enableShanghai,
+        blockStartBitMask,
+        blocksBefore,
+        Arrays.copyOf(blocks, blockCount * STRIDE));
+  }
+
+  /**
+   * The gas cost of an operation that can be part of a basic block.
+   *
+   * @param opcode the opcode
+   * @param enableConstantinople whether SHL, SHR and SAR are available
+   * @param enableShanghai whether PUSH0 is available
+   * @return the fixed gas cost, or -1 if the operation cannot be part of a basic block
+   */
+  static int staticGasCost(
+      final int opcode, final boolean enableConstantinople, final boolean enableShanghai) {
+    return switch (opcode) {
+      case 0x5b -> 1; // JUMPDEST
+      case 0x50 -> 2; // POP
+      case 0x5f -> enableShanghai ? 2 : -1; // PUSH0
+      case 0x01, 0x03, 0x10, 0x11, 0x12, 0x13, 0x14, 0x15, 0x16, 0x17, 0x18, 0x19, 0x1a ->
+          3; // ADD, SUB, comparisons, bitwise and BYTE
+      case 0x1b, 0x1c, 0x1d -> enableConstantinople ? 3 : -1; // SHL, SHR, SAR
+      case 0x02, 0x04, 0x05, 0x06, 0x07, 0x0b -> 5; // MUL, DIV, SDIV, MOD, SMOD, SIGNEXTEND
+      case 0x08, 0x09 -> 8; // ADDMOD, MULMOD
+      default -> opcode >= 0x60 && opcode <= 0x9f ? 3 : -1; // PUSH1-32, DUP1-16, SWAP1-16
+    };
+  }
+
+  /**
+   * Whether this analysis was made for the given fork rules.
+   *
+   * @param enableConstantinople whether SHL, SHR and SAR are available
+   * @param enableShanghai whether PUSH0 is available
+   * @return true if the blocks can be used under these rules
+   */
+  public boolean isFor(final boolean enableConstantinople, final boolean enableShanghai) {
+    return this.enableConstantinople == enableConstantinople
+        && this.enableShanghai == enableShanghai;
+  }
+
+  /**
+   * Finds the block starting at the given offset.
+   *
+   * @param pc the offset in the code
+   * @return the index of the block, or -1 if no block starts at this offset
+   */
+  public int blockAt(final int pc) {
+    final int entry = pc >>> 6;
+    if (pc < 0 || entry >= blockStartBitMask.length) {
+      return -1;
+    }
+    final long mask = blockStartBitMask[entry];
+    final long bit = 1L << (pc & 0x3F);
+    if ((mask & bit) == 0L) {
+      return -1;
+    }
+    return blocksBefore[entry] + Long.bitCount(mask & (bit - 1));
+  }
+
+  /**
+   * The number of basic blocks.
+   *
+   * @return the number of blocks
+   */
+  public int size() {
+    return blocks.length / STRIDE;
+  }
+
+  /**
+   * The offset right after the last operation of a block, where execution continues.
+   *
+   * @param block the block index
+   * @return the end offset, which may be past the end of the code for a truncated PUSH
+   */
+  public int end(final int block) {
+    return blocks[block * STRIDE + END];
+  }
+
+  /**
+   * The total gas cost of all the operations of a block.
+   *
+   * @param block the block index
+   * @return the gas cost
+   */
+  public long gasCost(final int block) {
+    return blocks[block * STRIDE + GAS];
+  }
+
+  /**
+   * The number of stack items a block needs on entry.
+   *
+   * @param block the block index
+   * @return the number of required items
+   */
+  public int requiredItems(final int block) {
+    return blocks[block * STRIDE + REQUIRED_ITEMS];
+  }
+
+  /**
+   * The highest number of items a block raises the stack above the entry height.
+   *
+   * @param block the block index
+   * @return the maximum stack growth
+   */
+  public int maxGrowth(final int block) {
+    return blocks[block * STRIDE + MAX_GROWTH];
+  }
+
+  /**
+   * An estimate of the heap used by this analysis, for cache weighing.
+   *
+   * @return the estimated size in bytes
+   */
+  public int estimatedSize() {
+    return blockStartBitMask.length * Long.BYTES
+        + blocksBefore.length * Integer.BYTES
+        + blocks.length * Integer.BYTES;
+  }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.code;
+
+import static org.hyperledger.besu.evm.operation.PushOperation.PUSH_BASE;
+
+/**
+ * The superinstructions of a piece of legacy EVM code: short, frequent opcode sequences that the
+ * interpreter can execute as a single fused operation.
+ *
+ * <p>The recognized sequences are
+ *
+ * <ul>
+ *   <li>{@link #PUSH_JUMP}: PUSH1-4 followed by JUMP, a static jump
+ *   <li>{@link #PUSH_JUMPI}: PUSH1-4 followed by JUMPI, a static conditional jump
+ *   <li>{@link #DUP_MSTORE}: DUP1-16 followed by MSTORE
+ *   <li>{@link #PUSH4_EQ}: PUSH4 followed by EQ, the function selector comparison
+ *   <li>{@link #ISZERO_PUSH_JUMPI}: ISZERO, PUSH1-4 and JUMPI, a negated static conditional jump
+ * </ul>
+ *
+ * <p>Sequences are keyed by the offset of their first operation. Only that offset is fused, so
+ * reaching one of the later operations of a sequence simply executes it on its own.
+ */
+public final class Superinstructions {
+
+  /** No sequence starts at this offset. */
+  public static final byte NONE = 0;
+
+  /** PUSH1-4 followed by JUMP. */
+  public static final byte PUSH_JUMP = 1;
+
+  /** PUSH1-4 followed by JUMPI. */
+  public static final byte PUSH_JUMPI = 2;
+
+  /** DUP1-16 followed by MSTORE. */
+  public static final byte DUP_MSTORE = 3;
+
+  /** PUSH4 followed by EQ. */
+  public static final byte PUSH4_EQ = 4;
+
+  /** ISZERO, PUSH1-4 and JUMPI. */
+  public static final byte ISZERO_PUSH_JUMPI = 5;
+
+  /** Jump destinations are only fused when they are pushed with at most this many bytes. */
+  public static final int MAX_JUMP_PUSH_SIZE = 4;
+
+  private static final int ISZERO = 0x15;
+  private static final int EQ = 0x14;
+  private static final int MSTORE = 0x52;
+  private static final int JUMP = 0x56;
+  private static final int JUMPI = 0x57;
+  private static final int PUSH4 = 0x63;
+  private static final int DUP1 = 0x80;
+  private static final int DUP16 = 0x8f;
+
+  private final byte[] kinds;
+  private final int count;
+
+  private Superinstructions(final byte[] kinds, final int count) {
+    this.kinds = kinds;
+    this.count = count;
+  }
+
+  /**
+   * Finds the superinstructions of the code.
+   *
+   * @param code the raw code
+   * @return the superinstructions of the code
+   */
+  public static Superinstructions analyze(final byte[] code) {
+    final byte[] kinds = new byte[code.length];
+    int count = 0;
+    int pc = 0;
+    while (pc < code.length) {
+      final byte kind = match(code, pc);
+      if (kind != NONE) {
+        kinds[pc] = kind;
+        count++;
+      }
+      pc += pcAdvance(code[pc] & 0xff);
+    }
+    return new Superinstructions(count == 0 ? new byte[0] : kinds, count);
+  }
+
+  private static byte match(final byte[] code, final int pc) {
+    final int opcode = code[pc] & 0xff;
+    if (opcode == ISZERO) {
+      final int pushSize = jumpPushSize(code, pc + 1);
+      return pushSize > 0 && opcodeAt(code, pc + pushSize + 2) == JUMPI
+          ? ISZERO_PUSH_JUMPI
+          : NONE;
+    }
+    if (opcode >= DUP1 && opcode <= DUP16) {
+      return opcodeAt(code, pc + 1) == MSTORE ? DUP_MSTORE : NONE;
+    }
+    if (jumpPushSize(code, pc) > 0) {
+      final int next = opcodeAt(code, pc + pcAdvance(opcode));
+      if (next == JUMP) {
+        return PUSH_JUMP;
+      } else if (next == JUMPI) {
+        return PUSH_JUMPI;
+      } else if (next == EQ && opcode == PUSH4) {
+        return PUSH4_EQ;
+      }
+    }
+    return NONE;
+  }
+
+  private static int jumpPushSize(final byte[] code, final int pc) {
+    final int pushSize = opcodeAt(code, pc) - PUSH_BASE;
+    return pushSize >= 1 && pushSize <= MAX_JUMP_PUSH_SIZE ? pushSize : 0;
+  }
+
+  private static int opcodeAt(final byte[] code, final int pc) {
+    return pc < code.length ? code[pc] & 0xff : -1;
+  }
+
+  private static int pcAdvance(final int opcode) {
+    // only PUSH carries immediate data in legacy code, as in the jump destination analysis
+    return opcode > PUSH_BASE && opcode <= PUSH_BASE + 32 ? opcode - PUSH_BASE + 1 : 1;
+  }
+
+  /**
+   * The sequence starting at the given offset.
+   *
+   * @param pc the offset in the code
+   * @return one of the sequence constants, or {@link #NONE}
+   */
+  public byte kindAt(final int pc) {
+    return pc >= 0 && pc < kinds.length ? kinds[pc] : NONE;
+  }
+
+  /**
+   * The number of sequences found in the code.
+   *
+   * @return the number of sequences
+   */
+  public int size() {
+    return count;
+  }
+
+  /**
+   * An estimate of the heap used by this analysis, for cache weighing.
+   *
+   * @return the estimated size in bytes
+   */
+  public int estimatedSize() {
+    return kinds.length;
+  }
+}
@@ -140,6 +140,7 @@ public class EVMExecutor {
     final ContractCreationProcessor ccp = thisContractCreationProcessor();
     final MessageFrame initialMessageFrame =
         MessageFrame.builder()
+            .operandStackMode(evmSpec.getEvm().getEvmConfiguration().operandStackMode())
             .type(messageFrameType)
             .worldUpdater(worldUpdater.updater())
             .initialGas(gas)
@@ -44,6 +44,9 @@ public class Memory {
 
   private int activeWords;
 
+  // whether the backing array is taken from and returned to the MemoryArena of the thread
+  private boolean pooled;
+
   /** Instantiates a new Memory. */
   public Memory() {
     memBytes = new byte[0];
@@ -135,13 +138,37 @@ public class Memory {
     int neededSize = newActiveWords * Bytes32.SIZE;
     if (neededSize > memBytes.length) {
       int newSize = Math.max(neededSize, memBytes.length * 2);
-      byte[] newMem = new byte[newSize];
-      System.arraycopy(memBytes, 0, newMem, 0, memBytes.length);
+      byte[] newMem = pooled ? MemoryArena.acquire(newSize) : new byte[newSize];
+      System.arraycopy(memBytes, 0, newMem, 0, getActiveBytes());
       memBytes = newMem;
     }
     activeWords = newActiveWords;
   }
 
+  /**
+   * Takes the backing arrays of this memory from the {@link MemoryArena} of the current thread.
+   * Must be called before the memory is first expanded.
+   */
+  void enablePooling() {
+    pooled = true;
+  }
+
+  /**
+   * Returns the backing array to the {@link MemoryArena} of the current thread and resets this
+   * memory to empty. Must only be called once nothing can read the memory of the frame anymore.
+   * Does nothing unless pooling is enabled.
+   */
+  void release() {
+    if (!pooled) {
+      return;
+    }
+    final byte[] released = memBytes;
+    final int dirtyBytes = getActiveBytes();
+    memBytes = new byte[0];
+    activeWords = 0;
+    MemoryArena.release(released, dirtyBytes);
+  }
+
   /**
    * Returns true if the object is equal to this memory instance; otherwise false.
    *
@@ -154,12 +181,14 @@ public class Memory {
     if (other == this) return true;
     if (!(other instanceof Memory)) return false;
 
-    return Arrays.equals(memBytes, ((Memory) other).memBytes);
+    // pooled buffers may be larger than needed, so only the active bytes are compared
+    final Memory that = (Memory) other;
+    return Arrays.equals(memBytes, 0, getActiveBytes(), that.memBytes, 0, that.getActiveBytes());
   }
 
   @Override
   public int hashCode() {
-    return Arrays.hashCode(memBytes);
+    return Bytes.wrap(memBytes, 0, getActiveBytes()).hashCode();
   }
 
   /**
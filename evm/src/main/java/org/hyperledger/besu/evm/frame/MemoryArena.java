@@ -0,0 +1,137 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.frame;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A per-thread pool of {@link Memory} backing arrays.
+ *
+ * <p>Buffers are returned by {@link Memory#release()} once a frame has completed and handed out
+ * again when another frame on the same thread expands its memory. Only the bytes that were active
+ * in the releasing frame can have been written, so those are zeroed on release and a buffer taken
+ * from the arena is indistinguishable from a freshly allocated array.
+ */
+public final class MemoryArena {
+
+  /** The maximum number of buffers retained per thread. */
+  static final int MAX_POOLED_BUFFERS = 32;
+
+  /** Buffers larger than this are left to the garbage collector instead of being retained. */
+  static final int MAX_POOLED_BUFFER_SIZE = 1024 * 1024;
+
+  private static final ThreadLocal<MemoryArena> ARENA = ThreadLocal.withInitial(MemoryArena::new);
+
+  private static final LongAdder HITS = new LongAdder();
+  private static final LongAdder MISSES = new LongAdder();
+  private static final LongAdder BYTES_REUSED = new LongAdder();
+
+  private final byte[][] buffers = new byte[MAX_POOLED_BUFFERS][];
+  private int count;
+
+  private MemoryArena() {}
+
+  /**
+   * Returns a zeroed buffer of at least the requested size, reusing a pooled one when possible.
+   *
+   * @param minSize the minimum size of the buffer
+   * @return a zeroed buffer
+   */
+  static byte[] acquire(final int minSize) {
+    return ARENA.get().take(minSize);
+  }
+
+  /**
+   * Returns a buffer to the arena of the current thread.
+   *
+   * @param buffer the buffer to return, it must not be used by the caller afterward
+   * @param dirtyBytes the number of leading bytes that may have been written to
+   */
+  static void release(final byte[] buffer, final int dirtyBytes) {
+    if (buffer.length == 0 || buffer.length > MAX_POOLED_BUFFER_SIZE) {
+      return;
+    }
+    ARENA.get().put(buffer, dirtyBytes);
+  }
+
+  private byte[] take(final int minSize) {
+    // prefer the smallest buffer that fits so that large buffers stay available for large frames
+    int best = -1;
+    for (int i = 0; i < count; i++) {
+      final int length = buffers[i].length;
+      if (length >= minSize && (best < 0 || length < buffers[best].length)) {
+        best = i;
+      }
+    }
+    if (best < 0) {
+      MISSES.increment();
+      return new byte[minSize];
+    }
+    final byte[] buffer = buffers[best];
+    buffers[best] = buffers[--count];
+    buffers[count] = null;
+    HITS.increment();
+    BYTES_REUSED.add(buffer.length);
+    return buffer;
+  }
+
+  private void put(final byte[] buffer, final int dirtyBytes) {
+    int slot = count;
+    if (count == MAX_POOLED_BUFFERS) {
+      // replace the smallest pooled buffer, if it is smaller than the returned one
+      slot = 0;
+      for (int i = 1; i < count; i++) {
+        if (buffers[i].length < buffers[slot].length) {
+          slot = i;
+        }
+      }
+      if (buffers[slot].length >= buffer.length) {
+        return;
+      }
+    } else {
+      count++;
+    }
+    Arrays.fill(buffer, 0, Math.min(dirtyBytes, buffer.length), (byte) 0);
+    buffers[slot] = buffer;
+  }
+
+  /**
+   * Returns the number of memory expansions served from a pooled buffer, across all threads.
+   *
+   * @return the number of arena hits
+   */
+  public static long hitCount() {
+    return HITS.sum();
+  }
+
+  /**
+   * Returns the number of memory expansions that had to allocate a new buffer, across all threads.
+   *
+   * @return the number of arena misses
+   */
+  public static long missCount() {
+    return MISSES.sum();
+  }
+
+  /**
+   * Returns the total size of the pooled buffers handed out again, across all threads.
+   *
+   * @return the number of bytes reused
+   */
+  public static long bytesReused() {
+    return BYTES_REUSED.sum();
+  }
+}
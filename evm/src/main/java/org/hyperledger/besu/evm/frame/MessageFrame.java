@@ -26,9 +26,11 @@ import org.hyperledger.besu.datatypes.VersionedHash;
 import org.hyperledger.besu.datatypes.Wei;
 import org.hyperledger.besu.evm.Code;
 import org.hyperledger.besu.evm.blockhash.BlockHashLookup;
+import org.hyperledger.besu.evm.internal.EvmConfiguration.OperandStackMode;
 import org.hyperledger.besu.evm.internal.MemoryEntry;
 import org.hyperledger.besu.evm.internal.OperandStack;
 import org.hyperledger.besu.evm.internal.StorageEntry;
+import org.hyperledger.besu.evm.internal.UInt256OperandStack;
 import org.hyperledger.besu.evm.internal.UnderflowException;
 import org.hyperledger.besu.evm.operation.Operation;
 import org.hyperledger.besu.evm.worldstate.WorldUpdater;
@@ -274,7 +276,10 @@ public class MessageFrame {
     this.type = type;
     this.worldUpdater = worldUpdater;
     this.gasRemaining = initialGas;
-    this.stack = new OperandStack(txValues.maxStackSize());
+    this.stack =
+        txValues.operandStackMode() == OperandStackMode.UINT256
+            ? new UInt256OperandStack(txValues.maxStackSize())
+            : new OperandStack(txValues.maxStackSize());
     this.pc = 0;
     this.recipient = recipient;
     this.contract = contract;
@@ -466,6 +471,16 @@ public class MessageFrame {
     stack.set(offset, value);
   }
 
+  /**
+   * Returns the limb-backed operand stack when this frame was built in {@link
+   * OperandStackMode#UINT256} mode.
+   *
+   * @return the limb-backed operand stack, or null if items are stored as {@code Bytes}
+   */
+  public UInt256OperandStack getUInt256Stack() {
+    return stack instanceof UInt256OperandStack uint256Stack ? uint256Stack : null;
+  }
+
   /**
    * Return the current stack size.
    *
@@ -505,6 +520,25 @@ public class MessageFrame {
     memory.ensureCapacityForBytes(offset, length);
   }
 
+  /**
+   * Takes the memory buffers of this frame from the per-thread {@link MemoryArena}, so that they
+   * are returned to it by {@link #releaseMemory()}. Only to be called before the frame starts.
+   */
+  public void enablePooledMemory() {
+    memory.enablePooling();
+  }
+
+  /**
+   * Returns the memory buffer of this frame to the per-thread {@link MemoryArena} so that later
+   * frames can reuse it. The memory of this frame is empty afterward. Does nothing unless {@link
+   * #enablePooledMemory()} was called.
+   *
+   * <p>Only to be called once the frame has completed and its completer has run.
+   */
+  public void releaseMemory() {
+    memory.release();
+  }
+
   /**
    * Returns the number of bytes in memory.
    *
@@ -1291,6 +1325,7 @@ public class MessageFrame {
     private Code code;
     private BlockValues blockValues;
     private int maxStackSize = DEFAULT_MAX_STACK_SIZE;
+    private OperandStackMode operandStackMode = OperandStackMode.BYTES;
     private boolean isStatic = false;
     private Consumer<MessageFrame> completer;
     private Address miningBeneficiary;
@@ -1496,6 +1531,17 @@ public class MessageFrame {
       return this;
     }
 
+    /**
+     * Sets the operand stack representation. Child frames inherit the mode of their parent.
+     *
+     * @param operandStackMode the operand stack mode
+     * @return the builder
+     */
+    public Builder operandStackMode(final OperandStackMode operandStackMode) {
+      this.operandStackMode = operandStackMode;
+      return this;
+    }
+
     /**
      * Sets Completer.
      *
@@ -1637,6 +1683,7 @@ public class MessageFrame {
             new TxValues(
                 blockHashLookup,
                 maxStackSize,
+                operandStackMode,
                 UndoSet.of(warmedUpAddresses),
                 UndoTable.of(HashBasedTable.create()),
                 originator,
@@ -21,6 +21,7 @@ import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.VersionedHash;
 import org.hyperledger.besu.datatypes.Wei;
 import org.hyperledger.besu.evm.blockhash.BlockHashLookup;
+import org.hyperledger.besu.evm.internal.EvmConfiguration.OperandStackMode;
 
 import java.util.Deque;
 import java.util.List;
@@ -35,6 +36,7 @@ import org.apache.tuweni.bytes.Bytes32;
  *
  * @param blockHashLookup The block hash lookup function
  * @param maxStackSize The maximum stack size
+ * @param operandStackMode The representation used for operand stack items
  * @param warmedUpAddresses The warmed-up addresses
  * @param warmedUpStorage The warmed-up storage
  * @param originator The originator address
@@ -52,6 +54,7 @@ import org.apache.tuweni.bytes.Bytes32;
 public record TxValues(
     BlockHashLookup blockHashLookup,
     int maxStackSize,
+    OperandStackMode operandStackMode,
     UndoSet<Address> warmedUpAddresses,
     UndoTable<Address, Bytes32, Boolean> warmedUpStorage,
     Address originator,
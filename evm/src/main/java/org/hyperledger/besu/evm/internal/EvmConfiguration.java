@@ -29,6 +29,10 @@ import java.util.OptionalInt;
  * @param maxCodeSizeOverride An optional override of the maximum code size set by the EVM fork
  * @param maxInitcodeSizeOverride An optional override of the maximum initcode size set by the EVM
  *     fork
+ * @param operandStackMode the representation used for operand stack items
+ * @param pooledFrameMemory return the memory of completed frames to a per-thread arena for reuse
+ * @param basicBlockExecution charge gas and check stack bounds once per basic block
+ * @param superinstructions execute frequent opcode sequences as single fused operations
  */
 public record EvmConfiguration(
     long jumpDestCacheWeightKB,
@@ -36,7 +40,11 @@ public record EvmConfiguration(
     boolean enableOptimizedOpcodes,
     Integer evmStackSize,
     Optional<Integer> maxCodeSizeOverride,
-    Optional<Integer> maxInitcodeSizeOverride) {
+    Optional<Integer> maxInitcodeSizeOverride,
+    OperandStackMode operandStackMode,
+    boolean pooledFrameMemory,
+    boolean basicBlockExecution,
+    boolean superinstructions) {
 
   /** How should the world state update be handled within transactions? */
   public enum WorldUpdaterMode {
@@ -48,6 +56,17 @@ public record EvmConfiguration(
     JOURNALED
   }
 
+  /** How should operand stack items be represented while executing EVM code? */
+  public enum OperandStackMode {
+    /** Each stack item is an immutable {@code Bytes} value. */
+    BYTES,
+    /**
+     * Stack items are stored as four 64-bit limbs in a flat {@code long[]}, and the hot arithmetic,
+     * comparison, bitwise and stack opcodes operate on the limbs in place.
+     */
+    UINT256
+  }
+
   /** The constant DEFAULT. */
   public static final EvmConfiguration DEFAULT =
       new EvmConfiguration(32_000L, WorldUpdaterMode.STACKED, true);
@@ -63,13 +82,46 @@ public record EvmConfiguration(
       final Long jumpDestCacheWeightKilobytes,
       final WorldUpdaterMode worldstateUpdateMode,
       final boolean enableOptimizedOpcodes) {
+    this(
+        jumpDestCacheWeightKilobytes,
+        worldstateUpdateMode,
+        enableOptimizedOpcodes,
+        OperandStackMode.BYTES,
+        false,
+        false,
+        false);
+  }
+
+  /**
+   * Create an EVM Configuration without any overrides
+   *
+   * @param jumpDestCacheWeightKilobytes the jump dest cache weight (in kibibytes)
+   * @param worldstateUpdateMode the world update mode
+   * @param enableOptimizedOpcodes enabled opcode optimizations
+   * @param operandStackMode the operand stack representation
+   * @param pooledFrameMemory reuse the memory of completed frames
+   * @param basicBlockExecution execute straight line code one basic block at a time
+   * @param superinstructions execute frequent opcode sequences as single fused operations
+   */
+  public EvmConfiguration(
+      final Long jumpDestCacheWeightKilobytes,
+      final WorldUpdaterMode worldstateUpdateMode,
+      final boolean enableOptimizedOpcodes,
+      final OperandStackMode operandStackMode,
+      final boolean pooledFrameMemory,
+      final boolean basicBlockExecution,
+      final boolean superinstructions) {
     this(
         jumpDestCacheWeightKilobytes,
         worldstateUpdateMode,
         enableOptimizedOpcodes,
         MessageFrame.DEFAULT_MAX_STACK_SIZE,
         Optional.empty(),
-        Optional.empty());
+        Optional.empty(),
+        operandStackMode,
+        pooledFrameMemory,
+        basicBlockExecution,
+        superinstructions);
   }
 
   /**
@@ -102,6 +154,10 @@ public record EvmConfiguration(
         newMaxCodeSize.isPresent() ? Optional.of(newMaxCodeSize.getAsInt()) : Optional.empty(),
         newMaxInitcodeSize.isPresent()
             ? Optional.of(newMaxInitcodeSize.getAsInt())
-            : Optional.empty());
+            : Optional.empty(),
+        operandStackMode,
+        pooledFrameMemory,
+        basicBlockExecution,
+        superinstructions);
   }
 }
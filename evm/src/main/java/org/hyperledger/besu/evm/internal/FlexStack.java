@@ -38,7 +38,7 @@ public class FlexStack<T> {
    * growth rate of 50%. Currently, for mainnet y=1024 and, if considering n=6 in the worst case,
    * the start size is 91 which is reasonable for mainnet.
    */
-  private static final int INITIAL_SIZE =
+  static final int INITIAL_SIZE =
       (int) Math.round(MessageFrame.DEFAULT_MAX_STACK_SIZE / Math.pow(1.5D, 6D)) + 1;
 
   /**
@@ -50,7 +50,7 @@ public class FlexStack<T> {
    * <p>Therefore the maxSize of any stack is capped to this value. This max value is not arbitrary
    * and was taken from OpenJDK.
    */
-  private static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+  static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
 
   private T[] entries;
 
@@ -65,12 +65,24 @@ public class FlexStack<T> {
    * @param maxSize the max size
    * @param klass the klass
    */
-  @SuppressWarnings("unchecked")
   public FlexStack(final int maxSize, final Class<T> klass) {
+    this(maxSize, klass, INITIAL_SIZE);
+  }
+
+  /**
+   * Instantiates a new Flex stack with a given initial capacity.
+   *
+   * @param maxSize the max size
+   * @param klass the klass
+   * @param initialCapacity the number of entries to allocate up front
+   */
+  @SuppressWarnings("unchecked")
+  protected FlexStack(final int maxSize, final Class<T> klass, final int initialCapacity) {
     checkArgument(maxSize > 0, "max size must be positive");
     checkArgument(maxSize <= MAX_ARRAY_LENGTH, "max size is too large");
+    checkArgument(initialCapacity >= 0, "initial capacity must not be negative");
 
-    this.currentCapacity = Math.min(INITIAL_SIZE, maxSize);
+    this.currentCapacity = Math.min(initialCapacity, maxSize);
     this.entries = (T[]) Array.newInstance(klass, currentCapacity);
     this.maxSize = maxSize;
     this.top = -1;
@@ -16,6 +16,8 @@ package org.hyperledger.besu.evm.internal;
 
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.evm.Code;
+import org.hyperledger.besu.evm.code.BasicBlocks;
+import org.hyperledger.besu.evm.code.Superinstructions;
 
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
@@ -32,7 +34,12 @@ public class JumpDestOnlyCodeCache {
   static class CodeScale implements Weigher<Hash, Code> {
     @Override
     public int weigh(final Hash key, final Code code) {
-      return ((code.getSize() * 9 + 7) / 8) + key.getBytes().size();
+      final BasicBlocks basicBlocks = code.getBasicBlocksIfPresent();
+      final Superinstructions superinstructions = code.getSuperinstructionsIfPresent();
+      return ((code.getSize() * 9 + 7) / 8)
+          + key.getBytes().size()
+          + (basicBlocks == null ? 0 : basicBlocks.estimatedSize())
+          + (superinstructions == null ? 0 : superinstructions.estimatedSize());
     }
   }
 
@@ -27,4 +27,15 @@ public class OperandStack extends FlexStack<Bytes> {
   public OperandStack(final int maxSize) {
     super(maxSize, Bytes.class);
   }
+
+  /**
+   * Instantiates a new Operand stack with a given initial capacity, for subclasses that keep their
+   * items in a different backing store.
+   *
+   * @param maxSize the max size
+   * @param initialCapacity the number of entries to allocate up front
+   */
+  protected OperandStack(final int maxSize, final int initialCapacity) {
+    super(maxSize, Bytes.class, initialCapacity);
+  }
 }
@@ -0,0 +1,721 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.internal;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import org.hyperledger.besu.evm.UInt256;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+
+/**
+ * An operand stack that stores every item as four 64-bit limbs in a single flat {@code long[]}.
+ *
+ * <p>Slot {@code i} occupies {@code limbs[4 * i .. 4 * i + 3]}, most significant limb first, which
+ * matches the field order of {@link UInt256}. The {@link OperandStack} API is still honoured, with
+ * items converted to and from {@link Bytes} at the boundary, so operations that have not been
+ * ported keep working. The hot operations use the in-place methods instead and do not allocate.
+ *
+ * <p>Like {@link FlexStack}, the backing array grows by 50% at a time up to maxSize slots.
+ */
+public class UInt256OperandStack extends OperandStack {
+
+  private static final int LIMBS = 4;
+
+  private static final VarHandle LONG_BE =
+      MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+  private long[] limbs;
+
+  private final int maxSize;
+  private int currentCapacity;
+
+  private int top;
+
+  /**
+   * Instantiates a new UInt256 operand stack.
+   *
+   * @param maxSize the max size
+   */
+  public UInt256OperandStack(final int maxSize) {
+    super(maxSize, 0);
+    this.currentCapacity = Math.min(INITIAL_SIZE, maxSize);
+    this.limbs = new long[currentCapacity * LIMBS];
+    this.maxSize = maxSize;
+    this.top = -1;
+  }
+
+  // region OperandStack API
+  // --------------------------------------------------------------------------
+
+  @Override
+  public Bytes get(final int offset) {
+    if (offset < 0 || offset >= size()) {
+      throw new UnderflowException();
+    }
+    return toBytes((top - offset) * LIMBS);
+  }
+
+  @Override
+  public Bytes pop() {
+    if (top < 0) {
+      throw new UnderflowException();
+    }
+    return toBytes(top-- * LIMBS);
+  }
+
+  @Override
+  public Bytes peek() {
+    if (top < 0) {
+      return null;
+    } else {
+      return toBytes(top * LIMBS);
+    }
+  }
+
+  @Override
+  public void bulkPop(final int items) {
+    checkArgument(items > 0, "number of items to pop must be greater than 0");
+    if (items > size()) {
+      throw new UnderflowException();
+    }
+    top -= items;
+  }
+
+  @Override
+  public void preserveTop(final int cutPoint, final int itemsToKeep) {
+    checkArgument(cutPoint >= 0, "cutPoint must be positive");
+    checkArgument(itemsToKeep >= 0, "itemsToKeep must be positive");
+    if (itemsToKeep == 0) {
+      if (cutPoint < size()) {
+        bulkPop(top - cutPoint);
+      }
+    } else {
+      int targetSize = cutPoint + itemsToKeep;
+      int currentSize = size();
+      if (targetSize > currentSize) {
+        throw new UnderflowException();
+      } else if (targetSize < currentSize) {
+        System.arraycopy(
+            limbs,
+            (currentSize - itemsToKeep) * LIMBS,
+            limbs,
+            cutPoint * LIMBS,
+            itemsToKeep * LIMBS);
+        top = targetSize - 1;
+      }
+    }
+  }
+
+  @Override
+  public void push(final Bytes operand) {
+    fromBytes(operand, nextSlot());
+  }
+
+  @Override
+  public void set(final int offset, final Bytes operand) {
+    if (offset < 0) {
+      throw new UnderflowException();
+    } else if (offset > top) {
+      throw new OverflowException();
+    }
+    fromBytes(operand, (top - offset) * LIMBS);
+  }
+
+  @Override
+  public int size() {
+    return top + 1;
+  }
+
+  @Override
+  public boolean isFull() {
+    return top + 1 >= maxSize;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return top < 0;
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < top; ++i) {
+      builder.append(String.format("%n0x%04X ", i)).append(toBytes(i * LIMBS));
+    }
+    return builder.toString();
+  }
+
+  @Override
+  public int hashCode() {
+    int result = 1;
+    for (int i = 0; i < size() * LIMBS; i++) {
+      result = 31 * result + Long.hashCode(limbs[i]);
+    }
+    return result;
+  }
+
+  @Override
+  public boolean equals(final Object other) {
+    if (!(other instanceof UInt256OperandStack that)) {
+      return false;
+    }
+    return this.top == that.top
+        && Arrays.equals(this.limbs, 0, size() * LIMBS, that.limbs, 0, size() * LIMBS);
+  }
+
+  // --------------------------------------------------------------------------
+  // endregion
+
+  // region UInt256 API
+  // --------------------------------------------------------------------------
+
+  /**
+   * Get operand as a UInt256.
+   *
+   * @param offset the offset from the top of the stack
+   * @return the operand
+   */
+  public UInt256 getUInt256(final int offset) {
+    if (offset < 0 || offset >= size()) {
+      throw new UnderflowException();
+    }
+    final int i = (top - offset) * LIMBS;
+    return new UInt256(limbs[i], limbs[i + 1], limbs[i + 2], limbs[i + 3]);
+  }
+
+  /**
+   * Pop operand as a UInt256.
+   *
+   * @return the operand
+   */
+  public UInt256 popUInt256() {
+    if (top < 0) {
+      throw new UnderflowException();
+    }
+    final int i = top-- * LIMBS;
+    return new UInt256(limbs[i], limbs[i + 1], limbs[i + 2], limbs[i + 3]);
+  }
+
+  /**
+   * Push a UInt256 operand.
+   *
+   * @param operand the operand
+   */
+  public void pushUInt256(final UInt256 operand) {
+    final int i = nextSlot();
+    limbs[i] = operand.u3();
+    limbs[i + 1] = operand.u2();
+    limbs[i + 2] = operand.u1();
+    limbs[i + 3] = operand.u0();
+  }
+
+  /**
+   * Push a value that fits in a single limb.
+   *
+   * @param value the value, interpreted as unsigned
+   */
+  public void pushLong(final long value) {
+    final int i = nextSlot();
+    limbs[i] = 0L;
+    limbs[i + 1] = 0L;
+    limbs[i + 2] = 0L;
+    limbs[i + 3] = value;
+  }
+
+  /**
+   * Push the big-endian immediate of a PUSH opcode. Bytes past the end of the code are read as
+   * zero, so a truncated immediate is right padded to pushSize bytes.
+   *
+   * @param code the code
+   * @param start the index of the first immediate byte
+   * @param pushSize the number of immediate bytes
+   */
+  public void pushImmediate(final byte[] code, final int start, final int pushSize) {
+    final int end = Math.min(code.length, start + pushSize);
+    long l3 = 0L;
+    long l2 = 0L;
+    long l1 = 0L;
+    long l0 = 0L;
+    for (int j = start; j < start + pushSize; j++) {
+      final long b = j < end ? code[j] & 0xFFL : 0L;
+      l3 = (l3 << 8) | (l2 >>> 56);
+      l2 = (l2 << 8) | (l1 >>> 56);
+      l1 = (l1 << 8) | (l0 >>> 56);
+      l0 = (l0 << 8) | b;
+    }
+    final int i = nextSlot();
+    limbs[i] = l3;
+    limbs[i + 1] = l2;
+    limbs[i + 2] = l1;
+    limbs[i + 3] = l0;
+  }
+
+  /**
+   * Remove the top item without materializing it.
+   *
+   * @throws UnderflowException if the stack is empty
+   */
+  public void drop() {
+    if (top < 0) {
+      throw new UnderflowException();
+    }
+    top--;
+  }
+
+  /**
+   * Duplicate the item at the given depth onto the top of the stack.
+   *
+   * @param depth 1 for DUP1 (the top item), up to the stack size
+   */
+  public void dup(final int depth) {
+    if (depth > size()) {
+      throw new UnderflowException();
+    }
+    final int src = (top - depth + 1) * LIMBS;
+    final int dst = nextSlot();
+    limbs[dst] = limbs[src];
+    limbs[dst + 1] = limbs[src + 1];
+    limbs[dst + 2] = limbs[src + 2];
+    limbs[dst + 3] = limbs[src + 3];
+  }
+
+  /**
+   * Exchange the top item with the item at the given depth below it.
+   *
+   * @param depth 1 for SWAP1 (the item just below the top)
+   */
+  public void swap(final int depth) {
+    if (depth >= size()) {
+      throw new UnderflowException();
+    }
+    final long[] s = limbs;
+    final int a = top * LIMBS;
+    final int b = (top - depth) * LIMBS;
+    for (int k = 0; k < LIMBS; k++) {
+      final long tmp = s[a + k];
+      s[a + k] = s[b + k];
+      s[b + k] = tmp;
+    }
+  }
+
+  /** Replace the top two items a, b (a on top) with a + b. */
+  public void add() {
+    final int a = binaryOperands();
+    final int b = a - LIMBS;
+    final long[] s = limbs;
+    long x = s[a + 3];
+    long y = s[b + 3];
+    long z = x + y;
+    long carry = ((x & y) | ((x | y) & ~z)) >>> 63;
+    s[b + 3] = z;
+    x = s[a + 2];
+    y = s[b + 2];
+    z = x + y + carry;
+    carry = ((x & y) | ((x | y) & ~z)) >>> 63;
+    s[b + 2] = z;
+    x = s[a + 1];
+    y = s[b + 1];
+    z = x + y + carry;
+    carry = ((x & y) | ((x | y) & ~z)) >>> 63;
+    s[b + 1] = z;
+    s[b] = s[a] + s[b] + carry;
+    top--;
+  }
+
+  /** Replace the top two items a, b (a on top) with a - b. */
+  public void sub() {
+    final int a = binaryOperands();
+    final int b = a - LIMBS;
+    final long[] s = limbs;
+    long x = s[a + 3];
+    long y = s[b + 3];
+    long z = x - y;
+    long borrow = ((~x & y) | ((~x | y) & z)) >>> 63;
+    s[b + 3] = z;
+    x = s[a + 2];
+    y = s[b + 2];
+    z = x - y - borrow;
+    borrow = ((~x & y) | ((~x | y) & z)) >>> 63;
+    s[b + 2] = z;
+    x = s[a + 1];
+    y = s[b + 1];
+    z = x - y - borrow;
+    borrow = ((~x & y) | ((~x | y) & z)) >>> 63;
+    s[b + 1] = z;
+    s[b] = s[a] - s[b] - borrow;
+    top--;
+  }
+
+  /** Replace the top two items a, b (a on top) with a * b. */
+  public void mul() {
+    binaryOperands();
+    final UInt256 a = popUInt256();
+    setTop(a.mul(topUInt256()));
+  }
+
+  /** Replace the top two items a, b (a on top) with a mod b, or 0 if b is 0. */
+  public void mod() {
+    binaryOperands();
+    final UInt256 a = popUInt256();
+    setTop(a.mod(topUInt256()));
+  }
+
+  /** Replace the top two items a, b (a on top) with the signed a mod b, or 0 if b is 0. */
+  public void signedMod() {
+    binaryOperands();
+    final UInt256 a = popUInt256();
+    setTop(a.signedMod(topUInt256()));
+  }
+
+  /** Replace the top three items a, b, n (a on top) with (a + b) mod n, or 0 if n is 0. */
+  public void addMod() {
+    ternaryOperands();
+    final UInt256 a = popUInt256();
+    final UInt256 b = popUInt256();
+    setTop(a.addMod(b, topUInt256()));
+  }
+
+  /** Replace the top three items a, b, n (a on top) with (a * b) mod n, or 0 if n is 0. */
+  public void mulMod() {
+    ternaryOperands();
+    final UInt256 a = popUInt256();
+    final UInt256 b = popUInt256();
+    setTop(a.mulMod(b, topUInt256()));
+  }
+
+  /** Replace the top two items a, b (a on top) with 1 if a &lt; b, 0 otherwise. */
+  public void lt() {
+    final int a = binaryOperands();
+    setBooleanResult(compareUnsigned(a, a - LIMBS) < 0);
+  }
+
+  /** Replace the top two items a, b (a on top) with 1 if a &gt; b, 0 otherwise. */
+  public void gt() {
+    final int a = binaryOperands();
+    setBooleanResult(compareUnsigned(a, a - LIMBS) > 0);
+  }
+
+  /** Replace the top two items a, b (a on top) with 1 if signed a &lt; b, 0 otherwise. */
+  public void slt() {
+    final int a = binaryOperands();
+    setBooleanResult(compareSigned(a, a - LIMBS) < 0);
+  }
+
+  /** Replace the top two items a, b (a on top) with 1 if signed a &gt; b, 0 otherwise. */
+  public void sgt() {
+    final int a = binaryOperands();
+    setBooleanResult(compareSigned(a, a - LIMBS) > 0);
+  }
+
+  /** Replace the top two items a, b with 1 if a == b, 0 otherwise. */
+  public void eq() {
+    final int a = binaryOperands();
+    final int b = a - LIMBS;
+    final long[] s = limbs;
+    setBooleanResult(
+        ((s[a] ^ s[b]) | (s[a + 1] ^ s[b + 1]) | (s[a + 2] ^ s[b + 2]) | (s[a + 3] ^ s[b + 3]))
+            == 0);
+  }
+
+  /** Replace the top item with 1 if it is zero, 0 otherwise. */
+  public void isZero() {
+    if (top < 0) {
+      throw new UnderflowException();
+    }
+    final int a = top * LIMBS;
+    final long[] s = limbs;
+    final boolean zero = (s[a] | s[a + 1] | s[a + 2] | s[a + 3]) == 0;
+    s[a] = 0L;
+    s[a + 1] = 0L;
+    s[a + 2] = 0L;
+    s[a + 3] = zero ? 1L : 0L;
+  }
+
+  /**
+   * Whether the item at the given offset from the top is zero, without materializing it.
+   *
+   * @param offset 0 for the top item
+   * @return true if the item is zero
+   */
+  public boolean isZeroAt(final int offset) {
+    if (offset < 0 || offset > top) {
+      throw new UnderflowException();
+    }
+    final int a = (top - offset) * LIMBS;
+    final long[] s = limbs;
+    return (s[a] | s[a + 1] | s[a + 2] | s[a + 3]) == 0;
+  }
+
+  /** Replace the top two items with their bitwise AND. */
+  public void and() {
+    final int a = binaryOperands();
+    final int b = a - LIMBS;
+    final long[] s = limbs;
+    s[b] &= s[a];
+    s[b + 1] &= s[a + 1];
+    s[b + 2] &= s[a + 2];
+    s[b + 3] &= s[a + 3];
+    top--;
+  }
+
+  /** Replace the top two items with their bitwise OR. */
+  public void or() {
+    final int a = binaryOperands();
+    final int b = a - LIMBS;
+    final long[] s = limbs;
+    s[b] |= s[a];
+    s[b + 1] |= s[a + 1];
+    s[b + 2] |= s[a + 2];
+    s[b + 3] |= s[a + 3];
+    top--;
+  }
+
+  /** Replace the top two items with their bitwise XOR. */
+  public void xor() {
+    final int a = binaryOperands();
+    final int b = a - LIMBS;
+    final long[] s = limbs;
+    s[b] ^= s[a];
+    s[b + 1] ^= s[a + 1];
+    s[b + 2] ^= s[a + 2];
+    s[b + 3] ^= s[a + 3];
+    top--;
+  }
+
+  /** Replace the top item with its bitwise NOT. */
+  public void not() {
+    if (top < 0) {
+      throw new UnderflowException();
+    }
+    final int a = top * LIMBS;
+    final long[] s = limbs;
+    s[a] = ~s[a];
+    s[a + 1] = ~s[a + 1];
+    s[a + 2] = ~s[a + 2];
+    s[a + 3] = ~s[a + 3];
+  }
+
+  /** Replace the top two items i, x (i on top) with the i-th most significant byte of x. */
+  public void byteAt() {
+    final int a = binaryOperands();
+    final int b = a - LIMBS;
+    final long[] s = limbs;
+    final long result;
+    if ((s[a] | s[a + 1] | s[a + 2]) != 0 || Long.compareUnsigned(s[a + 3], 32) >= 0) {
+      result = 0L;
+    } else {
+      final int index = (int) s[a + 3];
+      result = (s[b + (index >>> 3)] >>> (56 - ((index & 7) << 3))) & 0xFFL;
+    }
+    s[b] = 0L;
+    s[b + 1] = 0L;
+    s[b + 2] = 0L;
+    s[b + 3] = result;
+    top--;
+  }
+
+  /** Replace the top two items shift, x (shift on top) with x &lt;&lt; shift. */
+  public void shl() {
+    final int a = binaryOperands();
+    final int b = a - LIMBS;
+    final long[] s = limbs;
+    final int shift = shiftAmount(a);
+    final int limbShift = shift >>> 6;
+    final int bitShift = shift & 63;
+    final long v0 = s[b];
+    final long v1 = s[b + 1];
+    final long v2 = s[b + 2];
+    final long v3 = s[b + 3];
+    for (int i = 0; i < LIMBS; i++) {
+      final int src = i + limbShift;
+      long z = limbAt(v0, v1, v2, v3, src, 0L) << bitShift;
+      if (bitShift != 0) {
+        z |= limbAt(v0, v1, v2, v3, src + 1, 0L) >>> (64 - bitShift);
+      }
+      s[b + i] = z;
+    }
+    top--;
+  }
+
+  /** Replace the top two items shift, x (shift on top) with x &gt;&gt;&gt; shift. */
+  public void shr() {
+    final int a = binaryOperands();
+    shiftRight(a, shiftAmount(a), 0L);
+  }
+
+  /** Replace the top two items shift, x (shift on top) with the arithmetic x &gt;&gt; shift. */
+  public void sar() {
+    final int a = binaryOperands();
+    shiftRight(a, shiftAmount(a), limbs[a - LIMBS] < 0 ? -1L : 0L);
+  }
+
+  // --------------------------------------------------------------------------
+  // endregion
+
+  private void shiftRight(final int a, final int shift, final long fill) {
+    final int b = a - LIMBS;
+    final long[] s = limbs;
+    final int limbShift = shift >>> 6;
+    final int bitShift = shift & 63;
+    final long v0 = s[b];
+    final long v1 = s[b + 1];
+    final long v2 = s[b + 2];
+    final long v3 = s[b + 3];
+    for (int i = 0; i < LIMBS; i++) {
+      final int src = i - limbShift;
+      long z = limbAt(v0, v1, v2, v3, src, fill) >>> bitShift;
+      if (bitShift != 0) {
+        z |= limbAt(v0, v1, v2, v3, src - 1, fill) << (64 - bitShift);
+      }
+      s[b + i] = z;
+    }
+    top--;
+  }
+
+  /** Limb i of v0..v3, most significant first, or fill when i is outside the item. */
+  private static long limbAt(
+      final long v0, final long v1, final long v2, final long v3, final int i, final long fill) {
+    return switch (i) {
+      case 0 -> v0;
+      case 1 -> v1;
+      case 2 -> v2;
+      case 3 -> v3;
+      default -> fill;
+    };
+  }
+
+  /** Shift amount of the item at index a, saturated to 256 for anything larger than 255. */
+  private int shiftAmount(final int a) {
+    final long[] s = limbs;
+    if ((s[a] | s[a + 1] | s[a + 2]) != 0 || Long.compareUnsigned(s[a + 3], 256) >= 0) {
+      return 256;
+    }
+    return (int) s[a + 3];
+  }
+
+  private int compareUnsigned(final int a, final int b) {
+    final long[] s = limbs;
+    for (int k = 0; k < LIMBS; k++) {
+      if (s[a + k] != s[b + k]) {
+        return Long.compareUnsigned(s[a + k], s[b + k]);
+      }
+    }
+    return 0;
+  }
+
+  private int compareSigned(final int a, final int b) {
+    final long[] s = limbs;
+    if (s[a] != s[b]) {
+      return Long.compare(s[a], s[b]);
+    }
+    return compareUnsigned(a, b);
+  }
+
+  /** Store a boolean into the second item and drop the top one. */
+  private void setBooleanResult(final boolean result) {
+    top--;
+    final int b = top * LIMBS;
+    limbs[b] = 0L;
+    limbs[b + 1] = 0L;
+    limbs[b + 2] = 0L;
+    limbs[b + 3] = result ? 1L : 0L;
+  }
+
+  private UInt256 topUInt256() {
+    final int i = top * LIMBS;
+    return new UInt256(limbs[i], limbs[i + 1], limbs[i + 2], limbs[i + 3]);
+  }
+
+  private void setTop(final UInt256 value) {
+    final int i = top * LIMBS;
+    limbs[i] = value.u3();
+    limbs[i + 1] = value.u2();
+    limbs[i + 2] = value.u1();
+    limbs[i + 3] = value.u0();
+  }
+
+  /** Checks that two operands are present and returns the limb index of the top one. */
+  private int binaryOperands() {
+    if (top < 1) {
+      throw new UnderflowException();
+    }
+    return top * LIMBS;
+  }
+
+  private void ternaryOperands() {
+    if (top < 2) {
+      throw new UnderflowException();
+    }
+  }
+
+  /** Reserves the next slot, growing the backing array if needed, and returns its limb index. */
+  private int nextSlot() {
+    final int nextTop = top + 1;
+    if (nextTop >= maxSize) {
+      throw new OverflowException();
+    }
+    if (nextTop >= currentCapacity) {
+      final int growth = Math.max(1, currentCapacity >> 1);
+      currentCapacity =
+          MAX_ARRAY_LENGTH / LIMBS - growth < currentCapacity
+              ? maxSize
+              : Math.min(currentCapacity + growth, maxSize);
+      limbs = Arrays.copyOf(limbs, currentCapacity * LIMBS);
+    }
+    top = nextTop;
+    return nextTop * LIMBS;
+  }
+
+  private Bytes toBytes(final int i) {
+    final byte[] result = new byte[Bytes32.SIZE];
+    LONG_BE.set(result, 0, limbs[i]);
+    LONG_BE.set(result, 8, limbs[i + 1]);
+    LONG_BE.set(result, 16, limbs[i + 2]);
+    LONG_BE.set(result, 24, limbs[i + 3]);
+    return Bytes32.wrap(result);
+  }
+
+  private void fromBytes(final Bytes value, final int i) {
+    final byte[] bytes = value.toArrayUnsafe();
+    if (bytes.length == Bytes32.SIZE) {
+      limbs[i] = (long) LONG_BE.get(bytes, 0);
+      limbs[i + 1] = (long) LONG_BE.get(bytes, 8);
+      limbs[i + 2] = (long) LONG_BE.get(bytes, 16);
+      limbs[i + 3] = (long) LONG_BE.get(bytes, 24);
+    } else {
+      long l3 = 0L;
+      long l2 = 0L;
+      long l1 = 0L;
+      long l0 = 0L;
+      for (final byte b : bytes) {
+        l3 = (l3 << 8) | (l2 >>> 56);
+        l2 = (l2 << 8) | (l1 >>> 56);
+        l1 = (l1 << 8) | (l0 >>> 56);
+        l0 = (l0 << 8) | (b & 0xFFL);
+      }
+      limbs[i] = l3;
+      limbs[i + 1] = l2;
+      limbs[i + 2] = l1;
+      limbs[i + 3] = l0;
+    }
+  }
+}
@@ -261,7 +261,11 @@ public abstract class AbstractCallOperation extends AbstractOperation {
       return new OperationResult(cost, 1, softFailureReason, gasAvailableForChildCall);
     }
 
-    final Bytes inputData = frame.readMutableMemory(inputDataOffset(frame), inputDataLength(frame));
+    // pooled frame memory is recycled once this frame completes, so the child gets its own copy
+    final Bytes inputData =
+        evm.getEvmConfiguration().pooledFrameMemory()
+            ? frame.readMemory(inputDataOffset(frame), inputDataLength(frame))
+            : frame.readMutableMemory(inputDataOffset(frame), inputDataLength(frame));
 
     final Code code = getCode(evm, frame, contract);
 
@@ -0,0 +1,341 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.operation;
+
+import org.hyperledger.besu.evm.frame.MessageFrame;
+import org.hyperledger.besu.evm.internal.UInt256OperandStack;
+
+/**
+ * Static implementations of the fixed cost stack, arithmetic, comparison, bitwise and shift
+ * operations that work directly on the limbs of a {@link UInt256OperandStack}.
+ *
+ * <p>Gas costs and stack effects are identical to the {@code Bytes} based operations. Stack
+ * underflow and overflow are reported by the stack through the usual exceptions.
+ */
+public final class UInt256StackOperations {
+
+  /** Success result for base tier operations. */
+  static final Operation.OperationResult BASE_SUCCESS = new Operation.OperationResult(2, null);
+
+  /** Success result for very low tier operations. */
+  static final Operation.OperationResult VERY_LOW_SUCCESS = new Operation.OperationResult(3, null);
+
+  /** Success result for low tier operations. */
+  static final Operation.OperationResult LOW_SUCCESS = new Operation.OperationResult(5, null);
+
+  /** Success result for mid tier operations. */
+  static final Operation.OperationResult MID_SUCCESS = new Operation.OperationResult(8, null);
+
+  private UInt256StackOperations() {}
+
+  /**
+   * ADD.
+   *
+   * @param stack the stack
+   * @return the operation result
+   */
+  public static Operation.OperationResult add(final UInt256OperandStack stack) {
+    stack.add();
+    return VERY_LOW_SUCCESS;
+  }
+
+  /**
+   * MUL.
+   *
+   * @param stack the stack
+   * @return the operation result
+   */
+  public static Operation.OperationResult mul(final UInt256OperandStack stack) {
+    stack.mul();
+    return LOW_SUCCESS;
+  }
+
+  /**
+   * SUB.
+   *
+   * @param stack the stack
+   * @return the operation result
+   */
+  public static Operation.OperationResult sub(final UInt256OperandStack stack) {
+    stack.sub();
+    return VERY_LOW_SUCCESS;
+  }
+
+  /**
+   * MOD.
+   *
+   * @param stack the stack
+   * @return the operation result
+   */
+  public static Operation.OperationResult mod(final UInt256OperandStack stack) {
+    stack.mod();
+    return LOW_SUCCESS;
+  }
+
+  /**
+   * SMOD.
+   *
+   * @param stack the stack
+   * @return the operation result
+   */
+  public static Operation.OperationResult signedMod(final UInt256OperandStack stack) {
+    stack.signedMod();
+    return LOW_SUCCESS;
+  }
+
+  /**
+   * ADDMOD.
+   *
+   * @param stack the stack
+   * @return the operation result
+   */
+  public static Operation.OperationResult addMod(final UInt256OperandStack stack) {
+    stack.addMod();
+    return MID_SUCCESS;
+  }
+
+  /**
+   * MULMOD.
+   *
+   * @param stack the stack
+   * @return the operation result
+   */
+  public static Operation.OperationResult mulMod(final UInt256OperandStack stack) {
+    stack.mulMod();
+    return MID_SUCCESS;
+  }
+
+  /**
+   * LT.
+   *
+   * @param stack the stack
+   * @return the operation result
+   */
+  public static Operation.OperationResult lt(final UInt256OperandStack stack) {
+    stack.lt();
+    return VERY_LOW_SUCCESS;
+  }
+
+  /**
+   * GT.
+   *
+   * @param stack the stack
+   * @return the operation result
+   */
+  public static Operation.OperationResult gt(final UInt256OperandStack stack) {
+    stack.gt();
+    return VERY_LOW_SUCCESS;
+  }
+
+  /**
+   * SLT.
+   *
+   * @param stack the stack
+   * @return the operation result
+   */
+  public static Operation.OperationResult slt(final UInt256OperandStack stack) {
+    stack.slt();
+    return VERY_LOW_SUCCESS;
+  }
+
+  /**
+   * SGT.
+   *
+   * @param stack the stack
+   * @return the operation result
+   */
+  public static Operation.OperationResult sgt(final UInt256OperandStack stack) {
+    stack.sgt();
+    return VERY_LOW_SUCCESS;
+  }
+
+  /**
+   * EQ.
+   *
+   * @param stack the stack
+   * @return the operation result
+   */
+  public static Operation.OperationResult eq(final UInt256OperandStack stack) {
+    stack.eq();
+    return VERY_LOW_SUCCESS;
+  }
+
+  /**
+   * ISZERO.
+   *
+   * @param stack the stack
+   * @return the operation result
+   */
+  public static Operation.OperationResult isZero(final UInt256OperandStack stack) {
+    stack.isZero();
+    return VERY_LOW_SUCCESS;
+  }
+
+  /**
+   * AND.
+   *
+   * @param stack the stack
+   * @return the operation result
+   */
+  public static Operation.OperationResult and(final UInt256OperandStack stack) {
+    stack.and();
+    return VERY_LOW_SUCCESS;
+  }
+
+  /**
+   * OR.
+   *
+   * @param stack the stack
+   * @return the operation result
+   */
+  public static Operation.OperationResult or(final UInt256OperandStack stack) {
+    stack.or();
+    return VERY_LOW_SUCCESS;
+  }
+
+  /**
+   * XOR.
+   *
+   * @param stack the stack
+   * @return the operation result
+   */
+  public static Operation.OperationResult xor(final UInt256OperandStack stack) {
+    stack.xor();
+    return VERY_LOW_SUCCESS;
+  }
+
+  /**
+   * NOT.
+   *
+   * @param stack the stack
+   * @return the operation result
+   */
+  public static Operation.OperationResult not(final UInt256OperandStack stack) {
+    stack.not();
+    return VERY_LOW_SUCCESS;
+  }
+
+  /**
+   * BYTE.
+   *
+   * @param stack the stack
+   * @return the operation result
+   */
+  public static Operation.OperationResult byteAt(final UInt256OperandStack stack) {
+    stack.byteAt();
+    return VERY_LOW_SUCCESS;
+  }
+
+  /**
+   * SHL.
+   *
+   * @param stack the stack
+   * @return the operation result
+   */
+  public static Operation.OperationResult shl(final UInt256OperandStack stack) {
+    stack.shl();
+    return VERY_LOW_SUCCESS;
+  }
+
+  /**
+   * SHR.
+   *
+   * @param stack the stack
+   * @return the operation result
+   */
+  public static Operation.OperationResult shr(final UInt256OperandStack stack) {
+    stack.shr();
+    return VERY_LOW_SUCCESS;
+  }
+
+  /**
+   * SAR.
+   *
+   * @param stack the stack
+   * @return the operation result
+   */
+  public static Operation.OperationResult sar(final UInt256OperandStack stack) {
+    stack.sar();
+    return VERY_LOW_SUCCESS;
+  }
+
+  /**
+   * POP.
+   *
+   * @param stack the stack
+   * @return the operation result
+   */
+  public static Operation.OperationResult pop(final UInt256OperandStack stack) {
+    stack.drop();
+    return BASE_SUCCESS;
+  }
+
+  /**
+   * PUSH0.
+   *
+   * @param stack the stack
+   * @return the operation result
+   */
+  public static Operation.OperationResult push0(final UInt256OperandStack stack) {
+    stack.pushLong(0L);
+    return BASE_SUCCESS;
+  }
+
+  /**
+   * PUSH1 to PUSH32. Advances the program counter past the immediate, like {@link
+   * PushOperation#staticOperation}.
+   *
+   * @param frame the frame
+   * @param stack the stack
+   * @param code the code
+   * @param pc the pc
+   * @param pushSize the push size
+   * @return the operation result
+   */
+  public static Operation.OperationResult push(
+      final MessageFrame frame,
+      final UInt256OperandStack stack,
+      final byte[] code,
+      final int pc,
+      final int pushSize) {
+    stack.pushImmediate(code, pc + 1, pushSize);
+    frame.setPC(pc + pushSize);
+    return VERY_LOW_SUCCESS;
+  }
+
+  /**
+   * DUP1 to DUP16.
+   *
+   * @param stack the stack
+   * @param index the index
+   * @return the operation result
+   */
+  public static Operation.OperationResult dup(final UInt256OperandStack stack, final int index) {
+    stack.dup(index);
+    return VERY_LOW_SUCCESS;
+  }
+
+  /**
+   * SWAP1 to SWAP16.
+   *
+   * @param stack the stack
+   * @param index the index
+   * @return the operation result
+   */
+  public static Operation.OperationResult swap(final UInt256OperandStack stack, final int index) {
+    stack.swap(index);
+    return VERY_LOW_SUCCESS;
+  }
+}
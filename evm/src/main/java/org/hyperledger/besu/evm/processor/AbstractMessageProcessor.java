@@ -21,6 +21,7 @@ import org.hyperledger.besu.evm.EVM;
 import org.hyperledger.besu.evm.ModificationNotAllowedException;
 import org.hyperledger.besu.evm.account.Account;
 import org.hyperledger.besu.evm.frame.MessageFrame;
+import org.hyperledger.besu.evm.internal.EvmConfiguration;
 import org.hyperledger.besu.evm.tracing.OperationTracer;
 
 import java.util.ArrayList;
@@ -68,6 +69,7 @@ public abstract class AbstractMessageProcessor {
   // List of addresses to force delete when they are touched but empty
   // when the state changes in the message are were not meant to be committed.
   private final Set<? super Address> forceDeleteAccountsWhenEmpty;
+  private final boolean pooledFrameMemory;
   final EVM evm;
 
   /**
@@ -79,6 +81,8 @@ public abstract class AbstractMessageProcessor {
   AbstractMessageProcessor(final EVM evm, final Set<Address> forceDeleteAccountsWhenEmpty) {
     this.evm = evm;
     this.forceDeleteAccountsWhenEmpty = forceDeleteAccountsWhenEmpty;
+    final EvmConfiguration evmConfiguration = evm == null ? null : evm.getEvmConfiguration();
+    this.pooledFrameMemory = evmConfiguration != null && evmConfiguration.pooledFrameMemory();
   }
 
   /**
@@ -165,6 +169,7 @@ public abstract class AbstractMessageProcessor {
     frame.getWorldUpdater().commit();
     frame.getMessageFrameStack().removeFirst();
     frame.notifyCompletion();
+    maybeReleaseMemory(frame);
   }
 
   /**
@@ -175,6 +180,19 @@ public abstract class AbstractMessageProcessor {
   private void completedFailed(final MessageFrame frame) {
     frame.getMessageFrameStack().removeFirst();
     frame.notifyCompletion();
+    maybeReleaseMemory(frame);
+  }
+
+  /**
+   * Returns the memory of a completed frame to the per-thread arena when frame memory pooling is
+   * enabled. The completer has already consumed the output, which is always a copy of memory.
+   *
+   * @param frame The completed message frame
+   */
+  private void maybeReleaseMemory(final MessageFrame frame) {
+    if (pooledFrameMemory) {
+      frame.releaseMemory();
+    }
   }
 
   /**
@@ -198,6 +216,9 @@ public abstract class AbstractMessageProcessor {
    * @param operationTracer the operation tracer
    */
   public void process(final MessageFrame frame, final OperationTracer operationTracer) {
+    if (pooledFrameMemory && frame.getState() == MessageFrame.State.NOT_STARTED) {
+      frame.enablePooledMemory();
+    }
     if (operationTracer != null) {
       if (frame.getState() == MessageFrame.State.NOT_STARTED) {
         operationTracer.traceContextEnter(frame);
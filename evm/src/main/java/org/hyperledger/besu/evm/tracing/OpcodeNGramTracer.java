@@ -0,0 +1,136 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.tracing;
+
+import org.hyperledger.besu.evm.code.OpcodeInfo;
+import org.hyperledger.besu.evm.frame.MessageFrame;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Tracer that counts the sequences of consecutively executed opcodes, from pairs up to a
+ * configurable length, to find the sequences worth fusing into superinstructions.
+ *
+ * <p>Sequences follow the control flow of each call frame, so a sequence may span a jump but never
+ * spans a call into or a return from another frame. The tracer is not thread safe.
+ */
+public class OpcodeNGramTracer implements OperationTracer {
+
+  /** The longest sequence that can be counted. */
+  public static final int MAX_LENGTH = 7;
+
+  private final int maxLength;
+  private final Map<Long, Long> counts = new HashMap<>();
+  private final Deque<long[]> frameHistories = new ArrayDeque<>();
+  private long operations;
+
+  /**
+   * A counted sequence of opcodes.
+   *
+   * @param opcodes the opcode names, in execution order
+   * @param count the number of times the sequence was executed
+   */
+  public record NGram(List<String> opcodes, long count) {
+
+    @Override
+    public String toString() {
+      return String.join(" ", opcodes) + " " + count;
+    }
+  }
+
+  /**
+   * Instantiates a new opcode n-gram tracer.
+   *
+   * @param maxLength the longest sequence to count, between 2 and {@link #MAX_LENGTH}
+   */
+  public OpcodeNGramTracer(final int maxLength) {
+    Preconditions.checkArgument(
+        maxLength >= 2 && maxLength <= MAX_LENGTH,
+        "sequence length must be between 2 and %s",
+        MAX_LENGTH);
+    this.maxLength = maxLength;
+  }
+
+  @Override
+  public void traceContextEnter(final MessageFrame frame) {
+    frameHistories.push(new long[2]);
+  }
+
+  @Override
+  public void traceContextExit(final MessageFrame frame) {
+    frameHistories.poll();
+  }
+
+  @Override
+  public void tracePreExecution(final MessageFrame frame) {
+    long[] history = frameHistories.peek();
+    if (history == null) {
+      history = new long[2];
+      frameHistories.push(history);
+    }
+    // history[0] holds the latest opcodes one per byte, history[1] how many of them are valid
+    final long window = (history[0] << 8) | (frame.getCurrentOperation().getOpcode() & 0xff);
+    final int length = (int) Math.min(history[1] + 1, maxLength);
+    history[0] = window;
+    history[1] = length;
+    operations++;
+    for (int n = 2; n <= length; n++) {
+      final long key = ((long) n << 56) | (window & ((1L << (8 * n)) - 1));
+      counts.merge(key, 1L, Long::sum);
+    }
+  }
+
+  /**
+   * The number of operations observed.
+   *
+   * @return the number of operations
+   */
+  public long getOperationCount() {
+    return operations;
+  }
+
+  /**
+   * The most frequently executed sequences, across all lengths.
+   *
+   * @param limit the maximum number of sequences to return
+   * @return the sequences, most frequent first
+   */
+  public List<NGram> mostFrequent(final int limit) {
+    return counts.entrySet().stream()
+        .sorted(
+            Map.Entry.<Long, Long>comparingByValue(Comparator.reverseOrder())
+                .thenComparing(Map.Entry.comparingByKey()))
+        .limit(limit)
+        .map(e -> new NGram(decode(e.getKey()), e.getValue()))
+        .toList();
+  }
+
+  private static List<String> decode(final long key) {
+    final int n = (int) (key >>> 56);
+    final List<String> opcodes = new ArrayList<>(n);
+    for (int i = n - 1; i >= 0; i--) {
+      opcodes.add(OpcodeInfo.getOpcode((int) (key >>> (8 * i)) & 0xff).name());
+    }
+    return opcodes;
+  }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hyperledger.besu.evm.frame.MessageFrame.Type.MESSAGE_CALL;
+import static org.mockito.Mockito.mock;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.evm.frame.BlockValues;
+import org.hyperledger.besu.evm.frame.ExceptionalHaltReason;
+import org.hyperledger.besu.evm.frame.MessageFrame;
+import org.hyperledger.besu.evm.internal.EvmConfiguration;
+import org.hyperledger.besu.evm.internal.EvmConfiguration.OperandStackMode;
+import org.hyperledger.besu.evm.internal.EvmConfiguration.WorldUpdaterMode;
+import org.hyperledger.besu.evm.tracing.OperationTracer;
+import org.hyperledger.besu.evm.worldstate.WorldUpdater;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+class BasicBlockExecutionTest {
+
+  // sum = 0; for (i = 10; i != 0; i--) sum += i;
+  private static final String SUM_LOOP = "0x6000600a5b801560155780910190600190036004565b00";
+
+  private record Outcome(
+      MessageFrame.State state,
+      Optional<ExceptionalHaltReason> haltReason,
+      long remainingGas,
+      int pc,
+      List<Bytes> stack) {}
+
+  private static Outcome run(
+      final String code,
+      final boolean basicBlockExecution,
+      final OperandStackMode operandStackMode,
+      final long gas,
+      final int maxStackSize) {
+    final EVM evm =
+        MainnetEVMs.futureEips(
+            new EvmConfiguration(
+                32_000L,
+                WorldUpdaterMode.STACKED,
+                true,
+                operandStackMode,
+                false,
+                basicBlockExecution,
+                false));
+    final MessageFrame frame =
+        MessageFrame.builder()
+            .type(MESSAGE_CALL)
+            .worldUpdater(mock(WorldUpdater.class))
+            .initialGas(gas)
+            .address(Address.ZERO)
+            .originator(Address.ZERO)
+            .contract(Address.ZERO)
+            .gasPrice(Wei.ZERO)
+            .inputData(Bytes.EMPTY)
+            .sender(Address.ZERO)
+            .value(Wei.ZERO)
+            .apparentValue(Wei.ZERO)
+            .code(new Code(Bytes.fromHexString(code)))
+            .blockValues(mock(BlockValues.class))
+            .completer(f -> {})
+            .miningBeneficiary(Address.ZERO)
+            .blockHashLookup((__, ___) -> Hash.EMPTY)
+            .maxStackSize(maxStackSize)
+            .operandStackMode(operandStackMode)
+            .build();
+    frame.setState(MessageFrame.State.CODE_EXECUTING);
+
+    evm.runToHalt(frame, OperationTracer.NO_TRACING);
+
+    final List<Bytes> stack = new ArrayList<>();
+    for (int i = 0; i < frame.stackSize(); i++) {
+      stack.add(frame.getStackItem(i).trimLeadingZeros());
+    }
+    return new Outcome(
+        frame.getState(),
+        frame.getExceptionalHaltReason(),
+        frame.getRemainingGas(),
+        frame.getPC(),
+        stack);
+  }
+
+  private static void assertSameOutcome(
+      final String code,
+      final OperandStackMode operandStackMode,
+      final long gas,
+      final int maxStackSize) {
+    final Outcome expected = run(code, false, operandStackMode, gas, maxStackSize);
+    final Outcome actual = run(code, true, operandStackMode, gas, maxStackSize);
+    assertThat(actual).isEqualTo(expected);
+  }
+
+  @ParameterizedTest
+  @EnumSource(OperandStackMode.class)
+  void loopMatchesRegularExecution(final OperandStackMode operandStackMode) {
+    final Outcome outcome = run(SUM_LOOP, true, operandStackMode, 100_000L, 1024);
+    assertThat(outcome.state()).isEqualTo(MessageFrame.State.CODE_SUCCESS);
+    assertThat(outcome.stack()).containsExactly(Bytes.EMPTY, Bytes.of(55));
+    assertSameOutcome(SUM_LOOP, operandStackMode, 100_000L, 1024);
+  }
+
+  @ParameterizedTest
+  @EnumSource(OperandStackMode.class)
+  void outOfGasInsideABlockHaltsOnTheSameOperation(final OperandStackMode operandStackMode) {
+    for (long gas = 0; gas < 60; gas++) {
+      assertSameOutcome(SUM_LOOP, operandStackMode, gas, 1024);
+    }
+  }
+
+  @ParameterizedTest
+  @EnumSource(OperandStackMode.class)
+  void stackUnderflowInsideABlock(final OperandStackMode operandStackMode) {
+    // PUSH1 1, ADD, ADD
+    assertSameOutcome("0x60010101", operandStackMode, 100L, 1024);
+    assertThat(run("0x60010101", true, operandStackMode, 100L, 1024).haltReason())
+        .contains(ExceptionalHaltReason.INSUFFICIENT_STACK_ITEMS);
+  }
+
+  @ParameterizedTest
+  @EnumSource(OperandStackMode.class)
+  void stackOverflowInsideABlock(final OperandStackMode operandStackMode) {
+    // PUSH1 1, DUP1, DUP1, DUP1
+    assertSameOutcome("0x6001808080", operandStackMode, 100L, 3);
+    assertThat(run("0x6001808080", true, operandStackMode, 100L, 3).haltReason())
+        .contains(ExceptionalHaltReason.TOO_MANY_STACK_ITEMS);
+  }
+
+  @ParameterizedTest
+  @EnumSource(OperandStackMode.class)
+  void arithmeticBlockMatchesRegularExecution(final OperandStackMode operandStackMode) {
+    // a mix of every operation that can be part of a block, ending in a truncated PUSH
+    final String code =
+        "0x5b7fffffffffffffffffffffffffffffffffffffffffffffffffffffffffffffffff6003"
+            + "8101810281038104810581068107810b81108111811281138114811681178118811a"
+            + "811b811c811d8181088181091519905f50"
+            + "6aff";
+    assertSameOutcome(code, operandStackMode, 100_000L, 1024);
+  }
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hyperledger.besu.evm.frame.MessageFrame.Type.MESSAGE_CALL;
+import static org.mockito.Mockito.mock;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.evm.frame.BlockValues;
+import org.hyperledger.besu.evm.frame.ExceptionalHaltReason;
+import org.hyperledger.besu.evm.frame.MessageFrame;
+import org.hyperledger.besu.evm.internal.EvmConfiguration;
+import org.hyperledger.besu.evm.internal.EvmConfiguration.OperandStackMode;
+import org.hyperledger.besu.evm.internal.EvmConfiguration.WorldUpdaterMode;
+import org.hyperledger.besu.evm.tracing.OperationTracer;
+import org.hyperledger.besu.evm.worldstate.WorldUpdater;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+class SuperinstructionExecutionTest {
+
+  // sum = 0; for (i = 10; i != 0; i--) sum += i;
+  private static final String SUM_LOOP = "0x6000600a5b801560155780910190600190036004565b00";
+
+  // selector from calldata, compared against two PUSH4 constants, jumping to a DUP MSTORE tail
+  private static final String DISPATCHER =
+      "0x60003560e01c"
+          + "8063deadbeef14601e57"
+          + "8063a9059cbb14601e57"
+          + "600080fd"
+          + "5b600160205260409081525000";
+
+  private record Outcome(
+      MessageFrame.State state,
+      Optional<ExceptionalHaltReason> haltReason,
+      long remainingGas,
+      int pc,
+      List<Bytes> stack,
+      Bytes memory) {}
+
+  private static Outcome run(
+      final String code,
+      final Bytes inputData,
+      final boolean superinstructions,
+      final OperandStackMode operandStackMode,
+      final long gas,
+      final int maxStackSize) {
+    final EVM evm =
+        MainnetEVMs.futureEips(
+            new EvmConfiguration(
+                32_000L,
+                WorldUpdaterMode.STACKED,
+                true,
+                operandStackMode,
+                false,
+                false,
+                superinstructions));
+    final MessageFrame frame =
+        MessageFrame.builder()
+            .type(MESSAGE_CALL)
+            .worldUpdater(mock(WorldUpdater.class))
+            .initialGas(gas)
+            .address(Address.ZERO)
+            .originator(Address.ZERO)
+            .contract(Address.ZERO)
+            .gasPrice(Wei.ZERO)
+            .inputData(inputData)
+            .sender(Address.ZERO)
+            .value(Wei.ZERO)
+            .apparentValue(Wei.ZERO)
+            .code(new Code(Bytes.fromHexString(code)))
+            .blockValues(mock(BlockValues.class))
+            .completer(f -> {})
+            .miningBeneficiary(Address.ZERO)
+            .blockHashLookup((__, ___) -> Hash.EMPTY)
+            .maxStackSize(maxStackSize)
+            .operandStackMode(operandStackMode)
+            .build();
+    frame.setState(MessageFrame.State.CODE_EXECUTING);
+
+    evm.runToHalt(frame, OperationTracer.NO_TRACING);
+
+    final List<Bytes> stack = new ArrayList<>();
+    for (int i = 0; i < frame.stackSize(); i++) {
+      stack.add(frame.getStackItem(i).trimLeadingZeros());
+    }
+    return new Outcome(
+        frame.getState(),
+        frame.getExceptionalHaltReason(),
+        frame.getRemainingGas(),
+        frame.getPC(),
+        stack,
+        frame.readMemory(0, frame.memoryByteSize()));
+  }
+
+  private static Outcome assertSameOutcome(
+      final String code,
+      final Bytes inputData,
+      final OperandStackMode operandStackMode,
+      final long gas,
+      final int maxStackSize) {
+    final Outcome expected = run(code, inputData, false, operandStackMode, gas, maxStackSize);
+    final Outcome actual = run(code, inputData, true, operandStackMode, gas, maxStackSize);
+    assertThat(actual).isEqualTo(expected);
+    return actual;
+  }
+
+  @ParameterizedTest
+  @EnumSource(OperandStackMode.class)
+  void loopMatchesRegularExecution(final OperandStackMode operandStackMode) {
+    final Outcome outcome =
+        assertSameOutcome(SUM_LOOP, Bytes.EMPTY, operandStackMode, 100_000L, 1024);
+    assertThat(outcome.state()).isEqualTo(MessageFrame.State.CODE_SUCCESS);
+    assertThat(outcome.stack()).containsExactly(Bytes.EMPTY, Bytes.of(55));
+  }
+
+  @ParameterizedTest
+  @EnumSource(OperandStackMode.class)
+  void dispatcherMatchesRegularExecution(final OperandStackMode operandStackMode) {
+    final Bytes transfer = Bytes.fromHexString("0xa9059cbb");
+    final Outcome outcome =
+        assertSameOutcome(DISPATCHER, transfer, operandStackMode, 100_000L, 1024);
+    assertThat(outcome.state()).isEqualTo(MessageFrame.State.CODE_SUCCESS);
+    assertThat(outcome.memory().size()).isEqualTo(96);
+    assertThat(outcome.memory().get(63)).isEqualTo((byte) 1);
+    assertThat(outcome.memory().slice(64, 32).trimLeadingZeros()).isEqualTo(transfer);
+
+    // an unknown selector falls through both comparisons and reverts
+    final Outcome reverted =
+        assertSameOutcome(
+            DISPATCHER, Bytes.fromHexString("0x12345678"), operandStackMode, 100_000L, 1024);
+    assertThat(reverted.state()).isEqualTo(MessageFrame.State.REVERT);
+  }
+
+  @ParameterizedTest
+  @EnumSource(OperandStackMode.class)
+  void outOfGasInsideASequenceHaltsOnTheSameOperation(final OperandStackMode operandStackMode) {
+    for (long gas = 0; gas < 60; gas++) {
+      assertSameOutcome(SUM_LOOP, Bytes.EMPTY, operandStackMode, gas, 1024);
+    }
+    final Bytes transfer = Bytes.fromHexString("0xa9059cbb");
+    for (long gas = 0; gas < 120; gas++) {
+      assertSameOutcome(DISPATCHER, transfer, operandStackMode, gas, 1024);
+    }
+  }
+
+  @ParameterizedTest
+  @EnumSource(OperandStackMode.class)
+  void invalidJumpDestination(final OperandStackMode operandStackMode) {
+    // PUSH1 3, JUMP, STOP; then PUSH1 1, PUSH1 3, JUMPI with a non zero condition
+    assertSameOutcome("0x60035600", Bytes.EMPTY, operandStackMode, 100L, 1024);
+    final Outcome outcome =
+        assertSameOutcome("0x6001600357", Bytes.EMPTY, operandStackMode, 100L, 1024);
+    assertThat(outcome.haltReason()).contains(ExceptionalHaltReason.INVALID_JUMP_DESTINATION);
+
+    // a zero condition never checks the destination: PUSH1 0, PUSH1 3, JUMPI, PUSH1 7
+    assertSameOutcome("0x60006003576007", Bytes.EMPTY, operandStackMode, 100L, 1024);
+    // ISZERO, PUSH1 9, JUMPI with a zero condition and an invalid destination
+    assertSameOutcome("0x600015600957", Bytes.EMPTY, operandStackMode, 100L, 1024);
+  }
+
+  @ParameterizedTest
+  @EnumSource(OperandStackMode.class)
+  void memoryStoreExpandsMemory(final OperandStackMode operandStackMode) {
+    // PUSH2 0x0200, PUSH2 0x0100, DUP1, MSTORE, DUP1, MSTORE
+    final String code = "0x6102006101008052" + "8052";
+    final Outcome outcome = assertSameOutcome(code, Bytes.EMPTY, operandStackMode, 1_000L, 1024);
+    assertThat(outcome.memory().size()).isEqualTo(0x220);
+    assertThat(outcome.memory().slice(0x100, 32).trimLeadingZeros())
+        .isEqualTo(Bytes.fromHexString("0x0100"));
+    assertThat(outcome.memory().slice(0x200, 32).trimLeadingZeros())
+        .isEqualTo(Bytes.fromHexString("0x0200"));
+    for (long gas = 0; gas < 200; gas++) {
+      assertSameOutcome(code, Bytes.EMPTY, operandStackMode, gas, 1024);
+    }
+  }
+
+  @ParameterizedTest
+  @EnumSource(OperandStackMode.class)
+  void fullStackFallsBackToRegularExecution(final OperandStackMode operandStackMode) {
+    // PUSH1 1, PUSH1 1, PUSH1 7, JUMPI, JUMPDEST, DUP1, MSTORE
+    final String code = "0x600160016007575b8052";
+    for (int maxStackSize = 1; maxStackSize < 4; maxStackSize++) {
+      assertSameOutcome(code, Bytes.EMPTY, operandStackMode, 100L, maxStackSize);
+    }
+    assertThat(run(code, Bytes.EMPTY, true, operandStackMode, 100L, 2).haltReason())
+        .contains(ExceptionalHaltReason.TOO_MANY_STACK_ITEMS);
+  }
+}
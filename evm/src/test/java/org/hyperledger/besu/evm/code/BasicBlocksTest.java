@@ -0,0 +1,102 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.code;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+
+class BasicBlocksTest {
+
+  private static BasicBlocks analyze(final String hex) {
+    return BasicBlocks.analyze(Bytes.fromHexString(hex).toArrayUnsafe(), true, true);
+  }
+
+  @Test
+  void straightLineCodeIsOneBlock() {
+    // PUSH1 1, PUSH1 2, ADD
+    final BasicBlocks blocks = analyze("0x6001600201");
+    assertThat(blocks.size()).isEqualTo(1);
+    assertThat(blocks.blockAt(0)).isZero();
+    assertThat(blocks.end(0)).isEqualTo(5);
+    assertThat(blocks.gasCost(0)).isEqualTo(9);
+    assertThat(blocks.requiredItems(0)).isZero();
+    assertThat(blocks.maxGrowth(0)).isEqualTo(2);
+  }
+
+  @Test
+  void blocksEndBeforeOtherOperationsAndStartAtJumpDest() {
+    // PUSH1 3, JUMP, JUMPDEST, PUSH1 1, POP, STOP
+    final BasicBlocks blocks = analyze("0x6003565b60015000");
+    assertThat(blocks.size()).isEqualTo(1);
+    assertThat(blocks.blockAt(0)).isEqualTo(-1);
+    assertThat(blocks.blockAt(3)).isZero();
+    assertThat(blocks.end(0)).isEqualTo(7);
+    assertThat(blocks.gasCost(0)).isEqualTo(6);
+    assertThat(blocks.maxGrowth(0)).isEqualTo(1);
+  }
+
+  @Test
+  void jumpDestSplitsARun() {
+    // PUSH1 1, JUMPDEST, PUSH1 2, ADD
+    final BasicBlocks blocks = analyze("0x60015b600201");
+    assertThat(blocks.blockAt(0)).isEqualTo(-1);
+    assertThat(blocks.blockAt(2)).isZero();
+    assertThat(blocks.requiredItems(0)).isEqualTo(1);
+    assertThat(blocks.gasCost(0)).isEqualTo(7);
+  }
+
+  @Test
+  void stackRequirementsAccountForDupAndSwap() {
+    // ADD, ADD
+    BasicBlocks blocks = analyze("0x0101");
+    assertThat(blocks.requiredItems(0)).isEqualTo(3);
+    assertThat(blocks.maxGrowth(0)).isZero();
+
+    // DUP16, SWAP16
+    blocks = analyze("0x8f9f");
+    assertThat(blocks.requiredItems(0)).isEqualTo(16);
+    assertThat(blocks.maxGrowth(0)).isEqualTo(1);
+  }
+
+  @Test
+  void truncatedPushEndsPastTheCode() {
+    // PUSH1 1, PUSH2 0xff..
+    final BasicBlocks blocks = analyze("0x600161ff");
+    assertThat(blocks.end(0)).isEqualTo(5);
+  }
+
+  @Test
+  void forkRulesDecideWhichOperationsAreIncluded() {
+    final byte[] code = Bytes.fromHexString("0x5f5f1b").toArrayUnsafe();
+    assertThat(BasicBlocks.analyze(code, true, true).size()).isEqualTo(1);
+    assertThat(BasicBlocks.analyze(code, true, false).size()).isZero();
+    assertThat(BasicBlocks.analyze(code, true, true).isFor(true, false)).isFalse();
+  }
+
+  @Test
+  void blocksAreFoundAcrossChunks() {
+    // 50 times JUMPDEST, PUSH1 1, POP
+    final BasicBlocks blocks = analyze("0x" + "5b600150".repeat(50));
+    assertThat(blocks.size()).isEqualTo(50);
+    for (int i = 0; i < 50; i++) {
+      assertThat(blocks.blockAt(i * 4)).isEqualTo(i);
+      assertThat(blocks.blockAt(i * 4 + 1)).isEqualTo(-1);
+      assertThat(blocks.end(i)).isEqualTo(i * 4 + 4);
+    }
+    assertThat(blocks.blockAt(200)).isEqualTo(-1);
+  }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.code;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+
+class SuperinstructionsTest {
+
+  private static Superinstructions analyze(final String hex) {
+    return Superinstructions.analyze(Bytes.fromHexString(hex).toArrayUnsafe());
+  }
+
+  @Test
+  void staticJumps() {
+    // PUSH1 4, JUMP, JUMPDEST, PUSH2 0x0009, JUMPI, JUMPDEST
+    final Superinstructions superinstructions = analyze("0x6004565b61000957005b");
+    assertThat(superinstructions.kindAt(0)).isEqualTo(Superinstructions.PUSH_JUMP);
+    assertThat(superinstructions.kindAt(4)).isEqualTo(Superinstructions.PUSH_JUMPI);
+    assertThat(superinstructions.kindAt(2)).isEqualTo(Superinstructions.NONE);
+    assertThat(superinstructions.size()).isEqualTo(2);
+  }
+
+  @Test
+  void negatedStaticJump() {
+    // ISZERO, PUSH1 5, JUMPI, STOP, JUMPDEST
+    final Superinstructions superinstructions = analyze("0x15600557005b");
+    assertThat(superinstructions.kindAt(0)).isEqualTo(Superinstructions.ISZERO_PUSH_JUMPI);
+    // the PUSH1 JUMPI inside the sequence is still fused on its own
+    assertThat(superinstructions.kindAt(1)).isEqualTo(Superinstructions.PUSH_JUMPI);
+  }
+
+  @Test
+  void selectorComparisonAndMemoryStore() {
+    // DUP1, PUSH4 0xa9059cbb, EQ, DUP2, MSTORE
+    final Superinstructions superinstructions = analyze("0x8063a9059cbb148152");
+    assertThat(superinstructions.kindAt(0)).isEqualTo(Superinstructions.NONE);
+    assertThat(superinstructions.kindAt(1)).isEqualTo(Superinstructions.PUSH4_EQ);
+    assertThat(superinstructions.kindAt(7)).isEqualTo(Superinstructions.DUP_MSTORE);
+  }
+
+  @Test
+  void widePushesAreNotFused() {
+    // PUSH5 0x0000000007, JUMP, PUSH3 0x000000, EQ
+    final Superinstructions superinstructions = analyze("0x640000000007566200000014");
+    assertThat(superinstructions.size()).isZero();
+    assertThat(superinstructions.estimatedSize()).isZero();
+  }
+
+  @Test
+  void pushDataIsNotAnalyzed() {
+    // PUSH3 0x600456, STOP
+    assertThat(analyze("0x6260045600").size()).isZero();
+  }
+
+  @Test
+  void truncatedSequencesAreNotFused() {
+    // PUSH1 4, then ISZERO, PUSH1 with its JUMPI missing
+    assertThat(analyze("0x6004").size()).isZero();
+    assertThat(analyze("0x156005").size()).isZero();
+    assertThat(analyze("0x80").kindAt(0)).isEqualTo(Superinstructions.NONE);
+  }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.frame;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.jupiter.api.Test;
+
+class MemoryArenaTest {
+
+  @Test
+  void releasedMemoryIsReusedZeroed() {
+    final Memory first = new Memory();
+    first.enablePooling();
+    first.setWord(64, Bytes32.fromHexString("0x" + "ff".repeat(32)));
+    first.release();
+    assertThat(first.getActiveWords()).isZero();
+
+    final long hits = MemoryArena.hitCount();
+    final long bytesReused = MemoryArena.bytesReused();
+    final Memory second = new Memory();
+    second.enablePooling();
+    second.ensureCapacityForBytes(0, 96);
+
+    assertThat(MemoryArena.hitCount()).isEqualTo(hits + 1);
+    assertThat(MemoryArena.bytesReused()).isGreaterThanOrEqualTo(bytesReused + 96);
+    assertThat(second.getActiveWords()).isEqualTo(3);
+    assertThat(second.getBytes(0, 96)).isEqualTo(Bytes.wrap(new byte[96]));
+  }
+
+  @Test
+  void unpooledMemoryDoesNotUseTheArena() {
+    final long hits = MemoryArena.hitCount();
+    final long misses = MemoryArena.missCount();
+    final Memory memory = new Memory();
+    memory.setWord(0, Bytes32.fromHexString("0x01"));
+    memory.release();
+
+    assertThat(MemoryArena.hitCount()).isEqualTo(hits);
+    assertThat(MemoryArena.missCount()).isEqualTo(misses);
+    assertThat(memory.getActiveWords()).isEqualTo(1);
+  }
+
+  @Test
+  void acquireFallsBackToAllocationWhenNothingFits() {
+    final byte[] small = MemoryArena.acquire(32);
+    MemoryArena.release(small, 32);
+
+    final long misses = MemoryArena.missCount();
+    final byte[] large = MemoryArena.acquire(4096);
+    assertThat(MemoryArena.missCount()).isEqualTo(misses + 1);
+    assertThat(large).hasSize(4096);
+  }
+
+  @Test
+  void oversizedBuffersAreNotRetained() {
+    final byte[] huge = new byte[MemoryArena.MAX_POOLED_BUFFER_SIZE + 1];
+    Arrays.fill(huge, (byte) 1);
+    MemoryArena.release(huge, huge.length);
+    assertThat(huge[0]).isEqualTo((byte) 1);
+
+    final byte[] acquired = MemoryArena.acquire(MemoryArena.MAX_POOLED_BUFFER_SIZE + 1);
+    assertThat(acquired).isNotSameAs(huge);
+  }
+
+  @Test
+  void memoryEqualityIgnoresSpareCapacity() {
+    final byte[] spare = MemoryArena.acquire(1024);
+    MemoryArena.release(spare, 0);
+
+    final Memory pooled = new Memory();
+    pooled.enablePooling();
+    pooled.setWord(0, Bytes32.fromHexString("0x01"));
+    final Memory fresh = new Memory();
+    fresh.setWord(0, Bytes32.fromHexString("0x01"));
+
+    assertThat(pooled).isEqualTo(fresh);
+    assertThat(pooled.hashCode()).isEqualTo(fresh.hashCode());
+  }
+}
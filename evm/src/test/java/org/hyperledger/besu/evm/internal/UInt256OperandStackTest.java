@@ -0,0 +1,241 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class UInt256OperandStackTest {
+
+  private static final BigInteger TWO_256 = BigInteger.ONE.shiftLeft(256);
+  private static final BigInteger MASK = TWO_256.subtract(BigInteger.ONE);
+
+  private final Random random = new Random(0xB35L);
+
+  @Test
+  void pushPopBytes() {
+    final UInt256OperandStack stack = new UInt256OperandStack(2);
+    stack.push(Bytes.fromHexString("0x01"));
+    stack.push(Bytes.EMPTY);
+    assertThat(stack.size()).isEqualTo(2);
+    assertThat(stack.pop()).isEqualTo(Bytes32.ZERO);
+    assertThat(stack.pop()).isEqualTo(Bytes32.fromHexString("0x01"));
+    assertThatThrownBy(stack::pop).isInstanceOf(UnderflowException.class);
+  }
+
+  @Test
+  void push_StackOverflow() {
+    final UInt256OperandStack stack = new UInt256OperandStack(1);
+    stack.pushLong(1);
+    assertThatThrownBy(() -> stack.pushLong(2)).isInstanceOf(OverflowException.class);
+  }
+
+  @Test
+  void set_IndexGreaterThanSize() {
+    final UInt256OperandStack stack = new UInt256OperandStack(1024);
+    stack.pushLong(1);
+    final Bytes32 operand = Bytes32.fromHexString("0x01");
+    assertThatThrownBy(() -> stack.set(2, operand)).isInstanceOf(OverflowException.class);
+  }
+
+  @Test
+  void preserveTop() {
+    final UInt256OperandStack stack = new UInt256OperandStack(8);
+    for (int i = 1; i <= 8; i++) {
+      stack.pushLong(i);
+    }
+    stack.preserveTop(6, 1);
+    assertThat(stack.get(0)).isEqualTo(Bytes32.fromHexString("0x08"));
+    assertThat(stack.get(1)).isEqualTo(Bytes32.fromHexString("0x06"));
+    assertThat(stack.size()).isEqualTo(7);
+    stack.preserveTop(1, 3);
+    assertThat(stack.get(0)).isEqualTo(Bytes32.fromHexString("0x08"));
+    assertThat(stack.get(3)).isEqualTo(Bytes32.fromHexString("0x01"));
+    assertThat(stack.size()).isEqualTo(4);
+    assertThatThrownBy(() -> stack.preserveTop(4, 2)).isInstanceOf(UnderflowException.class);
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {5, 31, 32, 33, 1023, 1024, 1025})
+  void largeOverflows(final int n) {
+    final UInt256OperandStack stack = new UInt256OperandStack(n);
+    for (int i = 0; i < n; i++) {
+      stack.pushLong(i);
+    }
+    assertThat(stack.get(n - 1)).isEqualTo(Bytes32.ZERO);
+    assertThatThrownBy(() -> stack.pushLong(1)).isInstanceOf(OverflowException.class);
+  }
+
+  @Test
+  void pushImmediateRightPadsTruncatedCode() {
+    final UInt256OperandStack stack = new UInt256OperandStack(4);
+    final byte[] code = Bytes.fromHexString("0x61aa").toArrayUnsafe();
+    stack.pushImmediate(code, 1, 2);
+    assertThat(stack.pop()).isEqualTo(Bytes32.fromHexString("0xaa00"));
+    stack.pushImmediate(code, 2, 32);
+    assertThat(stack.pop()).isEqualTo(Bytes32.ZERO);
+  }
+
+  @Test
+  void dupAndSwap() {
+    final UInt256OperandStack stack = new UInt256OperandStack(8);
+    stack.pushLong(1);
+    stack.pushLong(2);
+    stack.pushLong(3);
+    stack.dup(3);
+    assertThat(stack.get(0)).isEqualTo(Bytes32.fromHexString("0x01"));
+    stack.swap(2);
+    assertThat(stack.get(0)).isEqualTo(Bytes32.fromHexString("0x02"));
+    assertThat(stack.get(2)).isEqualTo(Bytes32.fromHexString("0x01"));
+    assertThatThrownBy(() -> stack.dup(5)).isInstanceOf(UnderflowException.class);
+    assertThatThrownBy(() -> stack.swap(4)).isInstanceOf(UnderflowException.class);
+  }
+
+  @Test
+  void binaryOperationUnderflowLeavesStackIntact() {
+    final UInt256OperandStack stack = new UInt256OperandStack(8);
+    stack.pushLong(7);
+    assertThatThrownBy(stack::add).isInstanceOf(UnderflowException.class);
+    assertThatThrownBy(stack::mul).isInstanceOf(UnderflowException.class);
+    assertThatThrownBy(stack::addMod).isInstanceOf(UnderflowException.class);
+    assertThat(stack.size()).isEqualTo(1);
+  }
+
+  @Test
+  void arithmeticMatchesBigInteger() {
+    checkBinary(UInt256OperandStack::add, (a, b) -> a.add(b).and(MASK));
+    checkBinary(UInt256OperandStack::sub, (a, b) -> a.subtract(b).and(MASK));
+    checkBinary(UInt256OperandStack::mul, (a, b) -> a.multiply(b).and(MASK));
+    checkBinary(
+        UInt256OperandStack::mod, (a, b) -> b.signum() == 0 ? BigInteger.ZERO : a.mod(b));
+  }
+
+  @Test
+  void comparisonsMatchBigInteger() {
+    checkBinary(UInt256OperandStack::lt, (a, b) -> bool(a.compareTo(b) < 0));
+    checkBinary(UInt256OperandStack::gt, (a, b) -> bool(a.compareTo(b) > 0));
+    checkBinary(UInt256OperandStack::slt, (a, b) -> bool(signed(a).compareTo(signed(b)) < 0));
+    checkBinary(UInt256OperandStack::sgt, (a, b) -> bool(signed(a).compareTo(signed(b)) > 0));
+    checkBinary(UInt256OperandStack::eq, (a, b) -> bool(a.equals(b)));
+  }
+
+  @Test
+  void bitwiseMatchesBigInteger() {
+    checkBinary(UInt256OperandStack::and, BigInteger::and);
+    checkBinary(UInt256OperandStack::or, BigInteger::or);
+    checkBinary(UInt256OperandStack::xor, BigInteger::xor);
+  }
+
+  @Test
+  void shiftsMatchBigInteger() {
+    for (int shift = 0; shift <= 260; shift++) {
+      final BigInteger value = randomValue();
+      checkBinary(
+          UInt256OperandStack::shl,
+          BigInteger.valueOf(shift),
+          value,
+          shift >= 256 ? BigInteger.ZERO : value.shiftLeft(shift).and(MASK));
+      checkBinary(
+          UInt256OperandStack::shr,
+          BigInteger.valueOf(shift),
+          value,
+          shift >= 256 ? BigInteger.ZERO : value.shiftRight(shift));
+      checkBinary(
+          UInt256OperandStack::sar,
+          BigInteger.valueOf(shift),
+          value,
+          signed(value).shiftRight(Math.min(shift, 256)).and(MASK));
+    }
+  }
+
+  @Test
+  void byteAtMatchesBigInteger() {
+    final BigInteger value = randomValue();
+    for (int i = 0; i < 34; i++) {
+      final BigInteger expected =
+          i >= 32 ? BigInteger.ZERO : value.shiftRight(248 - 8 * i).and(BigInteger.valueOf(0xFF));
+      checkBinary(UInt256OperandStack::byteAt, BigInteger.valueOf(i), value, expected);
+    }
+  }
+
+  @Test
+  void unaryOperations() {
+    final UInt256OperandStack stack = new UInt256OperandStack(4);
+    stack.pushLong(0);
+    stack.isZero();
+    assertThat(stack.get(0)).isEqualTo(Bytes32.fromHexString("0x01"));
+    stack.not();
+    assertThat(toBigInteger(stack.get(0))).isEqualTo(MASK.subtract(BigInteger.ONE));
+    stack.isZero();
+    assertThat(stack.get(0)).isEqualTo(Bytes32.ZERO);
+  }
+
+  private void checkBinary(
+      final Consumer<UInt256OperandStack> operation, final BinaryOperator<BigInteger> reference) {
+    for (int i = 0; i < 500; i++) {
+      final BigInteger a = randomValue();
+      final BigInteger b = randomValue();
+      checkBinary(operation, a, b, reference.apply(a, b));
+    }
+  }
+
+  private static void checkBinary(
+      final Consumer<UInt256OperandStack> operation,
+      final BigInteger top,
+      final BigInteger second,
+      final BigInteger expected) {
+    final UInt256OperandStack stack = new UInt256OperandStack(4);
+    stack.pushLong(42);
+    stack.push(toBytes(second));
+    stack.push(toBytes(top));
+    operation.accept(stack);
+    assertThat(stack.size()).isEqualTo(2);
+    assertThat(toBigInteger(stack.pop())).isEqualTo(expected);
+    assertThat(stack.pop()).isEqualTo(Bytes32.fromHexString("0x2a"));
+  }
+
+  private BigInteger randomValue() {
+    // mix small and full width values so that the single limb fast paths are exercised too
+    final int bits = random.nextInt(5) == 0 ? random.nextInt(70) : 256;
+    return new BigInteger(bits, random);
+  }
+
+  private static BigInteger bool(final boolean value) {
+    return value ? BigInteger.ONE : BigInteger.ZERO;
+  }
+
+  private static BigInteger signed(final BigInteger value) {
+    return value.testBit(255) ? value.subtract(TWO_256) : value;
+  }
+
+  private static Bytes toBytes(final BigInteger value) {
+    return Bytes32.leftPad(Bytes.wrap(value.toByteArray()).trimLeadingZeros());
+  }
+
+  private static BigInteger toBigInteger(final Bytes value) {
+    return value.toUnsignedBigInteger();
+  }
+}
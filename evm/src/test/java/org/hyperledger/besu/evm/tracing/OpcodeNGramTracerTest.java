@@ -0,0 +1,79 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.tracing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.evm.frame.MessageFrame;
+import org.hyperledger.besu.evm.operation.Operation;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class OpcodeNGramTracerTest {
+
+  private static void execute(
+      final OpcodeNGramTracer tracer, final MessageFrame frame, final int... opcodes) {
+    for (final int opcode : opcodes) {
+      final Operation operation = mock(Operation.class);
+      when(operation.getOpcode()).thenReturn(opcode);
+      when(frame.getCurrentOperation()).thenReturn(operation);
+      tracer.tracePreExecution(frame);
+    }
+  }
+
+  @Test
+  void countsSequencesUpToTheMaximumLength() {
+    final OpcodeNGramTracer tracer = new OpcodeNGramTracer(3);
+    final MessageFrame frame = mock(MessageFrame.class);
+    tracer.traceContextEnter(frame);
+    // PUSH1, PUSH1, ADD, PUSH1, PUSH1, ADD
+    execute(tracer, frame, 0x60, 0x60, 0x01, 0x60, 0x60, 0x01);
+
+    assertThat(tracer.getOperationCount()).isEqualTo(6);
+    assertThat(tracer.mostFrequent(3))
+        .containsExactly(
+            new OpcodeNGramTracer.NGram(List.of("PUSH1", "ADD"), 2),
+            new OpcodeNGramTracer.NGram(List.of("PUSH1", "PUSH1"), 2),
+            new OpcodeNGramTracer.NGram(List.of("PUSH1", "PUSH1", "ADD"), 2));
+    assertThat(tracer.mostFrequent(10)).hasSize(6);
+  }
+
+  @Test
+  void sequencesDoNotSpanCallFrames() {
+    final OpcodeNGramTracer tracer = new OpcodeNGramTracer(2);
+    final MessageFrame frame = mock(MessageFrame.class);
+    tracer.traceContextEnter(frame);
+    execute(tracer, frame, 0x60);
+    tracer.traceContextEnter(frame);
+    execute(tracer, frame, 0x01);
+    tracer.traceContextExit(frame);
+    execute(tracer, frame, 0x50);
+
+    assertThat(tracer.mostFrequent(10))
+        .containsExactly(new OpcodeNGramTracer.NGram(List.of("PUSH1", "POP"), 1));
+  }
+
+  @Test
+  void rejectsUnsupportedLengths() {
+    assertThatThrownBy(() -> new OpcodeNGramTracer(1)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new OpcodeNGramTracer(OpcodeNGramTracer.MAX_LENGTH + 1))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
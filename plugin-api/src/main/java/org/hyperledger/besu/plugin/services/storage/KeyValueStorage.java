@@ -18,6 +18,8 @@ import org.hyperledger.besu.plugin.Unstable;
 import org.hyperledger.besu.plugin.services.exception.StorageException;
 
 import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Predicate;
@@ -63,6 +65,23 @@ public interface KeyValueStorage extends Closeable {
    */
   Optional<byte[]> get(byte[] key) throws StorageException;
 
+  /**
+   * Retrieves the values associated with several keys at once, in a single batch when the
+   * underlying storage supports it.
+   *
+   * @param keys whose associated values are being retrieved.
+   * @return for each key, in the same order, an {@link Optional} containing the associated value,
+   *     otherwise empty.
+   * @throws StorageException problem encountered during the retrieval attempt.
+   */
+  default List<Optional<byte[]>> multiGet(final List<byte[]> keys) throws StorageException {
+    final List<Optional<byte[]>> values = new ArrayList<>(keys.size());
+    for (final byte[] key : keys) {
+      values.add(get(key));
+    }
+    return values;
+  }
+
   /**
    * Returns a stream of all keys and values.
    *
@@ -26,6 +26,7 @@ import org.hyperledger.besu.plugin.services.storage.rocksdb.RocksDBMetrics;
 import org.hyperledger.besu.plugin.services.storage.rocksdb.RocksDbIterator;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
@@ -115,6 +116,22 @@ public class RocksDBColumnarKeyValueSnapshot
     }
   }
 
+  @Override
+  public List<Optional<byte[]>> multiGet(final SegmentIdentifier segment, final List<byte[]> keys)
+      throws StorageException {
+    throwIfClosed();
+    if (isReadCacheEnabledForSnapshots && segment.isEligibleToHighSpecFlag()) {
+      // go through the read cache key by key, so that cached values are not read again
+      return keys.stream().map(key -> get(segment, key)).toList();
+    }
+    try (final OperationTimer.TimingContext ignored = metrics.getReadLatency().startTimer()) {
+      return RocksDBColumnarKeyValueStorage.toOptionals(
+          snapshot.multiGetAsList(columnFamilyMapper.apply(segment), readOptions, keys));
+    } catch (final RocksDBException e) {
+      throw new StorageException(e);
+    }
+  }
+
   private Optional<byte[]> getFromCacheOrRead(
       final byte[] segmentId,
       final byte[] key,
@@ -32,6 +32,7 @@ import org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.RocksD
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -419,6 +420,31 @@ public abstract class RocksDBColumnarKeyValueStorage implements SegmentedKeyValu
     }
   }
 
+  @Override
+  public List<Optional<byte[]>> multiGet(final SegmentIdentifier segment, final List<byte[]> keys)
+      throws StorageException {
+    throwIfClosed();
+
+    try (final OperationTimer.TimingContext ignored = metrics.getReadLatency().startTimer()) {
+      return toOptionals(
+          getDB()
+              .multiGetAsList(
+                  readOptions, Collections.nCopies(keys.size(), safeColumnHandle(segment)), keys));
+    } catch (final RocksDBException e) {
+      throw new StorageException(e);
+    }
+  }
+
+  /**
+   * Wraps the values returned by a RocksDB multi-get, where a missing key is a null value.
+   *
+   * @param values the values returned by RocksDB
+   * @return the values as optionals
+   */
+  static List<Optional<byte[]>> toOptionals(final List<byte[]> values) {
+    return values.stream().map(Optional::ofNullable).toList();
+  }
+
   @Override
   public Optional<NearestKeyValue> getNearestBefore(
       final SegmentIdentifier segmentIdentifier, final Bytes key) throws StorageException {
@@ -14,6 +14,9 @@
  */
 package org.hyperledger.besu.plugin.services.storage.rocksdb.segmented;
 
+import java.util.Collections;
+import java.util.List;
+
 import org.rocksdb.ColumnFamilyHandle;
 import org.rocksdb.OptimisticTransactionDB;
 import org.rocksdb.ReadOptions;
@@ -49,4 +52,13 @@ class RocksDBSnapshot {
       throws RocksDBException {
     return db.get(columnFamilyHandle, readOptions, key);
   }
+
+  public List<byte[]> multiGetAsList(
+      final ColumnFamilyHandle columnFamilyHandle,
+      final ReadOptions readOptions,
+      final List<byte[]> keys)
+      throws RocksDBException {
+    return db.multiGetAsList(
+        readOptions, Collections.nCopies(keys.size(), columnFamilyHandle), keys);
+  }
 }
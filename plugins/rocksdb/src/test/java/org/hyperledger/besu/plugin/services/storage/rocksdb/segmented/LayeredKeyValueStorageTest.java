@@ -17,6 +17,8 @@ package org.hyperledger.besu.plugin.services.storage.rocksdb.segmented;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -62,6 +64,33 @@ public class LayeredKeyValueStorageTest {
     assertTrue(result.collect(Collectors.toList()).isEmpty());
   }
 
+  @Test
+  void shouldMultiGetMissingLayerKeysFromParentInOneBatch() {
+    byte[] key1 = {1};
+    byte[] key2 = {2};
+    byte[] value2 = {20};
+    byte[] key3 = {3};
+    byte[] layerValue3 = {31};
+    byte[] key4 = {4};
+
+    var hashValueStore = createSegmentMap();
+    hashValueStore.get(segmentId).put(Bytes.wrap(key1), Optional.empty());
+    hashValueStore.get(segmentId).put(Bytes.wrap(key3), Optional.of(layerValue3));
+    layeredKeyValueStorage = new LayeredKeyValueStorage(hashValueStore, parentStorage);
+
+    when(parentStorage.multiGet(eq(segmentId), argThat(keys -> keys.size() == 2)))
+        .thenReturn(List.of(Optional.of(value2), Optional.empty()));
+
+    var result = layeredKeyValueStorage.multiGet(segmentId, List.of(key1, key2, key3, key4));
+
+    assertEquals(4, result.size());
+    // removed in the layer, even if the parent has it
+    assertTrue(result.get(0).isEmpty());
+    assertArrayEquals(value2, result.get(1).orElseThrow());
+    assertArrayEquals(layerValue3, result.get(2).orElseThrow());
+    assertTrue(result.get(3).isEmpty());
+  }
+
   private ConcurrentMap<SegmentIdentifier, NavigableMap<Bytes, Optional<byte[]>>>
       createSegmentMap() {
     ConcurrentMap<SegmentIdentifier, NavigableMap<Bytes, Optional<byte[]>>> map =
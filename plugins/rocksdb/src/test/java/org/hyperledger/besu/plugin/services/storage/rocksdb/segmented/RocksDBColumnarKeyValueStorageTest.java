@@ -111,6 +111,26 @@ public abstract class RocksDBColumnarKeyValueStorageTest extends AbstractKeyValu
     store.close();
   }
 
+  @Test
+  public void multiGetReadsFromTheRequestedSegment() throws Exception {
+    final SegmentedKeyValueStorage store = createSegmentedStore();
+
+    final SegmentedKeyValueStorageTransaction tx = store.startTransaction();
+    tx.put(TestSegment.FOO, bytesFromHexString("0001"), bytesFromHexString("0AAA"));
+    tx.put(TestSegment.BAR, bytesFromHexString("0002"), bytesFromHexString("0BBB"));
+    tx.commit();
+
+    final List<Optional<byte[]>> result =
+        store.multiGet(
+            TestSegment.FOO, List.of(bytesFromHexString("0001"), bytesFromHexString("0002")));
+
+    assertThat(result).hasSize(2);
+    assertThat(result.get(0)).contains(bytesFromHexString("0AAA"));
+    assertThat(result.get(1)).isEmpty();
+
+    store.close();
+  }
+
   @Test
   public void canRemoveThroughSegmentIteration() throws Exception {
     // we're looping this in order to catch intermittent failures when rocksdb objects are not close
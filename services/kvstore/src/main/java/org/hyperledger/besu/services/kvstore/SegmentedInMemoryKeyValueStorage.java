@@ -148,6 +148,22 @@ public class SegmentedInMemoryKeyValueStorage
     }
   }
 
+  @Override
+  public List<Optional<byte[]>> multiGet(
+      final SegmentIdentifier segmentIdentifier, final List<byte[]> keys) throws StorageException {
+    final Lock lock = rwLock.readLock();
+    lock.lock();
+    try {
+      final Map<Bytes, Optional<byte[]>> segmentMap =
+          hashValueStore.computeIfAbsent(segmentIdentifier, s -> newSegmentMap());
+      return keys.stream()
+          .map(key -> segmentMap.getOrDefault(Bytes.wrap(key), Optional.empty()))
+          .toList();
+    } finally {
+      lock.unlock();
+    }
+  }
+
   @Override
   public Optional<NearestKeyValue> getNearestBefore(
       final SegmentIdentifier segmentIdentifier, final Bytes key) throws StorageException {
@@ -22,6 +22,7 @@ import org.hyperledger.besu.plugin.services.storage.SegmentedKeyValueStorage;
 import org.hyperledger.besu.plugin.services.storage.SegmentedKeyValueStorageTransaction;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Predicate;
@@ -74,6 +75,12 @@ public class SegmentedKeyValueStorageAdapter implements KeyValueStorage {
     return storage.get(segmentIdentifier, key);
   }
 
+  @Override
+  public List<Optional<byte[]>> multiGet(final List<byte[]> keys) throws StorageException {
+    throwIfClosed();
+    return storage.multiGet(segmentIdentifier, keys);
+  }
+
   @Override
   public Set<byte[]> getAllKeysThat(final Predicate<byte[]> returnCondition) {
     throwIfClosed();
@@ -0,0 +1,145 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.services.pipeline;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Decides how many items a stage processes concurrently, within fixed bounds, from how full the
+ * pipes around the stage are.
+ *
+ * <p>A backlog building up in the input pipe means the stage is the bottleneck of the pipeline and
+ * gets one more worker, while a nearly empty input pipe means the previous stages are and the stage
+ * gives one back. A nearly full output pipe means the next stages cannot keep up, so the stage also
+ * gives a worker back rather than compete with them for cores. The parallelism is adjusted by one
+ * at most once per interval so that it follows the trend of the pipes rather than their noise.
+ *
+ * <p>The workers above the current parallelism wait until it grows past their index, or until the
+ * input of the stage is exhausted so that they can complete.
+ */
+class AdaptiveParallelism {
+  static final long ADJUSTMENT_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+  private static final double BACKLOG_THRESHOLD = 0.5;
+  private static final double STARVATION_THRESHOLD = 0.1;
+  private static final double BACK_PRESSURE_THRESHOLD = 0.9;
+
+  private final int minParallelism;
+  private final int maxParallelism;
+  private final Pipe<?> inputPipe;
+  private final Pipe<?> outputPipe;
+  private final LongSupplier nanoTime;
+  private final AtomicLong lastAdjustment;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition parallelismChanged = lock.newCondition();
+  private volatile int parallelism;
+  private boolean inputExhausted;
+
+  AdaptiveParallelism(
+      final int minParallelism,
+      final int maxParallelism,
+      final Pipe<?> inputPipe,
+      final Pipe<?> outputPipe) {
+    this(minParallelism, maxParallelism, inputPipe, outputPipe, System::nanoTime);
+  }
+
+  AdaptiveParallelism(
+      final int minParallelism,
+      final int maxParallelism,
+      final Pipe<?> inputPipe,
+      final Pipe<?> outputPipe,
+      final LongSupplier nanoTime) {
+    checkArgument(minParallelism > 0, "Minimum parallelism must be greater than 0");
+    checkArgument(
+        maxParallelism >= minParallelism,
+        "Maximum parallelism must not be lower than the minimum parallelism");
+    this.minParallelism = minParallelism;
+    this.maxParallelism = maxParallelism;
+    this.inputPipe = inputPipe;
+    this.outputPipe = outputPipe;
+    this.nanoTime = nanoTime;
+    this.lastAdjustment = new AtomicLong(nanoTime.getAsLong());
+    this.parallelism = minParallelism;
+  }
+
+  /**
+   * Gets the number of items the stage should currently process concurrently, adjusting it first
+   * if the adjustment interval elapsed.
+   *
+   * @return the current parallelism of the stage
+   */
+  int getParallelism() {
+    final long now = nanoTime.getAsLong();
+    final long last = lastAdjustment.get();
+    if (now - last >= ADJUSTMENT_INTERVAL_NANOS && lastAdjustment.compareAndSet(last, now)) {
+      adjust();
+    }
+    return parallelism;
+  }
+
+  /**
+   * Waits until the parallelism of the stage grows past the index of a worker, or until the input
+   * of the stage is exhausted.
+   *
+   * @param workerIndex the index of the worker
+   * @throws InterruptedException if the worker is interrupted while waiting
+   */
+  void awaitActive(final int workerIndex) throws InterruptedException {
+    lock.lock();
+    try {
+      while (workerIndex >= parallelism && !inputExhausted) {
+        parallelismChanged.await();
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Releases the waiting workers once the input of the stage is exhausted. */
+  void inputExhausted() {
+    lock.lock();
+    try {
+      inputExhausted = true;
+      parallelismChanged.signalAll();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void adjust() {
+    final double inputFill = fill(inputPipe);
+    final double outputFill = fill(outputPipe);
+    if (outputFill >= BACK_PRESSURE_THRESHOLD || inputFill <= STARVATION_THRESHOLD) {
+      parallelism = Math.max(minParallelism, parallelism - 1);
+    } else if (inputFill >= BACKLOG_THRESHOLD && parallelism < maxParallelism) {
+      lock.lock();
+      try {
+        parallelism++;
+        parallelismChanged.signalAll();
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+
+  private static double fill(final Pipe<?> pipe) {
+    return (double) pipe.getOccupancy() / pipe.getCapacity();
+  }
+}
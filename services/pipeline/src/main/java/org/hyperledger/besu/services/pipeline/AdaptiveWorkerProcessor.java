@@ -0,0 +1,69 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.services.pipeline;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * One of the workers of a parallel stage with an adaptive parallelism. The stage starts as many
+ * workers as its maximum parallelism and a worker only takes items while its index is below the
+ * current parallelism, otherwise it waits for the parallelism to grow and leaves the core to the
+ * other stages.
+ *
+ * @param <I> the type of input items.
+ * @param <O> the type of output items.
+ */
+class AdaptiveWorkerProcessor<I, O> implements Processor<I, O> {
+  private static final Logger LOG = LoggerFactory.getLogger(AdaptiveWorkerProcessor.class);
+  private final Processor<I, O> delegate;
+  private final AdaptiveParallelism parallelism;
+  private final int workerIndex;
+
+  AdaptiveWorkerProcessor(
+      final Processor<I, O> delegate,
+      final AdaptiveParallelism parallelism,
+      final int workerIndex) {
+    this.delegate = delegate;
+    this.parallelism = parallelism;
+    this.workerIndex = workerIndex;
+  }
+
+  @Override
+  public void processNextInput(final ReadPipe<I> inputPipe, final WritePipe<O> outputPipe) {
+    if (workerIndex < parallelism.getParallelism()) {
+      delegate.processNextInput(inputPipe, outputPipe);
+    } else {
+      try {
+        parallelism.awaitActive(workerIndex);
+      } catch (final InterruptedException e) {
+        LOG.trace("Interrupted while waiting for the parallelism to grow");
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  @Override
+  public boolean attemptFinalization(final WritePipe<O> outputPipe) {
+    // the stage input is exhausted, the waiting workers have to complete too
+    parallelism.inputExhausted();
+    return delegate.attemptFinalization(outputPipe);
+  }
+
+  @Override
+  public void abort() {
+    delegate.abort();
+  }
+}
@@ -26,6 +26,7 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.function.Function;
+import java.util.function.IntSupplier;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -36,21 +37,37 @@ class AsyncOperationProcessor<I, O> implements Processor<I, O> {
   private final List<CompletableFuture<O>> inProgress;
   private CompletableFuture<?> nextOutputAvailableFuture = completedFuture(null);
   private final boolean preserveOrder;
-  private final int maxConcurrency;
+  private final IntSupplier maxConcurrency;
 
   public AsyncOperationProcessor(
       final Function<I, CompletableFuture<O>> processor,
       final int maxConcurrency,
       final boolean preserveOrder) {
+    this(processor, () -> maxConcurrency, maxConcurrency, preserveOrder);
+  }
+
+  /**
+   * Creates a processor whose maximum number of items in progress may change over time.
+   *
+   * @param processor the asynchronous processing to apply to each item.
+   * @param maxConcurrency supplies the current maximum number of items in progress.
+   * @param expectedConcurrency the expected upper bound of the supplied maximum.
+   * @param preserveOrder whether results are output in the order items were received.
+   */
+  public AsyncOperationProcessor(
+      final Function<I, CompletableFuture<O>> processor,
+      final IntSupplier maxConcurrency,
+      final int expectedConcurrency,
+      final boolean preserveOrder) {
     this.processor = processor;
     this.maxConcurrency = maxConcurrency;
-    this.inProgress = new ArrayList<>(maxConcurrency);
+    this.inProgress = new ArrayList<>(expectedConcurrency);
     this.preserveOrder = preserveOrder;
   }
 
   @Override
   public void processNextInput(final ReadPipe<I> inputPipe, final WritePipe<O> outputPipe) {
-    if (inProgress.size() < maxConcurrency) {
+    if (inProgress.size() < maxConcurrency.getAsInt()) {
       final I value = inputPipe.get();
       if (value != null) {
         final CompletableFuture<O> future = processor.apply(value);
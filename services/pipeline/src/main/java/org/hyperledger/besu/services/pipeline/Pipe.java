@@ -14,13 +14,16 @@
  */
 package org.hyperledger.besu.services.pipeline;
 
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 import org.hyperledger.besu.plugin.services.metrics.Counter;
 
 import java.util.Collection;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -30,6 +33,11 @@ import org.slf4j.LoggerFactory;
  * added ability to signal when no further input is available because the pipe has been closed or
  * the pipeline aborted.
  *
+ * <p>Items are held in a lock-free {@link RingBuffer}. A thread that has to wait for an item or for
+ * free capacity first spins briefly, as the other side is usually just about to catch up, then
+ * parks until woken by the other side. Virtual threads park straight away rather than spin on
+ * their carrier thread.
+ *
  * <p>In most cases a Pipe is used through one of two narrower interfaces it supports {@link
  * ReadPipe}* and {@link WritePipe}. These are designed to expose only the operations relevant to
  * objects either reading from or publishing to the pipe respectively.
@@ -38,10 +46,18 @@ import org.slf4j.LoggerFactory;
  */
 public class Pipe<T> implements ReadPipe<T>, WritePipe<T> {
   private static final Logger LOG = LoggerFactory.getLogger(Pipe.class);
-  private final BlockingQueue<T> queue;
+  // spinning only helps when the other side runs on another core
+  private static final int SPIN_TRIES = Runtime.getRuntime().availableProcessors() > 1 ? 128 : 0;
+  // a parked thread wakes up at least this often to check whether the pipe was closed or aborted
+  private static final long MAX_PARK_NANOS = TimeUnit.SECONDS.toNanos(1);
+  private final RingBuffer<T> buffer;
   private final Counter inputCounter;
   private final Counter outputCounter;
   private final Counter abortedItemCounter;
+  private final Counter producerBlockedCounter;
+  private final Counter consumerStarvedCounter;
+  private final Queue<Thread> waitingProducers = new ConcurrentLinkedQueue<>();
+  private final Queue<Thread> waitingConsumers = new ConcurrentLinkedQueue<>();
   private final AtomicBoolean closed = new AtomicBoolean();
   private final AtomicBoolean aborted = new AtomicBoolean();
   private String pipeName = "";
@@ -61,10 +77,41 @@ public class Pipe<T> implements ReadPipe<T>, WritePipe<T> {
       final Counter outputCounter,
       final Counter abortedItemCounter,
       final String pipeName) {
-    queue = new ArrayBlockingQueue<>(capacity);
+    this(
+        capacity,
+        inputCounter,
+        outputCounter,
+        abortedItemCounter,
+        NoOpMetricsSystem.NO_OP_COUNTER,
+        NoOpMetricsSystem.NO_OP_COUNTER,
+        pipeName);
+  }
+
+  /**
+   * Instantiates a new Pipe.
+   *
+   * @param capacity the capacity
+   * @param inputCounter the input counter
+   * @param outputCounter the output counter
+   * @param abortedItemCounter the aborted item counter
+   * @param producerBlockedCounter the counter of microseconds producers waited for free capacity
+   * @param consumerStarvedCounter the counter of microseconds consumers waited for an item
+   * @param pipeName the name of the pipe
+   */
+  public Pipe(
+      final int capacity,
+      final Counter inputCounter,
+      final Counter outputCounter,
+      final Counter abortedItemCounter,
+      final Counter producerBlockedCounter,
+      final Counter consumerStarvedCounter,
+      final String pipeName) {
+    buffer = new RingBuffer<>(capacity);
     this.inputCounter = inputCounter;
     this.outputCounter = outputCounter;
     this.abortedItemCounter = abortedItemCounter;
+    this.producerBlockedCounter = producerBlockedCounter;
+    this.consumerStarvedCounter = consumerStarvedCounter;
     this.pipeName = pipeName;
   }
 
@@ -77,6 +124,24 @@ public class Pipe<T> implements ReadPipe<T>, WritePipe<T> {
     return pipeName;
   }
 
+  /**
+   * Get the number of items currently buffered in this pipe.
+   *
+   * @return the number of items in the pipe
+   */
+  public int getOccupancy() {
+    return buffer.size();
+  }
+
+  /**
+   * Get the maximum number of items this pipe can buffer.
+   *
+   * @return the capacity of the pipe
+   */
+  public int getCapacity() {
+    return buffer.capacity();
+  }
+
   @Override
   public boolean isOpen() {
     return !closed.get() && !aborted.get();
@@ -89,18 +154,21 @@ public class Pipe<T> implements ReadPipe<T>, WritePipe<T> {
 
   @Override
   public boolean hasRemainingCapacity() {
-    return queue.remainingCapacity() > 0 && isOpen();
+    return buffer.size() < buffer.capacity() && isOpen();
   }
 
   @Override
   public void close() {
     closed.set(true);
+    wakeAll(waitingConsumers);
   }
 
   @Override
   public void abort() {
     if (aborted.compareAndSet(false, true)) {
-      abortedItemCounter.inc(queue.size());
+      abortedItemCounter.inc(buffer.size());
+      wakeAll(waitingConsumers);
+      wakeAll(waitingProducers);
     }
   }
 
@@ -109,52 +177,123 @@ public class Pipe<T> implements ReadPipe<T>, WritePipe<T> {
     if (aborted.get()) {
       return false;
     }
-    return !closed.get() || !queue.isEmpty();
+    return !closed.get() || !buffer.isEmpty();
   }
 
   @Override
   public T get() {
-    try {
-      while (hasMore()) {
-        final T value = queue.poll(1, TimeUnit.SECONDS);
-        if (value != null) {
-          outputCounter.inc();
-          return value;
+    long waitStart = 0;
+    int tries = 0;
+    while (hasMore()) {
+      final T value = poll();
+      if (value != null) {
+        if (waitStart != 0) {
+          consumerStarvedCounter.inc(elapsedMicros(waitStart));
         }
+        return value;
+      }
+      if (waitStart == 0) {
+        waitStart = System.nanoTime();
+      }
+      if (Thread.interrupted()) {
+        LOG.trace("Interrupted while waiting for next item from pipe {}", pipeName);
+        return null;
       }
-    } catch (final InterruptedException e) {
-      LOG.trace("Interrupted while waiting for next item from pipe {}", pipeName);
+      await(waitingConsumers, tries++, buffer::isEmpty);
     }
     return null;
   }
 
   @Override
   public T poll() {
-    final T item = queue.poll();
+    final T item = buffer.poll();
     if (item != null) {
       outputCounter.inc();
+      wakeOne(waitingProducers);
     }
     return item;
   }
 
   @Override
   public int drainTo(final Collection<T> output, final int maxElements) {
-    final int count = queue.drainTo(output, maxElements);
+    int count = 0;
+    while (count < maxElements) {
+      final T item = buffer.poll();
+      if (item == null) {
+        break;
+      }
+      output.add(item);
+      count++;
+    }
     outputCounter.inc(count);
+    if (count > 0) {
+      wakeAll(waitingProducers);
+    }
     return count;
   }
 
   @Override
   public void put(final T value) {
+    long waitStart = 0;
+    int tries = 0;
     while (isOpen()) {
-      try {
-        if (queue.offer(value, 1, TimeUnit.SECONDS)) {
-          inputCounter.inc();
-          return;
+      if (buffer.offer(value)) {
+        inputCounter.inc();
+        wakeOne(waitingConsumers);
+        if (waitStart != 0) {
+          producerBlockedCounter.inc(elapsedMicros(waitStart));
         }
-      } catch (final InterruptedException e) {
+        return;
+      }
+      if (waitStart == 0) {
+        waitStart = System.nanoTime();
+      }
+      if (Thread.interrupted()) {
         LOG.trace("Interrupted while waiting to add to output to pipe {}", pipeName);
       }
+      await(waitingProducers, tries++, () -> !hasRemainingCapacity());
+    }
+  }
+
+  /**
+   * Waits for the other side of the pipe: spins for the first tries, then parks the thread once it
+   * registered as waiting and checked again that it still has to wait, so that a wake up sent in
+   * between is not missed.
+   */
+  private void await(final Queue<Thread> waiters, final int tries, final BooleanSupplier mustWait) {
+    final Thread thread = Thread.currentThread();
+    if (tries < SPIN_TRIES && !thread.isVirtual()) {
+      Thread.onSpinWait();
+      return;
     }
+    waiters.add(thread);
+    try {
+      if (mustWait.getAsBoolean() && isOpenFor(waiters)) {
+        LockSupport.parkNanos(this, MAX_PARK_NANOS);
+      }
+    } finally {
+      waiters.remove(thread);
+    }
+  }
+
+  private boolean isOpenFor(final Queue<Thread> waiters) {
+    return waiters == waitingProducers ? isOpen() : hasMore();
+  }
+
+  private static void wakeOne(final Queue<Thread> waiters) {
+    if (!waiters.isEmpty()) {
+      final Thread waiter = waiters.poll();
+      if (waiter != null) {
+        LockSupport.unpark(waiter);
+      }
+    }
+  }
+
+  private static void wakeAll(final Queue<Thread> waiters) {
+    waiters.forEach(LockSupport::unpark);
+  }
+
+  private static long elapsedMicros(final long startNanos) {
+    return TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
   }
 }
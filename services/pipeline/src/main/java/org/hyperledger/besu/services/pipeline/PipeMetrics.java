@@ -0,0 +1,108 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.services.pipeline;
+
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+import org.hyperledger.besu.plugin.services.metrics.LabelledSuppliedMetric;
+import org.hyperledger.besu.plugin.services.metrics.MetricCategory;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The metrics of the pipes of a pipeline: the time producers waited for free capacity, the time
+ * consumers waited for an item, and the number of items buffered in each pipe.
+ *
+ * <p>A pipeline is usually rebuilt many times with the same stages, for instance for each sync
+ * target, so an instance is meant to be created once and shared by the successive pipelines. Each
+ * pipe is labelled with the name of the stage writing to it, and the occupancy of a label is the
+ * one of the pipe most recently created with it.
+ */
+public class PipeMetrics {
+  /** Pipe metrics that are not reported. */
+  public static final PipeMetrics NONE =
+      new PipeMetrics(
+          NoOpMetricsSystem.getCounterLabelledMetric(1),
+          NoOpMetricsSystem.getCounterLabelledMetric(1),
+          Optional.empty());
+
+  private final LabelledMetric<Counter> producerBlockedCounter;
+  private final LabelledMetric<Counter> consumerStarvedCounter;
+  private final Optional<LabelledSuppliedMetric> occupancyGauge;
+  private final Map<String, Pipe<?>> pipes = new ConcurrentHashMap<>();
+
+  /**
+   * Instantiates the metrics of the pipes of a pipeline.
+   *
+   * @param metricsSystem the metrics system
+   * @param category the category of the metrics
+   * @param pipelineName the prefix of the names of the metrics, such as the name of the pipeline
+   *     item counter without its suffix
+   */
+  public PipeMetrics(
+      final MetricsSystem metricsSystem, final MetricCategory category, final String pipelineName) {
+    this(
+        metricsSystem.createLabelledCounter(
+            category,
+            pipelineName + "_producer_blocked_microseconds_total",
+            "Time the producers of each pipe waited for free capacity",
+            "step"),
+        metricsSystem.createLabelledCounter(
+            category,
+            pipelineName + "_consumer_starved_microseconds_total",
+            "Time the consumers of each pipe waited for an item",
+            "step"),
+        Optional.of(
+            metricsSystem.createLabelledSuppliedGauge(
+                category,
+                pipelineName + "_pipe_occupancy",
+                "Number of items buffered in each pipe",
+                "step")));
+  }
+
+  private PipeMetrics(
+      final LabelledMetric<Counter> producerBlockedCounter,
+      final LabelledMetric<Counter> consumerStarvedCounter,
+      final Optional<LabelledSuppliedMetric> occupancyGauge) {
+    this.producerBlockedCounter = producerBlockedCounter;
+    this.consumerStarvedCounter = consumerStarvedCounter;
+    this.occupancyGauge = occupancyGauge;
+  }
+
+  <T> Pipe<T> createPipe(
+      final int capacity, final String stageName, final LabelledMetric<Counter> itemCounter) {
+    final String labelName = stageName + "_outputPipe";
+    final Pipe<T> pipe =
+        new Pipe<>(
+            capacity,
+            itemCounter.labels(labelName, "added"),
+            itemCounter.labels(labelName, "removed"),
+            itemCounter.labels(labelName, "aborted"),
+            producerBlockedCounter.labels(labelName),
+            consumerStarvedCounter.labels(labelName),
+            stageName);
+    occupancyGauge.ifPresent(
+        gauge -> {
+          if (pipes.put(labelName, pipe) == null) {
+            gauge.labels(() -> pipes.get(labelName).getOccupancy(), labelName);
+          }
+        });
+    return pipe;
+  }
+}
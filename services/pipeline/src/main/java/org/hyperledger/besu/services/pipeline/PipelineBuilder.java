@@ -31,6 +31,8 @@ import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 
+import com.google.common.collect.Iterables;
+
 /**
  * Supports building a new pipeline. Pipelines are comprised of a source, various processing stages
  * and a consumer, each of which run in their own thread.
@@ -53,6 +55,7 @@ public class PipelineBuilder<I, T> {
   private final LabelledMetric<Counter> outputCounter;
   private final boolean tracingEnabled;
   private final String pipelineName;
+  private final PipeMetrics pipeMetrics;
 
   /**
    * Instantiates a new Pipeline builder.
@@ -77,6 +80,30 @@ public class PipelineBuilder<I, T> {
       final LabelledMetric<Counter> outputCounter,
       final boolean tracingEnabled,
       final String pipelineName) {
+    this(
+        inputPipe,
+        stages,
+        pipes,
+        lastStageName,
+        pipeEnd,
+        bufferSize,
+        outputCounter,
+        tracingEnabled,
+        pipelineName,
+        PipeMetrics.NONE);
+  }
+
+  private PipelineBuilder(
+      final Pipe<I> inputPipe,
+      final Collection<Stage> stages,
+      final Collection<Pipe<?>> pipes,
+      final String lastStageName,
+      final ReadPipe<T> pipeEnd,
+      final int bufferSize,
+      final LabelledMetric<Counter> outputCounter,
+      final boolean tracingEnabled,
+      final String pipelineName,
+      final PipeMetrics pipeMetrics) {
     checkArgument(!pipes.isEmpty(), "Must have at least one pipe in a pipeline");
     this.lastStageName = lastStageName;
     this.outputCounter = outputCounter;
@@ -87,6 +114,7 @@ public class PipelineBuilder<I, T> {
     this.bufferSize = bufferSize;
     this.tracingEnabled = tracingEnabled;
     this.pipelineName = pipelineName;
+    this.pipeMetrics = pipeMetrics;
   }
 
   /**
@@ -111,7 +139,41 @@ public class PipelineBuilder<I, T> {
       final LabelledMetric<Counter> itemCounter,
       final boolean tracingEnabled,
       final String pipelineName) {
-    final Pipe<T> pipe = createPipe(bufferSize, sourceName, itemCounter);
+    return createPipelineFrom(
+        sourceName,
+        source,
+        bufferSize,
+        itemCounter,
+        PipeMetrics.NONE,
+        tracingEnabled,
+        pipelineName);
+  }
+
+  /**
+   * Create a new pipeline that processes inputs from <i>source</i> and reports the waits and the
+   * occupancy of its pipes. The pipeline completes when <i>source</i> returns <code>false</code>
+   * from {@link Iterator#hasNext()} and the last item has been reached the end of the pipeline.
+   *
+   * @param <T> the type of items input into the pipeline.
+   * @param sourceName the name of this stage. Used as the label for the output count metric.
+   * @param source the source to pull items from for processing.
+   * @param bufferSize the number of items to be buffered between each stage in the pipeline.
+   * @param itemCounter the counter to increment for each output of a stage. Must accept two labels,
+   *     the stage name and action (output or drained).
+   * @param pipeMetrics the metrics of the pipes of the pipeline
+   * @param tracingEnabled whether this pipeline should be traced
+   * @param pipelineName the name of the pipeline for tracing purposes
+   * @return a {@link PipelineBuilder} ready to extend the pipeline with additional stages.
+   */
+  public static <T> PipelineBuilder<T, T> createPipelineFrom(
+      final String sourceName,
+      final Iterator<T> source,
+      final int bufferSize,
+      final LabelledMetric<Counter> itemCounter,
+      final PipeMetrics pipeMetrics,
+      final boolean tracingEnabled,
+      final String pipelineName) {
+    final Pipe<T> pipe = pipeMetrics.createPipe(bufferSize, sourceName, itemCounter);
     final IteratorSourceStage<T> sourceStage = new IteratorSourceStage<>(sourceName, source, pipe);
     return new PipelineBuilder<>(
         pipe,
@@ -122,7 +184,8 @@ public class PipelineBuilder<I, T> {
         bufferSize,
         itemCounter,
         tracingEnabled,
-        pipelineName);
+        pipelineName,
+        pipeMetrics);
   }
 
   /**
@@ -144,7 +207,7 @@ public class PipelineBuilder<I, T> {
       final LabelledMetric<Counter> outputCounter,
       final boolean tracingEnabled,
       final String pipelineName) {
-    final Pipe<T> pipe = createPipe(bufferSize, sourceName, outputCounter);
+    final Pipe<T> pipe = PipeMetrics.NONE.createPipe(bufferSize, sourceName, outputCounter);
     return new PipelineBuilder<>(
         pipe,
         emptyList(),
@@ -238,6 +301,41 @@ public class PipelineBuilder<I, T> {
     return addStage(new AsyncOperationProcessor<>(processor, maxConcurrency, true), stageName);
   }
 
+  /**
+   * Adds a 1-to-1, asynchronous processing stage to the pipeline whose concurrency adapts to the
+   * load of the pipeline. A single thread reads items from the input and calls <i>processor</i> to
+   * begin processing, with between <i>minConcurrency</i> and <i>maxConcurrency</i> items in
+   * progress concurrently. The concurrency grows while items back up in the input of the stage and
+   * shrinks when its input runs dry or the next stages cannot keep up with its output.
+   *
+   * <p>If the returned {@link CompletableFuture} completes exceptionally the pipeline will abort.
+   *
+   * @param <O> the output type for this processing step.
+   * @param stageName the name of this stage. Used as the label for the output count metric.
+   * @param processor the processing to apply to each item.
+   * @param minConcurrency the minimum number of items being processed concurrently.
+   * @param maxConcurrency the maximum number of items being processed concurrently.
+   * @param preserveOrder whether results are passed to the next stage in the order items were
+   *     received.
+   * @return a {@link PipelineBuilder} ready to extend the pipeline with additional stages.
+   */
+  public <O> PipelineBuilder<I, O> thenProcessAsyncAdaptively(
+      final String stageName,
+      final Function<T, CompletableFuture<O>> processor,
+      final int minConcurrency,
+      final int maxConcurrency,
+      final boolean preserveOrder) {
+    final Pipe<O> outputPipe = pipeMetrics.createPipe(bufferSize, stageName, outputCounter);
+    final AdaptiveParallelism concurrency =
+        new AdaptiveParallelism(minConcurrency, maxConcurrency, lastPipe(), outputPipe);
+    return addStage(
+        new AsyncOperationProcessor<>(
+            processor, concurrency::getParallelism, maxConcurrency, preserveOrder),
+        outputPipe,
+        bufferSize,
+        stageName);
+  }
+
   /**
    * Batches items into groups of at most <i>maximumBatchSize</i>. Batches are created eagerly to
    * minimize delay so may not be full.
@@ -263,7 +361,8 @@ public class PipelineBuilder<I, T> {
         (int) Math.ceil(((double) bufferSize) / maximumBatchSize),
         outputCounter,
         tracingEnabled,
-        pipelineName);
+        pipelineName,
+        pipeMetrics);
   }
 
   /**
@@ -293,7 +392,8 @@ public class PipelineBuilder<I, T> {
         (int) Math.ceil(((double) bufferSize) / maximumBatchSize),
         outputCounter,
         tracingEnabled,
-        pipelineName);
+        pipelineName,
+        pipeMetrics);
   }
 
   /**
@@ -342,6 +442,53 @@ public class PipelineBuilder<I, T> {
         stageName, () -> new FlatMapProcessor<>(mapper), numberOfThreads, newBufferSize);
   }
 
+  /**
+   * Adds a 1-to-many processing stage to the pipeline whose number of threads adapts to the load of
+   * the pipeline. For each item in the stream, <i>mapper</i> is called and each item of the {@link
+   * Stream} it returns is output as an individual item. Between <i>minThreads</i> and
+   * <i>maxThreads</i> threads process items concurrently. Threads are added while items back up in
+   * the input of the stage and removed when its input runs dry or the next stages cannot keep up
+   * with its output.
+   *
+   * <p>Note: The order of items is not preserved.
+   *
+   * @param <O> the type of items to be output from this stage.
+   * @param stageName the name of this stage. Used as the label for the output count metric.
+   * @param mapper the function to process each item with.
+   * @param minThreads the minimum number of threads processing items.
+   * @param maxThreads the maximum number of threads processing items.
+   * @param newBufferSize the output buffer size to use from this stage onwards.
+   * @return a {@link PipelineBuilder} ready to extend the pipeline with additional stages.
+   */
+  public <O> PipelineBuilder<I, O> thenFlatMapInParallelAdaptively(
+      final String stageName,
+      final Function<T, Stream<O>> mapper,
+      final int minThreads,
+      final int maxThreads,
+      final int newBufferSize) {
+    final Pipe<O> newPipeEnd = pipeMetrics.createPipe(newBufferSize, stageName, outputCounter);
+    final AdaptiveParallelism parallelism =
+        new AdaptiveParallelism(minThreads, maxThreads, lastPipe(), newPipeEnd);
+    final WritePipe<O> outputPipe = new SharedWritePipe<>(newPipeEnd, maxThreads);
+    final ArrayList<Stage> newStages = new ArrayList<>(stages);
+    for (int i = 0; i < maxThreads; i++) {
+      final Processor<T, O> worker =
+          new AdaptiveWorkerProcessor<>(new FlatMapProcessor<>(mapper), parallelism, i);
+      newStages.add(new ProcessingStage<>(stageName, pipeEnd, outputPipe, worker));
+    }
+    return new PipelineBuilder<>(
+        inputPipe,
+        newStages,
+        concat(pipes, newPipeEnd),
+        stageName,
+        newPipeEnd,
+        newBufferSize,
+        outputCounter,
+        tracingEnabled,
+        pipelineName,
+        pipeMetrics);
+  }
+
   /**
    * End the pipeline with a {@link Consumer} that is the last stage of the pipeline.
    *
@@ -364,7 +511,7 @@ public class PipelineBuilder<I, T> {
       final Supplier<Processor<T, O>> createProcessor,
       final int numberOfThreads,
       final int newBufferSize) {
-    final Pipe<O> newPipeEnd = createPipe(newBufferSize, stageName, outputCounter);
+    final Pipe<O> newPipeEnd = pipeMetrics.createPipe(newBufferSize, stageName, outputCounter);
     final WritePipe<O> outputPipe = new SharedWritePipe<>(newPipeEnd, numberOfThreads);
     final ArrayList<Stage> newStages = new ArrayList<>(stages);
     for (int i = 0; i < numberOfThreads; i++) {
@@ -381,7 +528,8 @@ public class PipelineBuilder<I, T> {
         newBufferSize,
         outputCounter,
         tracingEnabled,
-        pipelineName);
+        pipelineName,
+        pipeMetrics);
   }
 
   private <O> PipelineBuilder<I, O> addStage(
@@ -391,7 +539,18 @@ public class PipelineBuilder<I, T> {
 
   private <O> PipelineBuilder<I, O> addStage(
       final Processor<T, O> processor, final int newBufferSize, final String stageName) {
-    final Pipe<O> outputPipe = createPipe(newBufferSize, stageName, outputCounter);
+    return addStage(
+        processor,
+        pipeMetrics.createPipe(newBufferSize, stageName, outputCounter),
+        newBufferSize,
+        stageName);
+  }
+
+  private <O> PipelineBuilder<I, O> addStage(
+      final Processor<T, O> processor,
+      final Pipe<O> outputPipe,
+      final int newBufferSize,
+      final String stageName) {
     final Stage processStage = new ProcessingStage<>(stageName, pipeEnd, outputPipe, processor);
     final List<Stage> newStages = concat(stages, processStage);
     return new PipelineBuilder<>(
@@ -403,7 +562,13 @@ public class PipelineBuilder<I, T> {
         newBufferSize,
         outputCounter,
         tracingEnabled,
-        pipelineName);
+        pipelineName,
+        pipeMetrics);
+  }
+
+  /** The pipe the next stage reads from, possibly through a batching pipe. */
+  private Pipe<?> lastPipe() {
+    return Iterables.getLast(pipes);
   }
 
   private <X> List<X> concat(final Collection<X> existing, final X newItem) {
@@ -411,17 +576,4 @@ public class PipelineBuilder<I, T> {
     newList.add(newItem);
     return newList;
   }
-
-  private static <O> Pipe<O> createPipe(
-      final int newBufferSize,
-      final String stageName,
-      final LabelledMetric<Counter> outputCounter) {
-    final String labelName = stageName + "_outputPipe";
-    return new Pipe<>(
-        newBufferSize,
-        outputCounter.labels(labelName, "added"),
-        outputCounter.labels(labelName, "removed"),
-        outputCounter.labels(labelName, "aborted"),
-        stageName);
-  }
 }
@@ -0,0 +1,145 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.services.pipeline;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded, lock-free queue backed by a ring of slots, each slot carrying a sequence number that
+ * tells producers and consumers whether it is free to write or ready to read.
+ *
+ * <p>Any number of threads may offer and poll concurrently: a pipe is written by every thread of a
+ * parallel stage and read by every thread of the next one, which is only known once the pipeline
+ * is fully built. With a single producer and a single consumer, as for most stages, the claims
+ * never contend and cost a single uncontended compare-and-set.
+ *
+ * @param <T> the type of item held in the buffer.
+ */
+final class RingBuffer<T> {
+  private final int capacity;
+  private final int mask;
+  private final AtomicReferenceArray<T> items;
+  // the position a slot is ready to be written at, or that position plus one once it is readable
+  private final AtomicLongArray sequences;
+  private final AtomicLong writePosition = new AtomicLong();
+  private final AtomicLong readPosition = new AtomicLong();
+
+  /**
+   * Creates a new ring buffer.
+   *
+   * @param capacity the maximum number of items held in the buffer.
+   */
+  RingBuffer(final int capacity) {
+    checkArgument(capacity > 0, "Capacity must be greater than 0");
+    this.capacity = capacity;
+    final int slotCount = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+    this.mask = slotCount - 1;
+    this.items = new AtomicReferenceArray<>(slotCount);
+    this.sequences = new AtomicLongArray(slotCount);
+    for (int i = 0; i < slotCount; i++) {
+      sequences.set(i, i);
+    }
+  }
+
+  /**
+   * Adds an item if the buffer is not full.
+   *
+   * @param item the item to add.
+   * @return true if the item was added, false if the buffer was full.
+   */
+  boolean offer(final T item) {
+    long position = writePosition.get();
+    while (true) {
+      final int slot = (int) (position & mask);
+      final long delta = sequences.get(slot) - position;
+      if (delta == 0) {
+        // the slot count is rounded up to a power of two, bound the buffer to its capacity
+        if (position - readPosition.get() >= capacity) {
+          return false;
+        }
+        if (writePosition.compareAndSet(position, position + 1)) {
+          items.lazySet(slot, item);
+          sequences.set(slot, position + 1);
+          return true;
+        }
+        position = writePosition.get();
+      } else if (delta < 0) {
+        // the slot still holds the item written a lap ago
+        return false;
+      } else {
+        position = writePosition.get();
+      }
+    }
+  }
+
+  /**
+   * Removes the oldest item of the buffer.
+   *
+   * @return the removed item, or null if the buffer was empty.
+   */
+  T poll() {
+    long position = readPosition.get();
+    while (true) {
+      final int slot = (int) (position & mask);
+      final long delta = sequences.get(slot) - (position + 1);
+      if (delta == 0) {
+        if (readPosition.compareAndSet(position, position + 1)) {
+          final T item = items.get(slot);
+          items.lazySet(slot, null);
+          sequences.set(slot, position + mask + 1);
+          return item;
+        }
+        position = readPosition.get();
+      } else if (delta < 0) {
+        return null;
+      } else {
+        position = readPosition.get();
+      }
+    }
+  }
+
+  /**
+   * The number of items in the buffer, which may already be stale when concurrently modified.
+   *
+   * @return the number of items in the buffer.
+   */
+  int size() {
+    final long readAt = readPosition.get();
+    final long size = writePosition.get() - readAt;
+    return (int) Math.max(0, Math.min(capacity, size));
+  }
+
+  /**
+   * Whether the buffer holds no item.
+   *
+   * @return true if the buffer is empty.
+   */
+  boolean isEmpty() {
+    return size() == 0;
+  }
+
+  /**
+   * The maximum number of items held in the buffer.
+   *
+   * @return the capacity of the buffer.
+   */
+  int capacity() {
+    return capacity;
+  }
+}
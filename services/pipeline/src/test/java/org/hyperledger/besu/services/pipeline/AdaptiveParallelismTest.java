@@ -0,0 +1,137 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.services.pipeline;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hyperledger.besu.metrics.noop.NoOpMetricsSystem.NO_OP_COUNTER;
+import static org.hyperledger.besu.services.pipeline.AdaptiveParallelism.ADJUSTMENT_INTERVAL_NANOS;
+
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+public class AdaptiveParallelismTest {
+  private final Pipe<Integer> inputPipe =
+      new Pipe<>(10, NO_OP_COUNTER, NO_OP_COUNTER, NO_OP_COUNTER, "input_pipe");
+  private final Pipe<Integer> outputPipe =
+      new Pipe<>(10, NO_OP_COUNTER, NO_OP_COUNTER, NO_OP_COUNTER, "output_pipe");
+  private final AtomicLong clock = new AtomicLong();
+  private final AdaptiveParallelism parallelism =
+      new AdaptiveParallelism(2, 4, inputPipe, outputPipe, clock::get);
+
+  @Test
+  public void shouldStartAtMinimumParallelism() {
+    assertThat(parallelism.getParallelism()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldGrowWhileInputBacksUpUpToMaximum() {
+    fill(inputPipe, 8);
+
+    assertThat(nextAdjustment()).isEqualTo(3);
+    assertThat(nextAdjustment()).isEqualTo(4);
+    assertThat(nextAdjustment()).isEqualTo(4);
+  }
+
+  @Test
+  public void shouldOnlyAdjustOncePerInterval() {
+    fill(inputPipe, 8);
+
+    assertThat(nextAdjustment()).isEqualTo(3);
+    assertThat(parallelism.getParallelism()).isEqualTo(3);
+    clock.addAndGet(ADJUSTMENT_INTERVAL_NANOS - 1);
+    assertThat(parallelism.getParallelism()).isEqualTo(3);
+  }
+
+  @Test
+  public void shouldShrinkWhenOutputIsBackPressured() {
+    fill(inputPipe, 8);
+    nextAdjustment();
+    nextAdjustment();
+
+    fill(outputPipe, 10);
+
+    assertThat(nextAdjustment()).isEqualTo(3);
+    assertThat(nextAdjustment()).isEqualTo(2);
+    assertThat(nextAdjustment()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldShrinkWhenInputRunsDry() {
+    fill(inputPipe, 8);
+    nextAdjustment();
+    nextAdjustment();
+
+    inputPipe.drainTo(new ArrayList<>(), 10);
+
+    assertThat(nextAdjustment()).isEqualTo(3);
+    assertThat(nextAdjustment()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldReleaseWaitingWorkerWhenParallelismGrows() throws Exception {
+    final CompletableFuture<Void> waitingWorker = CompletableFuture.runAsync(() -> awaitActive(2));
+    assertThatThrownBy(() -> waitingWorker.get(100, MILLISECONDS))
+        .isInstanceOf(TimeoutException.class);
+
+    fill(inputPipe, 8);
+    nextAdjustment();
+
+    waitingWorker.get(10, SECONDS);
+  }
+
+  @Test
+  public void shouldReleaseWaitingWorkersWhenInputIsExhausted() throws Exception {
+    final CompletableFuture<Void> waitingWorker = CompletableFuture.runAsync(() -> awaitActive(3));
+
+    parallelism.inputExhausted();
+
+    waitingWorker.get(10, SECONDS);
+    assertThat(parallelism.getParallelism()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldRejectInvalidBounds() {
+    assertThatThrownBy(() -> new AdaptiveParallelism(0, 4, inputPipe, outputPipe))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new AdaptiveParallelism(3, 2, inputPipe, outputPipe))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private int nextAdjustment() {
+    clock.addAndGet(ADJUSTMENT_INTERVAL_NANOS);
+    return parallelism.getParallelism();
+  }
+
+  private void awaitActive(final int workerIndex) {
+    try {
+      parallelism.awaitActive(workerIndex);
+    } catch (final InterruptedException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static void fill(final Pipe<Integer> pipe, final int count) {
+    for (int i = 0; i < count; i++) {
+      pipe.put(i);
+    }
+  }
+}
@@ -15,6 +15,7 @@
 package org.hyperledger.besu.services.pipeline;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.longThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -23,6 +24,8 @@ import org.hyperledger.besu.plugin.services.metrics.Counter;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.Test;
 
@@ -133,6 +136,63 @@ public class PipeTest {
     verify(abortedItemCounter).inc(2);
   }
 
+  @Test
+  public void shouldWakeUpWaitingConsumerWhenItemAdded() throws Exception {
+    final CompletableFuture<String> result = CompletableFuture.supplyAsync(pipe::get);
+    Thread.sleep(50);
+    assertThat(result).isNotDone();
+
+    pipe.put("A");
+
+    assertThat(result.get(1, TimeUnit.SECONDS)).isEqualTo("A");
+  }
+
+  @Test
+  public void shouldWakeUpBlockedProducerWhenAborted() throws Exception {
+    for (int i = 0; i < 5; i++) {
+      pipe.put("item" + i);
+    }
+    assertThat(pipe.hasRemainingCapacity()).isFalse();
+    final CompletableFuture<Void> blockedPut = CompletableFuture.runAsync(() -> pipe.put("A"));
+    Thread.sleep(50);
+    assertThat(blockedPut).isNotDone();
+
+    pipe.abort();
+
+    blockedPut.get(1, TimeUnit.SECONDS);
+    verify(inputCounter, times(5)).inc();
+  }
+
+  @Test
+  public void shouldCountTimeProducersAndConsumersWait() throws Exception {
+    final Counter producerBlockedCounter = mock(Counter.class);
+    final Counter consumerStarvedCounter = mock(Counter.class);
+    final Pipe<String> meteredPipe =
+        new Pipe<>(
+            1,
+            inputCounter,
+            outputCounter,
+            abortedItemCounter,
+            producerBlockedCounter,
+            consumerStarvedCounter,
+            "metered_pipe");
+
+    final CompletableFuture<String> starvedGet = CompletableFuture.supplyAsync(meteredPipe::get);
+    Thread.sleep(20);
+    meteredPipe.put("A");
+    assertThat(starvedGet.get(1, TimeUnit.SECONDS)).isEqualTo("A");
+    verify(consumerStarvedCounter).inc(longThat(micros -> micros > 0));
+
+    meteredPipe.put("B");
+    final CompletableFuture<Void> blockedPut =
+        CompletableFuture.runAsync(() -> meteredPipe.put("C"));
+    Thread.sleep(20);
+    assertThat(meteredPipe.get()).isEqualTo("B");
+    blockedPut.get(1, TimeUnit.SECONDS);
+    verify(producerBlockedCounter).inc(longThat(micros -> micros > 0));
+    assertThat(meteredPipe.getOccupancy()).isEqualTo(1);
+  }
+
   @Test
   public void shouldReturnNullFromGetImmediatelyIfThreadIsInterrupted() {
     Thread.currentThread().interrupt();
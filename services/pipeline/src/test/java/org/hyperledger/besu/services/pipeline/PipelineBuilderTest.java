@@ -25,14 +25,20 @@ import static org.assertj.core.api.Assertions.fail;
 import static org.awaitility.Awaitility.waitAtMost;
 import static org.hyperledger.besu.metrics.noop.NoOpMetricsSystem.NO_OP_LABELLED_2_COUNTER;
 
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
 import org.hyperledger.besu.plugin.services.metrics.Counter;
 import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+import org.hyperledger.besu.plugin.services.metrics.LabelledSuppliedMetric;
+import org.hyperledger.besu.plugin.services.metrics.MetricCategory;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CancellationException;
@@ -47,6 +53,7 @@ import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleSupplier;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
@@ -294,6 +301,50 @@ public class PipelineBuilderTest {
             "1", "3", "4", "5", "6", "7", "8", "9", "10", "11", "12", "13", "14", "15", "2");
   }
 
+  @Test
+  public void shouldFlatMapInParallelAdaptively() throws Exception {
+    final List<String> output = synchronizedList(new ArrayList<>());
+    final Set<Thread> processingThreads = ConcurrentHashMap.newKeySet();
+    final Pipeline<Integer> pipeline =
+        PipelineBuilder.createPipelineFrom(
+                "input", tasks, 10, NO_OP_LABELLED_2_COUNTER, false, "test")
+            .thenFlatMapInParallelAdaptively(
+                "stageName",
+                value -> {
+                  processingThreads.add(Thread.currentThread());
+                  return Stream.of(value.toString(), "x" + value);
+                },
+                1,
+                3,
+                20)
+            .andFinishWith("end", output::add);
+
+    pipeline.start(executorService).get(10, SECONDS);
+
+    assertThat(output).hasSize(30).contains("1", "x1", "15", "x15").doesNotHaveDuplicates();
+    assertThat(processingThreads).hasSizeBetween(1, 3);
+  }
+
+  @Test
+  public void shouldProcessAsyncAdaptivelyPreservingOrder() throws Exception {
+    final List<Integer> output = new ArrayList<>();
+    final Pipeline<Integer> pipeline =
+        PipelineBuilder.createPipelineFrom(
+                "input", tasks, 10, NO_OP_LABELLED_2_COUNTER, false, "test")
+            .thenProcessAsyncAdaptively(
+                "async",
+                value -> CompletableFuture.supplyAsync(() -> value * 2, executorService),
+                1,
+                4,
+                true)
+            .andFinishWith("end", output::add);
+
+    pipeline.start(executorService).get(10, SECONDS);
+
+    assertThat(output)
+        .containsExactly(2, 4, 6, 8, 10, 12, 14, 16, 18, 20, 22, 24, 26, 28, 30);
+  }
+
   @Test
   public void shouldFlatMapInParallel() throws Exception {
     final List<String> output = synchronizedList(new ArrayList<>());
@@ -465,12 +516,72 @@ public class PipelineBuilderTest {
     assertThat(counters).containsOnlyKeys(expectedMetricNames);
 
     expectedMetricNames.stream()
-        .filter(name -> !name.endsWith("-batches") && !name.endsWith("-aborted"))
+        .filter(name -> name.endsWith("-added") || name.endsWith("-removed"))
         .forEach(metric -> assertThat(counters.get(metric).count).hasValue(15));
 
     assertThat(counters.get("asyncOrdered_outputPipe-batches").count).hasValueBetween(4, 15);
   }
 
+  @Test
+  public void shouldTrackPipeMetrics() throws Exception {
+    final Map<String, SimpleCounter> counters = new ConcurrentHashMap<>();
+    final Map<String, DoubleSupplier> occupancies = new ConcurrentHashMap<>();
+    final MetricsSystem metricsSystem =
+        new NoOpMetricsSystem() {
+          @Override
+          public LabelledMetric<Counter> createLabelledCounter(
+              final MetricCategory category,
+              final String name,
+              final String help,
+              final String... labelNames) {
+            return labels ->
+                counters.computeIfAbsent(name + "-" + labels[0], label -> new SimpleCounter());
+          }
+
+          @Override
+          public LabelledSuppliedMetric createLabelledSuppliedGauge(
+              final MetricCategory category,
+              final String name,
+              final String help,
+              final String... labelNames) {
+            return (valueSupplier, labels) -> occupancies.put(labels[0], valueSupplier);
+          }
+        };
+    final PipeMetrics pipeMetrics =
+        new PipeMetrics(metricsSystem, BesuMetricCategory.SYNCHRONIZER, "test_pipeline");
+    final CountDownLatch latch = new CountDownLatch(1);
+    final Pipeline<Integer> pipeline =
+        PipelineBuilder.createPipelineFrom(
+                "input", tasks, 10, NO_OP_LABELLED_2_COUNTER, pipeMetrics, false, "test")
+            .thenProcess(
+                "blocked",
+                value -> {
+                  try {
+                    latch.await();
+                  } catch (final InterruptedException e) {
+                    fail("Interrupted");
+                  }
+                  return value;
+                })
+            .andFinishWith("finish", new ArrayList<>()::add);
+
+    final CompletableFuture<?> result = pipeline.start(executorService);
+    // the source fills the pipe to the blocked stage
+    waitAtMost(10, SECONDS)
+        .untilAsserted(
+            () -> assertThat(occupancies.get("input_outputPipe").getAsDouble()).isEqualTo(10));
+    latch.countDown();
+    result.get(10, SECONDS);
+
+    assertThat(occupancies).containsOnlyKeys("input_outputPipe", "blocked_outputPipe");
+    assertThat(occupancies.get("input_outputPipe").getAsDouble()).isZero();
+    // the source waited for the blocked stage to take items
+    assertThat(counters.get("test_pipeline_producer_blocked_microseconds_total-input_outputPipe"))
+        .satisfies(counter -> assertThat(counter.count).hasPositiveValue());
+    assertThat(counters)
+        .containsKey("test_pipeline_consumer_starved_microseconds_total-blocked_outputPipe");
+  }
+
   private void waitForSize(final Collection<?> collection, final int targetSize) {
     waitAtMost(10, SECONDS).untilAsserted(() -> assertThat(collection).hasSize(targetSize));
   }
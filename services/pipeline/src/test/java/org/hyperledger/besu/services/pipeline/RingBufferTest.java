@@ -0,0 +1,104 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.services.pipeline;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+public class RingBufferTest {
+
+  @Test
+  public void shouldBeBoundedByTheExactCapacity() {
+    final RingBuffer<Integer> buffer = new RingBuffer<>(5);
+    for (int i = 0; i < 5; i++) {
+      assertThat(buffer.offer(i)).isTrue();
+    }
+    assertThat(buffer.offer(5)).isFalse();
+    assertThat(buffer.size()).isEqualTo(5);
+
+    assertThat(buffer.poll()).isEqualTo(0);
+    assertThat(buffer.offer(5)).isTrue();
+    assertThat(buffer.offer(6)).isFalse();
+  }
+
+  @Test
+  public void shouldPreserveOrderAcrossLaps() {
+    final RingBuffer<Integer> buffer = new RingBuffer<>(3);
+    final List<Integer> output = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      buffer.offer(i);
+      if (i % 2 == 1) {
+        output.add(buffer.poll());
+        output.add(buffer.poll());
+      }
+    }
+
+    assertThat(output).containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+    assertThat(buffer.poll()).isNull();
+    assertThat(buffer.isEmpty()).isTrue();
+  }
+
+  @Test
+  public void shouldHandOverEveryItemOnceWithConcurrentProducersAndConsumers() throws Exception {
+    final RingBuffer<Integer> buffer = new RingBuffer<>(16);
+    final int producerCount = 2;
+    final int itemsPerProducer = 10_000;
+    final Set<Integer> received = ConcurrentHashMap.newKeySet();
+    final AtomicInteger receivedCount = new AtomicInteger();
+    final List<Thread> threads = new ArrayList<>();
+    for (int producer = 0; producer < producerCount; producer++) {
+      final int firstItem = producer * itemsPerProducer;
+      threads.add(
+          new Thread(
+              () -> {
+                for (int item = firstItem; item < firstItem + itemsPerProducer; item++) {
+                  while (!buffer.offer(item)) {
+                    Thread.yield();
+                  }
+                }
+              }));
+    }
+    for (int consumer = 0; consumer < 2; consumer++) {
+      threads.add(
+          new Thread(
+              () -> {
+                while (receivedCount.get() < producerCount * itemsPerProducer) {
+                  final Integer item = buffer.poll();
+                  if (item != null) {
+                    received.add(item);
+                    receivedCount.incrementAndGet();
+                  } else {
+                    Thread.yield();
+                  }
+                }
+              }));
+    }
+    threads.forEach(Thread::start);
+    for (final Thread thread : threads) {
+      thread.join(TimeUnit.SECONDS.toMillis(30));
+    }
+
+    assertThat(receivedCount).hasValue(producerCount * itemsPerProducer);
+    assertThat(received).hasSize(producerCount * itemsPerProducer);
+  }
+}
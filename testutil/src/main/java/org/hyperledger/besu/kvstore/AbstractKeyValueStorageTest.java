@@ -98,6 +98,31 @@ public abstract class AbstractKeyValueStorageTest {
     }
   }
 
+  /**
+   * Multi get.
+   *
+   * @throws Exception the exception
+   */
+  @Test
+  public void multiGet() throws Exception {
+    try (final KeyValueStorage store = createStore()) {
+      final KeyValueStorageTransaction tx = store.startTransaction();
+      tx.put(bytesFromHexString("0F"), bytesFromHexString("0ABC"));
+      tx.put(bytesFromHexString("10"), bytesFromHexString("0DEF"));
+      tx.commit();
+
+      final List<Optional<byte[]>> values =
+          store.multiGet(
+              List.of(
+                  bytesFromHexString("10"), bytesFromHexString("11"), bytesFromHexString("0F")));
+
+      assertThat(values).hasSize(3);
+      assertThat(values.get(0)).contains(bytesFromHexString("0DEF"));
+      assertThat(values.get(1)).isEmpty();
+      assertThat(values.get(2)).contains(bytesFromHexString("0ABC"));
+    }
+  }
+
   /**
    * Stream keys.
    *